@@ -0,0 +1,200 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.benchmark;
+
+import org.cern.eos.cdmi.EosStorageBackend;
+import org.cern.eos.cdmi.admission.AdmissionControlledBackend;
+import org.cern.eos.cdmi.admission.AdmissionController;
+import org.cern.eos.cdmi.admission.AdmissionRejectedException;
+import org.cern.eos.cdmi.stub.StubMgmServer;
+import org.cern.eos.cdmi.stub.StubNamespace;
+import org.indigo.cdmi.BackEndException;
+import org.indigo.cdmi.SubjectBasedStorageBackend;
+
+import javax.security.auth.Subject;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Status query latency of a quiet subject while a noisy subject floods the stub MGM,
+ * with or without admission control. Rejected clients back off for a millisecond.
+ * <p>
+ * Options are given as key=value arguments:
+ * <ul>
+ *   <li>noisy, quiet -- client threads of each subject (default: 32, 2)</li>
+ *   <li>duration -- measurement duration in seconds (default: 10)</li>
+ *   <li>directories, files -- namespace size (default: 10 x 1000)</li>
+ *   <li>latency, jitter -- injected MGM latency in milliseconds (default: 2, 1)</li>
+ *   <li>mgmThreads -- request handling threads of the stub MGM, its capacity (default: 8)</li>
+ * </ul>
+ * Any eos.* argument, such as eos.admission.read.rate, is passed on to the backend
+ * and admission control configuration.
+ */
+public class AdmissionTest {
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    Properties backendProperties = new Properties();
+
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+
+      if (eq > 0) {
+        String key = arg.substring(0, eq);
+        String value = arg.substring(eq + 1);
+
+        if (key.startsWith("eos.")) {
+          backendProperties.setProperty(key, value);
+        } else {
+          options.put(key, value);
+        }
+      }
+    }
+
+    int noisyThreads = Integer.parseInt(options.getOrDefault("noisy", "32"));
+    int quietThreads = Integer.parseInt(options.getOrDefault("quiet", "2"));
+    long duration = Long.parseLong(options.getOrDefault("duration", "10"));
+    int directories = Integer.parseInt(options.getOrDefault("directories", "10"));
+    int files = Integer.parseInt(options.getOrDefault("files", "1000"));
+    long latency = Long.parseLong(options.getOrDefault("latency", "2"));
+    long jitter = Long.parseLong(options.getOrDefault("jitter", "1"));
+    int mgmThreads = Integer.parseInt(options.getOrDefault("mgmThreads", "8"));
+
+    StubNamespace namespace = StubNamespace.standard("/eos/stub", directories, files);
+    List<String> paths = namespace.files();
+
+    try (StubMgmServer server = new StubMgmServer(namespace, 0, mgmThreads)) {
+      server.latency(latency, jitter, TimeUnit.MILLISECONDS);
+      EosStorageBackend backend =
+          new EosStorageBackend(LoadTest.stubConfig(server, backendProperties));
+      AdmissionController admission =
+          new AdmissionController(LoadTest.stubConfig(server, backendProperties));
+
+      System.out.printf("Admission test: noisy=%d quiet=%d mgmThreads=%d latency=%d+-%dms %s%n",
+          noisyThreads, quietThreads, mgmThreads, latency, jitter,
+          admission.isEnabled() ? admission : "[no admission control]");
+
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(duration);
+      Client noisy = new Client("noisy", noisyThreads);
+      Client quiet = new Client("quiet", quietThreads);
+      List<Thread> workers = new ArrayList<>();
+      workers.addAll(noisy.start(backend, admission, paths, deadline));
+      workers.addAll(quiet.start(backend, admission, paths, deadline));
+
+      for (Thread worker : workers) {
+        worker.join();
+      }
+
+      noisy.print(duration);
+      quiet.print(duration);
+      System.out.printf("Admission     admitted=%d delayed=%d rejected-rate=%d rejected-queue=%d "
+              + "rejected-inflight=%d%n", admission.getAdmittedReads(), admission.getDelayed(),
+          admission.getRejectedRate(), admission.getRejectedQueue(),
+          admission.getRejectedInFlight());
+      backend.close();
+    }
+  }
+
+  /**
+   * Client threads issuing status queries as one subject.
+   */
+  private static class Client {
+    private final String name;
+    private final int threads;
+    private final List<LatencySamples> samples = new ArrayList<>();
+    private final AtomicLong rejected = new AtomicLong();
+
+    Client(String name, int threads) {
+      this.name = name;
+      this.threads = threads;
+    }
+
+    List<Thread> start(EosStorageBackend backend, AdmissionController admission,
+                       List<String> paths, long deadline) {
+      Subject subject = new Subject();
+      Principal principal = () -> name;
+      subject.getPrincipals().add(principal);
+      List<Thread> workers = new ArrayList<>();
+
+      for (int t = 0; t < threads; t++) {
+        SubjectBasedStorageBackend client = admission.isEnabled()
+            ? new AdmissionControlledBackend(backend, admission)
+            : new SubjectBasedStorageBackend(backend);
+        client.setSubject(subject);
+        LatencySamples threadSamples = new LatencySamples();
+        samples.add(threadSamples);
+
+        Thread worker = new Thread(() -> {
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+
+          while (System.nanoTime() < deadline) {
+            String path = paths.get(random.nextInt(paths.size()));
+            long start = System.nanoTime();
+
+            try {
+              client.getCurrentStatus(path);
+              threadSamples.record(System.nanoTime() - start);
+            } catch (AdmissionRejectedException e) {
+              rejected.incrementAndGet();
+              backOff();
+            } catch (BackEndException | RuntimeException e) {
+              threadSamples.recordError();
+            }
+          }
+        }, name + "-" + t);
+
+        workers.add(worker);
+        worker.start();
+      }
+
+      return workers;
+    }
+
+    /**
+     * Pause after a rejection, as a well-behaved client would.
+     */
+    private static void backOff() {
+      try {
+        TimeUnit.MILLISECONDS.sleep(1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    void print(long duration) {
+      LatencySamples merged = LatencySamples.merge(samples);
+      System.out.printf("%-13s ops/s=%-9.1f rejected=%-7d errors=%-5d p50=%.2fms p99=%.2fms "
+              + "p99.9=%.2fms%n", name, merged.getCount() / (double) duration, rejected.get(),
+          merged.getErrors(), merged.percentileMillis(50), merged.percentileMillis(99),
+          merged.percentileMillis(99.9));
+    }
+  }
+}
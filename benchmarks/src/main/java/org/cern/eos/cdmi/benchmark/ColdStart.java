@@ -0,0 +1,116 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.benchmark;
+
+import org.cern.eos.cdmi.EosStorageBackend;
+import org.cern.eos.cdmi.WarmStartup;
+import org.cern.eos.cdmi.stub.StubMgmServer;
+import org.cern.eos.cdmi.stub.StubNamespace;
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.indigo.cdmi.BackEndException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start time of the backend to the first served requests, against the stub MGM.
+ * Run it in a fresh JVM for each configuration.
+ * <p>
+ * Options are given as key=value arguments:
+ * <ul>
+ *   <li>latency -- injected MGM latency in milliseconds (default: 20)</li>
+ *   <li>arrival -- milliseconds between backend creation and the first request (default: 500)</li>
+ *   <li>unavailable -- fraction of HTTP 503 responses, 1 for an MGM outage (default: 0)</li>
+ * </ul>
+ * Any eos.* argument is passed on to the backend configuration, such as
+ * eos.startup.connections=0 eos.startup.prefetch=false for a cold backend, or
+ * eos.capabilities.snapshot=&lt;file&gt; to persist capabilities across runs.
+ */
+public class ColdStart {
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    Properties backendProperties = new Properties();
+
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+
+      if (eq > 0) {
+        String key = arg.substring(0, eq);
+        String value = arg.substring(eq + 1);
+
+        if (key.startsWith("eos.")) {
+          backendProperties.setProperty(key, value);
+        } else {
+          options.put(key, value);
+        }
+      }
+    }
+
+    long latency = Long.parseLong(options.getOrDefault("latency", "20"));
+    long arrival = Long.parseLong(options.getOrDefault("arrival", "500"));
+    double unavailable = Double.parseDouble(options.getOrDefault("unavailable", "0"));
+    StubNamespace namespace = StubNamespace.standard("/eos/stub", 10, 100);
+
+    try (StubMgmServer server = new StubMgmServer(namespace, 0, 16)) {
+      server.latency(latency, 0, TimeUnit.MILLISECONDS).httpErrorRate(unavailable, 503);
+      PluginConfig config = LoadTest.stubConfig(server, backendProperties);
+
+      // Same sequence as EosStorageBackendFactory, minus reading the config file
+      long start = System.nanoTime();
+      WarmStartup startup = new WarmStartup();
+      EosStorageBackend backend = startup.time("backend", () -> new EosStorageBackend(config));
+      long created = System.nanoTime();
+      startup.warmUp(backend, config);
+
+      Thread.sleep(arrival);
+      long requested = System.nanoTime();
+      int served = backend.getCapabilities().size();
+      long capabilities = System.nanoTime();
+      String status;
+
+      try {
+        backend.getCurrentStatus(namespace.files().get(0));
+        status = String.format("%.1fms", millis(capabilities, System.nanoTime()));
+      } catch (BackEndException e) {
+        status = "failed";
+      }
+
+      System.out.printf("Cold start: latency=%dms arrival=%dms unavailable=%.2f%n", latency,
+          arrival, unavailable);
+      System.out.printf("backend-created=%.1fms ready=%s phases=%s%n", millis(start, created),
+          startup.isReady() ? startup.getTotalMillis() + "ms" : "no", startup.getPhaseMillis());
+      System.out.printf("first-getCapabilities=%.1fms (%d capabilities) first-getCurrentStatus=%s "
+              + "start-to-first-served=%.1fms%n", millis(requested, capabilities), served,
+          status, millis(start, capabilities) - arrival);
+      backend.close();
+    }
+  }
+
+  private static double millis(long from, long to) {
+    return (to - from) / 1e6;
+  }
+}
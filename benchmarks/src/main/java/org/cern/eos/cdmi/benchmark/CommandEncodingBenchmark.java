@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.benchmark;
+
+import org.cern.eos.cdmi.protobuf.ProtobufUtils;
+import org.cern.eos.cdmi.protobuf.QoSCommandEncoder;
+import org.cern.eos.cdmi.util.CommandUrls;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Protobuf command encoding and command URL building.
+ * <p>
+ * The "encoder" benchmarks use the precomputed QoSCommandEncoder and are
+ * meant to be compared with their protobuf builder counterparts,
+ * run with the GC profiler to compare allocations per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CommandEncodingBenchmark {
+
+  private final String server = "http://eos-mgm.cern.ch:8000";
+  private final String path = "/eos/dev/qos/datasets/run2019/file_0001.dat";
+  private final String qosClass = "disk_replica";
+  private QoSCommandEncoder encoder;
+
+  @Setup
+  public void setup() throws UnsupportedEncodingException {
+    encoder = new QoSCommandEncoder(server);
+  }
+
+  @Benchmark
+  public String qosListUrl() throws UnsupportedEncodingException {
+    return CommandUrls.protoCommand(server, ProtobufUtils.QoSList());
+  }
+
+  @Benchmark
+  public String qosListClassUrl() throws UnsupportedEncodingException {
+    return CommandUrls.protoCommand(server, ProtobufUtils.QoSListClass(qosClass));
+  }
+
+  @Benchmark
+  public String qosList() {
+    return ProtobufUtils.QoSList();
+  }
+
+  @Benchmark
+  public String qosListClass() {
+    return ProtobufUtils.QoSListClass(qosClass);
+  }
+
+  @Benchmark
+  public String qosGet() {
+    return ProtobufUtils.QoSGet(path);
+  }
+
+  @Benchmark
+  public String qosSet() {
+    return ProtobufUtils.QoSSet(path, qosClass);
+  }
+
+  @Benchmark
+  public String qosGetUrl() throws UnsupportedEncodingException {
+    return CommandUrls.protoCommand(server, ProtobufUtils.QoSGet(path));
+  }
+
+  @Benchmark
+  public String qosSetUrl() throws UnsupportedEncodingException {
+    return CommandUrls.protoCommand(server, ProtobufUtils.QoSSet(path, qosClass));
+  }
+
+  @Benchmark
+  public String encoderQosListUrl() {
+    return encoder.qosList();
+  }
+
+  @Benchmark
+  public String encoderQosListClassUrl() {
+    return encoder.qosListClass(qosClass);
+  }
+
+  @Benchmark
+  public String encoderQosGetUrl() {
+    return encoder.qosGet(path);
+  }
+
+  @Benchmark
+  public String encoderQosSetUrl() {
+    return encoder.qosSet(path, qosClass);
+  }
+
+  @Benchmark
+  public String fileinfoUrl() throws UnsupportedEncodingException {
+    return CommandUrls.fileinfoCommand(server, path);
+  }
+}
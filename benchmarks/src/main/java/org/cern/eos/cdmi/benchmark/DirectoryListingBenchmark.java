@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.benchmark;
+
+import org.apache.http.HttpResponse;
+import org.cern.eos.cdmi.codec.FileinfoListing;
+import org.cern.eos.cdmi.codec.ResponseCodec;
+import org.cern.eos.cdmi.codec.ResponseCodecs;
+import org.cern.eos.cdmi.util.EOSParseUtils;
+import org.indigo.cdmi.BackEndException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Children extraction from fileinfo responses of directories of growing size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Thread)
+public class DirectoryListingBenchmark {
+
+  private static final ResponseCodec JSON_CODEC = ResponseCodecs.forName(ResponseCodecs.JSON);
+  private static final ResponseCodec STREAMING_CODEC =
+      ResponseCodecs.forName(ResponseCodecs.STREAMING);
+
+  @Param({"10", "1000", "100000", "1000000"})
+  public int children;
+
+  private byte[] body;
+  private String bodyString;
+  private HttpResponse response;
+
+  @Setup
+  public void setup() {
+    body = Fixtures.directory(children);
+    bodyString = new String(body, StandardCharsets.UTF_8);
+    response = Fixtures.httpResponse(body);
+  }
+
+  @Benchmark
+  public String extractCmdOutput() throws BackEndException {
+    return EOSParseUtils.extractCmdOutput(bodyString);
+  }
+
+  @Benchmark
+  public FileinfoListing jsonChildren() throws IOException, BackEndException {
+    return JSON_CODEC.decodeFileinfoPage(response, null, 0, 0);
+  }
+
+  @Benchmark
+  public FileinfoListing streamingChildren() throws IOException, BackEndException {
+    return STREAMING_CODEC.decodeFileinfoPage(response, null, 0, 0);
+  }
+
+  @Benchmark
+  public FileinfoListing streamingFirstPage() throws IOException, BackEndException {
+    return STREAMING_CODEC.decodeFileinfoPage(response, null, 0, 1000);
+  }
+}
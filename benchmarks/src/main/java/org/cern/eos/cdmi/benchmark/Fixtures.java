@@ -0,0 +1,116 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.benchmark;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Recorded EOS MGM responses used as benchmark input.
+ * <p>
+ * Small responses are stored as-is under /fixtures. Directory listings are generated
+ * from a recorded directory and child entry, so that any number of children can be produced.
+ */
+public final class Fixtures {
+
+  public static final String FILEINFO_FILE = "fileinfo-file.txt";
+  public static final String QOS_GET = "qos-get.txt";
+  public static final String QOS_GET_PENDING = "qos-get-pending.txt";
+  public static final String QOS_LIST = "qos-list.txt";
+  public static final String QOS_LIST_CLASS = "qos-list-class.txt";
+
+  private Fixtures() {
+  }
+
+  /**
+   * Returns the content of the given fixture.
+   */
+  public static String load(String name) {
+    try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+      if (in == null) {
+        throw new IllegalArgumentException("Unknown fixture: " + name);
+      }
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      int read;
+
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+
+      return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns a fileinfo response of a directory with the given number of children.
+   */
+  public static byte[] directory(int children) {
+    String childTemplate = load("fileinfo-child.template");
+    String directoryTemplate = load("fileinfo-dir.template");
+    StringBuilder childrenJson = new StringBuilder(children * (childTemplate.length() + 16));
+
+    for (int i = 0; i < children; i++) {
+      if (i > 0) {
+        childrenJson.append(',');
+      }
+
+      long id = 1051392L + i;
+      childrenJson.append(String.format(childTemplate, id, id, id << 28,
+          String.format("file_%07d.dat", i)));
+    }
+
+    String body = String.format(directoryTemplate, children, children * 1048576L, childrenJson);
+    return body.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns a successful HTTP response with the given body.
+   * The entity is repeatable, so the response can be read many times.
+   */
+  public static HttpResponse httpResponse(byte[] body) {
+    HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+    response.setEntity(new ByteArrayEntity(body, ContentType.TEXT_PLAIN));
+    return response;
+  }
+
+  /**
+   * Returns a successful HTTP response with the given body.
+   */
+  public static HttpResponse httpResponse(String body) {
+    return httpResponse(body.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency samples of one worker thread, mergeable into a summary.
+ * Not thread-safe: each worker records into its own instance.
+ */
+public class LatencySamples {
+
+  private long[] samples = new long[1024];
+  private int count = 0;
+  private long errors = 0;
+
+  /**
+   * Record a latency in nanoseconds.
+   */
+  public void record(long nanos) {
+    if (count == samples.length) {
+      samples = Arrays.copyOf(samples, count * 2);
+    }
+
+    samples[count++] = nanos;
+  }
+
+  public void recordError() {
+    errors++;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public long getErrors() {
+    return errors;
+  }
+
+  /**
+   * Merge the given per-thread samples into a single sorted instance.
+   */
+  public static LatencySamples merge(Iterable<LatencySamples> all) {
+    LatencySamples merged = new LatencySamples();
+
+    for (LatencySamples samples : all) {
+      for (int i = 0; i < samples.count; i++) {
+        merged.record(samples.samples[i]);
+      }
+
+      merged.errors += samples.errors;
+    }
+
+    Arrays.sort(merged.samples, 0, merged.count);
+    return merged;
+  }
+
+  /**
+   * Returns the given percentile in milliseconds. Samples must be sorted, see {@link #merge}.
+   */
+  public double percentileMillis(double percentile) {
+    if (count == 0) {
+      return 0.0;
+    }
+
+    int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+    long nanos = samples[Math.max(0, Math.min(count - 1, index))];
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
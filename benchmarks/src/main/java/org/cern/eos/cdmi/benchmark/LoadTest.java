@@ -0,0 +1,399 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.benchmark;
+
+import org.cern.eos.cdmi.EosStorageBackend;
+import org.cern.eos.cdmi.resilience.ResilientExecutor;
+import org.cern.eos.cdmi.stub.StubGrpcMgm;
+import org.cern.eos.cdmi.stub.StubMgmServer;
+import org.cern.eos.cdmi.stub.StubNamespace;
+import org.cern.eos.cdmi.tracking.TransitionTracker;
+import org.cern.eos.cdmi.util.HttpUtils;
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.indigo.cdmi.BackEndException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end latency and throughput of EosStorageBackend against the stub MGM.
+ * <p>
+ * Options are given as key=value arguments:
+ * <ul>
+ *   <li>threads -- number of client threads (default: 16)</li>
+ *   <li>duration -- measurement duration in seconds (default: 30)</li>
+ *   <li>warmup -- warmup duration in seconds (default: 5)</li>
+ *   <li>directories, files -- namespace size (default: 10 x 1000)</li>
+ *   <li>latency, jitter -- injected MGM latency in milliseconds (default: 2, 1)</li>
+ *   <li>errors -- fraction of MGM error responses (default: 0)</li>
+ *   <li>unavailable -- fraction of HTTP 503 responses (default: 0)</li>
+ *   <li>slow, slowDelay -- fraction of responses sent in chunks, and the delay
+ *   in milliseconds between chunks (default: 0, 20)</li>
+ *   <li>status, capabilities, update -- operation mix weights (default: 90, 8, 2)</li>
+ *   <li>invalid -- fraction of updates targeting an unknown QoS class (default: 0)</li>
+ *   <li>mgms -- number of stub MGMs: one primary and read-only followers (default: 1)</li>
+ *   <li>mgmThreads -- request handling threads per stub MGM (default: 2 x threads)</li>
+ *   <li>transitionDelay -- milliseconds after which QoS transitions complete (default: 0)</li>
+ *   <li>hot -- restrict operations to this many files, which clients then poll while
+ *   their transitions are pending (default: 0, all files)</li>
+ *   <li>inflight -- drive the non-blocking backend methods from a single thread,
+ *   keeping this many operations in flight instead of using client threads (default: 0)</li>
+ *   <li>grpc -- send QoS commands through the gRPC interface of the stub MGM,
+ *   fileinfo still going through HTTP; requires a single MGM (default: false)</li>
+ * </ul>
+ * Any other eos.* argument is passed on to the backend configuration.
+ */
+public class LoadTest {
+
+  private enum Operation { STATUS, CAPABILITIES, UPDATE }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    Properties backendProperties = new Properties();
+
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+
+      if (eq > 0) {
+        String key = arg.substring(0, eq);
+        String value = arg.substring(eq + 1);
+
+        if (key.startsWith("eos.")) {
+          backendProperties.setProperty(key, value);
+        } else {
+          options.put(key, value);
+        }
+      }
+    }
+
+    int threads = Integer.parseInt(options.getOrDefault("threads", "16"));
+    long duration = Long.parseLong(options.getOrDefault("duration", "30"));
+    long warmup = Long.parseLong(options.getOrDefault("warmup", "5"));
+    int directories = Integer.parseInt(options.getOrDefault("directories", "10"));
+    int files = Integer.parseInt(options.getOrDefault("files", "1000"));
+    long latency = Long.parseLong(options.getOrDefault("latency", "2"));
+    long jitter = Long.parseLong(options.getOrDefault("jitter", "1"));
+    double errors = Double.parseDouble(options.getOrDefault("errors", "0"));
+    double unavailable = Double.parseDouble(options.getOrDefault("unavailable", "0"));
+    double slow = Double.parseDouble(options.getOrDefault("slow", "0"));
+    long slowDelay = Long.parseLong(options.getOrDefault("slowDelay", "20"));
+    int statusWeight = Integer.parseInt(options.getOrDefault("status", "90"));
+    int capabilitiesWeight = Integer.parseInt(options.getOrDefault("capabilities", "8"));
+    int updateWeight = Integer.parseInt(options.getOrDefault("update", "2"));
+    int mgms = Math.max(1, Integer.parseInt(options.getOrDefault("mgms", "1")));
+    int inflight = Integer.parseInt(options.getOrDefault("inflight", "0"));
+    long transitionDelay = Long.parseLong(options.getOrDefault("transitionDelay", "0"));
+    int hot = Integer.parseInt(options.getOrDefault("hot", "0"));
+    boolean grpc = Boolean.parseBoolean(options.getOrDefault("grpc", "false"));
+    double invalid = Double.parseDouble(options.getOrDefault("invalid", "0"));
+    int mgmThreads = Integer.parseInt(options.getOrDefault("mgmThreads",
+        String.valueOf(Math.max(16, Math.max(threads, inflight) * 2))));
+
+    StubNamespace namespace = StubNamespace.standard("/eos/stub", directories, files);
+    namespace.setTransitionDelay(transitionDelay, TimeUnit.MILLISECONDS);
+
+    if (grpc && mgms > 1) {
+      throw new IllegalArgumentException("Option grpc requires a single MGM");
+    }
+
+    List<StubMgmServer> servers = new ArrayList<>();
+    StubGrpcMgm grpcServer = null;
+
+    try {
+      for (int i = 0; i < mgms; i++) {
+        StubMgmServer server = new StubMgmServer(namespace, 0, mgmThreads);
+        server.latency(latency, jitter, TimeUnit.MILLISECONDS).errorRate(errors)
+            .httpErrorRate(unavailable, 503).slowRate(slow, slowDelay, TimeUnit.MILLISECONDS)
+            .readOnly(i > 0);
+        servers.add(server);
+      }
+
+      StubMgmServer primary = servers.get(0);
+      StringBuilder readers = new StringBuilder();
+
+      for (StubMgmServer follower : servers.subList(1, servers.size())) {
+        readers.append(readers.length() > 0 ? "," : "").append("127.0.0.1:")
+            .append(follower.getPort());
+      }
+
+      if (readers.length() > 0 && !backendProperties.containsKey("eos.server.readers")) {
+        backendProperties.setProperty("eos.server.readers", readers.toString());
+      }
+
+      if (grpc) {
+        grpcServer = new StubGrpcMgm(primary, 0, mgmThreads);
+        backendProperties.setProperty("eos.server.scheme", "grpc");
+        backendProperties.setProperty("eos.server.port", String.valueOf(grpcServer.getPort()));
+        backendProperties.setProperty("eos.grpc.http.port", String.valueOf(primary.getPort()));
+      }
+
+      EosStorageBackend backend = new EosStorageBackend(stubConfig(primary, backendProperties));
+      List<String> paths = namespace.files();
+
+      if (hot > 0 && hot < paths.size()) {
+        paths = paths.subList(0, hot);
+      }
+
+      int totalWeight = statusWeight + capabilitiesWeight + updateWeight;
+
+      System.out.printf("Load test: %s duration=%ds entries=%d latency=%d+-%dms mgms=%d%s%n",
+          (inflight > 0) ? "inflight=" + inflight : "threads=" + threads,
+          duration, namespace.size(), latency, jitter, mgms, grpc ? " grpc" : "");
+
+      if (inflight > 0) {
+        runAsync(backend, paths, inflight, TimeUnit.SECONDS.toNanos(warmup),
+            statusWeight, capabilitiesWeight, totalWeight, invalid);
+      } else {
+        run(backend, paths, threads, TimeUnit.SECONDS.toNanos(warmup),
+            statusWeight, capabilitiesWeight, totalWeight, invalid);
+      }
+
+      long requestsBefore = 0;
+
+      for (StubMgmServer server : servers) {
+        requestsBefore += server.getRequests();
+      }
+
+      Map<Operation, List<LatencySamples>> results = (inflight > 0)
+          ? runAsync(backend, paths, inflight, TimeUnit.SECONDS.toNanos(duration),
+              statusWeight, capabilitiesWeight, totalWeight, invalid)
+          : run(backend, paths, threads, TimeUnit.SECONDS.toNanos(duration),
+              statusWeight, capabilitiesWeight, totalWeight, invalid);
+
+      long totalOps = 0;
+
+      for (Operation operation : Operation.values()) {
+        LatencySamples merged = LatencySamples.merge(results.get(operation));
+        totalOps += merged.getCount();
+        System.out.printf("%-13s ops=%-9d errors=%-6d ops/s=%-10.1f p50=%.2fms p99=%.2fms "
+                + "p99.9=%.2fms%n", operation, merged.getCount(), merged.getErrors(),
+            merged.getCount() / (double) duration, merged.percentileMillis(50),
+            merged.percentileMillis(99), merged.percentileMillis(99.9));
+      }
+
+      long requests = -requestsBefore;
+      StringBuilder perServer = new StringBuilder();
+
+      for (StubMgmServer server : servers) {
+        requests += server.getRequests();
+        perServer.append(' ').append(server.getRequests());
+      }
+
+      ResilientExecutor resilience = HttpUtils.getResilience();
+      System.out.printf("TOTAL         ops/s=%.1f mgm-requests=%d per-mgm=[%s ]%n",
+          totalOps / (double) duration, requests, perServer);
+      System.out.printf("Resilience    retries=%d hedges=%d hedge-wins=%d deadlines=%d "
+              + "circuit-opened=%d circuit-rejected=%d%n", resilience.getRetries(),
+          resilience.getHedges(), resilience.getHedgeWins(), resilience.getDeadlinesExceeded(),
+          resilience.getCircuitOpened(), resilience.getCircuitRejected());
+
+      TransitionTracker tracker = backend.getTransitionTracker();
+
+      if (tracker != null) {
+        System.out.printf("Transitions   tracked=%d completed=%d polls=%d served=%d "
+                + "completion-p50=%.1fms completion-p99=%.1fms%n", tracker.getTracked(),
+            tracker.getCompleted(), tracker.getPolls(), tracker.getServed(),
+            tracker.getCompletionP50Millis(), tracker.getCompletionP99Millis());
+      }
+
+      backend.close();
+    } finally {
+      if (grpcServer != null) {
+        grpcServer.close();
+      }
+
+      for (StubMgmServer server : servers) {
+        server.close();
+      }
+    }
+  }
+
+  /**
+   * Returns the target capability of an update, unknown to the MGM with the given probability.
+   */
+  private static String updateTarget(double invalid) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+
+    if (random.nextDouble() < invalid) {
+      return "/cdmi_capabilities/dataobject/no_such_class";
+    }
+
+    return random.nextBoolean()
+        ? "/cdmi_capabilities/dataobject/disk_replica"
+        : "/cdmi_capabilities/dataobject/disk_plain";
+  }
+
+  /**
+   * Returns a backend configuration pointing to the given stub server.
+   */
+  static PluginConfig stubConfig(StubMgmServer server, Properties overrides) {
+    Properties properties = new Properties();
+    properties.setProperty("eos.server", "127.0.0.1");
+    properties.setProperty("eos.server.port", String.valueOf(server.getPort()));
+    properties.setProperty("eos.server.scheme", "http");
+    properties.setProperty("eos.capabilities.snapshot", "");
+    properties.putAll(overrides);
+    return new PluginConfig(properties);
+  }
+
+  /**
+   * Drive the non-blocking backend methods from the calling thread,
+   * keeping the given number of operations in flight.
+   */
+  private static Map<Operation, List<LatencySamples>> runAsync(EosStorageBackend backend,
+                                                               List<String> paths, int inflight,
+                                                               long durationNanos,
+                                                               int statusWeight,
+                                                               int capabilitiesWeight,
+                                                               int totalWeight,
+                                                               double invalid)
+      throws InterruptedException {
+    Map<Operation, List<LatencySamples>> results = new HashMap<>();
+    Map<Operation, LatencySamples> samples = new HashMap<>();
+    Semaphore permits = new Semaphore(inflight);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long deadline = System.nanoTime() + durationNanos;
+
+    for (Operation operation : Operation.values()) {
+      LatencySamples operationSamples = new LatencySamples();
+      samples.put(operation, operationSamples);
+      results.put(operation, new ArrayList<>());
+      results.get(operation).add(operationSamples);
+    }
+
+    while (System.nanoTime() < deadline) {
+      permits.acquire();
+      int pick = random.nextInt(totalWeight);
+      Operation operation = (pick < statusWeight) ? Operation.STATUS
+          : (pick < statusWeight + capabilitiesWeight) ? Operation.CAPABILITIES
+          : Operation.UPDATE;
+      String path = paths.get(random.nextInt(paths.size()));
+      LatencySamples operationSamples = samples.get(operation);
+      long start = System.nanoTime();
+      CompletableFuture<?> future;
+
+      switch (operation) {
+        case STATUS:
+          future = backend.getCurrentStatusAsync(path);
+          break;
+        case CAPABILITIES:
+          future = backend.getCapabilitiesAsync();
+          break;
+        default:
+          future = backend.updateCdmiObjectAsync(path, updateTarget(invalid));
+          break;
+      }
+
+      future.whenComplete((result, error) -> {
+        long elapsed = System.nanoTime() - start;
+
+        synchronized (operationSamples) {
+          if (error == null) {
+            operationSamples.record(elapsed);
+          } else {
+            operationSamples.recordError();
+          }
+        }
+
+        permits.release();
+      });
+    }
+
+    // Wait for the operations still in flight
+    permits.acquire(inflight);
+    return results;
+  }
+
+  private static Map<Operation, List<LatencySamples>> run(EosStorageBackend backend,
+                                                          List<String> paths, int threads,
+                                                          long durationNanos, int statusWeight,
+                                                          int capabilitiesWeight, int totalWeight,
+                                                          double invalid)
+      throws InterruptedException {
+    Map<Operation, List<LatencySamples>> results = new HashMap<>();
+    List<Thread> workers = new ArrayList<>();
+    long deadline = System.nanoTime() + durationNanos;
+
+    for (Operation operation : Operation.values()) {
+      results.put(operation, new ArrayList<>());
+    }
+
+    for (int t = 0; t < threads; t++) {
+      Map<Operation, LatencySamples> samples = new HashMap<>();
+
+      for (Operation operation : Operation.values()) {
+        LatencySamples operationSamples = new LatencySamples();
+        samples.put(operation, operationSamples);
+        results.get(operation).add(operationSamples);
+      }
+
+      Thread worker = new Thread(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < deadline) {
+          int pick = random.nextInt(totalWeight);
+          Operation operation = (pick < statusWeight) ? Operation.STATUS
+              : (pick < statusWeight + capabilitiesWeight) ? Operation.CAPABILITIES
+              : Operation.UPDATE;
+          String path = paths.get(random.nextInt(paths.size()));
+          long start = System.nanoTime();
+
+          try {
+            switch (operation) {
+              case STATUS:
+                backend.getCurrentStatus(path);
+                break;
+              case CAPABILITIES:
+                backend.getCapabilities();
+                break;
+              default:
+                backend.updateCdmiObject(path, updateTarget(invalid));
+                break;
+            }
+
+            samples.get(operation).record(System.nanoTime() - start);
+          } catch (BackEndException | RuntimeException e) {
+            samples.get(operation).recordError();
+          }
+        }
+      }, "load-test-" + t);
+
+      workers.add(worker);
+      worker.start();
+    }
+
+    for (Thread worker : workers) {
+      worker.join();
+    }
+
+    return results;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.benchmark;
+
+import org.apache.http.HttpResponse;
+import org.cern.eos.cdmi.codec.ResponseCodec;
+import org.cern.eos.cdmi.codec.ResponseCodecs;
+import org.indigo.cdmi.BackEndException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of MGM responses into typed objects by each response codec.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseCodecBenchmark {
+
+  private static final String DIRECTORY = "directory-1000";
+
+  @Param({ResponseCodecs.JSON, ResponseCodecs.STREAMING})
+  public String codecName;
+
+  @Param({Fixtures.FILEINFO_FILE, DIRECTORY, Fixtures.QOS_GET, Fixtures.QOS_LIST,
+      Fixtures.QOS_LIST_CLASS})
+  public String fixture;
+
+  private ResponseCodec codec;
+  private HttpResponse response;
+
+  @Setup
+  public void setup() {
+    codec = ResponseCodecs.forName(codecName);
+    response = DIRECTORY.equals(fixture)
+        ? Fixtures.httpResponse(Fixtures.directory(1000))
+        : Fixtures.httpResponse(Fixtures.load(fixture));
+  }
+
+  @Benchmark
+  public Object decode() throws IOException, BackEndException {
+    switch (fixture) {
+      case Fixtures.QOS_GET:
+        return codec.decodeQoSEntry(response, null);
+      case Fixtures.QOS_LIST:
+        return codec.decodeQoSClassNames(response, null);
+      case Fixtures.QOS_LIST_CLASS:
+        return codec.decodeQoSClass(response, null);
+      default:
+        return codec.decodeFileinfo(response, null);
+    }
+  }
+}
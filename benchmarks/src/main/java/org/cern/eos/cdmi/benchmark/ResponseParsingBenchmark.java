@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.benchmark;
+
+import org.apache.http.HttpResponse;
+import org.cern.eos.cdmi.util.EOSParseUtils;
+import org.cern.eos.cdmi.util.JsonUtils;
+import org.indigo.cdmi.BackEndException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envelope extraction and JSON parsing of small MGM responses.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseParsingBenchmark {
+
+  @Param({Fixtures.FILEINFO_FILE, Fixtures.QOS_GET, Fixtures.QOS_GET_PENDING,
+      Fixtures.QOS_LIST, Fixtures.QOS_LIST_CLASS})
+  public String fixture;
+
+  private String body;
+  private HttpResponse response;
+  private JSONObject qosGet;
+
+  @Setup
+  public void setup() throws Exception {
+    body = Fixtures.load(fixture);
+    response = Fixtures.httpResponse(body);
+    qosGet = new JSONObject(EOSParseUtils.extractCmdOutput(Fixtures.load(Fixtures.QOS_GET_PENDING)));
+  }
+
+  @Benchmark
+  public String extractCmdOutput() throws BackEndException {
+    return EOSParseUtils.extractCmdOutput(body);
+  }
+
+  @Benchmark
+  public JSONObject responseToJson() throws IOException, BackEndException {
+    return JsonUtils.responseToJson(response);
+  }
+
+  @Benchmark
+  public Map<String, Object> metadataFromQoSJson() {
+    return EOSParseUtils.metadataFromQoSJson(qosGet, "_provided");
+  }
+}
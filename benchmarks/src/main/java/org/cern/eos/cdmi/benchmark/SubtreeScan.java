@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.benchmark;
+
+import org.cern.eos.cdmi.EosStorageBackend;
+import org.cern.eos.cdmi.SubtreeSummary;
+import org.cern.eos.cdmi.stub.StubMgmServer;
+import org.cern.eos.cdmi.stub.StubNamespace;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subtree QoS summary throughput against the stub MGM, for each given concurrency.
+ * <p>
+ * Options are given as key=value arguments:
+ * <ul>
+ *   <li>directories, files -- namespace size (default: 20 x 2500)</li>
+ *   <li>latency, jitter -- injected MGM latency in milliseconds (default: 2, 1)</li>
+ *   <li>pending -- fraction of files with a pending transition (default: 0.01)</li>
+ *   <li>concurrency -- comma separated concurrencies to measure (default: 1,8,32)</li>
+ * </ul>
+ * Any eos.* argument is passed on to the backend configuration.
+ */
+public class SubtreeScan {
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    Properties backendProperties = new Properties();
+
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+
+      if (eq > 0) {
+        String key = arg.substring(0, eq);
+        String value = arg.substring(eq + 1);
+
+        if (key.startsWith("eos.")) {
+          backendProperties.setProperty(key, value);
+        } else {
+          options.put(key, value);
+        }
+      }
+    }
+
+    int directories = Integer.parseInt(options.getOrDefault("directories", "20"));
+    int files = Integer.parseInt(options.getOrDefault("files", "2500"));
+    long latency = Long.parseLong(options.getOrDefault("latency", "2"));
+    long jitter = Long.parseLong(options.getOrDefault("jitter", "1"));
+    double pending = Double.parseDouble(options.getOrDefault("pending", "0.01"));
+    String[] concurrencies = options.getOrDefault("concurrency", "1,8,32").split(",");
+
+    StubNamespace namespace = StubNamespace.standard("/eos/stub", directories, files);
+    namespace.setTransitionDelay(1, TimeUnit.DAYS);
+    List<String> paths = namespace.files();
+    int step = (pending > 0) ? (int) Math.max(1, Math.round(1 / pending)) : Integer.MAX_VALUE;
+
+    for (int i = 0; i < paths.size(); i += step) {
+      namespace.setQoS(paths.get(i), "disk_replica");
+    }
+
+    try (StubMgmServer server = new StubMgmServer(namespace, 0, 64)) {
+      server.latency(latency, jitter, TimeUnit.MILLISECONDS);
+      backendProperties.putIfAbsent("eos.transitions.interval", "0");
+      EosStorageBackend backend =
+          new EosStorageBackend(LoadTest.stubConfig(server, backendProperties));
+
+      System.out.printf("Subtree scan: entries=%d latency=%d+-%dms%n", namespace.size(),
+          latency, jitter);
+
+      for (String concurrency : concurrencies) {
+        SubtreeSummary.Result result = backend.subtreeSummary("/eos/stub")
+            .concurrency(Integer.parseInt(concurrency.trim()))
+            .run();
+        double rate = result.getEntries() * 1000.0 / Math.max(1, result.getElapsedMillis());
+
+        System.out.printf("concurrency=%-4s entries=%-8d stragglers=%-6d elapsed=%-8dms "
+                + "entries/s=%-9.0f 1M entries in %.1f min%n", concurrency.trim(),
+            result.getEntries(), result.getStragglerCount(), result.getElapsedMillis(), rate,
+            1e6 / rate / 60);
+        System.out.printf("  counts=%s%n", result.getCounts());
+      }
+
+      backend.close();
+    }
+  }
+}
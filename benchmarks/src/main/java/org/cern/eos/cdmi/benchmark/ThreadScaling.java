@@ -0,0 +1,219 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.benchmark;
+
+import org.cern.eos.cdmi.EosStorageBackend;
+import org.cern.eos.cdmi.stub.StubMgmServer;
+import org.cern.eos.cdmi.stub.StubNamespace;
+import org.indigo.cdmi.BackEndException;
+import org.indigo.cdmi.BackendCapability;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Throughput and latency of one shared EosStorageBackend against the stub MGM,
+ * for an increasing number of client threads.
+ * <p>
+ * Each client thread issues status queries, capability listings and updates.
+ * Results are printed as CSV, one line per thread count, ready for plotting.
+ * Unexpected runtime exceptions, which would point at unsafe shared state,
+ * are counted apart from backend errors.
+ * <p>
+ * Options are given as key=value arguments:
+ * <ul>
+ *   <li>threads -- comma separated thread counts to measure (default: 1,2,4,8,16,32,64)</li>
+ *   <li>duration -- measurement duration per thread count in seconds (default: 10)</li>
+ *   <li>warmup -- warmup duration in seconds, run once with the most threads (default: 5)</li>
+ *   <li>directories, files -- namespace size (default: 10 x 1000)</li>
+ *   <li>latency, jitter -- injected MGM latency in milliseconds (default: 2, 1)</li>
+ *   <li>status, capabilities, update -- operation mix weights (default: 90, 8, 2)</li>
+ * </ul>
+ * Any eos.* argument is passed on to the backend configuration.
+ */
+public class ThreadScaling {
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    Properties backendProperties = new Properties();
+
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+
+      if (eq > 0) {
+        String key = arg.substring(0, eq);
+        String value = arg.substring(eq + 1);
+
+        if (key.startsWith("eos.")) {
+          backendProperties.setProperty(key, value);
+        } else {
+          options.put(key, value);
+        }
+      }
+    }
+
+    String[] threadCounts = options.getOrDefault("threads", "1,2,4,8,16,32,64").split(",");
+    long duration = Long.parseLong(options.getOrDefault("duration", "10"));
+    long warmup = Long.parseLong(options.getOrDefault("warmup", "5"));
+    int directories = Integer.parseInt(options.getOrDefault("directories", "10"));
+    int files = Integer.parseInt(options.getOrDefault("files", "1000"));
+    long latency = Long.parseLong(options.getOrDefault("latency", "2"));
+    long jitter = Long.parseLong(options.getOrDefault("jitter", "1"));
+    int statusWeight = Integer.parseInt(options.getOrDefault("status", "90"));
+    int capabilitiesWeight = Integer.parseInt(options.getOrDefault("capabilities", "8"));
+    int updateWeight = Integer.parseInt(options.getOrDefault("update", "2"));
+    int[] mix = {statusWeight, statusWeight + capabilitiesWeight,
+        statusWeight + capabilitiesWeight + updateWeight};
+    int maxThreads = 1;
+
+    for (String threadCount : threadCounts) {
+      maxThreads = Math.max(maxThreads, Integer.parseInt(threadCount.trim()));
+    }
+
+    StubNamespace namespace = StubNamespace.standard("/eos/stub", directories, files);
+    List<String> paths = namespace.files();
+
+    try (StubMgmServer server = new StubMgmServer(namespace, 0, 2 * maxThreads)) {
+      server.latency(latency, jitter, TimeUnit.MILLISECONDS);
+      EosStorageBackend backend =
+          new EosStorageBackend(LoadTest.stubConfig(server, backendProperties));
+      int expectedCapabilities = backend.getCapabilities().size();
+
+      System.out.printf("# Thread scaling: entries=%d latency=%d+-%dms mix=%d/%d/%d%n",
+          namespace.size(), latency, jitter, statusWeight, capabilitiesWeight, updateWeight);
+      run(backend, paths, maxThreads, TimeUnit.SECONDS.toNanos(warmup), mix,
+          expectedCapabilities);
+
+      System.out.println("threads,ops_per_s,p50_ms,p99_ms,p999_ms,errors,unexpected,"
+          + "mgm_requests_per_op");
+
+      for (String threadCount : threadCounts) {
+        int threads = Integer.parseInt(threadCount.trim());
+        long requestsBefore = server.getRequests();
+        Step step = run(backend, paths, threads, TimeUnit.SECONDS.toNanos(duration), mix,
+            expectedCapabilities);
+        long requests = server.getRequests() - requestsBefore;
+
+        System.out.printf("%d,%.1f,%.2f,%.2f,%.2f,%d,%d,%.2f%n", threads,
+            step.samples.getCount() / (double) duration, step.samples.percentileMillis(50),
+            step.samples.percentileMillis(99), step.samples.percentileMillis(99.9),
+            step.samples.getErrors(), step.unexpected.get(),
+            requests / (double) Math.max(1, step.samples.getCount()));
+
+        if (step.firstUnexpected.get() != null) {
+          System.out.println("# first unexpected failure:");
+          step.firstUnexpected.get().printStackTrace(System.out);
+        }
+      }
+
+      backend.close();
+    }
+  }
+
+  /**
+   * Drive the backend from the given number of threads for the given duration.
+   */
+  private static Step run(EosStorageBackend backend, List<String> paths, int threads,
+                          long durationNanos, int[] mix, int expectedCapabilities)
+      throws InterruptedException {
+    Step step = new Step();
+    List<LatencySamples> perThread = new ArrayList<>();
+    List<Thread> workers = new ArrayList<>();
+    long deadline = System.nanoTime() + durationNanos;
+
+    for (int t = 0; t < threads; t++) {
+      LatencySamples samples = new LatencySamples();
+      perThread.add(samples);
+
+      Thread worker = new Thread(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < deadline) {
+          int pick = random.nextInt(mix[2]);
+          String path = paths.get(random.nextInt(paths.size()));
+          long start = System.nanoTime();
+
+          try {
+            if (pick < mix[0]) {
+              backend.getCurrentStatus(path);
+            } else if (pick < mix[1]) {
+              checkCapabilities(backend.getCapabilities(), expectedCapabilities);
+            } else {
+              backend.updateCdmiObject(path, random.nextBoolean()
+                  ? "/cdmi_capabilities/dataobject/disk_replica"
+                  : "/cdmi_capabilities/dataobject/disk_plain");
+            }
+
+            samples.record(System.nanoTime() - start);
+          } catch (BackEndException e) {
+            samples.recordError();
+          } catch (RuntimeException e) {
+            step.unexpected.incrementAndGet();
+            step.firstUnexpected.compareAndSet(null, e);
+          }
+        }
+      }, "scaling-" + t);
+
+      workers.add(worker);
+      worker.start();
+    }
+
+    for (Thread worker : workers) {
+      worker.join();
+    }
+
+    step.samples = LatencySamples.merge(perThread);
+    return step;
+  }
+
+  /**
+   * Fail if a capability listing seen by a client thread is incomplete.
+   */
+  private static void checkCapabilities(List<BackendCapability> capabilities, int expected) {
+    if (capabilities.size() != expected) {
+      throw new IllegalStateException(String.format(
+          "Expected %d capabilities, got %d", expected, capabilities.size()));
+    }
+
+    for (BackendCapability capability : capabilities) {
+      if (capability.getCapabilities().get("cdmi_capabilities_allowed") == null) {
+        throw new IllegalStateException("Capability " + capability.getName()
+            + " does not advertise cdmi_capabilities_allowed");
+      }
+    }
+  }
+
+  private static class Step {
+    private final AtomicLong unexpected = new AtomicLong();
+    private final AtomicReference<Throwable> firstUnexpected = new AtomicReference<>();
+    private LatencySamples samples;
+  }
+}
@@ -0,0 +1,486 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi;
+
+import org.cern.eos.cdmi.util.NamedThreadFactory;
+import org.indigo.cdmi.BackEndException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recursive QoS transition of a container and all entries below it.
+ * <p>
+ * The tree is discovered through the fileinfo children listing of each container, streamed
+ * from a single command while "qos set" commands are pipelined with bounded concurrency.
+ * Discovery blocks whenever the maximum number of outstanding commands is reached, so the
+ * listing is read at the pace of the transitions; with the streaming codec, it is never
+ * held in memory.
+ * <p>
+ * When a journal file is given, it starts with the target capability URI, followed by
+ * every successfully transitioned path. Running the same transition again with the same
+ * journal skips those paths, which allows resuming after an interruption.
+ * A journal recorded for another target is refused.
+ */
+public class BulkTransition {
+
+  /**
+   * Receives progress updates while the transition runs.
+   */
+  public interface ProgressListener {
+    void onProgress(Progress progress);
+  }
+
+  private static final Logger LOG = LoggerFactory.getLogger(BulkTransition.class);
+  private static final int MAX_REPORTED_FAILURES = 10000;
+  private static final String JOURNAL_TARGET = "# target=";
+
+  private final EosStorageBackend backend;
+  private final String containerPath;
+  private final String targetCapabilityUri;
+  private int concurrency = 16;
+  private long progressInterval = 1000;
+  private Path journal;
+  private ProgressListener listener;
+
+  private final AtomicLong discovered = new AtomicLong();
+  private final AtomicLong succeeded = new AtomicLong();
+  private final AtomicLong skipped = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong listingFailures = new AtomicLong();
+  private final AtomicLong processed = new AtomicLong();
+  private final Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+  private final Map<String, String> failedListings =
+      Collections.synchronizedMap(new LinkedHashMap<>());
+  private BufferedWriter journalWriter;
+
+  BulkTransition(EosStorageBackend backend, String containerPath, String targetCapabilityUri) {
+    this.backend = backend;
+    this.containerPath = containerPath;
+    this.targetCapabilityUri = targetCapabilityUri;
+  }
+
+  /**
+   * Set the maximum number of outstanding "qos set" commands.
+   */
+  public BulkTransition concurrency(int concurrency) {
+    this.concurrency = Math.max(1, concurrency);
+    return this;
+  }
+
+  /**
+   * Set the journal file used to record and resume completed transitions.
+   */
+  public BulkTransition journal(Path journal) {
+    this.journal = journal;
+    return this;
+  }
+
+  /**
+   * Set the progress listener, notified every given number of processed entries.
+   */
+  public BulkTransition listener(ProgressListener listener, long progressInterval) {
+    this.listener = listener;
+    this.progressInterval = Math.max(1, progressInterval);
+    return this;
+  }
+
+  /**
+   * Run the transition and wait for all outstanding commands to complete.
+   * If the calling thread is interrupted, discovery stops, the outstanding
+   * commands are still awaited and journaled, and the result is reported
+   * as incomplete.
+   *
+   * @return the transition result
+   */
+  public Result run() throws BackEndException {
+    Set<String> completed = loadJournal();
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency,
+        new NamedThreadFactory("eos-bulk-transition"));
+    Semaphore outstanding = new Semaphore(concurrency);
+    Deque<String> containers = new ArrayDeque<>();
+    boolean interrupted = false;
+
+    LOG.info("Starting bulk transition of {} to {} [concurrency={} resumed={}]",
+        containerPath, targetCapabilityUri, concurrency, completed.size());
+
+    try {
+      synchronized (this) {
+        journalWriter = openJournal();
+      }
+      containers.add(containerPath);
+      submit(containerPath, completed, executor, outstanding);
+
+      while (!containers.isEmpty()) {
+        String container = containers.poll();
+
+        try {
+          backend.visitChildren(container, child -> {
+            String childPath = childPath(container, child.getName());
+
+            if (child.isDirectory()) {
+              containers.add(childPath);
+            }
+
+            try {
+              submit(childPath, completed, executor, outstanding);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new BackEndException("Listing of " + container + " interrupted");
+            }
+          });
+        } catch (BackEndException e) {
+          if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+          }
+
+          // Children visited before the failure were submitted
+          recordListingFailure(container, e.getMessage());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      interrupted = true;
+      LOG.warn("Bulk transition of {} interrupted", containerPath);
+    } finally {
+      executor.shutdown();
+      interrupted |= !awaitTermination(executor);
+      closeJournal();
+    }
+
+    Result result = new Result(progress(), failures, failedListings, !interrupted);
+    LOG.info("Finished bulk transition of {} -- {}", containerPath, result.getProgress());
+    return result;
+  }
+
+  /**
+   * Returns a snapshot of the current progress.
+   */
+  public Progress progress() {
+    return new Progress(discovered.get(), succeeded.get(), skipped.get(), failed.get(),
+        listingFailures.get());
+  }
+
+  /**
+   * Submit a "qos set" of the given path, waiting for a free slot if needed.
+   */
+  private void submit(String path, Set<String> completed, ExecutorService executor,
+                      Semaphore outstanding) throws InterruptedException {
+    discovered.incrementAndGet();
+
+    if (completed.contains(path)) {
+      skipped.incrementAndGet();
+      notifyProgress();
+      return;
+    }
+
+    outstanding.acquire();
+
+    try {
+      executor.execute(() -> {
+        try {
+          backend.updateCdmiObject(path, targetCapabilityUri);
+          succeeded.incrementAndGet();
+          appendJournal(path);
+        } catch (BackEndException | RuntimeException e) {
+          recordFailure(path, e.getMessage());
+        } finally {
+          outstanding.release();
+          notifyProgress();
+        }
+      });
+    } catch (RuntimeException e) {
+      outstanding.release();
+      throw e;
+    }
+  }
+
+  private void recordFailure(String path, String message) {
+    failed.incrementAndGet();
+    LOG.warn("Bulk transition failed for {} -- {}", path, message);
+
+    synchronized (failures) {
+      if (failures.size() < MAX_REPORTED_FAILURES) {
+        failures.put(path, message);
+      }
+    }
+  }
+
+  private void recordListingFailure(String container, String message) {
+    listingFailures.incrementAndGet();
+    LOG.warn("Bulk transition failed listing {} -- {}", container, message);
+
+    synchronized (failedListings) {
+      if (failedListings.size() < MAX_REPORTED_FAILURES) {
+        failedListings.put(container, message);
+      }
+    }
+  }
+
+  /**
+   * Count one more processed entry, notifying the listener at every multiple of the interval.
+   * Each entry gets its own count, so that no multiple is missed by concurrent entries.
+   */
+  private void notifyProgress() {
+    if (processed.incrementAndGet() % progressInterval == 0 && listener != null) {
+      listener.onProgress(progress());
+    }
+  }
+
+  private Set<String> loadJournal() throws BackEndException {
+    Set<String> completed = new HashSet<>();
+
+    if (journal == null || !Files.exists(journal)) {
+      return completed;
+    }
+
+    try {
+      List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+
+      if (lines.isEmpty()) {
+        return completed;
+      }
+
+      String header = lines.get(0);
+
+      if (!header.equals(JOURNAL_TARGET + targetCapabilityUri)) {
+        throw new BackEndException(String.format(
+            "Bulk transition journal %s was not recorded for target %s [header=%s]",
+            journal, targetCapabilityUri, header));
+      }
+
+      for (String line : lines.subList(1, lines.size())) {
+        if (!line.isEmpty()) {
+          completed.add(line);
+        }
+      }
+    } catch (IOException e) {
+      throw new BackEndException(
+          String.format("Failed reading bulk transition journal %s -- %s",
+              journal, e.getMessage()), e);
+    }
+
+    return completed;
+  }
+
+  private BufferedWriter openJournal() throws BackEndException {
+    if (journal == null) {
+      return null;
+    }
+
+    try {
+      boolean empty = !Files.exists(journal) || Files.size(journal) == 0;
+      BufferedWriter writer = Files.newBufferedWriter(journal, StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+      if (empty) {
+        writer.write(JOURNAL_TARGET + targetCapabilityUri);
+        writer.newLine();
+        writer.flush();
+      }
+
+      return writer;
+    } catch (IOException e) {
+      throw new BackEndException(
+          String.format("Failed opening bulk transition journal %s -- %s",
+              journal, e.getMessage()), e);
+    }
+  }
+
+  private synchronized void appendJournal(String path) {
+    if (journalWriter == null) {
+      return;
+    }
+
+    try {
+      journalWriter.write(path);
+      journalWriter.newLine();
+      journalWriter.flush();
+    } catch (IOException e) {
+      LOG.error("Failed recording {} in journal {} -- {}", path, journal, e.getMessage());
+    }
+  }
+
+  private synchronized void closeJournal() {
+    if (journalWriter != null) {
+      try {
+        journalWriter.close();
+      } catch (IOException e) {
+        LOG.error("Failed closing journal {} -- {}", journal, e.getMessage());
+      }
+
+      journalWriter = null;
+    }
+  }
+
+  /**
+   * Wait for the outstanding commands to complete, even if interrupted, so that
+   * every transition started is journaled before the journal is closed.
+   * At most the configured concurrency of commands is outstanding.
+   *
+   * @return false if the calling thread was interrupted, before or while waiting
+   */
+  private static boolean awaitTermination(ExecutorService executor) {
+    boolean interrupted = Thread.interrupted();
+
+    while (true) {
+      try {
+        if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+          break;
+        }
+
+        LOG.debug("Waiting for outstanding bulk transition commands");
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+
+    return !interrupted;
+  }
+
+  private static String childPath(String container, String name) {
+    return container.endsWith("/") ? container + name : container + "/" + name;
+  }
+
+  /**
+   * Progress counters of a bulk transition.
+   */
+  public static class Progress {
+    private final long discovered;
+    private final long succeeded;
+    private final long skipped;
+    private final long failed;
+    private final long listingFailures;
+
+    Progress(long discovered, long succeeded, long skipped, long failed, long listingFailures) {
+      this.discovered = discovered;
+      this.succeeded = succeeded;
+      this.skipped = skipped;
+      this.failed = failed;
+      this.listingFailures = listingFailures;
+    }
+
+    public long getDiscovered() {
+      return discovered;
+    }
+
+    public long getSucceeded() {
+      return succeeded;
+    }
+
+    public long getSkipped() {
+      return skipped;
+    }
+
+    public long getFailed() {
+      return failed;
+    }
+
+    /**
+     * Returns the number of containers whose listing failed. Their own "qos set"
+     * is counted with the other entries.
+     */
+    public long getListingFailures() {
+      return listingFailures;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("discovered=%d succeeded=%d skipped=%d failed=%d listingFailures=%d",
+          discovered, succeeded, skipped, failed, listingFailures);
+    }
+  }
+
+  /**
+   * Final outcome of a bulk transition.
+   */
+  public static class Result {
+    private final Progress progress;
+    private final Map<String, String> failures;
+    private final Map<String, String> listingFailures;
+    private final boolean complete;
+
+    Result(Progress progress, Map<String, String> failures,
+           Map<String, String> listingFailures, boolean complete) {
+      this.progress = progress;
+      this.failures = copy(failures);
+      this.listingFailures = copy(listingFailures);
+      this.complete = complete;
+    }
+
+    private static Map<String, String> copy(Map<String, String> synchronizedMap) {
+      synchronized (synchronizedMap) {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(synchronizedMap));
+      }
+    }
+
+    public Progress getProgress() {
+      return progress;
+    }
+
+    /**
+     * Returns the failed paths along with their error messages.
+     */
+    public Map<String, String> getFailures() {
+      return failures;
+    }
+
+    /**
+     * Returns the containers whose listing failed along with their error messages.
+     */
+    public Map<String, String> getListingFailures() {
+      return listingFailures;
+    }
+
+    /**
+     * Returns false if the transition was interrupted before all entries were processed.
+     */
+    public boolean isComplete() {
+      return complete;
+    }
+  }
+}
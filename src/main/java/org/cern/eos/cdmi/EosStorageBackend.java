@@ -23,9 +23,25 @@
 
 package org.cern.eos.cdmi;
 
-import org.cern.eos.cdmi.protobuf.ProtobufUtils;
+import org.cern.eos.cdmi.cache.CapabilityCache;
+import org.cern.eos.cdmi.cache.CapabilityRegistry;
+import org.cern.eos.cdmi.cache.CapabilitySnapshotFile;
+import org.cern.eos.cdmi.cache.PartialDiscoveryException;
+import org.cern.eos.cdmi.cache.StatusCache;
+import org.cern.eos.cdmi.codec.FileinfoEntry;
+import org.cern.eos.cdmi.codec.FileinfoListing;
+import org.cern.eos.cdmi.codec.QoSClass;
+import org.cern.eos.cdmi.codec.QoSEntry;
+import org.cern.eos.cdmi.codec.ResponseCodec;
+import org.cern.eos.cdmi.codec.ResponseCodecs;
+import org.cern.eos.cdmi.metrics.Metrics;
+import org.cern.eos.cdmi.protobuf.QoSCommandEncoder;
+import org.cern.eos.cdmi.tracking.TransitionTracker;
+import org.cern.eos.cdmi.util.AsyncHttpUtils;
 import org.cern.eos.cdmi.util.HttpUtils;
-import org.cern.eos.cdmi.util.JsonUtils;
+import org.cern.eos.cdmi.util.NamedThreadFactory;
+import org.cern.eos.cdmi.util.CommandType;
+import org.cern.eos.cdmi.util.CommandUrls;
 import org.cern.eos.cdmi.util.EOSParseUtils;
 import org.indigo.cdmi.BackEndException;
 import org.indigo.cdmi.BackendCapability;
@@ -39,14 +55,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.indigo.cdmi.BackendCapability.CapabilityType.CONTAINER;
 import static org.indigo.cdmi.BackendCapability.CapabilityType.DATAOBJECT;
@@ -57,79 +80,467 @@ import static org.indigo.cdmi.BackendCapability.CapabilityType.DATAOBJECT;
  * Interface of the StorageBackend is defined by the cdmi-spi project:
  * https://github.com/indigo-dc/cdmi-spi
  */
-public class EosStorageBackend implements StorageBackend {
+public class EosStorageBackend implements StorageBackend, AutoCloseable {
 
-  public static final HashMap<String, Object> capabilities = new HashMap<>();
+  /**
+   * Capabilities advertised by every QoS class. Immutable, as it is shared by all of them.
+   */
+  public static final Map<String, Object> capabilities;
+  private static final Map<String, Object> EMPTY_CAPABILITIES =
+      Collections.singletonMap("cdmi_capabilities_allowed", "true");
   private static final Logger LOG = LoggerFactory.getLogger(EosStorageBackend.class);
-  private static final String cmdPath = "/proc/user/";
+  private static final String MGM_RELATIVE = "";
+  private static final String[] QOS_STATE_KEYS = {"current_qos", "target_qos"};
 
   static {
-    capabilities.put("cdmi_data_redundancy", "true");
-    capabilities.put("cdmi_geographic_placement", "true");
-    capabilities.put("cdmi_capabilities_allowed", "true");
-    capabilities.put("cdmi_latency", "true");
+    Map<String, Object> advertised = new HashMap<>();
+    advertised.put("cdmi_data_redundancy", "true");
+    advertised.put("cdmi_geographic_placement", "true");
+    advertised.put("cdmi_capabilities_allowed", "true");
+    advertised.put("cdmi_latency", "true");
+    capabilities = Collections.unmodifiableMap(advertised);
   }
 
-  private String eosServer;
+  private final PluginConfig config;
+  private QoSCommandEncoder commandEncoder;
+  private CapabilityCache capabilityCache;
+  private volatile CapabilityRegistry registry = CapabilityRegistry.EMPTY;
+  private StatusCache statusCache;
+  private TransitionTracker transitionTracker;
+  private ExecutorService commandExecutor;
+  private volatile boolean closed;
+  private long discoveryTimeout;
+  private boolean concurrentStatus;
+  private int bulkConcurrency;
+  private int summaryConcurrency;
+  private long childrenLimit;
+  private boolean asyncEnabled;
+  private volatile boolean asyncStarted;
+  private ResponseCodec codec;
+  private HttpUtils.ResponseReader<QoSEntry> qosEntryReader;
+  private HttpUtils.ResponseReader<QoSClass> qosClassReader;
+  private HttpUtils.ResponseReader<List<String>> qosClassNamesReader;
+  private HttpUtils.ResponseReader<FileinfoEntry> fileinfoReader;
 
   public EosStorageBackend() {
-    PluginConfig config = new PluginConfig();
+    this(new PluginConfig());
+  }
 
+  /**
+   * Create a backend with the given configuration.
+   */
+  public EosStorageBackend(PluginConfig config) {
     // Fail early if preconditions are not met
     config.throwIfNull("eos.server");
     config.throwIfNull("eos.server.port");
     config.throwIfNull("eos.server.scheme");
 
-    String scheme = config.get("eos.server.scheme");
-    eosServer = scheme + "://" + config.get("eos.server") + ":" + config.get("eos.server.port");
+    // Command URLs are relative, HttpUtils routes them to the primary or a reader MGM
+    HttpUtils.configure(config);
+    this.config = config;
+
+    try {
+      commandEncoder = new QoSCommandEncoder(MGM_RELATIVE);
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException("UTF-8 encoding not supported", e);
+    }
+
+    // Executor for concurrent MGM commands
+    int executorThreads = Math.max(1, config.getInt("eos.executor.threads", 8));
+    commandExecutor = Executors.newFixedThreadPool(executorThreads,
+        new NamedThreadFactory("eos-command"));
+    discoveryTimeout = config.getLong("eos.discovery.timeout", 30000);
+    concurrentStatus = config.getBoolean("eos.status.concurrent", true);
+    bulkConcurrency = config.getInt("eos.bulk.concurrency", 16);
+    summaryConcurrency = config.getInt("eos.summary.concurrency", 32);
+    childrenLimit = config.getLong("eos.children.limit", 0);
+
+    // Decoder of fileinfo and QoS command outputs
+    String codecName = config.get("eos.codec");
+    codec = ResponseCodecs.forName((codecName == null) ? ResponseCodecs.STREAMING : codecName);
+    qosEntryReader = codec.qosEntryReader();
+    qosClassReader = codec.qosClassReader();
+    qosClassNamesReader = codec.qosClassNamesReader();
+    fileinfoReader = codec.fileinfoReader();
+    LOG.info("Decoding command responses with the {} codec", codec.getName());
+
+    // The StorageBackend methods wait on the non-blocking engine when enabled
+    asyncEnabled = config.getBoolean("eos.async.enabled", false);
+
+    if (asyncEnabled) {
+      startAsyncEngine();
+    }
+
+    // Capabilities cache is disabled when TTL is 0
+    long capabilitiesTtl = config.getLong("eos.capabilities.cache.ttl", 60);
+
+    if (capabilitiesTtl > 0) {
+      // Capabilities are persisted unless the snapshot path is empty
+      String snapshotPath = config.get("eos.capabilities.snapshot");
+      CapabilitySnapshotFile snapshotFile = null;
+
+      if (snapshotPath == null) {
+        snapshotPath = "config/eos-capabilities.json";
+      }
+
+      if (!snapshotPath.trim().isEmpty()) {
+        snapshotFile = new CapabilitySnapshotFile(Paths.get(snapshotPath.trim()),
+            config.get("eos.server"));
+      }
+
+      capabilityCache = new CapabilityCache(this::discoverCapabilities,
+          TimeUnit.SECONDS.toMillis(capabilitiesTtl), snapshotFile,
+          config.getLong("eos.capabilities.refresh.backoff", 10000));
+      Metrics.register("CapabilityCache", "capabilities", capabilityCache);
+    }
+
+    // Status cache is disabled when size is 0
+    int statusCacheSize = config.getInt("eos.status.cache.size", 0);
+
+    if (statusCacheSize > 0) {
+      statusCache = new StatusCache(statusCacheSize,
+          config.getLong("eos.status.cache.ttl", 5000),
+          config.getLong("eos.status.cache.ttl.pending", 1000),
+          config.getLong("eos.status.cache.ttl.negative", 2000));
+      Metrics.register("StatusCache", "status", statusCache);
+    }
+
+    // Transition tracking is disabled when the poll interval is 0
+    long transitionInterval = config.getLong("eos.transitions.interval", 0);
+
+    if (transitionInterval > 0) {
+      transitionTracker = new TransitionTracker(this::qosState,
+          path -> {
+            if (statusCache != null) {
+              statusCache.invalidate(path);
+            }
+          },
+          transitionInterval,
+          config.getInt("eos.transitions.batch", 100),
+          config.getInt("eos.transitions.concurrency", 4),
+          config.getInt("eos.transitions.max", 100000),
+          config.getLong("eos.transitions.stuck", 600000),
+          config.getInt("eos.transitions.failures", 5));
+      Metrics.register("TransitionTracker", "transitions", transitionTracker);
+    }
   }
 
   /**
    * Returns a list of all QoS capabilities provided by the backend storage.
+   * When the capabilities cache is enabled, the last discovered capabilities are served.
    *
    * @return list of provided capabilities
    */
   @Override
   public List<BackendCapability> getCapabilities() throws BackEndException {
-    final BackendCapability.CapabilityType[] types = new BackendCapability.CapabilityType[]{CONTAINER, DATAOBJECT};
-    List<BackendCapability> backendCapabilities = new ArrayList<>();
+    if (asyncEnabled) {
+      return AsyncHttpUtils.join(getCapabilitiesAsync());
+    }
+
+    if (capabilityCache == null) {
+      try {
+        return discoverCapabilities();
+      } catch (PartialDiscoveryException e) {
+        return e.getCapabilities();
+      }
+    }
+
+    List<BackendCapability> backendCapabilities = capabilityCache.get();
+    LOG.debug("Serving CDMI capabilities from cache -- {}", capabilityCache);
+    return backendCapabilities;
+  }
 
+  /**
+   * Non-blocking variant of {@link #getCapabilities()}.
+   * A missing capabilities cache snapshot is loaded without blocking the caller.
+   *
+   * @return future list of provided capabilities
+   */
+  public CompletableFuture<List<BackendCapability>> getCapabilitiesAsync() {
+    startAsyncEngine();
+
+    if (capabilityCache == null) {
+      return discoverCapabilitiesAsync().exceptionally(error -> {
+        Throwable cause = AsyncHttpUtils.unwrap(error);
+
+        if (cause instanceof PartialDiscoveryException) {
+          return ((PartialDiscoveryException) cause).getCapabilities();
+        }
+
+        throw new CompletionException(cause);
+      });
+    }
+
+    List<BackendCapability> cached = capabilityCache.peek();
+
+    if (cached != null) {
+      LOG.debug("Serving CDMI capabilities from cache -- {}", capabilityCache);
+      return CompletableFuture.completedFuture(cached);
+    }
+
+    return discoverCapabilitiesAsync().handle((backendCapabilities, error) -> {
+      if (error == null) {
+        return capabilityCache.put(backendCapabilities);
+      }
+
+      Throwable cause = AsyncHttpUtils.unwrap(error);
+
+      if (cause instanceof PartialDiscoveryException) {
+        return capabilityCache.putPartial(((PartialDiscoveryException) cause).getCapabilities());
+      }
+
+      throw new CompletionException(cause);
+    });
+  }
+
+  /**
+   * Returns the capabilities cache, or null if caching is disabled.
+   */
+  public CapabilityCache getCapabilityCache() {
+    return capabilityCache;
+  }
+
+  /**
+   * Discover all QoS capabilities provided by the backend storage.
+   *
+   * @return list of provided capabilities
+   * @throws PartialDiscoveryException if some QoS classes could not be fetched
+   */
+  private List<BackendCapability> discoverCapabilities() throws BackEndException {
     LOG.debug("Fetching CDMI capabilities.");
     String url = "";
 
     try {
       // Perform "eos qos list" to retrieve all available QoS classes
-      url = buildProtoCommandUrl(ProtobufUtils.QoSList());
-      JSONObject response = HttpUtils.executeCommand(url);
+      url = commandEncoder.qosList();
+      List<String> qosClasses =
+          HttpUtils.executeCommand(url, CommandType.QOS_LIST, qosClassNamesReader);
 
       // Retrieve capabilities for each QoS class
-      for (String capability : JsonUtils.jsonArrayToStringList(response.getJSONArray("name"))) {
-        url = buildProtoCommandUrl(ProtobufUtils.QoSListClass(capability));
-        response = HttpUtils.executeCommand(url);
-
-        // Use same QoS class for Containers and Dataobjects
-        for (BackendCapability.CapabilityType type : types) {
-          BackendCapability backendCapability = EOSParseUtils.backendCapabilityFromJson(response, type);
-          backendCapabilities.add(backendCapability);
-          LOG.info("{} capability: {}", EOSParseUtils.capabilityTypeToString(type), backendCapability);
-        }
-      }
+      List<String> missing = new ArrayList<>();
+      return capabilitiesFromClasses(fetchQoSClasses(qosClasses, missing), missing);
+    } catch (PartialDiscoveryException e) {
+      throw e;
+    } catch (JSONException | BackEndException e) {
+      LOG.error("Error fetching CDMI capabilities -- {}", e.getMessage());
+      throw new BackEndException(
+        String.format("Failed command %s -- %s", url, e.getMessage()));
+    }
+  }
 
-      // Add empty capabilities
-      List<BackendCapability> emptyCapabilities = new ArrayList<>();
+  /**
+   * Non-blocking variant of {@link #discoverCapabilities()}.
+   */
+  private CompletableFuture<List<BackendCapability>> discoverCapabilitiesAsync() {
+    LOG.debug("Fetching CDMI capabilities.");
+    String url = commandEncoder.qosList();
+    List<String> missing = new ArrayList<>();
+
+    return AsyncHttpUtils.executeCommand(url, CommandType.QOS_LIST, qosClassNamesReader)
+        .thenCompose(qosClasses -> fetchQoSClassesAsync(qosClasses, missing))
+        .thenApply(qosClasses -> {
+          try {
+            return capabilitiesFromClasses(qosClasses, missing);
+          } catch (PartialDiscoveryException e) {
+            throw new CompletionException(e);
+          }
+        })
+        .handle((backendCapabilities, error) -> {
+          if (error == null) {
+            return backendCapabilities;
+          }
+
+          Throwable cause = AsyncHttpUtils.unwrap(error);
+
+          if (cause instanceof PartialDiscoveryException) {
+            throw new CompletionException(cause);
+          }
+
+          String message = cause.getMessage();
+          LOG.error("Error fetching CDMI capabilities -- {}", message);
+          throw new CompletionException(new BackEndException(
+              String.format("Failed command %s -- %s", url, message)));
+        });
+  }
+
+  /**
+   * Build the capabilities of the given QoS class descriptions, adding the empty capabilities.
+   *
+   * @param missing the names of the classes which could not be fetched
+   * @throws PartialDiscoveryException carrying the capabilities, if any class is missing
+   */
+  private List<BackendCapability> capabilitiesFromClasses(List<QoSClass> qosClasses,
+                                                          List<String> missing)
+      throws PartialDiscoveryException {
+    final BackendCapability.CapabilityType[] types = new BackendCapability.CapabilityType[]{CONTAINER, DATAOBJECT};
+    List<BackendCapability> backendCapabilities = new ArrayList<>();
+
+    for (QoSClass qosClass : qosClasses) {
+      // Use same QoS class for Containers and Dataobjects
       for (BackendCapability.CapabilityType type : types) {
-        BackendCapability emptyCapability = emptyBackendCapability(type, backendCapabilities);
-        emptyCapabilities.add(emptyCapability);
-        LOG.info("{} capability: {}", EOSParseUtils.capabilityTypeToString(type), emptyCapability);
+        BackendCapability backendCapability =
+            EOSParseUtils.backendCapabilityFromQoSClass(qosClass, type);
+        backendCapabilities.add(backendCapability);
+        LOG.info("{} capability: {}",
+            EOSParseUtils.capabilityTypeToString(type), backendCapability);
       }
+    }
 
-      backendCapabilities.addAll(emptyCapabilities);
-      return backendCapabilities;
-    } catch (JSONException | BackEndException | UnsupportedEncodingException e) {
-      LOG.error("Error fetching CDMI capabilities -- {}", e.getMessage());
+    // Add empty capabilities
+    List<BackendCapability> emptyCapabilities = new ArrayList<>();
+    for (BackendCapability.CapabilityType type : types) {
+      BackendCapability emptyCapability = emptyBackendCapability(type, backendCapabilities);
+      emptyCapabilities.add(emptyCapability);
+      LOG.info("{} capability: {}", EOSParseUtils.capabilityTypeToString(type), emptyCapability);
+    }
+
+    backendCapabilities.addAll(emptyCapabilities);
+
+    if (capabilityCache == null) {
+      registry = CapabilityRegistry.of(backendCapabilities, missing.isEmpty());
+    }
+
+    if (!missing.isEmpty()) {
+      throw new PartialDiscoveryException(backendCapabilities, new ArrayList<>(missing));
+    }
+
+    return backendCapabilities;
+  }
+
+  /**
+   * Returns the registry of the last discovered capabilities, empty if none were discovered yet.
+   */
+  public CapabilityRegistry getCapabilityRegistry() {
+    return (capabilityCache != null) ? capabilityCache.registry() : registry;
+  }
+
+  /**
+   * Returns the QoS class designated by the target capability URI, rejecting unknown
+   * classes and transitions the current class does not allow without contacting the MGM.
+   * The current class is only checked when the status of the path is cached.
+   */
+  private String transitionTarget(String path, String targetCapabilityUri)
+      throws BackEndException {
+    CapabilityRegistry capabilityRegistry = getCapabilityRegistry();
+
+    if (capabilityRegistry.isEmpty()) {
+      return EOSParseUtils.qosClassFromCapUri(targetCapabilityUri);
+    }
+
+    String qosClass = capabilityRegistry.qosClass(targetCapabilityUri);
+
+    if (qosClass == null) {
       throw new BackEndException(
-        String.format("Failed command %s -- %s", url, e.getMessage()));
+          String.format("Unknown target capability %s", targetCapabilityUri));
+    }
+
+    // A cached missing path may have been created since, leave the decision to the MGM
+    CdmiObjectStatus status = (statusCache != null) ? statusCache.peekStatus(path) : null;
+
+    if (status != null && !capabilityRegistry.allowsTransition(
+        status.getCurrentCapabilitiesUri(), qosClass)) {
+      throw new BackEndException(String.format("Transition of %s from %s to %s is not allowed",
+          path, status.getCurrentCapabilitiesUri(), targetCapabilityUri));
+    }
+
+    return qosClass;
+  }
+
+  /**
+   * Fetch the description of each QoS class concurrently.
+   * Lookups share a single deadline. Classes which fail or time out are skipped
+   * and added to the missing classes, so that one faulty class does not hide the others.
+   *
+   * @param qosClasses the QoS class names
+   * @param missing    receives the names of the classes which could not be fetched
+   * @return class descriptions, in the same order as the given class names
+   */
+  private List<QoSClass> fetchQoSClasses(List<String> qosClasses, List<String> missing)
+      throws BackEndException {
+    List<Callable<QoSClass>> lookups = new ArrayList<>(qosClasses.size());
+
+    for (String qosClass : qosClasses) {
+      lookups.add(() -> HttpUtils.executeCommand(
+          commandEncoder.qosListClass(qosClass), CommandType.QOS_LIST_CLASS, qosClassReader));
+    }
+
+    List<Future<QoSClass>> futures;
+
+    try {
+      futures = commandExecutor.invokeAll(lookups, discoveryTimeout, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BackEndException("Interrupted while fetching QoS classes", e);
     }
+
+    List<QoSClass> responses = new ArrayList<>(qosClasses.size());
+
+    for (int i = 0; i < futures.size(); i++) {
+      try {
+        responses.add(futures.get(i).get());
+      } catch (CancellationException e) {
+        missing.add(qosClasses.get(i));
+        LOG.error("Timed out fetching QoS class {} [timeout={}ms]",
+            qosClasses.get(i), discoveryTimeout);
+      } catch (ExecutionException e) {
+        missing.add(qosClasses.get(i));
+        LOG.error("Error fetching QoS class {} -- {}",
+            qosClasses.get(i), e.getCause().getMessage());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new BackEndException("Interrupted while fetching QoS classes", e);
+      }
+    }
+
+    if (responses.isEmpty() && !qosClasses.isEmpty()) {
+      throw new BackEndException(
+          String.format("Failed fetching all %d QoS classes", qosClasses.size()));
+    }
+
+    return responses;
+  }
+
+  /**
+   * Non-blocking variant of {@link #fetchQoSClasses(List, List)}, with the same shared deadline.
+   */
+  private CompletableFuture<List<QoSClass>> fetchQoSClassesAsync(List<String> qosClasses,
+                                                                 List<String> missing) {
+    List<CompletableFuture<QoSClass>> lookups = new ArrayList<>(qosClasses.size());
+
+    for (String qosClass : qosClasses) {
+      CompletableFuture<QoSClass> lookup = AsyncHttpUtils.executeCommand(
+          commandEncoder.qosListClass(qosClass), CommandType.QOS_LIST_CLASS, qosClassReader);
+
+      lookups.add(AsyncHttpUtils.within(lookup, discoveryTimeout,
+          "Timed out fetching QoS class " + qosClass)
+          .exceptionally(error -> {
+            LOG.error("Error fetching QoS class {} -- {}",
+                qosClass, AsyncHttpUtils.unwrap(error).getMessage());
+            return null;
+          }));
+    }
+
+    return CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0]))
+        .thenApply(ignored -> {
+          List<QoSClass> responses = new ArrayList<>(qosClasses.size());
+
+          for (int i = 0; i < lookups.size(); i++) {
+            QoSClass response = lookups.get(i).join();
+
+            if (response != null) {
+              responses.add(response);
+            } else {
+              missing.add(qosClasses.get(i));
+            }
+          }
+
+          if (responses.isEmpty() && !qosClasses.isEmpty()) {
+            throw new CompletionException(new BackEndException(
+                String.format("Failed fetching all %d QoS classes", qosClasses.size())));
+          }
+
+          return responses;
+        });
   }
 
   /**
@@ -141,76 +552,427 @@ public class EosStorageBackend implements StorageBackend {
    */
   @Override
   public void updateCdmiObject(String path, String targetCapabilityUri) throws BackEndException {
-    String qosClass = EOSParseUtils.qosClassFromCapUri(targetCapabilityUri);
-    String url = "";
+    if (asyncEnabled) {
+      AsyncHttpUtils.join(updateCdmiObjectAsync(path, targetCapabilityUri));
+      return;
+    }
+
+    String qosClass = transitionTarget(path, targetCapabilityUri);
 
     LOG.debug("Updating CDMI capabilities of: {} [target={}]", path, qosClass);
 
+    String url = commandEncoder.qosSet(path, qosClass);
+    JSONObject response = HttpUtils.executeCommand(url, CommandType.QOS_SET);
+    LOG.info("QoS update of {} [target={}]: {}", path, qosClass, response);
+    transitionStarted(path, qosClass);
+  }
+
+  /**
+   * Non-blocking variant of {@link #updateCdmiObject(String, String)}.
+   *
+   * @param path                the object path, as queried via the CDMI interface
+   * @param targetCapabilityUri the target capabilities URI
+   * @return future completed once the MGM accepted the transition
+   */
+  public CompletableFuture<Void> updateCdmiObjectAsync(String path, String targetCapabilityUri) {
+    startAsyncEngine();
+    String qosClass;
+
     try {
-      url = buildProtoCommandUrl(ProtobufUtils.QoSSet(path, qosClass));
-      JSONObject response = HttpUtils.executeCommand(url);
+      qosClass = transitionTarget(path, targetCapabilityUri);
+    } catch (BackEndException e) {
+      return AsyncHttpUtils.failed(e);
+    }
+
+    LOG.debug("Updating CDMI capabilities of: {} [target={}]", path, qosClass);
+
+    String url = commandEncoder.qosSet(path, qosClass);
+    return AsyncHttpUtils.executeCommand(url, CommandType.QOS_SET).thenAccept(response -> {
       LOG.info("QoS update of {} [target={}]: {}", path, qosClass, response);
+      transitionStarted(path, qosClass);
+    });
+  }
+
+  /**
+   * Forget the cached status of a path whose transition just started, and track the transition.
+   * Reads of the path in flight are no longer shared, as they may predate the transition.
+   */
+  private void transitionStarted(String path, String qosClass) {
+    HttpUtils.fence(path);
+
+    if (statusCache != null) {
+      statusCache.invalidate(path);
+    }
+
+    if (transitionTracker != null) {
+      transitionTracker.track(path, qosClass);
+    }
+  }
+
+  /**
+   * Prepare a recursive QoS transition of the container at the given path,
+   * and of all entries below it, towards the capability described at the specified URI.
+   *
+   * @param containerPath       the container path, as queried via the CDMI interface
+   * @param targetCapabilityUri the target capabilities URI
+   * @return the bulk transition, ready to run
+   */
+  public BulkTransition bulkTransition(String containerPath, String targetCapabilityUri) {
+    return new BulkTransition(this, containerPath, targetCapabilityUri)
+        .concurrency(bulkConcurrency);
+  }
+
+  /**
+   * Prepare a parallel QoS summary of the container at the given path and all entries below it.
+   *
+   * @param containerPath the container path, as queried via the CDMI interface
+   * @return the subtree summary, ready to run
+   */
+  public SubtreeSummary subtreeSummary(String containerPath) {
+    return new SubtreeSummary(this, containerPath).concurrency(summaryConcurrency);
+  }
+
+  /**
+   * Perform "qos get" on the given path, restricted to the current and target class.
+   */
+  QoSEntry qosState(String path) throws BackEndException {
+    return HttpUtils.executeCommand(commandEncoder.qosGet(path, QOS_STATE_KEYS),
+        CommandType.QOS_GET, qosEntryReader, path);
+  }
+
+  /**
+   * Perform fileinfo on the given path and return the decoded response.
+   */
+  FileinfoEntry fileinfo(String path) throws BackEndException {
+    String url = "";
+
+    try {
+      url = buildFileinfoCommandUrl(path);
+      return HttpUtils.executeCommand(url, CommandType.FILEINFO, fileinfoReader, path);
+    } catch (UnsupportedEncodingException e) {
+      throw new BackEndException(
+          String.format("Failed fileinfo of %s [url=%s] -- %s", path, url, e.getMessage()));
+    }
+  }
+
+  /**
+   * Returns a page of the children of the container at the given path.
+   *
+   * @param path   the container path, as queried via the CDMI interface
+   * @param offset the index of the first child to return
+   * @param limit  the maximum number of children to return, 0 for no limit
+   * @return the children listing
+   */
+  public FileinfoListing getChildren(String path, long offset, long limit)
+      throws BackEndException {
+    String url = "";
+
+    try {
+      url = buildFileinfoCommandUrl(path);
+      return fetchListing(path, url, offset, limit);
     } catch (UnsupportedEncodingException e) {
-      LOG.error("Error updating CDMI capabilities of {} -- {}", path, e.getMessage());
       throw new BackEndException(
-          String.format("Failed updating CDMI capabilities of %s [target=%s] [url=%s] -- %s",
-              path, qosClass, url, e.getMessage()));
+          String.format("Failed listing children of %s [url=%s] -- %s", path, url, e.getMessage()));
     }
   }
 
+  /**
+   * Lists the children of the container at the given path with a single fileinfo command,
+   * handing each child to the visitor as it is decoded. The visitor may block: the response
+   * is consumed at its pace. As the visitor has seen part of the children when an attempt
+   * fails, the command is neither retried nor hedged.
+   *
+   * @param path    the container path, as queried via the CDMI interface
+   * @param visitor the visitor of the children, in listing order
+   */
+  public void visitChildren(String path, ResponseCodec.ChildVisitor visitor)
+      throws BackEndException {
+    String url = "";
+
+    try {
+      url = buildFileinfoCommandUrl(path);
+      HttpUtils.executeCommand(url, CommandType.FILEINFO_STREAM,
+          codec.fileinfoChildrenReader(visitor));
+    } catch (UnsupportedEncodingException e) {
+      throw new BackEndException(
+          String.format("Failed listing children of %s [url=%s] -- %s", path, url, e.getMessage()));
+    }
+  }
+
+  /**
+   * Perform fileinfo at the given URL and decode the requested page of children.
+   * With the streaming codec, only the requested page is ever decoded.
+   */
+  private FileinfoListing fetchListing(String path, String fileinfoUrl, long offset, long limit)
+      throws BackEndException {
+    return HttpUtils.executeCommand(fileinfoUrl, CommandType.FILEINFO,
+        codec.fileinfoPageReader(offset, limit), path);
+  }
+
+  /**
+   * Non-blocking variant of {@link #fetchListing(String, String, long, long)}.
+   */
+  private CompletableFuture<FileinfoListing> fetchListingAsync(String path, String fileinfoUrl,
+                                                               long offset, long limit) {
+    return AsyncHttpUtils.executeCommand(fileinfoUrl, CommandType.FILEINFO,
+        codec.fileinfoPageReader(offset, limit), path);
+  }
+
   /**
    * Get QoS information about the object at the given path.
+   * When the status cache is enabled, recent results are served from the cache.
    *
    * @param path the object path, as queried via the CDMI interface
    * @return CDMI object status enriched with QoS information
    */
   @Override
   public CdmiObjectStatus getCurrentStatus(String path) throws BackEndException {
-    LOG.debug("Get current CDMI capabilities of: {}", path);
-    String url = "";
+    if (asyncEnabled) {
+      return AsyncHttpUtils.join(getCurrentStatusAsync(path));
+    }
+
+    CdmiObjectStatus status = trackedStatus(path);
+
+    if (status != null) {
+      return status;
+    }
+
+    if (statusCache == null) {
+      return fetchCurrentStatus(path);
+    }
+
+    status = statusCache.get(path);
+
+    if (status != null) {
+      LOG.debug("Serving CDMI capabilities of {} from cache", path);
+      return status;
+    }
+
+    // Captured before fetching, so that an update invalidating the path meanwhile wins
+    long generation = statusCache.generation(path);
 
     try {
-      // Perform fileinfo on path
-      url = buildFileinfoCommandUrl(path);
-      JSONObject fileinfo = HttpUtils.executeCommand(url);
+      status = fetchCurrentStatus(path);
+      statusCache.put(path, status, generation);
+      return status;
+    } catch (BackEndException e) {
+      if (EOSParseUtils.isNoSuchFileError(e.getMessage())) {
+        statusCache.putMissing(path, e.getMessage(), generation);
+      }
 
-      // Identify capability type
-      BackendCapability.CapabilityType capType =
-          EOSParseUtils.fileinfoIsDirectory(fileinfo) ? CONTAINER : DATAOBJECT;
-      String capTypeString = EOSParseUtils.capabilityTypeToString(capType);
+      throw e;
+    }
+  }
 
-      // Extract children list
-      final List<String> children = EOSParseUtils.childrenFromFileinfoJSON(fileinfo);
+  /**
+   * Non-blocking variant of {@link #getCurrentStatus(String)}.
+   * The fileinfo and "qos get" commands always run concurrently.
+   *
+   * @param path the object path, as queried via the CDMI interface
+   * @return future CDMI object status enriched with QoS information
+   */
+  public CompletableFuture<CdmiObjectStatus> getCurrentStatusAsync(String path) {
+    startAsyncEngine();
+    CompletableFuture<CdmiObjectStatus> tracked = trackedStatusAsync(path);
 
-      // Perform "qos get" on path
-      url = buildProtoCommandUrl(ProtobufUtils.QoSGet(path));
-      JSONObject qosGet = HttpUtils.executeCommand(url);
+    if (tracked != null) {
+      return tracked;
+    }
 
-      // Extract current_qos, target_qos and monitored metadata
-      final Map<String, Object> monitored = EOSParseUtils.metadataFromQoSJson(qosGet, "_provided");
-      String currentClass = qosGet.getString("current_qos");
-      String currentCapUri, targetCapUri = null;
+    if (statusCache == null) {
+      return fetchCurrentStatusAsync(path);
+    }
+
+    CdmiObjectStatus status;
+
+    try {
+      status = statusCache.get(path);
+    } catch (BackEndException e) {
+      return AsyncHttpUtils.failed(e);
+    }
 
-      if (currentClass.equals("null")) {
-        currentClass = "empty";
+    if (status != null) {
+      LOG.debug("Serving CDMI capabilities of {} from cache", path);
+      return CompletableFuture.completedFuture(status);
+    }
+
+    long generation = statusCache.generation(path);
+
+    return fetchCurrentStatusAsync(path).whenComplete((fetched, error) -> {
+      if (error == null) {
+        statusCache.put(path, fetched, generation);
+        return;
       }
 
-      currentCapUri = "/cdmi_capabilities/" + capTypeString + "/" + currentClass;
+      String message = AsyncHttpUtils.unwrap(error).getMessage();
 
-      if (qosGet.has("target_qos")) {
-        targetCapUri = "/cdmi_capabilities/" + capTypeString + "/" + qosGet.getString("target_qos");
+      if (EOSParseUtils.isNoSuchFileError(message)) {
+        statusCache.putMissing(path, message, generation);
       }
+    });
+  }
+
+  /**
+   * Returns the status cache, or null if caching is disabled.
+   */
+  public StatusCache getStatusCache() {
+    return statusCache;
+  }
+
+  /**
+   * Returns the transition tracker, or null if tracking is disabled.
+   */
+  public TransitionTracker getTransitionTracker() {
+    return transitionTracker;
+  }
 
-      CdmiObjectStatus status = new CdmiObjectStatus(monitored, currentCapUri, targetCapUri);
-      status.setChildren(children);
+  /**
+   * Stop the threads owned by this backend: the command pool, the capability
+   * refresher and the transition tracker. The HTTP and gRPC transports are
+   * shared by all backends and stay open. Closing again has no effect.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
 
-      LOG.info("CDMI Capability of {}: {} {} -- {}", path, currentCapUri,
-          ((targetCapUri == null || targetCapUri.isEmpty()) ?
-              "[no transition]" :
-              "[transition to " + targetCapUri + "]"),
-          status);
+    closed = true;
+    commandExecutor.shutdownNow();
 
-      return status;
+    if (capabilityCache != null) {
+      capabilityCache.shutdown();
+    }
+
+    if (transitionTracker != null) {
+      transitionTracker.shutdown();
+    }
+
+    LOG.info("Closed EOS backend");
+  }
+
+  /**
+   * Returns true once the backend has been closed.
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Returns the status of a path with a tracked pending transition, or null.
+   * The QoS fields come from the tracker, the children from a live listing.
+   */
+  private CdmiObjectStatus trackedStatus(String path) throws BackEndException {
+    TransitionTracker.QoSState qos =
+        (transitionTracker != null) ? transitionTracker.qosState(path) : null;
+
+    if (qos == null) {
+      return null;
+    }
+
+    LOG.debug("Serving QoS fields of {} from transition tracker", path);
+    String fileinfoUrl = "";
+
+    try {
+      fileinfoUrl = buildFileinfoCommandUrl(path);
+      return trackedStatus(path, qos, fetchListing(path, fileinfoUrl, 0, childrenLimit));
+    } catch (UnsupportedEncodingException e) {
+      LOG.error("Error retrieving CDMI capabilities of {} -- {}", path, e.getMessage());
+      throw new BackEndException(
+          String.format("Failed retrieving CDMI capabilities of %s [url=%s] -- %s",
+              path, fileinfoUrl, e.getMessage()));
+    }
+  }
+
+  /**
+   * Non-blocking variant of {@link #trackedStatus(String)}.
+   */
+  private CompletableFuture<CdmiObjectStatus> trackedStatusAsync(String path) {
+    TransitionTracker.QoSState qos =
+        (transitionTracker != null) ? transitionTracker.qosState(path) : null;
+
+    if (qos == null) {
+      return null;
+    }
+
+    LOG.debug("Serving QoS fields of {} from transition tracker", path);
+    String fileinfoUrl;
+
+    try {
+      fileinfoUrl = buildFileinfoCommandUrl(path);
+    } catch (UnsupportedEncodingException e) {
+      LOG.error("Error retrieving CDMI capabilities of {} -- {}", path, e.getMessage());
+      return AsyncHttpUtils.failed(new BackEndException(
+          String.format("Failed retrieving CDMI capabilities of %s -- %s", path, e.getMessage())));
+    }
+
+    return fetchListingAsync(path, fileinfoUrl, 0, childrenLimit)
+        .thenApply(listing -> trackedStatus(path, qos, listing));
+  }
+
+  private static CdmiObjectStatus trackedStatus(String path, TransitionTracker.QoSState qos,
+                                                FileinfoListing listing) {
+    if (listing.isTruncated()) {
+      LOG.warn("Children of {} truncated to {} entries", path, listing.getChildren().size());
+    }
+
+    return qos.toStatus(listing.getChildren());
+  }
+
+  /**
+   * Let the transition tracker know the freshly fetched status of a path.
+   *
+   * @param started the System.nanoTime() at which the fetch started
+   */
+  private CdmiObjectStatus observed(String path, CdmiObjectStatus status, long started) {
+    if (transitionTracker != null) {
+      transitionTracker.observe(path, status, started);
+    }
+
+    return status;
+  }
+
+  /**
+   * Query the MGM for QoS information about the object at the given path.
+   */
+  private CdmiObjectStatus fetchCurrentStatus(String path) throws BackEndException {
+    LOG.debug("Get current CDMI capabilities of: {}", path);
+    long started = System.nanoTime();
+    String url = "";
+
+    try {
+      String fileinfoUrl = buildFileinfoCommandUrl(path);
+      String qosGetUrl = commandEncoder.qosGet(path);
+      FileinfoListing listing;
+      QoSEntry qosGet;
+
+      if (concurrentStatus) {
+        // Perform "qos get" in the background while fileinfo runs on the caller thread
+        Future<QoSEntry> qosGetFuture = commandExecutor.submit(() ->
+            HttpUtils.executeCommand(qosGetUrl, CommandType.QOS_GET, qosEntryReader, path));
+
+        try {
+          url = fileinfoUrl;
+          listing = fetchListing(path, fileinfoUrl, 0, childrenLimit);
+        } catch (BackEndException | RuntimeException e) {
+          qosGetFuture.cancel(true);
+          throw e;
+        }
+
+        url = qosGetUrl;
+        qosGet = awaitCommand(qosGetFuture);
+      } else {
+        // Perform fileinfo on path
+        url = fileinfoUrl;
+        listing = fetchListing(path, fileinfoUrl, 0, childrenLimit);
+
+        // Perform "qos get" on path
+        url = qosGetUrl;
+        qosGet = HttpUtils.executeCommand(qosGetUrl, CommandType.QOS_GET, qosEntryReader, path);
+      }
+
+      return observed(path, buildStatus(path, listing, qosGet, getCapabilityRegistry()),
+          started);
     } catch (UnsupportedEncodingException e) {
       LOG.error("Error retrieving CDMI capabilities of {} -- {}", path, e.getMessage());
       throw new BackEndException(
@@ -220,19 +982,125 @@ public class EosStorageBackend implements StorageBackend {
   }
 
   /**
-   * Return the EOS protobuf specific command URL containing the given opaque info.
+   * Non-blocking variant of {@link #fetchCurrentStatus(String)}.
+   * The "qos get" command is cancelled if fileinfo fails.
+   */
+  private CompletableFuture<CdmiObjectStatus> fetchCurrentStatusAsync(String path) {
+    LOG.debug("Get current CDMI capabilities of: {}", path);
+    long started = System.nanoTime();
+    String fileinfoUrl;
+
+    try {
+      fileinfoUrl = buildFileinfoCommandUrl(path);
+    } catch (UnsupportedEncodingException e) {
+      LOG.error("Error retrieving CDMI capabilities of {} -- {}", path, e.getMessage());
+      return AsyncHttpUtils.failed(new BackEndException(
+          String.format("Failed retrieving CDMI capabilities of %s -- %s", path, e.getMessage())));
+    }
+
+    CompletableFuture<QoSEntry> qosGet = AsyncHttpUtils.executeCommand(
+        commandEncoder.qosGet(path), CommandType.QOS_GET, qosEntryReader, path);
+    CompletableFuture<FileinfoListing> listing =
+        fetchListingAsync(path, fileinfoUrl, 0, childrenLimit);
+
+    listing.whenComplete((result, error) -> {
+      if (error != null) {
+        qosGet.cancel(true);
+      }
+    });
+
+    return listing.thenCombine(qosGet, (result, qosGetResult) ->
+        observed(path, buildStatus(path, result, qosGetResult, getCapabilityRegistry()),
+            started));
+  }
+
+  /**
+   * Build the CDMI object status out of the fileinfo listing and "qos get" response,
+   * reusing the capability URIs of the registry.
+   */
+  private static CdmiObjectStatus buildStatus(String path, FileinfoListing listing,
+                                              QoSEntry qosGet, CapabilityRegistry registry) {
+    // Identify capability type
+    BackendCapability.CapabilityType capType = listing.isDirectory() ? CONTAINER : DATAOBJECT;
+
+    // Extract children list
+    final List<String> children = listing.getChildren();
+
+    if (listing.isTruncated()) {
+      LOG.warn("Children of {} truncated to {} entries", path, children.size());
+    }
+
+    // Extract current_qos, target_qos and monitored metadata
+    final Map<String, Object> monitored =
+        EOSParseUtils.metadataFromQoS(qosGet.getMetadata(), "_provided");
+    String currentClass = qosGet.getCurrentQoS();
+    String currentCapUri, targetCapUri = null;
+
+    if (currentClass == null || currentClass.equals("null")) {
+      currentClass = "empty";
+    }
+
+    currentCapUri = registry.capabilityUri(capType, currentClass);
+
+    if (qosGet.getTargetQoS() != null) {
+      targetCapUri = registry.capabilityUri(capType, qosGet.getTargetQoS());
+    }
+
+    CdmiObjectStatus status = new CdmiObjectStatus(monitored, currentCapUri, targetCapUri);
+    status.setChildren(children);
+
+    LOG.info("CDMI Capability of {}: {} {} -- {}", path, currentCapUri,
+        ((targetCapUri == null || targetCapUri.isEmpty()) ?
+            "[no transition]" :
+            "[transition to " + targetCapUri + "]"),
+        status);
+
+    return status;
+  }
+
+  /**
+   * Start the non-blocking engine, unless already started.
    */
-  private String buildProtoCommandUrl(String opaqueInfo) throws UnsupportedEncodingException {
-    String encodedOpaque = URLEncoder.encode(opaqueInfo, StandardCharsets.UTF_8.toString());
-    return eosServer + cmdPath + "?mgm.cmd.proto=" + encodedOpaque;
+  private void startAsyncEngine() {
+    if (asyncStarted) {
+      return;
+    }
+
+    synchronized (this) {
+      if (!asyncStarted) {
+        AsyncHttpUtils.configure(config);
+        asyncStarted = true;
+      }
+    }
+  }
+
+  /**
+   * Wait for a command submitted to the command executor and return its response.
+   * Failures are propagated as BackEndException.
+   */
+  private static <T> T awaitCommand(Future<T> future) throws BackEndException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new BackEndException("Interrupted while waiting for command", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+
+      if (cause instanceof BackEndException) {
+        throw (BackEndException) cause;
+      }
+
+      throw new BackEndException(cause.getMessage(), cause);
+    }
   }
 
   /**
    * Return the EOS fileinfo specific command URL containing the given path.
    */
   private String buildFileinfoCommandUrl(String path) throws UnsupportedEncodingException {
-    String encodedPath = URLEncoder.encode(path, StandardCharsets.UTF_8.toString());
-    return eosServer + cmdPath + "?mgm.cmd=fileinfo&mgm.path=" + encodedPath + "&mgm.format=json";
+    return CommandUrls.fileinfoCommand(MGM_RELATIVE, path);
   }
 
   /**
@@ -257,11 +1125,8 @@ public class EosStorageBackend implements StorageBackend {
     }
 
     metadata.put("cdmi_capabilities_allowed", capAllowed);
-    emptyCapability.setMetadata(metadata);
-    emptyCapability.setCapabilities(Stream.of(
-        new String[][]{
-            {"cdmi_capabilities_allowed", "true"}
-        }).collect(Collectors.toMap(data -> data[0], data -> data[1])));
+    emptyCapability.setMetadata(Collections.unmodifiableMap(metadata));
+    emptyCapability.setCapabilities(EMPTY_CAPABILITIES);
 
     return emptyCapability;
   }
@@ -23,30 +23,99 @@
 
 package org.cern.eos.cdmi;
 
+import org.cern.eos.cdmi.admission.AdmissionControlledBackend;
+import org.cern.eos.cdmi.admission.AdmissionController;
+import org.cern.eos.cdmi.metrics.Metrics;
+import org.cern.eos.cdmi.util.PluginConfig;
 import org.indigo.cdmi.SubjectBasedStorageBackend;
 import org.indigo.cdmi.spi.StorageBackend;
 import org.indigo.cdmi.spi.StorageBackendFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 
 /**
  * Factory class for a StorageBacked object.
+ * <p>
+ * All calls share a single thread-safe backend, created on the first call
+ * from a single configuration load and warmed up in the background.
+ * Each call still gets its own SubjectBasedStorageBackend, which holds the caller subject
+ * and, when limits are configured, admits requests per subject before they reach the backend.
  *
  * Interface of this factory is defined by the cdmi-spi project:
  * https://github.com/indigo-dc/cdmi-spi
  */
 public class EosStorageBackendFactory implements StorageBackendFactory {
 
+  private static final Logger LOG = LoggerFactory.getLogger(EosStorageBackendFactory.class);
+  private static final Object lock = new Object();
+  private static volatile EosStorageBackend shared;
+  private static volatile WarmStartup startup;
+  private static volatile AdmissionController admission;
+
   private final String type = "eos";
   private final String description = "CDMI-QoS plugin for EOS Storage System";
 
   /**
-   * Factory method which returns a StorageBackend for the EOS type.
+   * Factory method which returns a StorageBackend for the EOS type,
+   * wrapping the shared backend.
    */
   @Override
   public StorageBackend createStorageBackend(Map<String, String> map)
     throws IllegalArgumentException {
-      return new SubjectBasedStorageBackend(new EosStorageBackend());
+    EosStorageBackend backend = sharedBackend();
+    AdmissionController controller = admission;
+
+    return controller.isEnabled()
+        ? new AdmissionControlledBackend(backend, controller)
+        : new SubjectBasedStorageBackend(backend);
+  }
+
+  /**
+   * Returns the shared backend, creating it on the first call.
+   */
+  public static EosStorageBackend sharedBackend() {
+    EosStorageBackend backend = shared;
+
+    if (backend != null) {
+      return backend;
+    }
+
+    synchronized (lock) {
+      if (shared == null) {
+        WarmStartup newStartup = new WarmStartup();
+        Metrics.register("Startup", "eos", newStartup);
+        startup = newStartup;
+
+        PluginConfig config = newStartup.time("config", PluginConfig::new);
+        EosStorageBackend eosBackend = newStartup.time("backend",
+            () -> new EosStorageBackend(config));
+        newStartup.warmUp(eosBackend, config);
+
+        AdmissionController newAdmission = new AdmissionController(config);
+        Metrics.register("Admission", "eos", newAdmission);
+        admission = newAdmission;
+
+        long wait = config.getLong("eos.startup.wait", 0);
+
+        if (wait > 0 && !newStartup.awaitReady(wait)) {
+          LOG.warn("EOS backend not warmed up after {}ms, serving requests anyway", wait);
+        }
+
+        shared = eosBackend;
+      }
+
+      return shared;
+    }
+  }
+
+  /**
+   * Returns true once the shared backend is created and warmed up.
+   */
+  public static boolean isReady() {
+    WarmStartup current = startup;
+    return shared != null && current != null && current.isReady();
   }
 
   /**
@@ -31,19 +31,20 @@ public class Main {
   private static final Logger LOG = LoggerFactory.getLogger(Main.class);
 
   public static void main(String[] args) {
-    EosStorageBackend eos = new EosStorageBackend();
-    try {
-      eos.getCapabilities();
-    } catch (Exception e) {
-      LOG.info(e.getMessage());
-    }
-
-    if (args.length >= 2) {
+    try (EosStorageBackend eos = new EosStorageBackend()) {
       try {
-        eos.updateCdmiObject(args[0], "/cdmi_capabilities/dataobject/" + args[1]);
+        eos.getCapabilities();
       } catch (Exception e) {
         LOG.info(e.getMessage());
       }
+
+      if (args.length >= 2) {
+        try {
+          eos.updateCdmiObject(args[0], "/cdmi_capabilities/dataobject/" + args[1]);
+        } catch (Exception e) {
+          LOG.info(e.getMessage());
+        }
+      }
     }
   }
 }
@@ -0,0 +1,560 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi;
+
+import org.cern.eos.cdmi.codec.FileinfoEntry;
+import org.cern.eos.cdmi.codec.QoSEntry;
+import org.cern.eos.cdmi.util.EOSParseUtils;
+import org.indigo.cdmi.BackEndException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * QoS summary of a container and all entries below it.
+ * <p>
+ * The tree is walked in parallel on a work-stealing pool: each container is a task
+ * forking one task per sub-container and per batch of entries, so that wide and deep
+ * trees keep all workers busy. The number of outstanding MGM commands is bounded by
+ * the concurrency. Every entry costs one "qos get" restricted to the current and target
+ * class, every container one fileinfo.
+ * <p>
+ * Stragglers are entries with a pending transition, or, when an expected class is given,
+ * entries whose current class differs from it.
+ */
+public class SubtreeSummary {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SubtreeSummary.class);
+  private static final int MAX_REPORTED_FAILURES = 10000;
+  private static final int ENTRIES_PER_TASK = 32;
+
+  private final EosStorageBackend backend;
+  private final String containerPath;
+  private int concurrency = 32;
+  private int maxDepth = Integer.MAX_VALUE;
+  private long maxEntries = Long.MAX_VALUE;
+  private int maxStragglers = 1000;
+  private String expectedClass;
+
+  private final AtomicLong entries = new AtomicLong();
+  private final AtomicLong containers = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong stragglerCount = new AtomicLong();
+  private final ConcurrentMap<QoSPair, LongAdder> counts = new ConcurrentHashMap<>();
+  private final List<String> stragglers = Collections.synchronizedList(new ArrayList<>());
+  private final Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+  private volatile boolean truncated;
+  private volatile boolean stopped;
+  private Semaphore outstanding;
+
+  SubtreeSummary(EosStorageBackend backend, String containerPath) {
+    this.backend = backend;
+    this.containerPath = containerPath;
+  }
+
+  /**
+   * Set the number of worker threads, which is also the maximum number of outstanding commands.
+   */
+  public SubtreeSummary concurrency(int concurrency) {
+    this.concurrency = Math.max(1, concurrency);
+    return this;
+  }
+
+  /**
+   * Set the maximum depth below the container to descend to. Entries of deeper
+   * containers are neither listed nor counted. Depth 0 counts the container alone.
+   */
+  public SubtreeSummary maxDepth(int maxDepth) {
+    this.maxDepth = Math.max(0, maxDepth);
+    return this;
+  }
+
+  /**
+   * Set the maximum number of entries to summarize, the container included.
+   */
+  public SubtreeSummary maxEntries(long maxEntries) {
+    this.maxEntries = Math.max(1, maxEntries);
+    return this;
+  }
+
+  /**
+   * Set the maximum number of reported straggler paths. All stragglers are counted.
+   */
+  public SubtreeSummary maxStragglers(int maxStragglers) {
+    this.maxStragglers = Math.max(0, maxStragglers);
+    return this;
+  }
+
+  /**
+   * Report entries whose current class differs from the given class as stragglers,
+   * instead of entries with a pending transition.
+   *
+   * @param capabilityUri the expected capability URI or QoS class name
+   */
+  public SubtreeSummary expect(String capabilityUri) {
+    this.expectedClass = EOSParseUtils.qosClassFromCapUri(capabilityUri);
+    return this;
+  }
+
+  /**
+   * Run the summary and wait for all outstanding commands to complete.
+   * If the calling thread is interrupted, the walk stops, the outstanding
+   * commands are still awaited and the result is reported as incomplete.
+   *
+   * @return the summary result
+   */
+  public Result run() throws BackEndException {
+    long start = System.nanoTime();
+    ForkJoinPool pool = null;
+    outstanding = new Semaphore(concurrency);
+    boolean interrupted = false;
+
+    LOG.info("Starting QoS summary of {} [concurrency={} maxDepth={} maxEntries={}]",
+        containerPath, concurrency, maxDepth, maxEntries);
+
+    try {
+      // The container must exist, other listing failures only skip a subtree
+      List<FileinfoEntry> children = list(containerPath);
+      admit();
+      summarize(containerPath);
+
+      pool = new ForkJoinPool(concurrency, forkJoinPool -> {
+        ForkJoinWorkerThread thread =
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+        thread.setName("eos-subtree-summary-" + thread.getPoolIndex());
+        return thread;
+      }, null, false);
+      pool.submit(new ContainerTask(containerPath, children, 0)).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      interrupted = true;
+      LOG.warn("QoS summary of {} interrupted", containerPath);
+    } catch (ExecutionException e) {
+      throw new BackEndException(String.format("Failed QoS summary of %s -- %s",
+          containerPath, e.getCause().getMessage()), e.getCause());
+    } finally {
+      stopped = true;
+
+      if (pool != null) {
+        pool.shutdownNow();
+        interrupted |= !awaitTermination(pool);
+      }
+    }
+
+    Result result = new Result(this, !interrupted && !truncated,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    LOG.info("Finished QoS summary of {} -- {}", containerPath, result);
+    return result;
+  }
+
+  /**
+   * Wait for the commands outstanding in the stopped pool to complete, even if interrupted,
+   * so that none outlives the summary. At most the configured concurrency is outstanding.
+   *
+   * @return false if the calling thread was interrupted, before or while waiting
+   */
+  private static boolean awaitTermination(ForkJoinPool pool) {
+    boolean interrupted = Thread.interrupted();
+
+    while (true) {
+      try {
+        if (pool.awaitTermination(1, TimeUnit.MINUTES)) {
+          break;
+        }
+
+        LOG.debug("Waiting for outstanding QoS summary commands");
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+
+    return !interrupted;
+  }
+
+  /**
+   * Count one more entry, unless the entry limit is reached.
+   */
+  private boolean admit() {
+    if (entries.incrementAndGet() > maxEntries) {
+      entries.decrementAndGet();
+      truncated = true;
+      return false;
+    }
+
+    return true;
+  }
+
+  private List<FileinfoEntry> list(String container) throws BackEndException {
+    acquire();
+
+    try {
+      return backend.fileinfo(container).getChildren();
+    } finally {
+      outstanding.release();
+    }
+  }
+
+  private void summarize(String path) {
+    if (stopped) {
+      return;
+    }
+
+    QoSEntry state;
+
+    try {
+      acquire();
+    } catch (BackEndException e) {
+      return;
+    }
+
+    try {
+      state = backend.qosState(path);
+    } catch (BackEndException | RuntimeException e) {
+      recordFailure(path, e.getMessage());
+      return;
+    } finally {
+      outstanding.release();
+    }
+
+    String current = (state.getCurrentQoS() == null) ? "null" : state.getCurrentQoS();
+    boolean pending = state.isPending();
+
+    counts.computeIfAbsent(new QoSPair(current, pending ? state.getTargetQoS() : null),
+        pair -> new LongAdder()).increment();
+
+    if ((expectedClass != null) ? !expectedClass.equals(current) : pending) {
+      stragglerCount.incrementAndGet();
+
+      synchronized (stragglers) {
+        if (stragglers.size() < maxStragglers) {
+          stragglers.add(path);
+        }
+      }
+    }
+  }
+
+  private void acquire() throws BackEndException {
+    try {
+      outstanding.acquire();
+    } catch (InterruptedException e) {
+      stopped = true;
+      Thread.currentThread().interrupt();
+      throw new BackEndException("Interrupted while waiting for a free command slot", e);
+    }
+  }
+
+  private void recordFailure(String path, String message) {
+    failed.incrementAndGet();
+    LOG.debug("QoS summary failed for {} -- {}", path, message);
+
+    synchronized (failures) {
+      if (failures.size() < MAX_REPORTED_FAILURES) {
+        failures.put(path, message);
+      }
+    }
+  }
+
+  private static String childPath(String container, String name) {
+    return container.endsWith("/") ? container + name : container + "/" + name;
+  }
+
+  /**
+   * Summarize the children of a listed container, forking sub-containers and entry batches.
+   */
+  private class ContainerTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final String path;
+    private final List<FileinfoEntry> children;
+    private final int depth;
+
+    ContainerTask(String path, List<FileinfoEntry> children, int depth) {
+      this.path = path;
+      this.children = children;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      containers.incrementAndGet();
+
+      if (depth >= maxDepth) {
+        if (!children.isEmpty()) {
+          truncated = true;
+        }
+
+        return;
+      }
+
+      List<ForkJoinTask<?>> tasks = new ArrayList<>();
+      List<String> batch = new ArrayList<>(ENTRIES_PER_TASK);
+
+      for (FileinfoEntry child : children) {
+        if (stopped || !admit()) {
+          break;
+        }
+
+        if (child.getName() == null) {
+          recordFailure(path, "listing contains an unnamed child");
+          continue;
+        }
+
+        String childPath = childPath(path, child.getName());
+        batch.add(childPath);
+
+        if (child.isDirectory()) {
+          if (depth + 1 < maxDepth) {
+            tasks.add(new ListingTask(childPath, depth + 1));
+          } else {
+            // The sub-container is counted, its entries are not
+            truncated = true;
+          }
+        }
+
+        if (batch.size() == ENTRIES_PER_TASK) {
+          tasks.add(new EntriesTask(batch));
+          batch = new ArrayList<>(ENTRIES_PER_TASK);
+        }
+      }
+
+      if (!batch.isEmpty()) {
+        tasks.add(new EntriesTask(batch));
+      }
+
+      invokeAll(tasks);
+    }
+  }
+
+  /**
+   * List a sub-container, then summarize its children.
+   */
+  private class ListingTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final String path;
+    private final int depth;
+
+    ListingTask(String path, int depth) {
+      this.path = path;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      if (stopped) {
+        return;
+      }
+
+      List<FileinfoEntry> children;
+
+      try {
+        children = list(path);
+      } catch (BackEndException | RuntimeException e) {
+        recordFailure(path, "listing failed -- " + e.getMessage());
+        return;
+      }
+
+      new ContainerTask(path, children, depth).compute();
+    }
+  }
+
+  /**
+   * Summarize the QoS of a batch of entries.
+   */
+  private class EntriesTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> paths;
+
+    EntriesTask(List<String> paths) {
+      this.paths = paths;
+    }
+
+    @Override
+    protected void compute() {
+      for (String path : paths) {
+        summarize(path);
+      }
+    }
+  }
+
+  /**
+   * A current class along with the pending target class, if any.
+   */
+  public static class QoSPair {
+    private final String current;
+    private final String target;
+
+    QoSPair(String current, String target) {
+      this.current = current;
+      this.target = target;
+    }
+
+    public String getCurrent() {
+      return current;
+    }
+
+    /**
+     * Returns the target class of a pending transition, or null.
+     */
+    public String getTarget() {
+      return target;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof QoSPair)) {
+        return false;
+      }
+
+      QoSPair other = (QoSPair) o;
+      return current.equals(other.current)
+          && (target == null ? other.target == null : target.equals(other.target));
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * current.hashCode() + (target == null ? 0 : target.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return (target == null) ? current : current + " -> " + target;
+    }
+  }
+
+  /**
+   * Final outcome of a subtree summary.
+   */
+  public static class Result {
+    private final long entries;
+    private final long containers;
+    private final long failed;
+    private final Map<QoSPair, Long> counts;
+    private final long stragglerCount;
+    private final List<String> stragglers;
+    private final Map<String, String> failures;
+    private final boolean complete;
+    private final long elapsedMillis;
+
+    Result(SubtreeSummary summary, boolean complete, long elapsedMillis) {
+      this.entries = summary.entries.get();
+      this.containers = summary.containers.get();
+      this.failed = summary.failed.get();
+      Map<QoSPair, Long> snapshot = new LinkedHashMap<>();
+      summary.counts.forEach((pair, count) -> snapshot.put(pair, count.sum()));
+      this.counts = Collections.unmodifiableMap(snapshot);
+      this.stragglerCount = summary.stragglerCount.get();
+      synchronized (summary.stragglers) {
+        this.stragglers = Collections.unmodifiableList(new ArrayList<>(summary.stragglers));
+      }
+      synchronized (summary.failures) {
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(summary.failures));
+      }
+      this.complete = complete;
+      this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Returns the number of summarized entries, the container included.
+     */
+    public long getEntries() {
+      return entries;
+    }
+
+    /**
+     * Returns the number of listed containers.
+     */
+    public long getContainers() {
+      return containers;
+    }
+
+    public long getFailed() {
+      return failed;
+    }
+
+    /**
+     * Returns the number of entries per current class and pending target class.
+     */
+    public Map<QoSPair, Long> getCounts() {
+      return counts;
+    }
+
+    public long getStragglerCount() {
+      return stragglerCount;
+    }
+
+    /**
+     * Returns the first straggler paths, up to the configured maximum.
+     */
+    public List<String> getStragglers() {
+      return stragglers;
+    }
+
+    /**
+     * Returns the failed paths along with their error messages.
+     */
+    public Map<String, String> getFailures() {
+      return failures;
+    }
+
+    /**
+     * Returns false if the summary was interrupted or stopped by a depth or entry limit.
+     */
+    public boolean isComplete() {
+      return complete;
+    }
+
+    public long getElapsedMillis() {
+      return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("entries=%d containers=%d failed=%d stragglers=%d complete=%b "
+          + "elapsed=%dms counts=%s", entries, containers, failed, stragglerCount, complete,
+          elapsedMillis, counts);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi;
+
+import org.cern.eos.cdmi.util.HttpUtils;
+import org.cern.eos.cdmi.util.NamedThreadFactory;
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.indigo.cdmi.BackEndException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timed startup of the backend, followed by a warm-up.
+ * <p>
+ * Startup phases run on the caller thread. The warm-up opens MGM connections
+ * and prefetches the capabilities, in the background unless configured otherwise.
+ * The backend is ready once the warm-up completed, whether or not it succeeded.
+ */
+public class WarmStartup implements WarmStartupMXBean {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WarmStartup.class);
+
+  private final long started = System.nanoTime();
+  private final Map<String, Long> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+  private final CountDownLatch ready = new CountDownLatch(1);
+  private volatile long totalMillis = -1;
+
+  /**
+   * Run and time a startup phase.
+   *
+   * @param phase the phase name, as logged
+   * @param step  the phase
+   * @return the phase result
+   */
+  public <T> T time(String phase, Supplier<T> step) {
+    long start = System.nanoTime();
+
+    try {
+      return step.get();
+    } finally {
+      record(phase, start);
+    }
+  }
+
+  /**
+   * Warm the given backend up: open MGM connections and prefetch capabilities.
+   *
+   * @param backend the backend to warm up
+   * @param config  the plugin configuration
+   */
+  public void warmUp(EosStorageBackend backend, PluginConfig config) {
+    int connections = config.getInt("eos.startup.connections", 4);
+    boolean prefetch = config.getBoolean("eos.startup.prefetch", true);
+    Runnable warmUp = () -> {
+      try {
+        if (connections > 0) {
+          long start = System.nanoTime();
+          int opened = HttpUtils.prewarm(connections);
+          record("connections", start);
+          LOG.info("Opened {} MGM connections", opened);
+        }
+
+        if (prefetch) {
+          long start = System.nanoTime();
+
+          try {
+            backend.getCapabilities();
+          } catch (BackEndException | RuntimeException e) {
+            LOG.warn("Failed prefetching capabilities -- {}", e.getMessage());
+          }
+
+          record("capabilities", start);
+        }
+      } finally {
+        totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        ready.countDown();
+        LOG.info("EOS backend ready in {}ms {}", totalMillis, phases);
+      }
+    };
+
+    if (config.getBoolean("eos.startup.background", true)) {
+      new NamedThreadFactory("eos-startup").newThread(warmUp).start();
+    } else {
+      warmUp.run();
+    }
+  }
+
+  /**
+   * Wait for the backend to be ready.
+   *
+   * @param timeoutMillis the maximum time to wait
+   * @return true if the backend is ready
+   */
+  public boolean awaitReady(long timeoutMillis) {
+    try {
+      return ready.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return isReady();
+    }
+  }
+
+  @Override
+  public boolean isReady() {
+    return ready.getCount() == 0;
+  }
+
+  @Override
+  public long getTotalMillis() {
+    return totalMillis;
+  }
+
+  @Override
+  public Map<String, Long> getPhaseMillis() {
+    synchronized (phases) {
+      return new LinkedHashMap<>(phases);
+    }
+  }
+
+  private void record(String phase, long start) {
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    phases.put(phase, millis);
+    LOG.info("Startup phase {} took {}ms", phase, millis);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.cern.eos.cdmi.admission;
+
+import org.indigo.cdmi.BackEndException;
+import org.indigo.cdmi.BackendCapability;
+import org.indigo.cdmi.CdmiObjectStatus;
+import org.indigo.cdmi.SubjectBasedStorageBackend;
+import org.indigo.cdmi.spi.StorageBackend;
+
+import javax.security.auth.Subject;
+import java.util.List;
+
+/**
+ * SubjectBasedStorageBackend admitting requests of its subject through an
+ * {@link AdmissionController} before running them as that subject.
+ * Capability listings and status queries are admitted as reads, QoS updates as writes.
+ * Capability listings are usually served from the capability cache, but are limited
+ * all the same, so that a client cannot flood the MGM with discoveries while the cache
+ * is disabled or empty.
+ */
+public class AdmissionControlledBackend extends SubjectBasedStorageBackend {
+
+  private final AdmissionController admission;
+  private volatile String subjectName = AdmissionController.subjectName(null);
+
+  public AdmissionControlledBackend(StorageBackend backend, AdmissionController admission) {
+    super(backend);
+    this.admission = admission;
+  }
+
+  @Override
+  public void setSubject(Subject subject) {
+    super.setSubject(subject);
+    subjectName = AdmissionController.subjectName(subject);
+  }
+
+  @Override
+  public List<BackendCapability> getCapabilities() throws BackEndException {
+    AdmissionController.Permit permit =
+        admission.admit(subjectName, AdmissionController.Kind.READ);
+
+    try {
+      return super.getCapabilities();
+    } finally {
+      permit.close();
+    }
+  }
+
+  @Override
+  public void updateCdmiObject(String path, String targetCapabilityUri) throws BackEndException {
+    AdmissionController.Permit permit =
+        admission.admit(subjectName, AdmissionController.Kind.WRITE);
+
+    try {
+      super.updateCdmiObject(path, targetCapabilityUri);
+    } finally {
+      permit.close();
+    }
+  }
+
+  @Override
+  public CdmiObjectStatus getCurrentStatus(String path) throws BackEndException {
+    AdmissionController.Permit permit =
+        admission.admit(subjectName, AdmissionController.Kind.READ);
+
+    try {
+      return super.getCurrentStatus(path);
+    } finally {
+      permit.close();
+    }
+  }
+}
@@ -0,0 +1,309 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.admission;
+
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.security.auth.Subject;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control of backend requests, keyed by the authenticated subject.
+ * <p>
+ * Each subject gets a token bucket for reads and another one for QoS writes.
+ * A caller without a token waits for the next one, as long as the wait stays
+ * below the configured bound and few enough callers of the same subject wait already.
+ * Otherwise it is rejected at once. Admitted requests also count against a global
+ * cap on in-flight requests, shared by all subjects.
+ * <p>
+ * A rate or cap of 0 disables the corresponding limit.
+ */
+public class AdmissionController implements AdmissionControllerMXBean {
+
+  /**
+   * Kind of request, each with its own budget.
+   */
+  public enum Kind { READ, WRITE }
+
+  /**
+   * An admitted request, to be closed once done.
+   */
+  public interface Permit extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private static final Logger LOG = LoggerFactory.getLogger(AdmissionController.class);
+  private static final String ANONYMOUS = "anonymous";
+  private static final int MAX_IDLE_SUBJECTS = 4096;
+  private static final Permit NO_PERMIT = () -> { };
+
+  private final double readRate;
+  private final double readBurst;
+  private final double writeRate;
+  private final double writeBurst;
+  private final int queueSize;
+  private final long maxWaitNanos;
+  private final int maxInFlight;
+  private final Semaphore inFlight;
+  private final Permit inFlightPermit;
+  private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+  private final AtomicLong admittedReads = new AtomicLong();
+  private final AtomicLong admittedWrites = new AtomicLong();
+  private final AtomicLong delayed = new AtomicLong();
+  private final AtomicLong rejectedRate = new AtomicLong();
+  private final AtomicLong rejectedQueue = new AtomicLong();
+  private final AtomicLong rejectedInFlight = new AtomicLong();
+
+  /**
+   * Read the limits from the configuration. Without limits, every request is admitted.
+   */
+  public AdmissionController(PluginConfig config) {
+    this.readRate = config.getDouble("eos.admission.read.rate", 0);
+    this.readBurst = burst(config.getDouble("eos.admission.read.burst", 0), readRate);
+    this.writeRate = config.getDouble("eos.admission.write.rate", 0);
+    this.writeBurst = burst(config.getDouble("eos.admission.write.burst", 0), writeRate);
+    this.queueSize = config.getInt("eos.admission.queue", 8);
+    this.maxWaitNanos =
+        TimeUnit.MILLISECONDS.toNanos(config.getLong("eos.admission.wait", 500));
+    this.maxInFlight = config.getInt("eos.admission.inflight", 0);
+    this.inFlight = (maxInFlight > 0) ? new Semaphore(maxInFlight) : null;
+    this.inFlightPermit = (inFlight != null) ? inFlight::release : NO_PERMIT;
+
+    if (isEnabled()) {
+      LOG.info("Admission control: {}", this);
+    }
+  }
+
+  /**
+   * Returns the configured burst, or one second worth of tokens if none is set.
+   */
+  private static double burst(double burst, double rate) {
+    return (burst > 0) ? burst : rate;
+  }
+
+  /**
+   * Returns true if any limit is configured.
+   */
+  public boolean isEnabled() {
+    return readRate > 0 || writeRate > 0 || inFlight != null;
+  }
+
+  /**
+   * Admit a request of the given subject, waiting for a token if needed.
+   * The subject is named with {@link #subjectName(Subject)}.
+   *
+   * @throws AdmissionRejectedException if the request exceeds the limits
+   */
+  public Permit admit(String subject, Kind kind) throws AdmissionRejectedException {
+    long deadline = System.nanoTime() + maxWaitNanos;
+    double rate = (kind == Kind.READ) ? readRate : writeRate;
+    TokenBucket bucket = (rate > 0) ? awaitToken(subject, kind) : null;
+
+    if (inFlight != null && !tryAcquireInFlight(deadline - System.nanoTime())) {
+      // The request is not served, so it does not use up the rate of its subject
+      if (bucket != null) {
+        bucket.refund();
+      }
+
+      rejectedInFlight.incrementAndGet();
+      throw new AdmissionRejectedException(String.format(
+          "Too many requests in progress [max=%d], retry later", maxInFlight));
+    }
+
+    (kind == Kind.READ ? admittedReads : admittedWrites).incrementAndGet();
+    return inFlightPermit;
+  }
+
+  /**
+   * Take a token from the budget of the subject, waiting in its queue if needed.
+   *
+   * @return the bucket the token was taken from
+   */
+  private TokenBucket awaitToken(String subject, Kind kind) throws AdmissionRejectedException {
+    Budget budget = budget(subject);
+    TokenBucket bucket = (kind == Kind.READ) ? budget.reads : budget.writes;
+    long wait = bucket.reserve(maxWaitNanos);
+
+    if (wait < 0) {
+      rejectedRate.incrementAndGet();
+      throw new AdmissionRejectedException(String.format(
+          "Too many %s requests from %s [rate=%.1f/s], retry later",
+          kind.name().toLowerCase(), subject, (kind == Kind.READ) ? readRate : writeRate));
+    }
+
+    if (wait == 0) {
+      return bucket;
+    }
+
+    if (budget.waiting.incrementAndGet() > queueSize) {
+      budget.waiting.decrementAndGet();
+      bucket.refund();
+      rejectedQueue.incrementAndGet();
+      throw new AdmissionRejectedException(String.format(
+          "Too many queued %s requests from %s [queue=%d], retry later",
+          kind.name().toLowerCase(), subject, queueSize));
+    }
+
+    delayed.incrementAndGet();
+
+    try {
+      TimeUnit.NANOSECONDS.sleep(wait);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AdmissionRejectedException("Interrupted while waiting for admission");
+    } finally {
+      budget.waiting.decrementAndGet();
+    }
+
+    return bucket;
+  }
+
+  private boolean tryAcquireInFlight(long waitNanos) throws AdmissionRejectedException {
+    try {
+      return inFlight.tryAcquire(Math.max(0, waitNanos), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AdmissionRejectedException("Interrupted while waiting for admission");
+    }
+  }
+
+  /**
+   * Returns the budget of the given subject, creating it on first use.
+   * Idle budgets are dropped once there are many: a new budget starts full anyway.
+   */
+  private Budget budget(String subject) {
+    Budget budget = budgets.get(subject);
+
+    if (budget == null) {
+      budget = budgets.computeIfAbsent(subject, key -> new Budget());
+
+      if (budgets.size() > MAX_IDLE_SUBJECTS) {
+        budgets.values().removeIf(Budget::isIdle);
+      }
+    }
+
+    return budget;
+  }
+
+  /**
+   * Returns a stable name for the given subject: its sorted principal names,
+   * or "anonymous" for an unauthenticated caller.
+   */
+  public static String subjectName(Subject subject) {
+    if (subject == null || subject.getPrincipals().isEmpty()) {
+      return ANONYMOUS;
+    }
+
+    List<String> names = new ArrayList<>();
+
+    for (Principal principal : subject.getPrincipals()) {
+      names.add(principal.getName());
+    }
+
+    if (names.size() == 1) {
+      return names.get(0);
+    }
+
+    Collections.sort(names);
+    return String.join(",", names);
+  }
+
+  public long getAdmittedReads() {
+    return admittedReads.get();
+  }
+
+  public long getAdmittedWrites() {
+    return admittedWrites.get();
+  }
+
+  public long getDelayed() {
+    return delayed.get();
+  }
+
+  public long getRejectedRate() {
+    return rejectedRate.get();
+  }
+
+  public long getRejectedQueue() {
+    return rejectedQueue.get();
+  }
+
+  public long getRejectedInFlight() {
+    return rejectedInFlight.get();
+  }
+
+  public int getSubjects() {
+    return budgets.size();
+  }
+
+  public int getWaiting() {
+    int waiting = 0;
+
+    for (Budget budget : budgets.values()) {
+      waiting += budget.waiting.get();
+    }
+
+    return waiting;
+  }
+
+  public int getInFlight() {
+    return (inFlight != null) ? maxInFlight - inFlight.availablePermits() : 0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("AdmissionController[read=%.1f/s burst=%.0f write=%.1f/s burst=%.0f "
+            + "queue=%d wait=%dms inflight=%d]", readRate, readBurst, writeRate, writeBurst,
+        queueSize, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos), maxInFlight);
+  }
+
+  /**
+   * Read and write budgets of one subject.
+   */
+  private class Budget {
+    private final TokenBucket reads = (readRate > 0) ? new TokenBucket(readRate, readBurst) : null;
+    private final TokenBucket writes =
+        (writeRate > 0) ? new TokenBucket(writeRate, writeBurst) : null;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    boolean isIdle() {
+      return waiting.get() == 0
+          && (reads == null || reads.isFull())
+          && (writes == null || writes.isFull());
+    }
+  }
+}
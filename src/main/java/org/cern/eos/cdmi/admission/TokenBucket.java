@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.admission;
+
+/**
+ * Token bucket refilled at a constant rate, up to its burst size.
+ * <p>
+ * Callers reserve a token and wait for the returned delay, so that
+ * tokens are handed out in order without holding the lock while waiting.
+ */
+public class TokenBucket {
+
+  private final double tokensPerNano;
+  private final double capacity;
+  private double tokens;
+  private long updatedAt = System.nanoTime();
+
+  /**
+   * @param ratePerSecond tokens added per second
+   * @param burst         maximum number of tokens, available at once
+   */
+  public TokenBucket(double ratePerSecond, double burst) {
+    this.tokensPerNano = ratePerSecond / 1e9;
+    this.capacity = Math.max(1, burst);
+    this.tokens = capacity;
+  }
+
+  /**
+   * Reserve one token.
+   *
+   * @param maxWaitNanos the longest acceptable wait
+   * @return the nanoseconds to wait before using the token, 0 if available now,
+   *     or -1 if it would take longer than maxWaitNanos, in which case nothing is reserved
+   */
+  public synchronized long reserve(long maxWaitNanos) {
+    refill();
+
+    if (tokens >= 1) {
+      tokens -= 1;
+      return 0;
+    }
+
+    long wait = (long) Math.ceil((1 - tokens) / tokensPerNano);
+
+    if (wait > maxWaitNanos) {
+      return -1;
+    }
+
+    tokens -= 1;
+    return wait;
+  }
+
+  /**
+   * Give back a reserved token which will not be used.
+   */
+  public synchronized void refund() {
+    tokens = Math.min(capacity, tokens + 1);
+  }
+
+  /**
+   * Returns true if the bucket is full, as a new bucket would be.
+   */
+  public synchronized boolean isFull() {
+    refill();
+    return tokens >= capacity;
+  }
+
+  private void refill() {
+    long now = System.nanoTime();
+    tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+    updatedAt = now;
+  }
+}
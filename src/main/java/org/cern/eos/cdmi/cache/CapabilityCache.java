@@ -0,0 +1,399 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.cache;
+
+import org.cern.eos.cdmi.util.NamedThreadFactory;
+import org.cern.eos.cdmi.util.SpiUtils;
+import org.indigo.cdmi.BackEndException;
+import org.indigo.cdmi.BackendCapability;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-based cache of the backend capabilities.
+ * <p>
+ * A fresh snapshot is served directly. Once the snapshot is older than the TTL,
+ * it is still served while a single background refresh is triggered (stale-while-revalidate).
+ * If the refresh fails, the last good snapshot is kept and served until a refresh succeeds.
+ * Accesses start a refresh at most once per TTL or failure backoff, whichever is shorter,
+ * so that an unavailable MGM is not flooded with discoveries.
+ * The loader is called synchronously only when no snapshot exists yet.
+ * Every caller receives its own copy of the capabilities.
+ * <p>
+ * A partial discovery, in which some classes could not be fetched, counts as a failed
+ * refresh. Its capabilities are served only when no complete snapshot exists, are refreshed
+ * at least every {@value #PARTIAL_TTL_MILLIS}ms and are never persisted.
+ * <p>
+ * With a snapshot file, every loaded snapshot is persisted, and the persisted snapshot
+ * is served from startup on. Its first access triggers the background refresh reconciling it
+ * with the MGM, so that construction never starts a refresh.
+ */
+public class CapabilityCache implements CapabilityCacheMXBean {
+
+  /**
+   * Source of capabilities, usually a full discovery against the MGM.
+   * A partial discovery is reported with a {@link PartialDiscoveryException}.
+   */
+  public interface Loader {
+    List<BackendCapability> load() throws BackEndException;
+  }
+
+  static final long PARTIAL_TTL_MILLIS = 10000;
+  static final long FAILURE_BACKOFF_MILLIS = 10000;
+
+  private static final Logger LOG = LoggerFactory.getLogger(CapabilityCache.class);
+
+  private final Loader loader;
+  private final long ttlMillis;
+  private final CapabilitySnapshotFile snapshotFile;
+  private final long backoffMillis;
+  private final ExecutorService refresher =
+      Executors.newSingleThreadExecutor(new NamedThreadFactory("eos-capability-refresh"));
+  private final AtomicBoolean refreshing = new AtomicBoolean(false);
+  private final Object loadLock = new Object();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong refreshes = new AtomicLong();
+  private final AtomicLong refreshFailures = new AtomicLong();
+  private final AtomicLong snapshotFileWrites = new AtomicLong();
+
+  private volatile Snapshot snapshot;
+  private volatile long refreshStartedAt = Long.MIN_VALUE;
+
+  /**
+   * @param loader    the capability source
+   * @param ttlMillis time after which a snapshot is considered stale
+   */
+  public CapabilityCache(Loader loader, long ttlMillis) {
+    this(loader, ttlMillis, null);
+  }
+
+  /**
+   * @param loader       the capability source
+   * @param ttlMillis    time after which a snapshot is considered stale
+   * @param snapshotFile the file persisting snapshots, or null
+   */
+  public CapabilityCache(Loader loader, long ttlMillis, CapabilitySnapshotFile snapshotFile) {
+    this(loader, ttlMillis, snapshotFile, FAILURE_BACKOFF_MILLIS);
+  }
+
+  /**
+   * @param loader        the capability source
+   * @param ttlMillis     time after which a snapshot is considered stale
+   * @param snapshotFile  the file persisting snapshots, or null
+   * @param backoffMillis minimum time between two refreshes started by accesses
+   */
+  public CapabilityCache(Loader loader, long ttlMillis, CapabilitySnapshotFile snapshotFile,
+                         long backoffMillis) {
+    this.loader = loader;
+    this.ttlMillis = ttlMillis;
+    this.snapshotFile = snapshotFile;
+    this.backoffMillis = backoffMillis;
+
+    if (snapshotFile != null) {
+      List<BackendCapability> persisted = snapshotFile.read();
+
+      if (persisted != null) {
+        // Stale from the start: the first access, usually the startup prefetch, refreshes it
+        snapshot = new Snapshot(Collections.unmodifiableList(persisted), true, true);
+      }
+    }
+  }
+
+  /**
+   * Returns the cached capabilities, loading them if no snapshot exists yet.
+   */
+  public List<BackendCapability> get() throws BackEndException {
+    Snapshot current = snapshot;
+
+    if (current != null) {
+      hits.incrementAndGet();
+      refreshIfStale(current);
+      return SpiUtils.copy(current.capabilities);
+    }
+
+    synchronized (loadLock) {
+      // Another thread may have loaded the snapshot in the meantime
+      current = snapshot;
+
+      if (current != null) {
+        hits.incrementAndGet();
+        return SpiUtils.copy(current.capabilities);
+      }
+
+      misses.incrementAndGet();
+
+      try {
+        return SpiUtils.copy(store(loader.load()).capabilities);
+      } catch (PartialDiscoveryException e) {
+        LOG.warn("Serving partial capabilities until a complete discovery -- {}",
+            e.getMessage());
+        return SpiUtils.copy(storePartial(e.getCapabilities()).capabilities);
+      }
+    }
+  }
+
+  /**
+   * Returns the cached capabilities without ever loading them, or null if no snapshot exists.
+   * A stale snapshot triggers a background refresh.
+   */
+  public List<BackendCapability> peek() {
+    Snapshot current = snapshot;
+
+    if (current == null) {
+      return null;
+    }
+
+    hits.incrementAndGet();
+    refreshIfStale(current);
+    return SpiUtils.copy(current.capabilities);
+  }
+
+  /**
+   * Returns the registry of the cached capabilities, never loading them.
+   * The registry is empty if no snapshot exists.
+   */
+  public CapabilityRegistry registry() {
+    Snapshot current = snapshot;
+    return (current == null) ? CapabilityRegistry.EMPTY : current.registry;
+  }
+
+  /**
+   * Store capabilities loaded elsewhere, such as by a non-blocking discovery.
+   *
+   * @return a copy of the stored capabilities
+   */
+  public List<BackendCapability> put(List<BackendCapability> capabilities) {
+    misses.incrementAndGet();
+    return SpiUtils.copy(store(capabilities).capabilities);
+  }
+
+  /**
+   * Store the capabilities of a partial discovery made elsewhere, unless a complete
+   * snapshot exists meanwhile.
+   *
+   * @return a copy of the served capabilities
+   */
+  public List<BackendCapability> putPartial(List<BackendCapability> capabilities) {
+    misses.incrementAndGet();
+    return SpiUtils.copy(storePartial(capabilities).capabilities);
+  }
+
+  /**
+   * Trigger a background refresh, unless one is already in progress or the cache is shut down.
+   */
+  public void refreshAsync() {
+    if (refresher.isShutdown() || !refreshing.compareAndSet(false, true)) {
+      return;
+    }
+
+    refreshStartedAt = System.nanoTime();
+
+    try {
+      refresher.execute(this::refresh);
+    } catch (RejectedExecutionException e) {
+      // Shut down concurrently
+      refreshing.set(false);
+    }
+  }
+
+  /**
+   * Trigger a background refresh of the given stale snapshot, unless a refresh
+   * was started within the TTL or the failure backoff.
+   */
+  private void refreshIfStale(Snapshot current) {
+    long ttl = current.ttl(ttlMillis);
+
+    if (!current.fromFile && current.age() < ttl) {
+      return;
+    }
+
+    long lastStart = refreshStartedAt;
+    long interval = TimeUnit.MILLISECONDS.toNanos(Math.min(ttl, backoffMillis));
+
+    if (lastStart != Long.MIN_VALUE && System.nanoTime() - lastStart < interval) {
+      return;
+    }
+
+    refreshAsync();
+  }
+
+  /**
+   * Load the capabilities, keeping the last good snapshot on failure.
+   */
+  private void refresh() {
+    try {
+      store(loader.load());
+      refreshes.incrementAndGet();
+      LOG.debug("Refreshed capability cache.");
+    } catch (PartialDiscoveryException e) {
+      refreshFailures.incrementAndGet();
+      storePartial(e.getCapabilities());
+      LOG.warn("Partial capability refresh, serving last complete snapshot -- {}",
+          e.getMessage());
+    } catch (BackEndException | RuntimeException e) {
+      refreshFailures.incrementAndGet();
+      LOG.warn("Failed refreshing capabilities, serving last good snapshot -- {}",
+          e.getMessage());
+    } finally {
+      refreshing.set(false);
+    }
+  }
+
+  /**
+   * Drop the current snapshot. The next call will load capabilities synchronously.
+   */
+  public void invalidate() {
+    snapshot = null;
+  }
+
+  /**
+   * Stop the background refresh thread.
+   */
+  public void shutdown() {
+    refresher.shutdownNow();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getRefreshes() {
+    return refreshes.get();
+  }
+
+  public long getRefreshFailures() {
+    return refreshFailures.get();
+  }
+
+  public long getSnapshotFileWrites() {
+    return snapshotFileWrites.get();
+  }
+
+  /**
+   * Returns true while the snapshot read from the snapshot file is served.
+   */
+  public boolean isServingSnapshotFile() {
+    Snapshot current = snapshot;
+    return current != null && current.fromFile;
+  }
+
+  /**
+   * Returns true while the capabilities of a partial discovery are served.
+   */
+  public boolean isServingPartialSnapshot() {
+    Snapshot current = snapshot;
+    return current != null && !current.complete;
+  }
+
+  /**
+   * Returns the age of the current snapshot in milliseconds, or -1 if there is none.
+   */
+  public long getSnapshotAge() {
+    Snapshot current = snapshot;
+    return (current == null) ? -1 : current.age();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("CapabilityCache[ttl=%dms hits=%d misses=%d refreshes=%d "
+            + "refreshFailures=%d age=%dms fromFile=%b partial=%b]", ttlMillis, getHits(),
+        getMisses(), getRefreshes(), getRefreshFailures(), getSnapshotAge(),
+        isServingSnapshotFile(), isServingPartialSnapshot());
+  }
+
+  private synchronized Snapshot store(List<BackendCapability> capabilities) {
+    Snapshot loaded = new Snapshot(Collections.unmodifiableList(capabilities), false, true);
+    snapshot = loaded;
+
+    if (snapshotFile != null) {
+      try {
+        snapshotFile.write(loaded.capabilities);
+        snapshotFileWrites.incrementAndGet();
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Failed writing capability snapshot {} -- {}", snapshotFile.getFile(),
+            e.getMessage());
+      }
+    }
+
+    return loaded;
+  }
+
+  /**
+   * Serve partial capabilities only in place of other partial ones, never persisting them.
+   */
+  private synchronized Snapshot storePartial(List<BackendCapability> capabilities) {
+    Snapshot current = snapshot;
+
+    if (current != null && current.complete) {
+      return current;
+    }
+
+    Snapshot loaded = new Snapshot(Collections.unmodifiableList(capabilities), false, false);
+    snapshot = loaded;
+    return loaded;
+  }
+
+  /**
+   * Immutable capability list along with its registry and load time.
+   * A snapshot read from the snapshot file is stale from the start.
+   */
+  private static class Snapshot {
+    private final List<BackendCapability> capabilities;
+    private final CapabilityRegistry registry;
+    private final boolean fromFile;
+    private final boolean complete;
+    private final long loadedAt = System.nanoTime();
+
+    Snapshot(List<BackendCapability> capabilities, boolean fromFile, boolean complete) {
+      this.capabilities = capabilities;
+      this.registry = CapabilityRegistry.of(capabilities, complete);
+      this.fromFile = fromFile;
+      this.complete = complete;
+    }
+
+    long age() {
+      return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadedAt);
+    }
+
+    long ttl(long ttlMillis) {
+      return complete ? ttlMillis : Math.min(ttlMillis, PARTIAL_TTL_MILLIS);
+    }
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.cache;
+
+import org.cern.eos.cdmi.util.EOSParseUtils;
+import org.indigo.cdmi.BackendCapability;
+import org.json.JSONArray;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable index of the discovered capabilities.
+ * <p>
+ * Holds one capability URI per type and QoS class, along with the classes each
+ * capability may transition to, so that status responses reuse the same URIs
+ * and transition requests are checked without contacting the MGM.
+ * <p>
+ * A registry built from a partial discovery does not know every class, so it never
+ * rejects a class it does not know.
+ */
+public final class CapabilityRegistry {
+
+  public static final CapabilityRegistry EMPTY =
+      new CapabilityRegistry(Collections.<BackendCapability>emptyList(), true);
+
+  private static final String PREFIX = "/cdmi_capabilities/";
+
+  private final Map<BackendCapability.CapabilityType, Map<String, Entry>> byClass =
+      new EnumMap<>(BackendCapability.CapabilityType.class);
+  private final Map<String, Entry> byUri = new HashMap<>();
+  private final Set<String> classes = new HashSet<>();
+  private final boolean complete;
+
+  private CapabilityRegistry(List<BackendCapability> capabilities, boolean complete) {
+    this.complete = complete;
+
+    for (BackendCapability.CapabilityType type : BackendCapability.CapabilityType.values()) {
+      byClass.put(type, new HashMap<>());
+    }
+
+    for (BackendCapability capability : capabilities) {
+      String uri = uri(capability.getType(), capability.getName());
+      Entry entry = new Entry(capability.getName(), uri, allowedClasses(capability));
+
+      byClass.get(capability.getType()).put(capability.getName(), entry);
+      byUri.put(uri, entry);
+      byUri.put(uri + "/", entry);
+      classes.add(capability.getName());
+    }
+  }
+
+  /**
+   * Build the registry of the given capabilities.
+   */
+  public static CapabilityRegistry of(List<BackendCapability> capabilities) {
+    return of(capabilities, true);
+  }
+
+  /**
+   * Build the registry of the given capabilities.
+   *
+   * @param complete false if the capabilities come from a partial discovery
+   */
+  public static CapabilityRegistry of(List<BackendCapability> capabilities, boolean complete) {
+    return capabilities.isEmpty() ? EMPTY : new CapabilityRegistry(capabilities, complete);
+  }
+
+  /**
+   * Returns true if no capability is known, in which case nothing can be checked locally.
+   */
+  public boolean isEmpty() {
+    return classes.isEmpty();
+  }
+
+  /**
+   * Returns false if the registry comes from a partial discovery.
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  public int size() {
+    return byUri.size() / 2;
+  }
+
+  /**
+   * Returns the URI of the given capability, shared by all callers when the class is known.
+   */
+  public String capabilityUri(BackendCapability.CapabilityType type, String qosClass) {
+    Entry entry = byClass.get(type).get(qosClass);
+    return (entry != null) ? entry.uri : uri(type, qosClass);
+  }
+
+  /**
+   * Returns the QoS class designated by a capability URI, or null if the class is unknown.
+   * Besides the registered URIs, any URI ending in "/cdmi_capabilities/{type}/{class}"
+   * is accepted, such as an absolute URL, as long as the class is known for that type.
+   * After a partial discovery, unknown classes of a valid type are returned as well.
+   */
+  public String qosClass(String capabilityUri) {
+    Entry entry = byUri.get(capabilityUri);
+
+    if (entry != null) {
+      return entry.qosClass;
+    }
+
+    String uri = capabilityUri.trim();
+    int start = uri.indexOf(PREFIX);
+
+    if (start < 0) {
+      return null;
+    }
+
+    // Trailing slashes are dropped by the split
+    String[] segments = uri.substring(start + PREFIX.length()).split("/");
+    BackendCapability.CapabilityType type = (segments.length == 2) ? type(segments[0]) : null;
+
+    if (type == null || segments[1].isEmpty()) {
+      return null;
+    }
+
+    entry = byClass.get(type).get(segments[1]);
+
+    if (entry != null) {
+      return entry.qosClass;
+    }
+
+    return complete ? null : segments[1];
+  }
+
+  /**
+   * Returns false only if the capability at the given URI is known
+   * and does not list the target class among its allowed transitions.
+   */
+  public boolean allowsTransition(String currentCapabilityUri, String targetClass) {
+    Entry entry = (currentCapabilityUri != null) ? byUri.get(currentCapabilityUri) : null;
+
+    if (entry == null || entry.allowed == null || entry.qosClass.equals(targetClass)) {
+      return true;
+    }
+
+    return entry.allowed.contains(targetClass);
+  }
+
+  /**
+   * Returns the classes the given capability may transition to, or null if it does not say.
+   */
+  private static Set<String> allowedClasses(BackendCapability capability) {
+    Map<String, Object> metadata = capability.getMetadata();
+    Object allowed = (metadata != null) ? metadata.get("cdmi_capabilities_allowed") : null;
+    Iterable<?> uris;
+
+    if (allowed instanceof JSONArray) {
+      uris = (JSONArray) allowed;
+    } else if (allowed instanceof Collection) {
+      uris = (Collection<?>) allowed;
+    } else {
+      return null;
+    }
+
+    Set<String> allowedClasses = new HashSet<>();
+
+    for (Object uri : uris) {
+      allowedClasses.add(EOSParseUtils.qosClassFromCapUri(String.valueOf(uri)));
+    }
+
+    return Collections.unmodifiableSet(allowedClasses);
+  }
+
+  private static BackendCapability.CapabilityType type(String segment) {
+    for (BackendCapability.CapabilityType type : BackendCapability.CapabilityType.values()) {
+      if (segment.equals(EOSParseUtils.capabilityTypeToString(type))) {
+        return type;
+      }
+    }
+
+    return null;
+  }
+
+  private static String uri(BackendCapability.CapabilityType type, String qosClass) {
+    return PREFIX + EOSParseUtils.capabilityTypeToString(type) + "/" + qosClass;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("CapabilityRegistry[capabilities=%d classes=%d]", size(), classes.size());
+  }
+
+  private static class Entry {
+    private final String qosClass;
+    private final String uri;
+    private final Set<String> allowed;
+
+    Entry(String qosClass, String uri, Set<String> allowed) {
+      this.qosClass = qosClass;
+      this.uri = uri;
+      this.allowed = allowed;
+    }
+  }
+}
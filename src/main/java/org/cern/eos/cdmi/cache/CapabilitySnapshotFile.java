@@ -0,0 +1,228 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.cache;
+
+import org.indigo.cdmi.BackendCapability;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Capability list persisted to a local JSON file, so that capabilities can be served
+ * right after a restart, even while the MGM is unavailable.
+ * <p>
+ * The file carries a format version and the MGM it was discovered from; files of another
+ * version or another MGM are ignored. Writes go to a temporary file in the same directory,
+ * which is synced and then atomically renamed over the snapshot, so readers never see
+ * a partial file.
+ */
+public class CapabilitySnapshotFile {
+
+  static final int VERSION = 1;
+
+  private static final Logger LOG = LoggerFactory.getLogger(CapabilitySnapshotFile.class);
+
+  private final Path file;
+  private final String server;
+  private byte[] persisted;
+
+  /**
+   * @param file   the snapshot file
+   * @param server the MGM the capabilities are discovered from
+   */
+  public CapabilitySnapshotFile(Path file, String server) {
+    this.file = file;
+    this.server = server;
+  }
+
+  /**
+   * Read the persisted capabilities.
+   *
+   * @return the capabilities, or null if the file is missing, unreadable or not applicable
+   */
+  public synchronized List<BackendCapability> read() {
+    byte[] content;
+
+    try {
+      content = Files.readAllBytes(file);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      LOG.warn("Failed reading capability snapshot {} -- {}", file, e.getMessage());
+      return null;
+    }
+
+    try {
+      JSONObject snapshot = new JSONObject(new String(content, StandardCharsets.UTF_8));
+      int version = snapshot.getInt("version");
+
+      if (version != VERSION) {
+        LOG.warn("Ignoring capability snapshot {} [version={} expected={}]", file, version,
+            VERSION);
+        return null;
+      }
+
+      if (!server.equals(snapshot.getString("server"))) {
+        LOG.warn("Ignoring capability snapshot {} of another MGM [server={}]", file,
+            snapshot.getString("server"));
+        return null;
+      }
+
+      JSONArray entries = snapshot.getJSONArray("capabilities");
+      List<BackendCapability> capabilities = new ArrayList<>(entries.length());
+
+      for (int i = 0; i < entries.length(); i++) {
+        capabilities.add(fromJson(entries.getJSONObject(i)));
+      }
+
+      persisted = withoutWriteTime(snapshot);
+      LOG.info("Loaded {} capabilities from snapshot {} [written={}]", capabilities.size(), file,
+          snapshot.optLong("written"));
+      return capabilities;
+    } catch (JSONException | IllegalArgumentException e) {
+      LOG.warn("Ignoring corrupt capability snapshot {} -- {}", file, e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Persist the given capabilities, unless they are identical to the persisted ones.
+   *
+   * @param capabilities the capabilities to persist
+   */
+  public synchronized void write(List<BackendCapability> capabilities) throws IOException {
+    JSONArray entries = new JSONArray();
+
+    for (BackendCapability capability : capabilities) {
+      entries.put(toJson(capability));
+    }
+
+    // The write time is left out of the comparison with the persisted file
+    JSONObject snapshot = new JSONObject()
+        .put("version", VERSION)
+        .put("server", server)
+        .put("capabilities", entries);
+    byte[] unchanged = snapshot.toString().getBytes(StandardCharsets.UTF_8);
+
+    if (Arrays.equals(unchanged, persisted)) {
+      return;
+    }
+
+    byte[] content = snapshot.put("written", System.currentTimeMillis()).toString()
+        .getBytes(StandardCharsets.UTF_8);
+    Path directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING)) {
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+
+        channel.force(true);
+      }
+
+      try {
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+
+    persisted = unchanged;
+    LOG.debug("Wrote {} capabilities to snapshot {}", capabilities.size(), file);
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  private static byte[] withoutWriteTime(JSONObject snapshot) {
+    Object written = snapshot.remove("written");
+    byte[] content = snapshot.toString().getBytes(StandardCharsets.UTF_8);
+
+    if (written != null) {
+      snapshot.put("written", written);
+    }
+
+    return content;
+  }
+
+  private static JSONObject toJson(BackendCapability capability) {
+    return new JSONObject()
+        .put("name", capability.getName())
+        .put("type", capability.getType().name())
+        .put("metadata", new JSONObject(capability.getMetadata()))
+        .put("capabilities", new JSONObject(capability.getCapabilities()));
+  }
+
+  private static BackendCapability fromJson(JSONObject json) {
+    BackendCapability capability = new BackendCapability(json.getString("name"),
+        BackendCapability.CapabilityType.valueOf(json.getString("type")));
+    capability.setMetadata(Collections.unmodifiableMap(toMap(json.getJSONObject("metadata"))));
+    capability.setCapabilities(
+        Collections.unmodifiableMap(toMap(json.getJSONObject("capabilities"))));
+    return capability;
+  }
+
+  /**
+   * Returns the top-level entries of a JSON object, keeping nested arrays as JSONArray,
+   * as built by the capability discovery.
+   */
+  private static Map<String, Object> toMap(JSONObject json) {
+    Map<String, Object> map = new HashMap<>();
+
+    for (String key : json.keySet()) {
+      map.put(key, json.get(key));
+    }
+
+    return map;
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.cern.eos.cdmi.cache;
+
+import org.indigo.cdmi.BackEndException;
+import org.indigo.cdmi.BackendCapability;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Capability discovery in which some QoS classes could not be fetched.
+ * Carries the capabilities of the classes which were, so that they may be served
+ * when nothing better is available, but never in place of a complete snapshot.
+ */
+public class PartialDiscoveryException extends BackEndException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient List<BackendCapability> capabilities;
+  private final List<String> missingClasses;
+
+  public PartialDiscoveryException(List<BackendCapability> capabilities,
+                                   List<String> missingClasses) {
+    super(String.format("Failed fetching %d QoS classes %s", missingClasses.size(),
+        missingClasses));
+    this.capabilities = Collections.unmodifiableList(capabilities);
+    this.missingClasses = Collections.unmodifiableList(missingClasses);
+  }
+
+  /**
+   * Returns the capabilities of the classes which were fetched.
+   */
+  public List<BackendCapability> getCapabilities() {
+    return capabilities;
+  }
+
+  /**
+   * Returns the names of the classes which could not be fetched.
+   */
+  public List<String> getMissingClasses() {
+    return missingClasses;
+  }
+}
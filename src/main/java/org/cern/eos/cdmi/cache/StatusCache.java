@@ -0,0 +1,361 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.cache;
+
+import org.indigo.cdmi.BackEndException;
+import org.cern.eos.cdmi.util.SpiUtils;
+import org.indigo.cdmi.CdmiObjectStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of CDMI object statuses, keyed by path.
+ * <p>
+ * Entries expire after a TTL which depends on the entry state:
+ * stable entries, entries with a pending QoS transition and
+ * missing paths (negative entries) each have their own TTL.
+ * <p>
+ * Fetches are ordered against invalidations through generations: a fetch captures
+ * the {@link #generation(String)} of its path before querying the MGM, and its result
+ * is dropped if the path was invalidated in the meantime. Invalidations are stamped
+ * with a global clock and remembered for as many paths as the cache holds;
+ * once forgotten, results of fetches started before the forgotten invalidation are dropped.
+ * <p>
+ * Statuses are copied in and out, so that callers never share a mutable status.
+ */
+public class StatusCache implements StatusCacheMXBean {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StatusCache.class);
+
+  // Rough per-object overheads used to estimate the memory footprint
+  private static final long ENTRY_OVERHEAD = 160;
+  private static final long STATUS_OVERHEAD = 256;
+  private static final long STRING_OVERHEAD = 40;
+
+  private final int maxEntries;
+  private final long stableTtlNanos;
+  private final long pendingTtlNanos;
+  private final long negativeTtlNanos;
+  private final Map<String, Entry> entries;
+  private final Map<String, Long> invalidatedAt;
+  private long clock = 0;
+  private long forgottenInvalidation = 0;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong expirations = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+  private final AtomicLong staleResults = new AtomicLong();
+  private long footprint = 0;
+
+  /**
+   * @param maxEntries     maximum number of cached paths
+   * @param stableTtl      TTL in milliseconds of entries without a pending transition
+   * @param pendingTtl     TTL in milliseconds of entries with a pending transition
+   * @param negativeTtl    TTL in milliseconds of missing path entries
+   */
+  public StatusCache(int maxEntries, long stableTtl, long pendingTtl, long negativeTtl) {
+    this.maxEntries = maxEntries;
+    this.stableTtlNanos = TimeUnit.MILLISECONDS.toNanos(stableTtl);
+    this.pendingTtlNanos = TimeUnit.MILLISECONDS.toNanos(pendingTtl);
+    this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtl);
+    this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        if (size() > StatusCache.this.maxEntries) {
+          footprint -= eldest.getValue().size;
+          evictions.incrementAndGet();
+          return true;
+        }
+
+        return false;
+      }
+    };
+    this.invalidatedAt = new LinkedHashMap<String, Long>(16, 0.75f, false) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+        if (size() > StatusCache.this.maxEntries) {
+          forgottenInvalidation = Math.max(forgottenInvalidation, eldest.getValue());
+          return true;
+        }
+
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns the current generation of the given path, to be captured before fetching its status.
+   */
+  public synchronized long generation(String path) {
+    return clock;
+  }
+
+  /**
+   * Returns the cached status of the given path, or null if there is no valid entry.
+   * A cached missing path is reported by rethrowing the original error.
+   */
+  public synchronized CdmiObjectStatus get(String path) throws BackEndException {
+    Entry entry = entries.get(path);
+
+    if (entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+
+    if (System.nanoTime() - entry.expiresAt >= 0) {
+      remove(path);
+      expirations.incrementAndGet();
+      misses.incrementAndGet();
+      return null;
+    }
+
+    hits.incrementAndGet();
+
+    if (entry.error != null) {
+      throw new BackEndException(entry.error);
+    }
+
+    return SpiUtils.copy(entry.status);
+  }
+
+  /**
+   * Returns the cached status of the given path, or null if there is no valid entry
+   * or the path is cached as missing. Unlike {@link #get(String)}, the lookup
+   * is not counted as a hit or miss.
+   */
+  public synchronized CdmiObjectStatus peekStatus(String path) {
+    Entry entry = entries.get(path);
+
+    if (entry == null || entry.error != null || System.nanoTime() - entry.expiresAt >= 0) {
+      return null;
+    }
+
+    return SpiUtils.copy(entry.status);
+  }
+
+  /**
+   * Cache the status of the given path, fetched at the given generation.
+   * The status is dropped if the path was invalidated since.
+   */
+  public synchronized void put(String path, CdmiObjectStatus status, long generation) {
+    if (isStale(path, generation)) {
+      return;
+    }
+
+    String target = status.getTargetCapabilitiesUri();
+    long ttl = (target == null || target.isEmpty()) ? stableTtlNanos : pendingTtlNanos;
+
+    if (ttl > 0) {
+      store(path, new Entry(SpiUtils.copy(status), null, System.nanoTime() + ttl,
+          estimateSize(path, status)));
+    }
+  }
+
+  /**
+   * Cache the fact that the given path does not exist, as found at the given generation.
+   * The error is dropped if the path was invalidated since.
+   */
+  public synchronized void putMissing(String path, String error, long generation) {
+    if (negativeTtlNanos > 0 && !isStale(path, generation)) {
+      long size = ENTRY_OVERHEAD + stringSize(path) + stringSize(error);
+      store(path, new Entry(null, error, System.nanoTime() + negativeTtlNanos, size));
+    }
+  }
+
+  /**
+   * Drop the cached entry of the given path.
+   */
+  public synchronized void invalidate(String path) {
+    invalidatedAt.remove(path);
+    invalidatedAt.put(path, ++clock);
+
+    if (remove(path) != null) {
+      invalidations.incrementAndGet();
+      LOG.debug("Invalidated cached status of {}", path);
+    }
+  }
+
+  /**
+   * Drop all cached entries.
+   */
+  public synchronized void clear() {
+    invalidatedAt.clear();
+    forgottenInvalidation = ++clock;
+    entries.clear();
+    footprint = 0;
+  }
+
+  /**
+   * Remove all expired entries.
+   */
+  public synchronized void purgeExpired() {
+    long now = System.nanoTime();
+    Iterator<Entry> iterator = entries.values().iterator();
+
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+
+      if (now - entry.expiresAt >= 0) {
+        footprint -= entry.size;
+        expirations.incrementAndGet();
+        iterator.remove();
+      }
+    }
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public int getSize() {
+    return size();
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  public long getExpirations() {
+    return expirations.get();
+  }
+
+  public long getInvalidations() {
+    return invalidations.get();
+  }
+
+  public long getStaleResults() {
+    return staleResults.get();
+  }
+
+  /**
+   * Returns the ratio of lookups served from the cache.
+   */
+  public double getHitRatio() {
+    long hitCount = hits.get();
+    long total = hitCount + misses.get();
+    return (total == 0) ? 0.0 : (double) hitCount / total;
+  }
+
+  /**
+   * Returns the estimated memory footprint of the cached entries, in bytes.
+   */
+  public synchronized long getEstimatedFootprint() {
+    return footprint;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("StatusCache[size=%d/%d hitRatio=%.3f evictions=%d footprint=%dB]",
+        size(), maxEntries, getHitRatio(), getEvictions(), getEstimatedFootprint());
+  }
+
+  /**
+   * Returns true if the path was invalidated after the given generation,
+   * or may have been, since its invalidation was forgotten.
+   */
+  private boolean isStale(String path, long generation) {
+    Long invalidation = invalidatedAt.get(path);
+
+    if (generation < ((invalidation == null) ? forgottenInvalidation : invalidation)) {
+      staleResults.incrementAndGet();
+      LOG.debug("Dropped status of {} fetched before its invalidation", path);
+      return true;
+    }
+
+    return false;
+  }
+
+  private void store(String path, Entry entry) {
+    remove(path);
+    entries.put(path, entry);
+    footprint += entry.size;
+  }
+
+  private Entry remove(String path) {
+    Entry entry = entries.remove(path);
+
+    if (entry != null) {
+      footprint -= entry.size;
+    }
+
+    return entry;
+  }
+
+  private static long estimateSize(String path, CdmiObjectStatus status) {
+    long size = ENTRY_OVERHEAD + STATUS_OVERHEAD + stringSize(path)
+        + stringSize(status.getCurrentCapabilitiesUri())
+        + stringSize(status.getTargetCapabilitiesUri());
+    List<String> children = status.getChildren();
+
+    if (children != null) {
+      for (String child : children) {
+        size += stringSize(child) + 8;
+      }
+    }
+
+    return size;
+  }
+
+  private static long stringSize(String value) {
+    return (value == null) ? 0 : STRING_OVERHEAD + 2L * value.length();
+  }
+
+  /**
+   * Cached status, or error message for a missing path.
+   */
+  private static class Entry {
+    private final CdmiObjectStatus status;
+    private final String error;
+    private final long expiresAt;
+    private final long size;
+
+    Entry(CdmiObjectStatus status, String error, long expiresAt, long size) {
+      this.status = status;
+      this.error = error;
+      this.expiresAt = expiresAt;
+      this.size = size;
+    }
+  }
+}
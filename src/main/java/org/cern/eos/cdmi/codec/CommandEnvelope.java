@@ -0,0 +1,474 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.indigo.cdmi.BackEndException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The fields of an MGM command response, read straight from the response stream.
+ * <p>
+ * The envelope
+ * <pre>
+ *   mgm.proc.stdout=#output#&amp;mgm.proc.stderr=#errors#&amp;mgm.proc.retc=#retc#
+ * </pre>
+ * is read through a pooled buffer of fixed capacity: fields ahead of the output
+ * are scanned up to the "mgm.proc.stdout=" marker, and the command output is then
+ * exposed as a stream ending at the next '&amp;' (EOS escapes it within outputs).
+ * {@link #checkErrors()} skips what is left of the output and reads the error output
+ * and the return code from the tail. Memory use does not depend on the response size.
+ * <p>
+ * A body that does not start with an envelope field is taken as the output itself.
+ * The buffer is handed back to the pool on {@link #close()}.
+ */
+public final class CommandEnvelope implements AutoCloseable {
+
+  private static final byte[] FIELD_PREFIX = "mgm.proc.".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] STDOUT_FIELD =
+      "mgm.proc.stdout".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] STDERR_FIELD =
+      "mgm.proc.stderr".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] RETC_FIELD =
+      "mgm.proc.retc".getBytes(StandardCharsets.US_ASCII);
+
+  private static final int POOL_SIZE = 64;
+  static final int CAPACITY = 8 * 1024;
+  private static final int MAX_NAME_LENGTH = 32;
+  private static final int MAX_ERROR_LENGTH = 1024;
+  private static final int MAX_RETC_LENGTH = 32;
+
+  private static final BlockingQueue<CommandEnvelope> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+
+  private enum State { OUTPUT, TAIL, DONE }
+
+  private final byte[] buffer = new byte[CAPACITY];
+  private final byte[] name = new byte[MAX_NAME_LENGTH];
+  private final byte[] error = new byte[MAX_ERROR_LENGTH];
+  private final byte[] retcValue = new byte[MAX_RETC_LENGTH];
+  private final Output output = new Output();
+  private InputStream in;
+  private int position;
+  private int limit;
+  private State state;
+  private int errorLength;
+  private boolean errorTruncated;
+  private long retc;
+  private boolean retcMalformed;
+
+  private CommandEnvelope() {
+  }
+
+  /**
+   * Open the body of a command response and position it at the command output.
+   * The returned envelope must be closed once the output is decoded.
+   */
+  public static CommandEnvelope read(HttpResponse response) throws IOException {
+    CommandEnvelope envelope = POOL.poll();
+
+    if (envelope == null) {
+      envelope = new CommandEnvelope();
+    }
+
+    try {
+      envelope.open(response.getEntity());
+    } catch (IOException | RuntimeException e) {
+      envelope.close();
+      throw e;
+    }
+
+    return envelope;
+  }
+
+  /**
+   * Returns the command output, ending before the fields that follow it.
+   * Reading it does not close the response.
+   */
+  public InputStream output() {
+    return output;
+  }
+
+  /**
+   * Returns a copy of the command output not read yet.
+   */
+  public String outputString() throws IOException {
+    ByteArrayOutputStream copy = new ByteArrayOutputStream();
+    int available;
+
+    while ((available = outputChunk()) > 0) {
+      copy.write(buffer, position, available);
+      position += available;
+    }
+
+    return new String(copy.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Throw if the MGM reported an error, either through a non-empty
+   * error output or a non-zero return code. A return code that
+   * cannot be parsed is an error as well.
+   * <p>
+   * What is left of the command output is skipped to reach the fields after it.
+   */
+  public void checkErrors() throws IOException, BackEndException {
+    readTail();
+
+    if (errorLength > 0) {
+      throw new BackEndException(String.format("Server responded with error message -- %s%s",
+          new String(error, 0, errorLength, StandardCharsets.UTF_8),
+          errorTruncated ? "..." : ""));
+    }
+
+    if (retcMalformed) {
+      throw new BackEndException("Server responded with a malformed return code");
+    }
+
+    if (retc != 0) {
+      throw new BackEndException(
+          String.format("Server responded with return code -- %d", retc));
+    }
+  }
+
+  /**
+   * Returns the return code, 0 when the response carries none.
+   * Only known once {@link #checkErrors()} has read the tail, and
+   * meaningless if the return code is malformed.
+   */
+  public long getRetc() {
+    return retc;
+  }
+
+  /**
+   * Hand the buffer back to the pool. The response is left to the caller,
+   * which drains what remains of it or discards the connection.
+   */
+  @Override
+  public void close() {
+    in = null;
+    state = State.DONE;
+    POOL.offer(this);
+  }
+
+  private void open(HttpEntity entity) throws IOException {
+    in = (entity != null) ? entity.getContent() : null;
+    position = 0;
+    limit = 0;
+    errorLength = 0;
+    errorTruncated = false;
+    retc = 0;
+    retcMalformed = false;
+    state = State.DONE;
+
+    if (in == null) {
+      return;
+    }
+
+    // Peek at the start of the body to tell an envelope from a bare output
+    while (limit < FIELD_PREFIX.length) {
+      int read = in.read(buffer, limit, buffer.length - limit);
+
+      if (read == -1) {
+        break;
+      }
+
+      limit += read;
+    }
+
+    if (!startsWith(buffer, 0, limit, FIELD_PREFIX)) {
+      state = State.OUTPUT;
+      return;
+    }
+
+    state = State.TAIL;
+
+    // Fields ahead of the output (normally none)
+    while (state == State.TAIL) {
+      int length = readName();
+
+      if (length < 0) {
+        state = State.DONE;
+      } else if (equals(name, length, STDOUT_FIELD)) {
+        state = State.OUTPUT;
+      } else {
+        readValue(length);
+      }
+    }
+  }
+
+  /**
+   * Skip the rest of the output and read the fields after it, up to the end of the body.
+   */
+  private void readTail() throws IOException {
+    if (state == State.OUTPUT) {
+      while (output.skip(Long.MAX_VALUE) > 0) {
+        // Skipped chunk by chunk
+      }
+    }
+
+    while (state == State.TAIL) {
+      int length = readName();
+
+      if (length < 0) {
+        state = State.DONE;
+      } else {
+        readValue(length);
+      }
+    }
+  }
+
+  /**
+   * Returns true if bytes are buffered, refilling the buffer from the stream when empty.
+   */
+  private boolean fill() throws IOException {
+    if (position < limit) {
+      return true;
+    }
+
+    position = 0;
+    limit = 0;
+    int read = (in != null) ? in.read(buffer) : -1;
+
+    if (read <= 0) {
+      return false;
+    }
+
+    limit = read;
+    return true;
+  }
+
+  /**
+   * Read a field name up to '=' into the name buffer, keeping at most its first bytes.
+   *
+   * @return the name length, or -1 at the end of the body
+   */
+  private int readName() throws IOException {
+    int length = 0;
+    boolean any = false;
+
+    while (fill()) {
+      byte b = buffer[position++];
+      any = true;
+
+      if (b == '=') {
+        return length;
+      }
+
+      if (b == '&') {
+        // Field without a value
+        length = 0;
+        continue;
+      }
+
+      if (length < name.length) {
+        name[length++] = b;
+      }
+    }
+
+    return any ? length : -1;
+  }
+
+  /**
+   * Read the value of the named field up to the next '&amp;', keeping the error output
+   * and the return code and skipping any other field.
+   */
+  private void readValue(int nameLength) throws IOException {
+    boolean stderr = equals(name, nameLength, STDERR_FIELD);
+    boolean retcField = !stderr && equals(name, nameLength, RETC_FIELD);
+    int length = 0;
+    boolean overflow = false;
+
+    while (fill()) {
+      byte b = buffer[position++];
+
+      if (b == '&') {
+        break;
+      }
+
+      if (stderr) {
+        if (errorLength < error.length) {
+          error[errorLength++] = b;
+        } else {
+          errorTruncated = true;
+        }
+      } else if (retcField) {
+        if (length < retcValue.length) {
+          retcValue[length++] = b;
+        } else {
+          overflow = true;
+        }
+      }
+    }
+
+    if (retcField) {
+      try {
+        if (overflow) {
+          throw new NumberFormatException("Malformed return code");
+        }
+
+        retc = parseLong(retcValue, 0, length);
+        retcMalformed = false;
+      } catch (NumberFormatException e) {
+        retcMalformed = true;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of output bytes buffered from the current position,
+   * refilling the buffer when empty, or -1 once the output has ended.
+   */
+  private int outputChunk() throws IOException {
+    if (state != State.OUTPUT) {
+      return -1;
+    }
+
+    if (!fill()) {
+      state = State.DONE;
+      return -1;
+    }
+
+    for (int i = position; i < limit; i++) {
+      if (buffer[i] == '&') {
+        if (i == position) {
+          // End of the output: the fields after it follow
+          position++;
+          state = State.TAIL;
+          return -1;
+        }
+
+        return i - position;
+      }
+    }
+
+    return limit - position;
+  }
+
+  private static boolean startsWith(byte[] data, int from, int to, byte[] prefix) {
+    if (to - from < prefix.length) {
+      return false;
+    }
+
+    for (int i = 0; i < prefix.length; i++) {
+      if (data[from + i] != prefix[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean equals(byte[] data, int length, byte[] other) {
+    return length == other.length && startsWith(data, 0, length, other);
+  }
+
+  /**
+   * Parse a decimal return code, ignoring surrounding whitespace.
+   *
+   * @throws NumberFormatException if the value is empty, not a number or out of range
+   */
+  private static long parseLong(byte[] data, int from, int to) {
+    while (from < to && Character.isWhitespace(data[from])) {
+      from++;
+    }
+
+    while (to > from && Character.isWhitespace(data[to - 1])) {
+      to--;
+    }
+
+    boolean negative = from < to && data[from] == '-';
+    int i = negative ? from + 1 : from;
+
+    if (i == to || to - i > 18) {
+      throw new NumberFormatException("Malformed return code");
+    }
+
+    long value = 0;
+
+    for (; i < to; i++) {
+      int digit = data[i] - '0';
+
+      if (digit < 0 || digit > 9) {
+        throw new NumberFormatException("Malformed return code");
+      }
+
+      value = value * 10 + digit;
+    }
+
+    return negative ? -value : value;
+  }
+
+  /**
+   * The command output, served from the buffer up to the next '&amp;'.
+   */
+  private final class Output extends InputStream {
+
+    @Override
+    public int read() throws IOException {
+      return (outputChunk() > 0) ? buffer[position++] & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+
+      int available = outputChunk();
+
+      if (available < 0) {
+        return -1;
+      }
+
+      int count = Math.min(len, available);
+      System.arraycopy(buffer, position, b, off, count);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      int available = outputChunk();
+
+      if (available <= 0) {
+        return 0;
+      }
+
+      int count = (int) Math.min(n, available);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decoded fileinfo response: name and type of an entry and, for containers, of its children.
+ * Children entries carry no children of their own.
+ */
+public final class FileinfoEntry {
+
+  private final String name;
+  private final boolean directory;
+  private final List<FileinfoEntry> children;
+
+  public FileinfoEntry(String name, boolean directory, List<FileinfoEntry> children) {
+    this.name = name;
+    this.directory = directory;
+    this.children = (children == null)
+        ? Collections.emptyList() : Collections.unmodifiableList(children);
+  }
+
+  /**
+   * Returns the entry name, or null if not reported.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns true if the entry is a directory.
+   */
+  public boolean isDirectory() {
+    return directory;
+  }
+
+  /**
+   * Returns the children of a directory, empty for files.
+   */
+  public List<FileinfoEntry> getChildren() {
+    return children;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("FileinfoEntry[name=%s directory=%s children=%d]",
+        name, directory, children.size());
+  }
+}
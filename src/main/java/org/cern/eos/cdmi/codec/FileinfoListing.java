@@ -0,0 +1,131 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Directory flag and (possibly partial) children listing decoded from a fileinfo response.
+ * Unnamed children are left out, and do not count towards the page offset.
+ */
+public class FileinfoListing {
+
+  private final boolean directory;
+  private final List<FileinfoEntry> entries;
+  private final List<String> children;
+  private final long offset;
+  private final boolean truncated;
+
+  public FileinfoListing(boolean directory, List<FileinfoEntry> entries, long offset,
+                         boolean truncated) {
+    this.directory = directory;
+    this.entries = Collections.unmodifiableList(entries);
+    this.offset = offset;
+    this.truncated = truncated;
+    this.children = new AbstractList<String>() {
+      @Override
+      public String get(int index) {
+        return FileinfoListing.this.entries.get(index).getName();
+      }
+
+      @Override
+      public int size() {
+        return FileinfoListing.this.entries.size();
+      }
+    };
+  }
+
+  /**
+   * Returns the requested page of the children of a fully decoded fileinfo response.
+   *
+   * @param fileinfo the decoded fileinfo response
+   * @param offset   the index of the first child to return
+   * @param limit    the maximum number of children to return, 0 for no limit
+   */
+  public static FileinfoListing page(FileinfoEntry fileinfo, long offset, long limit) {
+    List<FileinfoEntry> entries = new ArrayList<>();
+    long index = 0;
+    boolean truncated = false;
+
+    for (FileinfoEntry child : fileinfo.getChildren()) {
+      if (child.getName() == null || index++ < offset) {
+        continue;
+      }
+
+      if (limit > 0 && entries.size() >= limit) {
+        truncated = true;
+        break;
+      }
+
+      entries.add(child);
+    }
+
+    boolean directory = fileinfo.isDirectory() || !fileinfo.getChildren().isEmpty();
+    return new FileinfoListing(directory, entries, offset, truncated);
+  }
+
+  /**
+   * Returns true if the listed entry is a directory.
+   */
+  public boolean isDirectory() {
+    return directory;
+  }
+
+  /**
+   * Returns the children names within the requested page.
+   */
+  public List<String> getChildren() {
+    return children;
+  }
+
+  /**
+   * Returns the children entries within the requested page.
+   */
+  public List<FileinfoEntry> getEntries() {
+    return entries;
+  }
+
+  /**
+   * Returns the index of the first returned child.
+   */
+  public long getOffset() {
+    return offset;
+  }
+
+  /**
+   * Returns true if more children exist after the returned page.
+   */
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("FileinfoListing[directory=%s children=%d offset=%d truncated=%s]",
+        directory, entries.size(), offset, truncated);
+  }
+}
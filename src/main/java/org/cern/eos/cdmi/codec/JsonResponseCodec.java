@@ -0,0 +1,135 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+import org.apache.http.HttpResponse;
+import org.cern.eos.cdmi.metrics.CommandMetrics;
+import org.cern.eos.cdmi.util.EOSParseUtils;
+import org.cern.eos.cdmi.util.JsonUtils;
+import org.indigo.cdmi.BackEndException;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec building an org.json document out of the response string, then converting it.
+ * This is the historical decoding path, kept as a reference.
+ */
+public class JsonResponseCodec implements ResponseCodec {
+
+  @Override
+  public String getName() {
+    return ResponseCodecs.JSON;
+  }
+
+  @Override
+  public FileinfoEntry decodeFileinfo(HttpResponse response, CommandMetrics metrics)
+      throws IOException, BackEndException {
+    return fileinfo(JsonUtils.responseToJson(response, metrics));
+  }
+
+  @Override
+  public QoSEntry decodeQoSEntry(HttpResponse response, CommandMetrics metrics)
+      throws IOException, BackEndException {
+    return qosEntry(JsonUtils.responseToJson(response, metrics));
+  }
+
+  @Override
+  public QoSClass decodeQoSClass(HttpResponse response, CommandMetrics metrics)
+      throws IOException, BackEndException {
+    return qosClass(JsonUtils.responseToJson(response, metrics));
+  }
+
+  @Override
+  public List<String> decodeQoSClassNames(HttpResponse response, CommandMetrics metrics)
+      throws IOException, BackEndException {
+    return JsonUtils.jsonArrayToStringList(
+        JsonUtils.responseToJson(response, metrics).getJSONArray("name"));
+  }
+
+  /**
+   * Convert a fileinfo JSON output.
+   */
+  public static FileinfoEntry fileinfo(JSONObject fileinfo) {
+    JSONArray childrenJson = fileinfo.optJSONArray("children");
+    List<FileinfoEntry> children = null;
+
+    if (childrenJson != null) {
+      children = new ArrayList<>(childrenJson.length());
+
+      for (int i = 0; i < childrenJson.length(); i++) {
+        JSONObject child = childrenJson.getJSONObject(i);
+        children.add(new FileinfoEntry(child.optString("name", null),
+            EOSParseUtils.fileinfoIsDirectory(child), null));
+      }
+    }
+
+    return new FileinfoEntry(fileinfo.optString("name", null),
+        EOSParseUtils.fileinfoIsDirectory(fileinfo), children);
+  }
+
+  /**
+   * Convert a "qos get" JSON output.
+   */
+  public static QoSEntry qosEntry(JSONObject qosGet) {
+    return new QoSEntry(qosGet.optString("current_qos", null),
+        qosGet.optString("target_qos", null), metadata(qosGet));
+  }
+
+  /**
+   * Convert a "qos ls class" JSON output.
+   */
+  public static QoSClass qosClass(JSONObject qosClass) {
+    JSONArray transitions = qosClass.optJSONArray("transition");
+
+    return new QoSClass(qosClass.getString("name"), metadata(qosClass),
+        (transitions == null) ? null : JsonUtils.jsonArrayToStringList(transitions));
+  }
+
+  private static QoSMetadata metadata(JSONObject response) {
+    JSONObject metadata = response.optJSONObject("metadata");
+
+    if (metadata == null) {
+      return null;
+    }
+
+    JSONArray placement = metadata.optJSONArray("cdmi_geographic_placement_provided");
+
+    return new QoSMetadata(optInteger(metadata, "cdmi_data_redundancy_provided"),
+        optInteger(metadata, "cdmi_latency_provided"),
+        (placement == null) ? null : JsonUtils.jsonArrayToStringList(placement));
+  }
+
+  private static Integer optInteger(JSONObject json, String key) {
+    try {
+      return json.has(key) ? json.getInt(key) : null;
+    } catch (JSONException e) {
+      return null;
+    }
+  }
+}
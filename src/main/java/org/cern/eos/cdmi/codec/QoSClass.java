@@ -0,0 +1,70 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decoded "qos ls class" response: the description of a QoS class.
+ */
+public final class QoSClass {
+
+  private final String name;
+  private final QoSMetadata metadata;
+  private final List<String> transitions;
+
+  public QoSClass(String name, QoSMetadata metadata, List<String> transitions) {
+    this.name = name;
+    this.metadata = (metadata == null) ? QoSMetadata.NONE : metadata;
+    this.transitions = (transitions == null)
+        ? null : Collections.unmodifiableList(transitions);
+  }
+
+  /**
+   * Returns the class name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the provided metadata, never null.
+   */
+  public QoSMetadata getMetadata() {
+    return metadata;
+  }
+
+  /**
+   * Returns the classes this class may transition to, or null if not reported.
+   */
+  public List<String> getTransitions() {
+    return transitions;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("QoSClass[name=%s transitions=%s %s]", name, transitions, metadata);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+/**
+ * Decoded "qos get" response: the current and target class of an entry
+ * and its monitored metadata.
+ */
+public final class QoSEntry {
+
+  private final String currentQoS;
+  private final String targetQoS;
+  private final QoSMetadata metadata;
+
+  public QoSEntry(String currentQoS, String targetQoS, QoSMetadata metadata) {
+    this.currentQoS = currentQoS;
+    this.targetQoS = targetQoS;
+    this.metadata = (metadata == null) ? QoSMetadata.NONE : metadata;
+  }
+
+  /**
+   * Returns the current class, "null" when the entry has none, or null if not reported.
+   */
+  public String getCurrentQoS() {
+    return currentQoS;
+  }
+
+  /**
+   * Returns the target class, or null if not reported.
+   */
+  public String getTargetQoS() {
+    return targetQoS;
+  }
+
+  /**
+   * Returns true if a target class different from the current one is reported.
+   */
+  public boolean isPending() {
+    return targetQoS != null && !targetQoS.isEmpty() && !targetQoS.equals(currentQoS);
+  }
+
+  /**
+   * Returns the monitored metadata, never null.
+   */
+  public QoSMetadata getMetadata() {
+    return metadata;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("QoSEntry[current=%s target=%s %s]", currentQoS, targetQoS, metadata);
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CDMI metadata of a QoS class or entry, as reported by the MGM.
+ * Absent values are null.
+ */
+public final class QoSMetadata {
+
+  static final QoSMetadata NONE = new QoSMetadata(null, null, null);
+
+  private final Integer redundancy;
+  private final Integer latency;
+  private final List<String> geographicPlacement;
+
+  public QoSMetadata(Integer redundancy, Integer latency, List<String> geographicPlacement) {
+    this.redundancy = redundancy;
+    this.latency = latency;
+    this.geographicPlacement = (geographicPlacement == null)
+        ? null : Collections.unmodifiableList(geographicPlacement);
+  }
+
+  /**
+   * Returns the provided data redundancy, or null.
+   */
+  public Integer getRedundancy() {
+    return redundancy;
+  }
+
+  /**
+   * Returns the provided latency in milliseconds, or null.
+   */
+  public Integer getLatency() {
+    return latency;
+  }
+
+  /**
+   * Returns the provided geographic placement, or null.
+   */
+  public List<String> getGeographicPlacement() {
+    return geographicPlacement;
+  }
+
+  /**
+   * Returns true if all values are present.
+   */
+  public boolean isComplete() {
+    return redundancy != null && latency != null && geographicPlacement != null;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("QoSMetadata[redundancy=%s latency=%s placement=%s]",
+        redundancy, latency, geographicPlacement);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+import org.apache.http.HttpResponse;
+import org.cern.eos.cdmi.metrics.CommandMetrics;
+import org.cern.eos.cdmi.metrics.Metrics;
+import org.cern.eos.cdmi.util.CommandType;
+import org.cern.eos.cdmi.util.HttpUtils;
+import org.indigo.cdmi.BackEndException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Decoder of MGM command responses into typed, immutable objects.
+ * <p>
+ * A codec covers the commands whose output the backend inspects: fileinfo,
+ * "qos get", "qos ls" and "qos ls class". The time spent reading, extracting
+ * and parsing a response is recorded in the given command metrics, if any.
+ */
+public interface ResponseCodec {
+
+  /**
+   * Receives the children of a fileinfo response as they are decoded.
+   */
+  interface ChildVisitor {
+    void visit(FileinfoEntry child) throws BackEndException;
+  }
+
+  /**
+   * Returns the codec name, as selected by the "eos.codec" property.
+   */
+  String getName();
+
+  FileinfoEntry decodeFileinfo(HttpResponse response, CommandMetrics metrics)
+      throws IOException, BackEndException;
+
+  /**
+   * Decode a page of the children listed by a fileinfo response.
+   * By default the whole response is decoded, then the page is extracted.
+   *
+   * @param offset the index of the first child to return
+   * @param limit  the maximum number of children to return, 0 for no limit
+   */
+  default FileinfoListing decodeFileinfoPage(HttpResponse response, CommandMetrics metrics,
+                                             long offset, long limit)
+      throws IOException, BackEndException {
+    return FileinfoListing.page(decodeFileinfo(response, metrics), offset, limit);
+  }
+
+  /**
+   * Decode the children listed by a fileinfo response, handing each named child
+   * to the given visitor in listing order. By default the whole response is
+   * decoded first.
+   */
+  default void visitFileinfoChildren(HttpResponse response, CommandMetrics metrics,
+                                     ChildVisitor visitor)
+      throws IOException, BackEndException {
+    for (FileinfoEntry child : FileinfoListing.page(decodeFileinfo(response, metrics), 0, 0)
+        .getEntries()) {
+      visitor.visit(child);
+    }
+  }
+
+  QoSEntry decodeQoSEntry(HttpResponse response, CommandMetrics metrics)
+      throws IOException, BackEndException;
+
+  QoSClass decodeQoSClass(HttpResponse response, CommandMetrics metrics)
+      throws IOException, BackEndException;
+
+  List<String> decodeQoSClassNames(HttpResponse response, CommandMetrics metrics)
+      throws IOException, BackEndException;
+
+  /**
+   * Returns an HTTP response reader decoding fileinfo responses.
+   */
+  default HttpUtils.ResponseReader<FileinfoEntry> fileinfoReader() {
+    CommandMetrics metrics = Metrics.command(CommandType.FILEINFO);
+    return ResponseCodecs.reader(getName() + ":fileinfo",
+        response -> decodeFileinfo(response, metrics));
+  }
+
+  /**
+   * Returns an HTTP response reader decoding the given page of fileinfo children listings.
+   */
+  default HttpUtils.ResponseReader<FileinfoListing> fileinfoPageReader(long offset, long limit) {
+    CommandMetrics metrics = Metrics.command(CommandType.FILEINFO);
+    return ResponseCodecs.reader(getName() + ":fileinfo-page:" + offset + ":" + limit,
+        response -> decodeFileinfoPage(response, metrics, offset, limit));
+  }
+
+  /**
+   * Returns an HTTP response reader handing the children of a fileinfo response
+   * to the given visitor. Its results are never shared.
+   */
+  default HttpUtils.ResponseReader<Void> fileinfoChildrenReader(ChildVisitor visitor) {
+    CommandMetrics metrics = Metrics.command(CommandType.FILEINFO_STREAM);
+    return ResponseCodecs.reader(null, response -> {
+      visitFileinfoChildren(response, metrics, visitor);
+      return null;
+    });
+  }
+
+  /**
+   * Returns an HTTP response reader decoding "qos get" responses.
+   */
+  default HttpUtils.ResponseReader<QoSEntry> qosEntryReader() {
+    CommandMetrics metrics = Metrics.command(CommandType.QOS_GET);
+    return ResponseCodecs.reader(getName() + ":qos-entry",
+        response -> decodeQoSEntry(response, metrics));
+  }
+
+  /**
+   * Returns an HTTP response reader decoding "qos ls class" responses.
+   */
+  default HttpUtils.ResponseReader<QoSClass> qosClassReader() {
+    CommandMetrics metrics = Metrics.command(CommandType.QOS_LIST_CLASS);
+    return ResponseCodecs.reader(getName() + ":qos-class",
+        response -> decodeQoSClass(response, metrics));
+  }
+
+  /**
+   * Returns an HTTP response reader decoding "qos ls" responses.
+   */
+  default HttpUtils.ResponseReader<List<String>> qosClassNamesReader() {
+    CommandMetrics metrics = Metrics.command(CommandType.QOS_LIST);
+    return ResponseCodecs.reader(getName() + ":qos-classes",
+        response -> decodeQoSClassNames(response, metrics));
+  }
+}
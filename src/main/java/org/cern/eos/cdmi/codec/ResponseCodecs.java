@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+import org.apache.http.HttpResponse;
+import org.cern.eos.cdmi.util.HttpUtils;
+import org.indigo.cdmi.BackEndException;
+import org.json.JSONException;
+
+import java.io.IOException;
+
+/**
+ * Registry of the available response codecs.
+ */
+public class ResponseCodecs {
+
+  public static final String JSON = "json";
+  public static final String STREAMING = "streaming";
+
+  private static final ResponseCodec JSON_CODEC = new JsonResponseCodec();
+  private static final ResponseCodec STREAMING_CODEC = new StreamingResponseCodec();
+
+  /**
+   * Returns the codec with the given name.
+   *
+   * @throws IllegalArgumentException if no such codec exists
+   */
+  public static ResponseCodec forName(String name) {
+    switch (name.trim().toLowerCase()) {
+      case JSON:
+        return JSON_CODEC;
+      case STREAMING:
+        return STREAMING_CODEC;
+      default:
+        throw new IllegalArgumentException("Unknown response codec: " + name);
+    }
+  }
+
+  /**
+   * Returns a reader with the given key, under which concurrent identical reads are coalesced.
+   */
+  static <T> HttpUtils.ResponseReader<T> reader(String key, HttpUtils.ResponseReader<T> reader) {
+    return new HttpUtils.ResponseReader<T>() {
+      @Override
+      public T read(HttpResponse response) throws IOException, JSONException, BackEndException {
+        return reader.read(response);
+      }
+
+      @Override
+      public String key() {
+        return key;
+      }
+    };
+  }
+}
@@ -0,0 +1,398 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.http.HttpResponse;
+import org.cern.eos.cdmi.metrics.CommandMetrics;
+import org.indigo.cdmi.BackEndException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec decoding the response bytes directly.
+ * <p>
+ * The command output is read straight from the response stream through a pooled,
+ * fixed-size buffer (see {@link CommandEnvelope}) and parsed token by token into
+ * the result objects, so memory use does not grow with the response. Fields the
+ * backend does not use are skipped without being materialized.
+ */
+public class StreamingResponseCodec implements ResponseCodec {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  /**
+   * Decodes the command output positioned at its first token.
+   */
+  private interface Decoder<T> {
+    T decode(JsonParser parser) throws IOException, BackEndException;
+  }
+
+  @Override
+  public String getName() {
+    return ResponseCodecs.STREAMING;
+  }
+
+  @Override
+  public FileinfoEntry decodeFileinfo(HttpResponse response, CommandMetrics metrics)
+      throws IOException, BackEndException {
+    return decode(response, metrics, parser -> {
+      expectObject(parser);
+      String name = null;
+      boolean directory = false;
+      List<FileinfoEntry> children = null;
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+
+        if ("name".equals(field)) {
+          name = text(parser, token);
+        } else if ("treesize".equals(field)) {
+          directory = true;
+          parser.skipChildren();
+        } else if ("children".equals(field) && token == JsonToken.START_ARRAY) {
+          children = new ArrayList<>();
+
+          while (parser.nextToken() == JsonToken.START_OBJECT) {
+            children.add(child(parser));
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+
+      return new FileinfoEntry(name, directory, children);
+    });
+  }
+
+  /**
+   * Decode only the requested page of children, stopping as soon as it is complete.
+   */
+  @Override
+  public FileinfoListing decodeFileinfoPage(HttpResponse response, CommandMetrics metrics,
+                                            long offset, long limit)
+      throws IOException, BackEndException {
+    long pageSize = (limit > 0) ? limit : Long.MAX_VALUE;
+
+    return decode(response, metrics, parser -> {
+      expectObject(parser);
+      boolean directory = false;
+      List<FileinfoEntry> children = new ArrayList<>();
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+
+        if ("treesize".equals(field)) {
+          directory = true;
+          parser.skipChildren();
+        } else if ("children".equals(field) && token == JsonToken.START_ARRAY) {
+          directory = true;
+          long index = 0;
+
+          while (parser.nextToken() == JsonToken.START_OBJECT) {
+            if (children.size() >= pageSize) {
+              // Page is complete and more children follow
+              return new FileinfoListing(true, children, offset, true);
+            }
+
+            FileinfoEntry child = child(parser);
+
+            if (child.getName() != null && index++ >= offset) {
+              children.add(child);
+            }
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+
+      return new FileinfoListing(directory, children, offset, false);
+    });
+  }
+
+  /**
+   * Hand each child to the visitor as soon as it is decoded, so that
+   * the listing is never held in memory.
+   */
+  @Override
+  public void visitFileinfoChildren(HttpResponse response, CommandMetrics metrics,
+                                    ChildVisitor visitor)
+      throws IOException, BackEndException {
+    decode(response, metrics, parser -> {
+      expectObject(parser);
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+
+        if ("children".equals(field) && token == JsonToken.START_ARRAY) {
+          while (parser.nextToken() == JsonToken.START_OBJECT) {
+            FileinfoEntry child = child(parser);
+
+            if (child.getName() != null) {
+              visitor.visit(child);
+            }
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+
+      return null;
+    });
+  }
+
+  @Override
+  public QoSEntry decodeQoSEntry(HttpResponse response, CommandMetrics metrics)
+      throws IOException, BackEndException {
+    return decode(response, metrics, parser -> {
+      expectObject(parser);
+      String current = null;
+      String target = null;
+      QoSMetadata metadata = null;
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+
+        if ("current_qos".equals(field)) {
+          current = text(parser, token);
+        } else if ("target_qos".equals(field)) {
+          target = text(parser, token);
+        } else if ("metadata".equals(field) && token == JsonToken.START_OBJECT) {
+          metadata = metadata(parser);
+        } else {
+          parser.skipChildren();
+        }
+      }
+
+      return new QoSEntry(current, target, metadata);
+    });
+  }
+
+  @Override
+  public QoSClass decodeQoSClass(HttpResponse response, CommandMetrics metrics)
+      throws IOException, BackEndException {
+    return decode(response, metrics, parser -> {
+      expectObject(parser);
+      String name = null;
+      QoSMetadata metadata = null;
+      List<String> transitions = null;
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+
+        if ("name".equals(field)) {
+          name = text(parser, token);
+        } else if ("metadata".equals(field) && token == JsonToken.START_OBJECT) {
+          metadata = metadata(parser);
+        } else if ("transition".equals(field) && token == JsonToken.START_ARRAY) {
+          transitions = strings(parser);
+        } else {
+          parser.skipChildren();
+        }
+      }
+
+      if (name == null) {
+        throw new BackEndException("QoS class description contains no name");
+      }
+
+      return new QoSClass(name, metadata, transitions);
+    });
+  }
+
+  @Override
+  public List<String> decodeQoSClassNames(HttpResponse response, CommandMetrics metrics)
+      throws IOException, BackEndException {
+    return decode(response, metrics, parser -> {
+      expectObject(parser);
+      List<String> names = null;
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+
+        if ("name".equals(field) && token == JsonToken.START_ARRAY) {
+          names = strings(parser);
+        } else {
+          parser.skipChildren();
+        }
+      }
+
+      if (names == null) {
+        throw new BackEndException("QoS class listing contains no names");
+      }
+
+      return names;
+    });
+  }
+
+  /**
+   * Decode the command output straight from the response stream, then check the
+   * envelope for errors, recording the time spent in each stage. If the output
+   * cannot be decoded, an error reported by the MGM takes precedence.
+   */
+  private static <T> T decode(HttpResponse response, CommandMetrics metrics, Decoder<T> decoder)
+      throws IOException, BackEndException {
+    long start = System.nanoTime();
+
+    try (CommandEnvelope envelope = CommandEnvelope.read(response)) {
+      long read = System.nanoTime();
+      T result;
+
+      try (JsonParser parser = JSON_FACTORY.createParser(envelope.output())) {
+        result = decoder.decode(parser);
+      } catch (JsonProcessingException e) {
+        checkErrors(envelope, metrics);
+        // Not an I/O failure: a malformed output is not worth retrying
+        throw new BackEndException("Malformed command output -- " + e.getOriginalMessage());
+      } catch (BackEndException e) {
+        checkErrors(envelope, metrics);
+        throw e;
+      }
+
+      long parsed = System.nanoTime();
+      checkErrors(envelope, metrics);
+
+      if (metrics != null) {
+        metrics.recordRead(read - start);
+        metrics.recordParse(parsed - read);
+        metrics.recordExtract(System.nanoTime() - parsed);
+      }
+
+      return result;
+    }
+  }
+
+  private static void checkErrors(CommandEnvelope envelope, CommandMetrics metrics)
+      throws IOException, BackEndException {
+    try {
+      envelope.checkErrors();
+    } catch (BackEndException e) {
+      if (metrics != null) {
+        metrics.recordMgmError(e.getMessage());
+      }
+
+      throw e;
+    }
+  }
+
+  private static FileinfoEntry child(JsonParser parser) throws IOException {
+    String name = null;
+    boolean directory = false;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+
+      if ("name".equals(field)) {
+        name = text(parser, token);
+      } else {
+        directory |= "treesize".equals(field);
+        parser.skipChildren();
+      }
+    }
+
+    return new FileinfoEntry(name, directory, null);
+  }
+
+  private static QoSMetadata metadata(JsonParser parser) throws IOException {
+    Integer redundancy = null;
+    Integer latency = null;
+    List<String> placement = null;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+
+      if ("cdmi_data_redundancy_provided".equals(field)) {
+        redundancy = integer(parser, token);
+      } else if ("cdmi_latency_provided".equals(field)) {
+        latency = integer(parser, token);
+      } else if ("cdmi_geographic_placement_provided".equals(field)
+          && token == JsonToken.START_ARRAY) {
+        placement = strings(parser);
+      } else {
+        parser.skipChildren();
+      }
+    }
+
+    return new QoSMetadata(redundancy, latency, placement);
+  }
+
+  private static List<String> strings(JsonParser parser) throws IOException {
+    List<String> values = new ArrayList<>();
+    JsonToken token;
+
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      values.add(text(parser, token));
+    }
+
+    return values;
+  }
+
+  /**
+   * Returns the text of a scalar value, null for a JSON null (as org.json's optString),
+   * skipping structured values.
+   */
+  private static String text(JsonParser parser, JsonToken token) throws IOException {
+    if (token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+      return parser.getText();
+    }
+
+    parser.skipChildren();
+    return null;
+  }
+
+  private static Integer integer(JsonParser parser, JsonToken token) throws IOException {
+    if (token.isNumeric()) {
+      return parser.getValueAsInt();
+    }
+
+    if (token == JsonToken.VALUE_STRING) {
+      try {
+        return Integer.valueOf(parser.getText().trim());
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    parser.skipChildren();
+    return null;
+  }
+
+  private static void expectObject(JsonParser parser) throws IOException, BackEndException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new BackEndException("Command output is not a JSON object");
+    }
+  }
+}
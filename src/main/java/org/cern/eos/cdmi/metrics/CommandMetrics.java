@@ -0,0 +1,279 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.metrics;
+
+import org.cern.eos.cdmi.util.CommandType;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Latency, error and in-flight metrics of one MGM command kind.
+ * <p>
+ * The total latency of a command is split into the HTTP round trip (until response headers),
+ * the body transfer, the envelope extraction and the output parsing.
+ */
+public class CommandMetrics implements CommandMetricsMXBean {
+
+  private static final int MAX_ERROR_KEYS = 64;
+  private static final int MAX_ERROR_KEY_LENGTH = 64;
+  private static final Pattern ERRNO = Pattern.compile("errno=(\\d+)");
+  private static final String OTHER = "other";
+
+  private final CommandType type;
+  private final LatencyHistogram total = new LatencyHistogram();
+  private final LatencyHistogram http = new LatencyHistogram();
+  private final LatencyHistogram read = new LatencyHistogram();
+  private final LatencyHistogram extract = new LatencyHistogram();
+  private final LatencyHistogram parse = new LatencyHistogram();
+  private final LongAdder errors = new LongAdder();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final ConcurrentMap<String, LongAdder> httpErrors = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongAdder> mgmErrors = new ConcurrentHashMap<>();
+
+  CommandMetrics(CommandType type) {
+    this.type = type;
+  }
+
+  /**
+   * Mark the start of a command and return its start time.
+   */
+  public long start() {
+    inFlight.incrementAndGet();
+    return System.nanoTime();
+  }
+
+  /**
+   * Mark the end of a command started at the given time.
+   */
+  public void end(long startNanos, boolean failed) {
+    inFlight.decrementAndGet();
+    total.record(System.nanoTime() - startNanos);
+
+    if (failed) {
+      errors.increment();
+    }
+  }
+
+  public void recordHttp(long nanos) {
+    http.record(nanos);
+  }
+
+  public void recordRead(long nanos) {
+    read.record(nanos);
+  }
+
+  public void recordExtract(long nanos) {
+    extract.record(nanos);
+  }
+
+  public void recordParse(long nanos) {
+    parse.record(nanos);
+  }
+
+  /**
+   * Count a response with an unexpected HTTP status.
+   */
+  public void recordHttpError(int status) {
+    increment(httpErrors, String.valueOf(status));
+  }
+
+  /**
+   * Count an error reported by the MGM on stderr.
+   * Messages are reduced to a bounded set of keys, so paths do not explode cardinality.
+   */
+  public void recordMgmError(String message) {
+    increment(mgmErrors, errorKey(message));
+  }
+
+  @Override
+  public String getCommand() {
+    return type.getLabel();
+  }
+
+  @Override
+  public long getCount() {
+    return total.getCount();
+  }
+
+  @Override
+  public long getErrorCount() {
+    return errors.sum();
+  }
+
+  @Override
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  @Override
+  public double getMeanMillis() {
+    return total.getMeanMillis();
+  }
+
+  @Override
+  public double getMaxMillis() {
+    return total.getMaxMillis();
+  }
+
+  @Override
+  public double getP50Millis() {
+    return total.getPercentileMillis(50);
+  }
+
+  @Override
+  public double getP90Millis() {
+    return total.getPercentileMillis(90);
+  }
+
+  @Override
+  public double getP99Millis() {
+    return total.getPercentileMillis(99);
+  }
+
+  @Override
+  public double getP999Millis() {
+    return total.getPercentileMillis(99.9);
+  }
+
+  @Override
+  public double getHttpP50Millis() {
+    return http.getPercentileMillis(50);
+  }
+
+  @Override
+  public double getHttpP99Millis() {
+    return http.getPercentileMillis(99);
+  }
+
+  @Override
+  public double getReadP50Millis() {
+    return read.getPercentileMillis(50);
+  }
+
+  @Override
+  public double getReadP99Millis() {
+    return read.getPercentileMillis(99);
+  }
+
+  @Override
+  public double getExtractP50Millis() {
+    return extract.getPercentileMillis(50);
+  }
+
+  @Override
+  public double getExtractP99Millis() {
+    return extract.getPercentileMillis(99);
+  }
+
+  @Override
+  public double getParseP50Millis() {
+    return parse.getPercentileMillis(50);
+  }
+
+  @Override
+  public double getParseP99Millis() {
+    return parse.getPercentileMillis(99);
+  }
+
+  @Override
+  public Map<String, Long> getErrorsByHttpStatus() {
+    return snapshot(httpErrors);
+  }
+
+  @Override
+  public Map<String, Long> getErrorsByMgmMessage() {
+    return snapshot(mgmErrors);
+  }
+
+  /**
+   * Returns the total latency histogram.
+   */
+  public LatencyHistogram getLatency() {
+    return total;
+  }
+
+  @Override
+  public void reset() {
+    total.reset();
+    http.reset();
+    read.reset();
+    extract.reset();
+    parse.reset();
+    errors.reset();
+    httpErrors.clear();
+    mgmErrors.clear();
+  }
+
+  private static void increment(ConcurrentMap<String, LongAdder> counters, String key) {
+    LongAdder counter = counters.get(key);
+
+    if (counter == null) {
+      if (counters.size() >= MAX_ERROR_KEYS) {
+        key = OTHER;
+      }
+
+      counter = counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    counter.increment();
+  }
+
+  private static String errorKey(String message) {
+    if (message == null || message.isEmpty()) {
+      return "unknown";
+    }
+
+    Matcher errno = ERRNO.matcher(message);
+
+    if (errno.find()) {
+      return "errno=" + errno.group(1);
+    }
+
+    // Drop everything from the first path or quoted argument onwards
+    int cut = message.length();
+
+    for (String marker : new String[]{" /", " '", " \""}) {
+      int pos = message.indexOf(marker);
+
+      if (pos > 0 && pos < cut) {
+        cut = pos;
+      }
+    }
+
+    return message.substring(0, Math.min(cut, MAX_ERROR_KEY_LENGTH)).trim();
+  }
+
+  private static Map<String, Long> snapshot(ConcurrentMap<String, LongAdder> counters) {
+    Map<String, Long> snapshot = new TreeMap<>();
+    counters.forEach((key, counter) -> snapshot.put(key, counter.sum()));
+    return snapshot;
+  }
+}
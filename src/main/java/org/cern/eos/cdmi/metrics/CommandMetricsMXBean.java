@@ -0,0 +1,75 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the metrics of one MGM command kind.
+ * Latencies are in milliseconds and cumulative since start or last reset.
+ */
+public interface CommandMetricsMXBean {
+
+  String getCommand();
+
+  long getCount();
+
+  long getErrorCount();
+
+  int getInFlight();
+
+  double getMeanMillis();
+
+  double getMaxMillis();
+
+  double getP50Millis();
+
+  double getP90Millis();
+
+  double getP99Millis();
+
+  double getP999Millis();
+
+  double getHttpP50Millis();
+
+  double getHttpP99Millis();
+
+  double getReadP50Millis();
+
+  double getReadP99Millis();
+
+  double getExtractP50Millis();
+
+  double getExtractP99Millis();
+
+  double getParseP50Millis();
+
+  double getParseP99Millis();
+
+  Map<String, Long> getErrorsByHttpStatus();
+
+  Map<String, Long> getErrorsByMgmMessage();
+
+  void reset();
+}
@@ -0,0 +1,144 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets.
+ * <p>
+ * Values are recorded in microseconds. Each power of two is split into 8 linear
+ * sub-buckets, which bounds the relative error of reported percentiles to 12.5%
+ * for a fixed memory cost, regardless of the number of recorded values.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKETS = 8;
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int MAX_EXPONENT = 40;
+  private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Record a duration given in nanoseconds.
+   */
+  public void record(long nanos) {
+    long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    counts.incrementAndGet(bucket(micros));
+    count.increment();
+    sum.add(micros);
+    max.accumulate(micros);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Returns the mean recorded value, in milliseconds.
+   */
+  public double getMeanMillis() {
+    long total = count.sum();
+    return (total == 0) ? 0.0 : sum.sum() / (total * 1000.0);
+  }
+
+  /**
+   * Returns the maximum recorded value, in milliseconds.
+   */
+  public double getMaxMillis() {
+    return max.get() / 1000.0;
+  }
+
+  /**
+   * Returns the given percentile (0-100) of the recorded values, in milliseconds.
+   */
+  public double getPercentileMillis(double percentile) {
+    long total = 0;
+    long[] snapshot = new long[BUCKETS];
+
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+
+    if (total == 0) {
+      return 0.0;
+    }
+
+    long rank = (long) Math.ceil(percentile / 100.0 * total);
+    long seen = 0;
+
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+
+      if (seen >= Math.max(1, rank)) {
+        return Math.min(bucketMidpoint(i), max.get()) / 1000.0;
+      }
+    }
+
+    return getMaxMillis();
+  }
+
+  /**
+   * Clear all recorded values.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+
+    count.reset();
+    sum.reset();
+    max.reset();
+  }
+
+  private static int bucket(long micros) {
+    if (micros < SUB_BUCKETS) {
+      return (int) micros;
+    }
+
+    int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int sub = (int) Math.min((micros >> shift) - SUB_BUCKETS, SUB_BUCKETS - 1);
+    return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+  }
+
+  private static long bucketMidpoint(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+    int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+    long lower = (long) (SUB_BUCKETS + sub) << shift;
+    return lower + ((1L << shift) >> 1);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.metrics;
+
+import org.cern.eos.cdmi.util.CommandType;
+import org.cern.eos.cdmi.util.HttpUtils;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Registry of plugin metrics, published as MBeans under the "org.cern.eos.cdmi" domain.
+ */
+public class Metrics {
+
+  public static final String DOMAIN = "org.cern.eos.cdmi";
+  private static final Logger LOG = LoggerFactory.getLogger(Metrics.class);
+  private static final Map<CommandType, CommandMetrics> commands = new EnumMap<>(CommandType.class);
+
+  static {
+    for (CommandType type : CommandType.values()) {
+      CommandMetrics metrics = new CommandMetrics(type);
+      commands.put(type, metrics);
+      register("Command", type.getLabel(), metrics);
+    }
+
+    register("HttpPool", "default", new HttpPool());
+  }
+
+  /**
+   * Returns the metrics of the given command kind.
+   */
+  public static CommandMetrics command(CommandType type) {
+    return commands.get(type);
+  }
+
+  /**
+   * Returns the number of MGM commands currently in flight, over all command kinds.
+   */
+  public static int getInFlight() {
+    int inFlight = 0;
+
+    for (CommandMetrics metrics : commands.values()) {
+      inFlight += metrics.getInFlight();
+    }
+
+    return inFlight;
+  }
+
+  /**
+   * Publish the given MBean, replacing any MBean previously registered under the same name.
+   *
+   * @param type  the MBean type key
+   * @param name  the MBean name key
+   * @param mbean the MBean implementation
+   */
+  public static void register(String type, String name, Object mbean) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = new ObjectName(
+          DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+
+      server.registerMBean(mbean, objectName);
+    } catch (JMException | RuntimeException e) {
+      LOG.warn("Failed registering {} MBean {} -- {}", type, name, e.getMessage());
+    }
+  }
+
+  /**
+   * MBean exposing the HTTP connection pool and coalescing statistics.
+   */
+  private static class HttpPool implements HttpPoolMXBean {
+
+    @Override
+    public int getLeased() {
+      return stats().getLeased();
+    }
+
+    @Override
+    public int getPending() {
+      return stats().getPending();
+    }
+
+    @Override
+    public int getAvailable() {
+      return stats().getAvailable();
+    }
+
+    @Override
+    public int getMax() {
+      return stats().getMax();
+    }
+
+    @Override
+    public int getInFlight() {
+      return Metrics.getInFlight();
+    }
+
+    @Override
+    public long getExecutedRequests() {
+      return HttpUtils.getCoalescer().getExecuted();
+    }
+
+    @Override
+    public long getCoalescedRequests() {
+      return HttpUtils.getCoalescer().getCoalesced();
+    }
+
+    private static PoolStats stats() {
+      return HttpUtils.getPoolStats();
+    }
+  }
+}
@@ -118,7 +118,10 @@ public class ProtobufUtils {
   private static String Base64Encode(RequestProto request) {
     String base64 = Base64.getEncoder().encodeToString(request.toByteArray());
 
-    LOG.debug("Base64 encoding:\n{}--> {}", request.toString(), base64);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Base64 encoding:\n{}--> {}", request, base64);
+    }
+
     return base64;
   }
 }
@@ -0,0 +1,337 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.protobuf;
+
+import org.cern.eos.cdmi.protobuf.generated.Request.RequestProto;
+import org.cern.eos.cdmi.util.CommandUrls;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Encoder of QoS protobuf command URLs for a given MGM.
+ * <p>
+ * The "qos ls" and "qos ls class" URLs never change and are computed once.
+ * The "qos get" and "qos set" requests are written by hand between
+ * pre-serialized RequestProto prefix and suffix bytes, then Base64
+ * and URL encoded straight into a per-thread buffer.
+ */
+public class QoSCommandEncoder {
+
+  // RequestProto { format: JSON } and RequestProto { DontColor: true }.
+  // Concatenated serialized messages merge, so the QoS field is spliced in between.
+  private static final byte[] PREFIX = RequestProto.newBuilder()
+      .setFormat(RequestProto.FormatType.JSON).build().toByteArray();
+  private static final byte[] SUFFIX = RequestProto.newBuilder()
+      .setDontColor(true).build().toByteArray();
+
+  // Wire tags (field number << 3 | length-delimited wire type)
+  private static final int REQUEST_QOS_TAG = 21 << 3 | 2;
+  private static final int QOS_GET_TAG = 2 << 3 | 2;
+  private static final int QOS_SET_TAG = 3 << 3 | 2;
+  private static final int IDENTIFIER_TAG = 1 << 3 | 2;
+  private static final int IDENTIFIER_PATH_TAG = 2 << 3 | 2;
+  private static final int SET_CLASSNAME_TAG = 2 << 3 | 2;
+  private static final int GET_KEY_TAG = 2 << 3 | 2;
+  private static final String[] NO_KEYS = new String[0];
+
+  private static final char[] BASE64 =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+  private final String urlPrefix;
+  private final String qosListUrl;
+  private final ConcurrentMap<String, String> qosListClassUrls = new ConcurrentHashMap<>();
+  private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+  /**
+   * Create an encoder for the given server base URL (scheme://host:port).
+   */
+  public QoSCommandEncoder(String eosServer) throws UnsupportedEncodingException {
+    urlPrefix = eosServer + CommandUrls.CMD_PATH + "?mgm.cmd.proto=";
+    qosListUrl = CommandUrls.protoCommand(eosServer, ProtobufUtils.QoSList());
+  }
+
+  /**
+   * Returns the "qos ls" command URL.
+   */
+  public String qosList() {
+    return qosListUrl;
+  }
+
+  /**
+   * Returns the "qos ls classname" command URL.
+   */
+  public String qosListClass(String qosClassName) {
+    String url = qosListClassUrls.get(qosClassName);
+
+    if (url == null) {
+      url = qosListClassUrls.computeIfAbsent(qosClassName, name ->
+          urlPrefix + urlEncodeBase64(ProtobufUtils.QoSListClass(name)));
+    }
+
+    return url;
+  }
+
+  /**
+   * Returns the "qos get path" command URL.
+   */
+  public String qosGet(String path) {
+    return qosGet(path, NO_KEYS);
+  }
+
+  /**
+   * Returns the "qos get path key..." command URL, restricting the output to the given keys.
+   */
+  public String qosGet(String path, String... keys) {
+    Buffer buffer = buffers.get();
+    int pathLength = utf8Length(path);
+    int identifierLength = 1 + varintSize(pathLength) + pathLength;
+    int getLength = 1 + varintSize(identifierLength) + identifierLength;
+
+    for (String key : keys) {
+      int keyLength = utf8Length(key);
+      getLength += 1 + varintSize(keyLength) + keyLength;
+    }
+
+    buffer.reset(PREFIX.length + SUFFIX.length + 2 * 5 + 5 + getLength);
+    buffer.write(PREFIX);
+    buffer.writeTag(REQUEST_QOS_TAG, 1 + varintSize(getLength) + getLength);
+    buffer.writeTag(QOS_GET_TAG, getLength);
+    buffer.writeTag(IDENTIFIER_TAG, identifierLength);
+    buffer.writeTag(IDENTIFIER_PATH_TAG, pathLength);
+    buffer.writeUtf8(path);
+
+    for (String key : keys) {
+      buffer.writeTag(GET_KEY_TAG, utf8Length(key));
+      buffer.writeUtf8(key);
+    }
+
+    buffer.write(SUFFIX);
+    return buffer.toUrl(urlPrefix);
+  }
+
+  /**
+   * Returns the "qos set path class" command URL.
+   */
+  public String qosSet(String path, String qosClass) {
+    Buffer buffer = buffers.get();
+    int pathLength = utf8Length(path);
+    int classLength = utf8Length(qosClass);
+    int identifierLength = 1 + varintSize(pathLength) + pathLength;
+    int setLength = 1 + varintSize(identifierLength) + identifierLength;
+
+    // proto3 omits empty scalar fields
+    if (classLength > 0) {
+      setLength += 1 + varintSize(classLength) + classLength;
+    }
+
+    buffer.reset(PREFIX.length + SUFFIX.length + 2 * 5 + 5 + setLength);
+    buffer.write(PREFIX);
+    buffer.writeTag(REQUEST_QOS_TAG, 1 + varintSize(setLength) + setLength);
+    buffer.writeTag(QOS_SET_TAG, setLength);
+    buffer.writeTag(IDENTIFIER_TAG, identifierLength);
+    buffer.writeTag(IDENTIFIER_PATH_TAG, pathLength);
+    buffer.writeUtf8(path);
+
+    if (classLength > 0) {
+      buffer.writeTag(SET_CLASSNAME_TAG, classLength);
+      buffer.writeUtf8(qosClass);
+    }
+
+    buffer.write(SUFFIX);
+    return buffer.toUrl(urlPrefix);
+  }
+
+  /**
+   * URL encode a Base64 string. Only '+', '/' and '=' need escaping.
+   */
+  private static String urlEncodeBase64(String base64) {
+    StringBuilder sb = new StringBuilder(base64.length() + 16);
+
+    for (int i = 0; i < base64.length(); i++) {
+      appendUrlEncoded(sb, base64.charAt(i));
+    }
+
+    return sb.toString();
+  }
+
+  private static void appendUrlEncoded(StringBuilder sb, char c) {
+    switch (c) {
+      case '+':
+        sb.append("%2B");
+        break;
+      case '/':
+        sb.append("%2F");
+        break;
+      case '=':
+        sb.append("%3D");
+        break;
+      default:
+        sb.append(c);
+    }
+  }
+
+  private static int varintSize(int value) {
+    int size = 1;
+
+    while ((value & ~0x7F) != 0) {
+      value >>>= 7;
+      size++;
+    }
+
+    return size;
+  }
+
+  /**
+   * Returns the UTF-8 encoded length of a string, counting unpaired
+   * surrogates as the single replacement byte written by String.getBytes.
+   */
+  private static int utf8Length(String s) {
+    int length = 0;
+
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+
+      if (c < 0x80) {
+        length++;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+          && Character.isLowSurrogate(s.charAt(i + 1))) {
+        length += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        length++;
+      } else {
+        length += 3;
+      }
+    }
+
+    return length;
+  }
+
+  /**
+   * Reusable per-thread serialization buffers.
+   */
+  private static class Buffer {
+
+    private byte[] bytes = new byte[512];
+    private final StringBuilder url = new StringBuilder(1024);
+    private int position;
+
+    void reset(int capacity) {
+      if (bytes.length < capacity) {
+        bytes = new byte[Math.max(capacity, bytes.length * 2)];
+      }
+
+      position = 0;
+    }
+
+    void write(byte[] src) {
+      System.arraycopy(src, 0, bytes, position, src.length);
+      position += src.length;
+    }
+
+    void writeTag(int tag, int length) {
+      writeVarint(tag);
+      writeVarint(length);
+    }
+
+    void writeVarint(int value) {
+      while ((value & ~0x7F) != 0) {
+        bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+
+      bytes[position++] = (byte) value;
+    }
+
+    void writeUtf8(String s) {
+      for (int i = 0; i < s.length(); i++) {
+        char c = s.charAt(i);
+
+        if (c < 0x80) {
+          bytes[position++] = (byte) c;
+        } else if (c < 0x800) {
+          bytes[position++] = (byte) (0xC0 | (c >> 6));
+          bytes[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+            && Character.isLowSurrogate(s.charAt(i + 1))) {
+          int cp = Character.toCodePoint(c, s.charAt(++i));
+          bytes[position++] = (byte) (0xF0 | (cp >> 18));
+          bytes[position++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+          bytes[position++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+          bytes[position++] = (byte) (0x80 | (cp & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+          bytes[position++] = '?';
+        } else {
+          bytes[position++] = (byte) (0xE0 | (c >> 12));
+          bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+          bytes[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+      }
+    }
+
+    /**
+     * Base64 and URL encode the buffer contents after the given prefix.
+     */
+    String toUrl(String prefix) {
+      url.setLength(0);
+      url.append(prefix);
+      int i = 0;
+
+      for (; i + 2 < position; i += 3) {
+        int chunk = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8 | (bytes[i + 2] & 0xFF);
+        appendUrlEncoded(url, BASE64[chunk >>> 18]);
+        appendUrlEncoded(url, BASE64[(chunk >>> 12) & 0x3F]);
+        appendUrlEncoded(url, BASE64[(chunk >>> 6) & 0x3F]);
+        appendUrlEncoded(url, BASE64[chunk & 0x3F]);
+      }
+
+      int remaining = position - i;
+
+      if (remaining > 0) {
+        int chunk = (bytes[i] & 0xFF) << 16;
+
+        if (remaining == 2) {
+          chunk |= (bytes[i + 1] & 0xFF) << 8;
+        }
+
+        appendUrlEncoded(url, BASE64[chunk >>> 18]);
+        appendUrlEncoded(url, BASE64[(chunk >>> 12) & 0x3F]);
+
+        if (remaining == 2) {
+          appendUrlEncoded(url, BASE64[(chunk >>> 6) & 0x3F]);
+        } else {
+          url.append("%3D");
+        }
+
+        url.append("%3D");
+      }
+
+      return url.toString();
+    }
+  }
+}
@@ -0,0 +1,3939 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// source: QoS.proto
+
+package org.cern.eos.cdmi.protobuf.generated;
+
+public final class QoSCmd {
+  private QoSCmd() {}
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistryLite registry) {
+  }
+
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistry registry) {
+    registerAllExtensions(
+        (com.google.protobuf.ExtensionRegistryLite) registry);
+  }
+  public interface QoSProtoOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:eos.console.QoSProto)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+     */
+    boolean hasList();
+    /**
+     * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+     */
+    org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto getList();
+    /**
+     * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+     */
+    org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProtoOrBuilder getListOrBuilder();
+
+    /**
+     * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+     */
+    boolean hasGet();
+    /**
+     * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+     */
+    org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto getGet();
+    /**
+     * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+     */
+    org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProtoOrBuilder getGetOrBuilder();
+
+    /**
+     * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+     */
+    boolean hasSet();
+    /**
+     * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+     */
+    org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto getSet();
+    /**
+     * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+     */
+    org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProtoOrBuilder getSetOrBuilder();
+
+    public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SubcmdCase getSubcmdCase();
+  }
+  /**
+   * Protobuf type {@code eos.console.QoSProto}
+   */
+  public  static final class QoSProto extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:eos.console.QoSProto)
+      QoSProtoOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use QoSProto.newBuilder() to construct.
+    private QoSProto(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private QoSProto() {
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private QoSProto(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.Builder subBuilder = null;
+              if (subcmdCase_ == 1) {
+                subBuilder = ((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) subcmd_).toBuilder();
+              }
+              subcmd_ =
+                  input.readMessage(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) subcmd_);
+                subcmd_ = subBuilder.buildPartial();
+              }
+              subcmdCase_ = 1;
+              break;
+            }
+            case 18: {
+              org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.Builder subBuilder = null;
+              if (subcmdCase_ == 2) {
+                subBuilder = ((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) subcmd_).toBuilder();
+              }
+              subcmd_ =
+                  input.readMessage(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) subcmd_);
+                subcmd_ = subBuilder.buildPartial();
+              }
+              subcmdCase_ = 2;
+              break;
+            }
+            case 26: {
+              org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.Builder subBuilder = null;
+              if (subcmdCase_ == 3) {
+                subBuilder = ((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) subcmd_).toBuilder();
+              }
+              subcmd_ =
+                  input.readMessage(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) subcmd_);
+                subcmd_ = subBuilder.buildPartial();
+              }
+              subcmdCase_ = 3;
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.class, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.Builder.class);
+    }
+
+    public interface IdentifierProtoOrBuilder extends
+        // @@protoc_insertion_point(interface_extends:eos.console.QoSProto.IdentifierProto)
+        com.google.protobuf.MessageOrBuilder {
+
+      /**
+       * <code>uint64 FileId = 1;</code>
+       */
+      long getFileId();
+
+      /**
+       * <code>string Path = 2;</code>
+       */
+      java.lang.String getPath();
+      /**
+       * <code>string Path = 2;</code>
+       */
+      com.google.protobuf.ByteString
+          getPathBytes();
+
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.IdentifierCase getIdentifierCase();
+    }
+    /**
+     * Protobuf type {@code eos.console.QoSProto.IdentifierProto}
+     */
+    public  static final class IdentifierProto extends
+        com.google.protobuf.GeneratedMessageV3 implements
+        // @@protoc_insertion_point(message_implements:eos.console.QoSProto.IdentifierProto)
+        IdentifierProtoOrBuilder {
+    private static final long serialVersionUID = 0L;
+      // Use IdentifierProto.newBuilder() to construct.
+      private IdentifierProto(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+        super(builder);
+      }
+      private IdentifierProto() {
+      }
+
+      @java.lang.Override
+      public final com.google.protobuf.UnknownFieldSet
+      getUnknownFields() {
+        return this.unknownFields;
+      }
+      private IdentifierProto(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        this();
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        int mutable_bitField0_ = 0;
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+            com.google.protobuf.UnknownFieldSet.newBuilder();
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              default: {
+                if (!parseUnknownFieldProto3(
+                    input, unknownFields, extensionRegistry, tag)) {
+                  done = true;
+                }
+                break;
+              }
+              case 8: {
+                identifierCase_ = 1;
+                identifier_ = input.readUInt64();
+                break;
+              }
+              case 18: {
+                java.lang.String s = input.readStringRequireUtf8();
+                identifierCase_ = 2;
+                identifier_ = s;
+                break;
+              }
+            }
+          }
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(this);
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(
+              e).setUnfinishedMessage(this);
+        } finally {
+          this.unknownFields = unknownFields.build();
+          makeExtensionsImmutable();
+        }
+      }
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_IdentifierProto_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_IdentifierProto_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.class, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder.class);
+      }
+
+      private int identifierCase_ = 0;
+      private java.lang.Object identifier_;
+      public enum IdentifierCase
+          implements com.google.protobuf.Internal.EnumLite {
+        FILEID(1),
+        PATH(2),
+        IDENTIFIER_NOT_SET(0);
+        private final int value;
+        private IdentifierCase(int value) {
+          this.value = value;
+        }
+        /**
+         * @deprecated Use {@link #forNumber(int)} instead.
+         */
+        @java.lang.Deprecated
+        public static IdentifierCase valueOf(int value) {
+          return forNumber(value);
+        }
+
+        public static IdentifierCase forNumber(int value) {
+          switch (value) {
+            case 1: return FILEID;
+            case 2: return PATH;
+            case 0: return IDENTIFIER_NOT_SET;
+            default: return null;
+          }
+        }
+        public int getNumber() {
+          return this.value;
+        }
+      };
+
+      public IdentifierCase
+      getIdentifierCase() {
+        return IdentifierCase.forNumber(
+            identifierCase_);
+      }
+
+      public static final int FILEID_FIELD_NUMBER = 1;
+      /**
+       * <code>uint64 FileId = 1;</code>
+       */
+      public long getFileId() {
+        if (identifierCase_ == 1) {
+          return (java.lang.Long) identifier_;
+        }
+        return 0L;
+      }
+
+      public static final int PATH_FIELD_NUMBER = 2;
+      /**
+       * <code>string Path = 2;</code>
+       */
+      public java.lang.String getPath() {
+        java.lang.Object ref = "";
+        if (identifierCase_ == 2) {
+          ref = identifier_;
+        }
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (identifierCase_ == 2) {
+            identifier_ = s;
+          }
+          return s;
+        }
+      }
+      /**
+       * <code>string Path = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getPathBytes() {
+        java.lang.Object ref = "";
+        if (identifierCase_ == 2) {
+          ref = identifier_;
+        }
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          if (identifierCase_ == 2) {
+            identifier_ = b;
+          }
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      private byte memoizedIsInitialized = -1;
+      public final boolean isInitialized() {
+        byte isInitialized = memoizedIsInitialized;
+        if (isInitialized == 1) return true;
+        if (isInitialized == 0) return false;
+
+        memoizedIsInitialized = 1;
+        return true;
+      }
+
+      public void writeTo(com.google.protobuf.CodedOutputStream output)
+                          throws java.io.IOException {
+        if (identifierCase_ == 1) {
+          output.writeUInt64(
+              1, (long)((java.lang.Long) identifier_));
+        }
+        if (identifierCase_ == 2) {
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 2, identifier_);
+        }
+        unknownFields.writeTo(output);
+      }
+
+      public int getSerializedSize() {
+        int size = memoizedSize;
+        if (size != -1) return size;
+
+        size = 0;
+        if (identifierCase_ == 1) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeUInt64Size(
+                1, (long)((java.lang.Long) identifier_));
+        }
+        if (identifierCase_ == 2) {
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, identifier_);
+        }
+        size += unknownFields.getSerializedSize();
+        memoizedSize = size;
+        return size;
+      }
+
+      @java.lang.Override
+      public boolean equals(final java.lang.Object obj) {
+        if (obj == this) {
+         return true;
+        }
+        if (!(obj instanceof org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto)) {
+          return super.equals(obj);
+        }
+        org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto other = (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto) obj;
+
+        boolean result = true;
+        result = result && getIdentifierCase().equals(
+            other.getIdentifierCase());
+        if (!result) return false;
+        switch (identifierCase_) {
+          case 1:
+            result = result && (getFileId()
+                == other.getFileId());
+            break;
+          case 2:
+            result = result && getPath()
+                .equals(other.getPath());
+            break;
+          case 0:
+          default:
+        }
+        result = result && unknownFields.equals(other.unknownFields);
+        return result;
+      }
+
+      @java.lang.Override
+      public int hashCode() {
+        if (memoizedHashCode != 0) {
+          return memoizedHashCode;
+        }
+        int hash = 41;
+        hash = (19 * hash) + getDescriptor().hashCode();
+        switch (identifierCase_) {
+          case 1:
+            hash = (37 * hash) + FILEID_FIELD_NUMBER;
+            hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+                getFileId());
+            break;
+          case 2:
+            hash = (37 * hash) + PATH_FIELD_NUMBER;
+            hash = (53 * hash) + getPath().hashCode();
+            break;
+          case 0:
+          default:
+        }
+        hash = (29 * hash) + unknownFields.hashCode();
+        memoizedHashCode = hash;
+        return hash;
+      }
+
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parseFrom(
+          java.nio.ByteBuffer data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parseFrom(
+          java.nio.ByteBuffer data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parseFrom(
+          com.google.protobuf.ByteString data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parseFrom(
+          com.google.protobuf.ByteString data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parseFrom(byte[] data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parseFrom(
+          byte[] data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parseFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parseFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parseDelimitedFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parseDelimitedFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parseFrom(
+          com.google.protobuf.CodedInputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parseFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
+      }
+
+      public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder() {
+        return DEFAULT_INSTANCE.toBuilder();
+      }
+      public static Builder newBuilder(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto prototype) {
+        return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() {
+        return this == DEFAULT_INSTANCE
+            ? new Builder() : new Builder().mergeFrom(this);
+      }
+
+      @java.lang.Override
+      protected Builder newBuilderForType(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        Builder builder = new Builder(parent);
+        return builder;
+      }
+      /**
+       * Protobuf type {@code eos.console.QoSProto.IdentifierProto}
+       */
+      public static final class Builder extends
+          com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+          // @@protoc_insertion_point(builder_implements:eos.console.QoSProto.IdentifierProto)
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder {
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_IdentifierProto_descriptor;
+        }
+
+        protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_IdentifierProto_fieldAccessorTable
+              .ensureFieldAccessorsInitialized(
+                  org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.class, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder.class);
+        }
+
+        // Construct using org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.newBuilder()
+        private Builder() {
+          maybeForceBuilderInitialization();
+        }
+
+        private Builder(
+            com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+          super(parent);
+          maybeForceBuilderInitialization();
+        }
+        private void maybeForceBuilderInitialization() {
+          if (com.google.protobuf.GeneratedMessageV3
+                  .alwaysUseFieldBuilders) {
+          }
+        }
+        public Builder clear() {
+          super.clear();
+          identifierCase_ = 0;
+          identifier_ = null;
+          return this;
+        }
+
+        public com.google.protobuf.Descriptors.Descriptor
+            getDescriptorForType() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_IdentifierProto_descriptor;
+        }
+
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto getDefaultInstanceForType() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.getDefaultInstance();
+        }
+
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto build() {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(result);
+          }
+          return result;
+        }
+
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto buildPartial() {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto result = new org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto(this);
+          if (identifierCase_ == 1) {
+            result.identifier_ = identifier_;
+          }
+          if (identifierCase_ == 2) {
+            result.identifier_ = identifier_;
+          }
+          result.identifierCase_ = identifierCase_;
+          onBuilt();
+          return result;
+        }
+
+        public Builder clone() {
+          return (Builder) super.clone();
+        }
+        public Builder setField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            java.lang.Object value) {
+          return (Builder) super.setField(field, value);
+        }
+        public Builder clearField(
+            com.google.protobuf.Descriptors.FieldDescriptor field) {
+          return (Builder) super.clearField(field);
+        }
+        public Builder clearOneof(
+            com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+          return (Builder) super.clearOneof(oneof);
+        }
+        public Builder setRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            int index, java.lang.Object value) {
+          return (Builder) super.setRepeatedField(field, index, value);
+        }
+        public Builder addRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            java.lang.Object value) {
+          return (Builder) super.addRepeatedField(field, value);
+        }
+        public Builder mergeFrom(com.google.protobuf.Message other) {
+          if (other instanceof org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto) {
+            return mergeFrom((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto)other);
+          } else {
+            super.mergeFrom(other);
+            return this;
+          }
+        }
+
+        public Builder mergeFrom(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto other) {
+          if (other == org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.getDefaultInstance()) return this;
+          switch (other.getIdentifierCase()) {
+            case FILEID: {
+              setFileId(other.getFileId());
+              break;
+            }
+            case PATH: {
+              identifierCase_ = 2;
+              identifier_ = other.identifier_;
+              onChanged();
+              break;
+            }
+            case IDENTIFIER_NOT_SET: {
+              break;
+            }
+          }
+          this.mergeUnknownFields(other.unknownFields);
+          onChanged();
+          return this;
+        }
+
+        public final boolean isInitialized() {
+          return true;
+        }
+
+        public Builder mergeFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto parsedMessage = null;
+          try {
+            parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+          } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+            parsedMessage = (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto) e.getUnfinishedMessage();
+            throw e.unwrapIOException();
+          } finally {
+            if (parsedMessage != null) {
+              mergeFrom(parsedMessage);
+            }
+          }
+          return this;
+        }
+        private int identifierCase_ = 0;
+        private java.lang.Object identifier_;
+        public IdentifierCase
+            getIdentifierCase() {
+          return IdentifierCase.forNumber(
+              identifierCase_);
+        }
+
+        public Builder clearIdentifier() {
+          identifierCase_ = 0;
+          identifier_ = null;
+          onChanged();
+          return this;
+        }
+
+
+        /**
+         * <code>uint64 FileId = 1;</code>
+         */
+        public long getFileId() {
+          if (identifierCase_ == 1) {
+            return (java.lang.Long) identifier_;
+          }
+          return 0L;
+        }
+        /**
+         * <code>uint64 FileId = 1;</code>
+         */
+        public Builder setFileId(long value) {
+          identifierCase_ = 1;
+          identifier_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>uint64 FileId = 1;</code>
+         */
+        public Builder clearFileId() {
+          if (identifierCase_ == 1) {
+            identifierCase_ = 0;
+            identifier_ = null;
+            onChanged();
+          }
+          return this;
+        }
+
+        /**
+         * <code>string Path = 2;</code>
+         */
+        public java.lang.String getPath() {
+          java.lang.Object ref = "";
+          if (identifierCase_ == 2) {
+            ref = identifier_;
+          }
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            if (identifierCase_ == 2) {
+              identifier_ = s;
+            }
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>string Path = 2;</code>
+         */
+        public com.google.protobuf.ByteString
+            getPathBytes() {
+          java.lang.Object ref = "";
+          if (identifierCase_ == 2) {
+            ref = identifier_;
+          }
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            if (identifierCase_ == 2) {
+              identifier_ = b;
+            }
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>string Path = 2;</code>
+         */
+        public Builder setPath(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  identifierCase_ = 2;
+          identifier_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>string Path = 2;</code>
+         */
+        public Builder clearPath() {
+          if (identifierCase_ == 2) {
+            identifierCase_ = 0;
+            identifier_ = null;
+            onChanged();
+          }
+          return this;
+        }
+        /**
+         * <code>string Path = 2;</code>
+         */
+        public Builder setPathBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+          identifierCase_ = 2;
+          identifier_ = value;
+          onChanged();
+          return this;
+        }
+        public final Builder setUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.setUnknownFieldsProto3(unknownFields);
+        }
+
+        public final Builder mergeUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.mergeUnknownFields(unknownFields);
+        }
+
+
+        // @@protoc_insertion_point(builder_scope:eos.console.QoSProto.IdentifierProto)
+      }
+
+      // @@protoc_insertion_point(class_scope:eos.console.QoSProto.IdentifierProto)
+      private static final org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto DEFAULT_INSTANCE;
+      static {
+        DEFAULT_INSTANCE = new org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto();
+      }
+
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+      }
+
+      private static final com.google.protobuf.Parser<IdentifierProto>
+          PARSER = new com.google.protobuf.AbstractParser<IdentifierProto>() {
+        public IdentifierProto parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new IdentifierProto(input, extensionRegistry);
+        }
+      };
+
+      public static com.google.protobuf.Parser<IdentifierProto> parser() {
+        return PARSER;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<IdentifierProto> getParserForType() {
+        return PARSER;
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto getDefaultInstanceForType() {
+        return DEFAULT_INSTANCE;
+      }
+
+    }
+
+    public interface ListProtoOrBuilder extends
+        // @@protoc_insertion_point(interface_extends:eos.console.QoSProto.ListProto)
+        com.google.protobuf.MessageOrBuilder {
+
+      /**
+       * <code>string classname = 1;</code>
+       */
+      java.lang.String getClassname();
+      /**
+       * <code>string classname = 1;</code>
+       */
+      com.google.protobuf.ByteString
+          getClassnameBytes();
+    }
+    /**
+     * Protobuf type {@code eos.console.QoSProto.ListProto}
+     */
+    public  static final class ListProto extends
+        com.google.protobuf.GeneratedMessageV3 implements
+        // @@protoc_insertion_point(message_implements:eos.console.QoSProto.ListProto)
+        ListProtoOrBuilder {
+    private static final long serialVersionUID = 0L;
+      // Use ListProto.newBuilder() to construct.
+      private ListProto(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+        super(builder);
+      }
+      private ListProto() {
+        classname_ = "";
+      }
+
+      @java.lang.Override
+      public final com.google.protobuf.UnknownFieldSet
+      getUnknownFields() {
+        return this.unknownFields;
+      }
+      private ListProto(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        this();
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        int mutable_bitField0_ = 0;
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+            com.google.protobuf.UnknownFieldSet.newBuilder();
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              default: {
+                if (!parseUnknownFieldProto3(
+                    input, unknownFields, extensionRegistry, tag)) {
+                  done = true;
+                }
+                break;
+              }
+              case 10: {
+                java.lang.String s = input.readStringRequireUtf8();
+
+                classname_ = s;
+                break;
+              }
+            }
+          }
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(this);
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(
+              e).setUnfinishedMessage(this);
+        } finally {
+          this.unknownFields = unknownFields.build();
+          makeExtensionsImmutable();
+        }
+      }
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_ListProto_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_ListProto_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.class, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.Builder.class);
+      }
+
+      public static final int CLASSNAME_FIELD_NUMBER = 1;
+      private volatile java.lang.Object classname_;
+      /**
+       * <code>string classname = 1;</code>
+       */
+      public java.lang.String getClassname() {
+        java.lang.Object ref = classname_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          classname_ = s;
+          return s;
+        }
+      }
+      /**
+       * <code>string classname = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getClassnameBytes() {
+        java.lang.Object ref = classname_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          classname_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      private byte memoizedIsInitialized = -1;
+      public final boolean isInitialized() {
+        byte isInitialized = memoizedIsInitialized;
+        if (isInitialized == 1) return true;
+        if (isInitialized == 0) return false;
+
+        memoizedIsInitialized = 1;
+        return true;
+      }
+
+      public void writeTo(com.google.protobuf.CodedOutputStream output)
+                          throws java.io.IOException {
+        if (!getClassnameBytes().isEmpty()) {
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 1, classname_);
+        }
+        unknownFields.writeTo(output);
+      }
+
+      public int getSerializedSize() {
+        int size = memoizedSize;
+        if (size != -1) return size;
+
+        size = 0;
+        if (!getClassnameBytes().isEmpty()) {
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, classname_);
+        }
+        size += unknownFields.getSerializedSize();
+        memoizedSize = size;
+        return size;
+      }
+
+      @java.lang.Override
+      public boolean equals(final java.lang.Object obj) {
+        if (obj == this) {
+         return true;
+        }
+        if (!(obj instanceof org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto)) {
+          return super.equals(obj);
+        }
+        org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto other = (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) obj;
+
+        boolean result = true;
+        result = result && getClassname()
+            .equals(other.getClassname());
+        result = result && unknownFields.equals(other.unknownFields);
+        return result;
+      }
+
+      @java.lang.Override
+      public int hashCode() {
+        if (memoizedHashCode != 0) {
+          return memoizedHashCode;
+        }
+        int hash = 41;
+        hash = (19 * hash) + getDescriptor().hashCode();
+        hash = (37 * hash) + CLASSNAME_FIELD_NUMBER;
+        hash = (53 * hash) + getClassname().hashCode();
+        hash = (29 * hash) + unknownFields.hashCode();
+        memoizedHashCode = hash;
+        return hash;
+      }
+
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parseFrom(
+          java.nio.ByteBuffer data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parseFrom(
+          java.nio.ByteBuffer data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parseFrom(
+          com.google.protobuf.ByteString data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parseFrom(
+          com.google.protobuf.ByteString data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parseFrom(byte[] data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parseFrom(
+          byte[] data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parseFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parseFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parseDelimitedFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parseDelimitedFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parseFrom(
+          com.google.protobuf.CodedInputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parseFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
+      }
+
+      public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder() {
+        return DEFAULT_INSTANCE.toBuilder();
+      }
+      public static Builder newBuilder(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto prototype) {
+        return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() {
+        return this == DEFAULT_INSTANCE
+            ? new Builder() : new Builder().mergeFrom(this);
+      }
+
+      @java.lang.Override
+      protected Builder newBuilderForType(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        Builder builder = new Builder(parent);
+        return builder;
+      }
+      /**
+       * Protobuf type {@code eos.console.QoSProto.ListProto}
+       */
+      public static final class Builder extends
+          com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+          // @@protoc_insertion_point(builder_implements:eos.console.QoSProto.ListProto)
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProtoOrBuilder {
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_ListProto_descriptor;
+        }
+
+        protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_ListProto_fieldAccessorTable
+              .ensureFieldAccessorsInitialized(
+                  org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.class, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.Builder.class);
+        }
+
+        // Construct using org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.newBuilder()
+        private Builder() {
+          maybeForceBuilderInitialization();
+        }
+
+        private Builder(
+            com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+          super(parent);
+          maybeForceBuilderInitialization();
+        }
+        private void maybeForceBuilderInitialization() {
+          if (com.google.protobuf.GeneratedMessageV3
+                  .alwaysUseFieldBuilders) {
+          }
+        }
+        public Builder clear() {
+          super.clear();
+          classname_ = "";
+
+          return this;
+        }
+
+        public com.google.protobuf.Descriptors.Descriptor
+            getDescriptorForType() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_ListProto_descriptor;
+        }
+
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto getDefaultInstanceForType() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.getDefaultInstance();
+        }
+
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto build() {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(result);
+          }
+          return result;
+        }
+
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto buildPartial() {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto result = new org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto(this);
+          result.classname_ = classname_;
+          onBuilt();
+          return result;
+        }
+
+        public Builder clone() {
+          return (Builder) super.clone();
+        }
+        public Builder setField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            java.lang.Object value) {
+          return (Builder) super.setField(field, value);
+        }
+        public Builder clearField(
+            com.google.protobuf.Descriptors.FieldDescriptor field) {
+          return (Builder) super.clearField(field);
+        }
+        public Builder clearOneof(
+            com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+          return (Builder) super.clearOneof(oneof);
+        }
+        public Builder setRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            int index, java.lang.Object value) {
+          return (Builder) super.setRepeatedField(field, index, value);
+        }
+        public Builder addRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            java.lang.Object value) {
+          return (Builder) super.addRepeatedField(field, value);
+        }
+        public Builder mergeFrom(com.google.protobuf.Message other) {
+          if (other instanceof org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) {
+            return mergeFrom((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto)other);
+          } else {
+            super.mergeFrom(other);
+            return this;
+          }
+        }
+
+        public Builder mergeFrom(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto other) {
+          if (other == org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.getDefaultInstance()) return this;
+          if (!other.getClassname().isEmpty()) {
+            classname_ = other.classname_;
+            onChanged();
+          }
+          this.mergeUnknownFields(other.unknownFields);
+          onChanged();
+          return this;
+        }
+
+        public final boolean isInitialized() {
+          return true;
+        }
+
+        public Builder mergeFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto parsedMessage = null;
+          try {
+            parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+          } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+            parsedMessage = (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) e.getUnfinishedMessage();
+            throw e.unwrapIOException();
+          } finally {
+            if (parsedMessage != null) {
+              mergeFrom(parsedMessage);
+            }
+          }
+          return this;
+        }
+
+        private java.lang.Object classname_ = "";
+        /**
+         * <code>string classname = 1;</code>
+         */
+        public java.lang.String getClassname() {
+          java.lang.Object ref = classname_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            classname_ = s;
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>string classname = 1;</code>
+         */
+        public com.google.protobuf.ByteString
+            getClassnameBytes() {
+          java.lang.Object ref = classname_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            classname_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>string classname = 1;</code>
+         */
+        public Builder setClassname(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  
+          classname_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>string classname = 1;</code>
+         */
+        public Builder clearClassname() {
+          
+          classname_ = getDefaultInstance().getClassname();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>string classname = 1;</code>
+         */
+        public Builder setClassnameBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+          
+          classname_ = value;
+          onChanged();
+          return this;
+        }
+        public final Builder setUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.setUnknownFieldsProto3(unknownFields);
+        }
+
+        public final Builder mergeUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.mergeUnknownFields(unknownFields);
+        }
+
+
+        // @@protoc_insertion_point(builder_scope:eos.console.QoSProto.ListProto)
+      }
+
+      // @@protoc_insertion_point(class_scope:eos.console.QoSProto.ListProto)
+      private static final org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto DEFAULT_INSTANCE;
+      static {
+        DEFAULT_INSTANCE = new org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto();
+      }
+
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+      }
+
+      private static final com.google.protobuf.Parser<ListProto>
+          PARSER = new com.google.protobuf.AbstractParser<ListProto>() {
+        public ListProto parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new ListProto(input, extensionRegistry);
+        }
+      };
+
+      public static com.google.protobuf.Parser<ListProto> parser() {
+        return PARSER;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<ListProto> getParserForType() {
+        return PARSER;
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto getDefaultInstanceForType() {
+        return DEFAULT_INSTANCE;
+      }
+
+    }
+
+    public interface GetProtoOrBuilder extends
+        // @@protoc_insertion_point(interface_extends:eos.console.QoSProto.GetProto)
+        com.google.protobuf.MessageOrBuilder {
+
+      /**
+       * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+       */
+      boolean hasIdentifier();
+      /**
+       * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+       */
+      org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto getIdentifier();
+      /**
+       * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+       */
+      org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder getIdentifierOrBuilder();
+
+      /**
+       * <code>repeated string key = 2;</code>
+       */
+      java.util.List<java.lang.String>
+          getKeyList();
+      /**
+       * <code>repeated string key = 2;</code>
+       */
+      int getKeyCount();
+      /**
+       * <code>repeated string key = 2;</code>
+       */
+      java.lang.String getKey(int index);
+      /**
+       * <code>repeated string key = 2;</code>
+       */
+      com.google.protobuf.ByteString
+          getKeyBytes(int index);
+    }
+    /**
+     * Protobuf type {@code eos.console.QoSProto.GetProto}
+     */
+    public  static final class GetProto extends
+        com.google.protobuf.GeneratedMessageV3 implements
+        // @@protoc_insertion_point(message_implements:eos.console.QoSProto.GetProto)
+        GetProtoOrBuilder {
+    private static final long serialVersionUID = 0L;
+      // Use GetProto.newBuilder() to construct.
+      private GetProto(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+        super(builder);
+      }
+      private GetProto() {
+        key_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      }
+
+      @java.lang.Override
+      public final com.google.protobuf.UnknownFieldSet
+      getUnknownFields() {
+        return this.unknownFields;
+      }
+      private GetProto(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        this();
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        int mutable_bitField0_ = 0;
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+            com.google.protobuf.UnknownFieldSet.newBuilder();
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              default: {
+                if (!parseUnknownFieldProto3(
+                    input, unknownFields, extensionRegistry, tag)) {
+                  done = true;
+                }
+                break;
+              }
+              case 10: {
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder subBuilder = null;
+                if (identifier_ != null) {
+                  subBuilder = identifier_.toBuilder();
+                }
+                identifier_ = input.readMessage(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.parser(), extensionRegistry);
+                if (subBuilder != null) {
+                  subBuilder.mergeFrom(identifier_);
+                  identifier_ = subBuilder.buildPartial();
+                }
+
+                break;
+              }
+              case 18: {
+                java.lang.String s = input.readStringRequireUtf8();
+                if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+                  key_ = new com.google.protobuf.LazyStringArrayList();
+                  mutable_bitField0_ |= 0x00000002;
+                }
+                key_.add(s);
+                break;
+              }
+            }
+          }
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(this);
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(
+              e).setUnfinishedMessage(this);
+        } finally {
+          if (((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+            key_ = key_.getUnmodifiableView();
+          }
+          this.unknownFields = unknownFields.build();
+          makeExtensionsImmutable();
+        }
+      }
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_GetProto_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_GetProto_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.class, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.Builder.class);
+      }
+
+      private int bitField0_;
+      public static final int IDENTIFIER_FIELD_NUMBER = 1;
+      private org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto identifier_;
+      /**
+       * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+       */
+      public boolean hasIdentifier() {
+        return identifier_ != null;
+      }
+      /**
+       * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto getIdentifier() {
+        return identifier_ == null ? org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.getDefaultInstance() : identifier_;
+      }
+      /**
+       * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder getIdentifierOrBuilder() {
+        return getIdentifier();
+      }
+
+      public static final int KEY_FIELD_NUMBER = 2;
+      private com.google.protobuf.LazyStringList key_;
+      /**
+       * <code>repeated string key = 2;</code>
+       */
+      public com.google.protobuf.ProtocolStringList
+          getKeyList() {
+        return key_;
+      }
+      /**
+       * <code>repeated string key = 2;</code>
+       */
+      public int getKeyCount() {
+        return key_.size();
+      }
+      /**
+       * <code>repeated string key = 2;</code>
+       */
+      public java.lang.String getKey(int index) {
+        return key_.get(index);
+      }
+      /**
+       * <code>repeated string key = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getKeyBytes(int index) {
+        return key_.getByteString(index);
+      }
+
+      private byte memoizedIsInitialized = -1;
+      public final boolean isInitialized() {
+        byte isInitialized = memoizedIsInitialized;
+        if (isInitialized == 1) return true;
+        if (isInitialized == 0) return false;
+
+        memoizedIsInitialized = 1;
+        return true;
+      }
+
+      public void writeTo(com.google.protobuf.CodedOutputStream output)
+                          throws java.io.IOException {
+        if (identifier_ != null) {
+          output.writeMessage(1, getIdentifier());
+        }
+        for (int i = 0; i < key_.size(); i++) {
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 2, key_.getRaw(i));
+        }
+        unknownFields.writeTo(output);
+      }
+
+      public int getSerializedSize() {
+        int size = memoizedSize;
+        if (size != -1) return size;
+
+        size = 0;
+        if (identifier_ != null) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeMessageSize(1, getIdentifier());
+        }
+        {
+          int dataSize = 0;
+          for (int i = 0; i < key_.size(); i++) {
+            dataSize += computeStringSizeNoTag(key_.getRaw(i));
+          }
+          size += dataSize;
+          size += 1 * getKeyList().size();
+        }
+        size += unknownFields.getSerializedSize();
+        memoizedSize = size;
+        return size;
+      }
+
+      @java.lang.Override
+      public boolean equals(final java.lang.Object obj) {
+        if (obj == this) {
+         return true;
+        }
+        if (!(obj instanceof org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto)) {
+          return super.equals(obj);
+        }
+        org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto other = (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) obj;
+
+        boolean result = true;
+        result = result && (hasIdentifier() == other.hasIdentifier());
+        if (hasIdentifier()) {
+          result = result && getIdentifier()
+              .equals(other.getIdentifier());
+        }
+        result = result && getKeyList()
+            .equals(other.getKeyList());
+        result = result && unknownFields.equals(other.unknownFields);
+        return result;
+      }
+
+      @java.lang.Override
+      public int hashCode() {
+        if (memoizedHashCode != 0) {
+          return memoizedHashCode;
+        }
+        int hash = 41;
+        hash = (19 * hash) + getDescriptor().hashCode();
+        if (hasIdentifier()) {
+          hash = (37 * hash) + IDENTIFIER_FIELD_NUMBER;
+          hash = (53 * hash) + getIdentifier().hashCode();
+        }
+        if (getKeyCount() > 0) {
+          hash = (37 * hash) + KEY_FIELD_NUMBER;
+          hash = (53 * hash) + getKeyList().hashCode();
+        }
+        hash = (29 * hash) + unknownFields.hashCode();
+        memoizedHashCode = hash;
+        return hash;
+      }
+
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parseFrom(
+          java.nio.ByteBuffer data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parseFrom(
+          java.nio.ByteBuffer data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parseFrom(
+          com.google.protobuf.ByteString data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parseFrom(
+          com.google.protobuf.ByteString data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parseFrom(byte[] data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parseFrom(
+          byte[] data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parseFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parseFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parseDelimitedFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parseDelimitedFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parseFrom(
+          com.google.protobuf.CodedInputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parseFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
+      }
+
+      public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder() {
+        return DEFAULT_INSTANCE.toBuilder();
+      }
+      public static Builder newBuilder(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto prototype) {
+        return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() {
+        return this == DEFAULT_INSTANCE
+            ? new Builder() : new Builder().mergeFrom(this);
+      }
+
+      @java.lang.Override
+      protected Builder newBuilderForType(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        Builder builder = new Builder(parent);
+        return builder;
+      }
+      /**
+       * Protobuf type {@code eos.console.QoSProto.GetProto}
+       */
+      public static final class Builder extends
+          com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+          // @@protoc_insertion_point(builder_implements:eos.console.QoSProto.GetProto)
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProtoOrBuilder {
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_GetProto_descriptor;
+        }
+
+        protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_GetProto_fieldAccessorTable
+              .ensureFieldAccessorsInitialized(
+                  org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.class, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.Builder.class);
+        }
+
+        // Construct using org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.newBuilder()
+        private Builder() {
+          maybeForceBuilderInitialization();
+        }
+
+        private Builder(
+            com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+          super(parent);
+          maybeForceBuilderInitialization();
+        }
+        private void maybeForceBuilderInitialization() {
+          if (com.google.protobuf.GeneratedMessageV3
+                  .alwaysUseFieldBuilders) {
+          }
+        }
+        public Builder clear() {
+          super.clear();
+          if (identifierBuilder_ == null) {
+            identifier_ = null;
+          } else {
+            identifier_ = null;
+            identifierBuilder_ = null;
+          }
+          key_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+          bitField0_ = (bitField0_ & ~0x00000002);
+          return this;
+        }
+
+        public com.google.protobuf.Descriptors.Descriptor
+            getDescriptorForType() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_GetProto_descriptor;
+        }
+
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto getDefaultInstanceForType() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.getDefaultInstance();
+        }
+
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto build() {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(result);
+          }
+          return result;
+        }
+
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto buildPartial() {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto result = new org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto(this);
+          int from_bitField0_ = bitField0_;
+          int to_bitField0_ = 0;
+          if (identifierBuilder_ == null) {
+            result.identifier_ = identifier_;
+          } else {
+            result.identifier_ = identifierBuilder_.build();
+          }
+          if (((bitField0_ & 0x00000002) == 0x00000002)) {
+            key_ = key_.getUnmodifiableView();
+            bitField0_ = (bitField0_ & ~0x00000002);
+          }
+          result.key_ = key_;
+          result.bitField0_ = to_bitField0_;
+          onBuilt();
+          return result;
+        }
+
+        public Builder clone() {
+          return (Builder) super.clone();
+        }
+        public Builder setField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            java.lang.Object value) {
+          return (Builder) super.setField(field, value);
+        }
+        public Builder clearField(
+            com.google.protobuf.Descriptors.FieldDescriptor field) {
+          return (Builder) super.clearField(field);
+        }
+        public Builder clearOneof(
+            com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+          return (Builder) super.clearOneof(oneof);
+        }
+        public Builder setRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            int index, java.lang.Object value) {
+          return (Builder) super.setRepeatedField(field, index, value);
+        }
+        public Builder addRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            java.lang.Object value) {
+          return (Builder) super.addRepeatedField(field, value);
+        }
+        public Builder mergeFrom(com.google.protobuf.Message other) {
+          if (other instanceof org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) {
+            return mergeFrom((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto)other);
+          } else {
+            super.mergeFrom(other);
+            return this;
+          }
+        }
+
+        public Builder mergeFrom(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto other) {
+          if (other == org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.getDefaultInstance()) return this;
+          if (other.hasIdentifier()) {
+            mergeIdentifier(other.getIdentifier());
+          }
+          if (!other.key_.isEmpty()) {
+            if (key_.isEmpty()) {
+              key_ = other.key_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+            } else {
+              ensureKeyIsMutable();
+              key_.addAll(other.key_);
+            }
+            onChanged();
+          }
+          this.mergeUnknownFields(other.unknownFields);
+          onChanged();
+          return this;
+        }
+
+        public final boolean isInitialized() {
+          return true;
+        }
+
+        public Builder mergeFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto parsedMessage = null;
+          try {
+            parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+          } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+            parsedMessage = (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) e.getUnfinishedMessage();
+            throw e.unwrapIOException();
+          } finally {
+            if (parsedMessage != null) {
+              mergeFrom(parsedMessage);
+            }
+          }
+          return this;
+        }
+        private int bitField0_;
+
+        private org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto identifier_ = null;
+        private com.google.protobuf.SingleFieldBuilderV3<
+            org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder> identifierBuilder_;
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public boolean hasIdentifier() {
+          return identifierBuilder_ != null || identifier_ != null;
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto getIdentifier() {
+          if (identifierBuilder_ == null) {
+            return identifier_ == null ? org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.getDefaultInstance() : identifier_;
+          } else {
+            return identifierBuilder_.getMessage();
+          }
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public Builder setIdentifier(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto value) {
+          if (identifierBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            identifier_ = value;
+            onChanged();
+          } else {
+            identifierBuilder_.setMessage(value);
+          }
+
+          return this;
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public Builder setIdentifier(
+            org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder builderForValue) {
+          if (identifierBuilder_ == null) {
+            identifier_ = builderForValue.build();
+            onChanged();
+          } else {
+            identifierBuilder_.setMessage(builderForValue.build());
+          }
+
+          return this;
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public Builder mergeIdentifier(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto value) {
+          if (identifierBuilder_ == null) {
+            if (identifier_ != null) {
+              identifier_ =
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.newBuilder(identifier_).mergeFrom(value).buildPartial();
+            } else {
+              identifier_ = value;
+            }
+            onChanged();
+          } else {
+            identifierBuilder_.mergeFrom(value);
+          }
+
+          return this;
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public Builder clearIdentifier() {
+          if (identifierBuilder_ == null) {
+            identifier_ = null;
+            onChanged();
+          } else {
+            identifier_ = null;
+            identifierBuilder_ = null;
+          }
+
+          return this;
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder getIdentifierBuilder() {
+          
+          onChanged();
+          return getIdentifierFieldBuilder().getBuilder();
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder getIdentifierOrBuilder() {
+          if (identifierBuilder_ != null) {
+            return identifierBuilder_.getMessageOrBuilder();
+          } else {
+            return identifier_ == null ?
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.getDefaultInstance() : identifier_;
+          }
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        private com.google.protobuf.SingleFieldBuilderV3<
+            org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder> 
+            getIdentifierFieldBuilder() {
+          if (identifierBuilder_ == null) {
+            identifierBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder>(
+                    getIdentifier(),
+                    getParentForChildren(),
+                    isClean());
+            identifier_ = null;
+          }
+          return identifierBuilder_;
+        }
+
+        private com.google.protobuf.LazyStringList key_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        private void ensureKeyIsMutable() {
+          if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+            key_ = new com.google.protobuf.LazyStringArrayList(key_);
+            bitField0_ |= 0x00000002;
+           }
+        }
+        /**
+         * <code>repeated string key = 2;</code>
+         */
+        public com.google.protobuf.ProtocolStringList
+            getKeyList() {
+          return key_.getUnmodifiableView();
+        }
+        /**
+         * <code>repeated string key = 2;</code>
+         */
+        public int getKeyCount() {
+          return key_.size();
+        }
+        /**
+         * <code>repeated string key = 2;</code>
+         */
+        public java.lang.String getKey(int index) {
+          return key_.get(index);
+        }
+        /**
+         * <code>repeated string key = 2;</code>
+         */
+        public com.google.protobuf.ByteString
+            getKeyBytes(int index) {
+          return key_.getByteString(index);
+        }
+        /**
+         * <code>repeated string key = 2;</code>
+         */
+        public Builder setKey(
+            int index, java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureKeyIsMutable();
+          key_.set(index, value);
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>repeated string key = 2;</code>
+         */
+        public Builder addKey(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureKeyIsMutable();
+          key_.add(value);
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>repeated string key = 2;</code>
+         */
+        public Builder addAllKey(
+            java.lang.Iterable<java.lang.String> values) {
+          ensureKeyIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, key_);
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>repeated string key = 2;</code>
+         */
+        public Builder clearKey() {
+          key_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+          bitField0_ = (bitField0_ & ~0x00000002);
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>repeated string key = 2;</code>
+         */
+        public Builder addKeyBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+          ensureKeyIsMutable();
+          key_.add(value);
+          onChanged();
+          return this;
+        }
+        public final Builder setUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.setUnknownFieldsProto3(unknownFields);
+        }
+
+        public final Builder mergeUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.mergeUnknownFields(unknownFields);
+        }
+
+
+        // @@protoc_insertion_point(builder_scope:eos.console.QoSProto.GetProto)
+      }
+
+      // @@protoc_insertion_point(class_scope:eos.console.QoSProto.GetProto)
+      private static final org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto DEFAULT_INSTANCE;
+      static {
+        DEFAULT_INSTANCE = new org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto();
+      }
+
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+      }
+
+      private static final com.google.protobuf.Parser<GetProto>
+          PARSER = new com.google.protobuf.AbstractParser<GetProto>() {
+        public GetProto parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new GetProto(input, extensionRegistry);
+        }
+      };
+
+      public static com.google.protobuf.Parser<GetProto> parser() {
+        return PARSER;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<GetProto> getParserForType() {
+        return PARSER;
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto getDefaultInstanceForType() {
+        return DEFAULT_INSTANCE;
+      }
+
+    }
+
+    public interface SetProtoOrBuilder extends
+        // @@protoc_insertion_point(interface_extends:eos.console.QoSProto.SetProto)
+        com.google.protobuf.MessageOrBuilder {
+
+      /**
+       * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+       */
+      boolean hasIdentifier();
+      /**
+       * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+       */
+      org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto getIdentifier();
+      /**
+       * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+       */
+      org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder getIdentifierOrBuilder();
+
+      /**
+       * <code>string classname = 2;</code>
+       */
+      java.lang.String getClassname();
+      /**
+       * <code>string classname = 2;</code>
+       */
+      com.google.protobuf.ByteString
+          getClassnameBytes();
+    }
+    /**
+     * Protobuf type {@code eos.console.QoSProto.SetProto}
+     */
+    public  static final class SetProto extends
+        com.google.protobuf.GeneratedMessageV3 implements
+        // @@protoc_insertion_point(message_implements:eos.console.QoSProto.SetProto)
+        SetProtoOrBuilder {
+    private static final long serialVersionUID = 0L;
+      // Use SetProto.newBuilder() to construct.
+      private SetProto(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+        super(builder);
+      }
+      private SetProto() {
+        classname_ = "";
+      }
+
+      @java.lang.Override
+      public final com.google.protobuf.UnknownFieldSet
+      getUnknownFields() {
+        return this.unknownFields;
+      }
+      private SetProto(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        this();
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        int mutable_bitField0_ = 0;
+        com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+            com.google.protobuf.UnknownFieldSet.newBuilder();
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              default: {
+                if (!parseUnknownFieldProto3(
+                    input, unknownFields, extensionRegistry, tag)) {
+                  done = true;
+                }
+                break;
+              }
+              case 10: {
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder subBuilder = null;
+                if (identifier_ != null) {
+                  subBuilder = identifier_.toBuilder();
+                }
+                identifier_ = input.readMessage(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.parser(), extensionRegistry);
+                if (subBuilder != null) {
+                  subBuilder.mergeFrom(identifier_);
+                  identifier_ = subBuilder.buildPartial();
+                }
+
+                break;
+              }
+              case 18: {
+                java.lang.String s = input.readStringRequireUtf8();
+
+                classname_ = s;
+                break;
+              }
+            }
+          }
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(this);
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(
+              e).setUnfinishedMessage(this);
+        } finally {
+          this.unknownFields = unknownFields.build();
+          makeExtensionsImmutable();
+        }
+      }
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_SetProto_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_SetProto_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.class, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.Builder.class);
+      }
+
+      public static final int IDENTIFIER_FIELD_NUMBER = 1;
+      private org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto identifier_;
+      /**
+       * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+       */
+      public boolean hasIdentifier() {
+        return identifier_ != null;
+      }
+      /**
+       * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto getIdentifier() {
+        return identifier_ == null ? org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.getDefaultInstance() : identifier_;
+      }
+      /**
+       * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder getIdentifierOrBuilder() {
+        return getIdentifier();
+      }
+
+      public static final int CLASSNAME_FIELD_NUMBER = 2;
+      private volatile java.lang.Object classname_;
+      /**
+       * <code>string classname = 2;</code>
+       */
+      public java.lang.String getClassname() {
+        java.lang.Object ref = classname_;
+        if (ref instanceof java.lang.String) {
+          return (java.lang.String) ref;
+        } else {
+          com.google.protobuf.ByteString bs = 
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          classname_ = s;
+          return s;
+        }
+      }
+      /**
+       * <code>string classname = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getClassnameBytes() {
+        java.lang.Object ref = classname_;
+        if (ref instanceof java.lang.String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          classname_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+
+      private byte memoizedIsInitialized = -1;
+      public final boolean isInitialized() {
+        byte isInitialized = memoizedIsInitialized;
+        if (isInitialized == 1) return true;
+        if (isInitialized == 0) return false;
+
+        memoizedIsInitialized = 1;
+        return true;
+      }
+
+      public void writeTo(com.google.protobuf.CodedOutputStream output)
+                          throws java.io.IOException {
+        if (identifier_ != null) {
+          output.writeMessage(1, getIdentifier());
+        }
+        if (!getClassnameBytes().isEmpty()) {
+          com.google.protobuf.GeneratedMessageV3.writeString(output, 2, classname_);
+        }
+        unknownFields.writeTo(output);
+      }
+
+      public int getSerializedSize() {
+        int size = memoizedSize;
+        if (size != -1) return size;
+
+        size = 0;
+        if (identifier_ != null) {
+          size += com.google.protobuf.CodedOutputStream
+            .computeMessageSize(1, getIdentifier());
+        }
+        if (!getClassnameBytes().isEmpty()) {
+          size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, classname_);
+        }
+        size += unknownFields.getSerializedSize();
+        memoizedSize = size;
+        return size;
+      }
+
+      @java.lang.Override
+      public boolean equals(final java.lang.Object obj) {
+        if (obj == this) {
+         return true;
+        }
+        if (!(obj instanceof org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto)) {
+          return super.equals(obj);
+        }
+        org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto other = (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) obj;
+
+        boolean result = true;
+        result = result && (hasIdentifier() == other.hasIdentifier());
+        if (hasIdentifier()) {
+          result = result && getIdentifier()
+              .equals(other.getIdentifier());
+        }
+        result = result && getClassname()
+            .equals(other.getClassname());
+        result = result && unknownFields.equals(other.unknownFields);
+        return result;
+      }
+
+      @java.lang.Override
+      public int hashCode() {
+        if (memoizedHashCode != 0) {
+          return memoizedHashCode;
+        }
+        int hash = 41;
+        hash = (19 * hash) + getDescriptor().hashCode();
+        if (hasIdentifier()) {
+          hash = (37 * hash) + IDENTIFIER_FIELD_NUMBER;
+          hash = (53 * hash) + getIdentifier().hashCode();
+        }
+        hash = (37 * hash) + CLASSNAME_FIELD_NUMBER;
+        hash = (53 * hash) + getClassname().hashCode();
+        hash = (29 * hash) + unknownFields.hashCode();
+        memoizedHashCode = hash;
+        return hash;
+      }
+
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parseFrom(
+          java.nio.ByteBuffer data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parseFrom(
+          java.nio.ByteBuffer data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parseFrom(
+          com.google.protobuf.ByteString data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parseFrom(
+          com.google.protobuf.ByteString data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parseFrom(byte[] data)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parseFrom(
+          byte[] data,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return PARSER.parseFrom(data, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parseFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parseFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parseDelimitedFrom(java.io.InputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parseDelimitedFrom(
+          java.io.InputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parseFrom(
+          com.google.protobuf.CodedInputStream input)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input);
+      }
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parseFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        return com.google.protobuf.GeneratedMessageV3
+            .parseWithIOException(PARSER, input, extensionRegistry);
+      }
+
+      public Builder newBuilderForType() { return newBuilder(); }
+      public static Builder newBuilder() {
+        return DEFAULT_INSTANCE.toBuilder();
+      }
+      public static Builder newBuilder(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto prototype) {
+        return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+      }
+      public Builder toBuilder() {
+        return this == DEFAULT_INSTANCE
+            ? new Builder() : new Builder().mergeFrom(this);
+      }
+
+      @java.lang.Override
+      protected Builder newBuilderForType(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        Builder builder = new Builder(parent);
+        return builder;
+      }
+      /**
+       * Protobuf type {@code eos.console.QoSProto.SetProto}
+       */
+      public static final class Builder extends
+          com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+          // @@protoc_insertion_point(builder_implements:eos.console.QoSProto.SetProto)
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProtoOrBuilder {
+        public static final com.google.protobuf.Descriptors.Descriptor
+            getDescriptor() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_SetProto_descriptor;
+        }
+
+        protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+            internalGetFieldAccessorTable() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_SetProto_fieldAccessorTable
+              .ensureFieldAccessorsInitialized(
+                  org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.class, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.Builder.class);
+        }
+
+        // Construct using org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.newBuilder()
+        private Builder() {
+          maybeForceBuilderInitialization();
+        }
+
+        private Builder(
+            com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+          super(parent);
+          maybeForceBuilderInitialization();
+        }
+        private void maybeForceBuilderInitialization() {
+          if (com.google.protobuf.GeneratedMessageV3
+                  .alwaysUseFieldBuilders) {
+          }
+        }
+        public Builder clear() {
+          super.clear();
+          if (identifierBuilder_ == null) {
+            identifier_ = null;
+          } else {
+            identifier_ = null;
+            identifierBuilder_ = null;
+          }
+          classname_ = "";
+
+          return this;
+        }
+
+        public com.google.protobuf.Descriptors.Descriptor
+            getDescriptorForType() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_SetProto_descriptor;
+        }
+
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto getDefaultInstanceForType() {
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.getDefaultInstance();
+        }
+
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto build() {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto result = buildPartial();
+          if (!result.isInitialized()) {
+            throw newUninitializedMessageException(result);
+          }
+          return result;
+        }
+
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto buildPartial() {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto result = new org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto(this);
+          if (identifierBuilder_ == null) {
+            result.identifier_ = identifier_;
+          } else {
+            result.identifier_ = identifierBuilder_.build();
+          }
+          result.classname_ = classname_;
+          onBuilt();
+          return result;
+        }
+
+        public Builder clone() {
+          return (Builder) super.clone();
+        }
+        public Builder setField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            java.lang.Object value) {
+          return (Builder) super.setField(field, value);
+        }
+        public Builder clearField(
+            com.google.protobuf.Descriptors.FieldDescriptor field) {
+          return (Builder) super.clearField(field);
+        }
+        public Builder clearOneof(
+            com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+          return (Builder) super.clearOneof(oneof);
+        }
+        public Builder setRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            int index, java.lang.Object value) {
+          return (Builder) super.setRepeatedField(field, index, value);
+        }
+        public Builder addRepeatedField(
+            com.google.protobuf.Descriptors.FieldDescriptor field,
+            java.lang.Object value) {
+          return (Builder) super.addRepeatedField(field, value);
+        }
+        public Builder mergeFrom(com.google.protobuf.Message other) {
+          if (other instanceof org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) {
+            return mergeFrom((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto)other);
+          } else {
+            super.mergeFrom(other);
+            return this;
+          }
+        }
+
+        public Builder mergeFrom(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto other) {
+          if (other == org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.getDefaultInstance()) return this;
+          if (other.hasIdentifier()) {
+            mergeIdentifier(other.getIdentifier());
+          }
+          if (!other.getClassname().isEmpty()) {
+            classname_ = other.classname_;
+            onChanged();
+          }
+          this.mergeUnknownFields(other.unknownFields);
+          onChanged();
+          return this;
+        }
+
+        public final boolean isInitialized() {
+          return true;
+        }
+
+        public Builder mergeFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws java.io.IOException {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto parsedMessage = null;
+          try {
+            parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+          } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+            parsedMessage = (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) e.getUnfinishedMessage();
+            throw e.unwrapIOException();
+          } finally {
+            if (parsedMessage != null) {
+              mergeFrom(parsedMessage);
+            }
+          }
+          return this;
+        }
+
+        private org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto identifier_ = null;
+        private com.google.protobuf.SingleFieldBuilderV3<
+            org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder> identifierBuilder_;
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public boolean hasIdentifier() {
+          return identifierBuilder_ != null || identifier_ != null;
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto getIdentifier() {
+          if (identifierBuilder_ == null) {
+            return identifier_ == null ? org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.getDefaultInstance() : identifier_;
+          } else {
+            return identifierBuilder_.getMessage();
+          }
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public Builder setIdentifier(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto value) {
+          if (identifierBuilder_ == null) {
+            if (value == null) {
+              throw new NullPointerException();
+            }
+            identifier_ = value;
+            onChanged();
+          } else {
+            identifierBuilder_.setMessage(value);
+          }
+
+          return this;
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public Builder setIdentifier(
+            org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder builderForValue) {
+          if (identifierBuilder_ == null) {
+            identifier_ = builderForValue.build();
+            onChanged();
+          } else {
+            identifierBuilder_.setMessage(builderForValue.build());
+          }
+
+          return this;
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public Builder mergeIdentifier(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto value) {
+          if (identifierBuilder_ == null) {
+            if (identifier_ != null) {
+              identifier_ =
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.newBuilder(identifier_).mergeFrom(value).buildPartial();
+            } else {
+              identifier_ = value;
+            }
+            onChanged();
+          } else {
+            identifierBuilder_.mergeFrom(value);
+          }
+
+          return this;
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public Builder clearIdentifier() {
+          if (identifierBuilder_ == null) {
+            identifier_ = null;
+            onChanged();
+          } else {
+            identifier_ = null;
+            identifierBuilder_ = null;
+          }
+
+          return this;
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder getIdentifierBuilder() {
+          
+          onChanged();
+          return getIdentifierFieldBuilder().getBuilder();
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder getIdentifierOrBuilder() {
+          if (identifierBuilder_ != null) {
+            return identifierBuilder_.getMessageOrBuilder();
+          } else {
+            return identifier_ == null ?
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.getDefaultInstance() : identifier_;
+          }
+        }
+        /**
+         * <code>.eos.console.QoSProto.IdentifierProto identifier = 1;</code>
+         */
+        private com.google.protobuf.SingleFieldBuilderV3<
+            org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder> 
+            getIdentifierFieldBuilder() {
+          if (identifierBuilder_ == null) {
+            identifierBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.IdentifierProtoOrBuilder>(
+                    getIdentifier(),
+                    getParentForChildren(),
+                    isClean());
+            identifier_ = null;
+          }
+          return identifierBuilder_;
+        }
+
+        private java.lang.Object classname_ = "";
+        /**
+         * <code>string classname = 2;</code>
+         */
+        public java.lang.String getClassname() {
+          java.lang.Object ref = classname_;
+          if (!(ref instanceof java.lang.String)) {
+            com.google.protobuf.ByteString bs =
+                (com.google.protobuf.ByteString) ref;
+            java.lang.String s = bs.toStringUtf8();
+            classname_ = s;
+            return s;
+          } else {
+            return (java.lang.String) ref;
+          }
+        }
+        /**
+         * <code>string classname = 2;</code>
+         */
+        public com.google.protobuf.ByteString
+            getClassnameBytes() {
+          java.lang.Object ref = classname_;
+          if (ref instanceof String) {
+            com.google.protobuf.ByteString b = 
+                com.google.protobuf.ByteString.copyFromUtf8(
+                    (java.lang.String) ref);
+            classname_ = b;
+            return b;
+          } else {
+            return (com.google.protobuf.ByteString) ref;
+          }
+        }
+        /**
+         * <code>string classname = 2;</code>
+         */
+        public Builder setClassname(
+            java.lang.String value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  
+          classname_ = value;
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>string classname = 2;</code>
+         */
+        public Builder clearClassname() {
+          
+          classname_ = getDefaultInstance().getClassname();
+          onChanged();
+          return this;
+        }
+        /**
+         * <code>string classname = 2;</code>
+         */
+        public Builder setClassnameBytes(
+            com.google.protobuf.ByteString value) {
+          if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+          
+          classname_ = value;
+          onChanged();
+          return this;
+        }
+        public final Builder setUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.setUnknownFieldsProto3(unknownFields);
+        }
+
+        public final Builder mergeUnknownFields(
+            final com.google.protobuf.UnknownFieldSet unknownFields) {
+          return super.mergeUnknownFields(unknownFields);
+        }
+
+
+        // @@protoc_insertion_point(builder_scope:eos.console.QoSProto.SetProto)
+      }
+
+      // @@protoc_insertion_point(class_scope:eos.console.QoSProto.SetProto)
+      private static final org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto DEFAULT_INSTANCE;
+      static {
+        DEFAULT_INSTANCE = new org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto();
+      }
+
+      public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+      }
+
+      private static final com.google.protobuf.Parser<SetProto>
+          PARSER = new com.google.protobuf.AbstractParser<SetProto>() {
+        public SetProto parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new SetProto(input, extensionRegistry);
+        }
+      };
+
+      public static com.google.protobuf.Parser<SetProto> parser() {
+        return PARSER;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Parser<SetProto> getParserForType() {
+        return PARSER;
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto getDefaultInstanceForType() {
+        return DEFAULT_INSTANCE;
+      }
+
+    }
+
+    private int subcmdCase_ = 0;
+    private java.lang.Object subcmd_;
+    public enum SubcmdCase
+        implements com.google.protobuf.Internal.EnumLite {
+      LIST(1),
+      GET(2),
+      SET(3),
+      SUBCMD_NOT_SET(0);
+      private final int value;
+      private SubcmdCase(int value) {
+        this.value = value;
+      }
+      /**
+       * @deprecated Use {@link #forNumber(int)} instead.
+       */
+      @java.lang.Deprecated
+      public static SubcmdCase valueOf(int value) {
+        return forNumber(value);
+      }
+
+      public static SubcmdCase forNumber(int value) {
+        switch (value) {
+          case 1: return LIST;
+          case 2: return GET;
+          case 3: return SET;
+          case 0: return SUBCMD_NOT_SET;
+          default: return null;
+        }
+      }
+      public int getNumber() {
+        return this.value;
+      }
+    };
+
+    public SubcmdCase
+    getSubcmdCase() {
+      return SubcmdCase.forNumber(
+          subcmdCase_);
+    }
+
+    public static final int LIST_FIELD_NUMBER = 1;
+    /**
+     * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+     */
+    public boolean hasList() {
+      return subcmdCase_ == 1;
+    }
+    /**
+     * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+     */
+    public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto getList() {
+      if (subcmdCase_ == 1) {
+         return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) subcmd_;
+      }
+      return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.getDefaultInstance();
+    }
+    /**
+     * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+     */
+    public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProtoOrBuilder getListOrBuilder() {
+      if (subcmdCase_ == 1) {
+         return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) subcmd_;
+      }
+      return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.getDefaultInstance();
+    }
+
+    public static final int GET_FIELD_NUMBER = 2;
+    /**
+     * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+     */
+    public boolean hasGet() {
+      return subcmdCase_ == 2;
+    }
+    /**
+     * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+     */
+    public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto getGet() {
+      if (subcmdCase_ == 2) {
+         return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) subcmd_;
+      }
+      return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.getDefaultInstance();
+    }
+    /**
+     * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+     */
+    public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProtoOrBuilder getGetOrBuilder() {
+      if (subcmdCase_ == 2) {
+         return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) subcmd_;
+      }
+      return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.getDefaultInstance();
+    }
+
+    public static final int SET_FIELD_NUMBER = 3;
+    /**
+     * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+     */
+    public boolean hasSet() {
+      return subcmdCase_ == 3;
+    }
+    /**
+     * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+     */
+    public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto getSet() {
+      if (subcmdCase_ == 3) {
+         return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) subcmd_;
+      }
+      return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.getDefaultInstance();
+    }
+    /**
+     * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+     */
+    public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProtoOrBuilder getSetOrBuilder() {
+      if (subcmdCase_ == 3) {
+         return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) subcmd_;
+      }
+      return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.getDefaultInstance();
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (subcmdCase_ == 1) {
+        output.writeMessage(1, (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) subcmd_);
+      }
+      if (subcmdCase_ == 2) {
+        output.writeMessage(2, (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) subcmd_);
+      }
+      if (subcmdCase_ == 3) {
+        output.writeMessage(3, (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) subcmd_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (subcmdCase_ == 1) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) subcmd_);
+      }
+      if (subcmdCase_ == 2) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) subcmd_);
+      }
+      if (subcmdCase_ == 3) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) subcmd_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto)) {
+        return super.equals(obj);
+      }
+      org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto other = (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) obj;
+
+      boolean result = true;
+      result = result && getSubcmdCase().equals(
+          other.getSubcmdCase());
+      if (!result) return false;
+      switch (subcmdCase_) {
+        case 1:
+          result = result && getList()
+              .equals(other.getList());
+          break;
+        case 2:
+          result = result && getGet()
+              .equals(other.getGet());
+          break;
+        case 3:
+          result = result && getSet()
+              .equals(other.getSet());
+          break;
+        case 0:
+        default:
+      }
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      switch (subcmdCase_) {
+        case 1:
+          hash = (37 * hash) + LIST_FIELD_NUMBER;
+          hash = (53 * hash) + getList().hashCode();
+          break;
+        case 2:
+          hash = (37 * hash) + GET_FIELD_NUMBER;
+          hash = (53 * hash) + getGet().hashCode();
+          break;
+        case 3:
+          hash = (37 * hash) + SET_FIELD_NUMBER;
+          hash = (53 * hash) + getSet().hashCode();
+          break;
+        case 0:
+        default:
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code eos.console.QoSProto}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:eos.console.QoSProto)
+        org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProtoOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.class, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.Builder.class);
+      }
+
+      // Construct using org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        subcmdCase_ = 0;
+        subcmd_ = null;
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.cern.eos.cdmi.protobuf.generated.QoSCmd.internal_static_eos_console_QoSProto_descriptor;
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto getDefaultInstanceForType() {
+        return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.getDefaultInstance();
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto build() {
+        org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto buildPartial() {
+        org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto result = new org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto(this);
+        if (subcmdCase_ == 1) {
+          if (listBuilder_ == null) {
+            result.subcmd_ = subcmd_;
+          } else {
+            result.subcmd_ = listBuilder_.build();
+          }
+        }
+        if (subcmdCase_ == 2) {
+          if (getBuilder_ == null) {
+            result.subcmd_ = subcmd_;
+          } else {
+            result.subcmd_ = getBuilder_.build();
+          }
+        }
+        if (subcmdCase_ == 3) {
+          if (setBuilder_ == null) {
+            result.subcmd_ = subcmd_;
+          } else {
+            result.subcmd_ = setBuilder_.build();
+          }
+        }
+        result.subcmdCase_ = subcmdCase_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) {
+          return mergeFrom((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto other) {
+        if (other == org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.getDefaultInstance()) return this;
+        switch (other.getSubcmdCase()) {
+          case LIST: {
+            mergeList(other.getList());
+            break;
+          }
+          case GET: {
+            mergeGet(other.getGet());
+            break;
+          }
+          case SET: {
+            mergeSet(other.getSet());
+            break;
+          }
+          case SUBCMD_NOT_SET: {
+            break;
+          }
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int subcmdCase_ = 0;
+      private java.lang.Object subcmd_;
+      public SubcmdCase
+          getSubcmdCase() {
+        return SubcmdCase.forNumber(
+            subcmdCase_);
+      }
+
+      public Builder clearSubcmd() {
+        subcmdCase_ = 0;
+        subcmd_ = null;
+        onChanged();
+        return this;
+      }
+
+
+      private com.google.protobuf.SingleFieldBuilderV3<
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProtoOrBuilder> listBuilder_;
+      /**
+       * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+       */
+      public boolean hasList() {
+        return subcmdCase_ == 1;
+      }
+      /**
+       * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto getList() {
+        if (listBuilder_ == null) {
+          if (subcmdCase_ == 1) {
+            return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) subcmd_;
+          }
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.getDefaultInstance();
+        } else {
+          if (subcmdCase_ == 1) {
+            return listBuilder_.getMessage();
+          }
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.getDefaultInstance();
+        }
+      }
+      /**
+       * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+       */
+      public Builder setList(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto value) {
+        if (listBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          subcmd_ = value;
+          onChanged();
+        } else {
+          listBuilder_.setMessage(value);
+        }
+        subcmdCase_ = 1;
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+       */
+      public Builder setList(
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.Builder builderForValue) {
+        if (listBuilder_ == null) {
+          subcmd_ = builderForValue.build();
+          onChanged();
+        } else {
+          listBuilder_.setMessage(builderForValue.build());
+        }
+        subcmdCase_ = 1;
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+       */
+      public Builder mergeList(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto value) {
+        if (listBuilder_ == null) {
+          if (subcmdCase_ == 1 &&
+              subcmd_ != org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.getDefaultInstance()) {
+            subcmd_ = org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.newBuilder((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) subcmd_)
+                .mergeFrom(value).buildPartial();
+          } else {
+            subcmd_ = value;
+          }
+          onChanged();
+        } else {
+          if (subcmdCase_ == 1) {
+            listBuilder_.mergeFrom(value);
+          }
+          listBuilder_.setMessage(value);
+        }
+        subcmdCase_ = 1;
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+       */
+      public Builder clearList() {
+        if (listBuilder_ == null) {
+          if (subcmdCase_ == 1) {
+            subcmdCase_ = 0;
+            subcmd_ = null;
+            onChanged();
+          }
+        } else {
+          if (subcmdCase_ == 1) {
+            subcmdCase_ = 0;
+            subcmd_ = null;
+          }
+          listBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.Builder getListBuilder() {
+        return getListFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProtoOrBuilder getListOrBuilder() {
+        if ((subcmdCase_ == 1) && (listBuilder_ != null)) {
+          return listBuilder_.getMessageOrBuilder();
+        } else {
+          if (subcmdCase_ == 1) {
+            return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) subcmd_;
+          }
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.getDefaultInstance();
+        }
+      }
+      /**
+       * <code>.eos.console.QoSProto.ListProto list = 1;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProtoOrBuilder> 
+          getListFieldBuilder() {
+        if (listBuilder_ == null) {
+          if (!(subcmdCase_ == 1)) {
+            subcmd_ = org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.getDefaultInstance();
+          }
+          listBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProtoOrBuilder>(
+                  (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.ListProto) subcmd_,
+                  getParentForChildren(),
+                  isClean());
+          subcmd_ = null;
+        }
+        subcmdCase_ = 1;
+        onChanged();;
+        return listBuilder_;
+      }
+
+      private com.google.protobuf.SingleFieldBuilderV3<
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProtoOrBuilder> getBuilder_;
+      /**
+       * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+       */
+      public boolean hasGet() {
+        return subcmdCase_ == 2;
+      }
+      /**
+       * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto getGet() {
+        if (getBuilder_ == null) {
+          if (subcmdCase_ == 2) {
+            return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) subcmd_;
+          }
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.getDefaultInstance();
+        } else {
+          if (subcmdCase_ == 2) {
+            return getBuilder_.getMessage();
+          }
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.getDefaultInstance();
+        }
+      }
+      /**
+       * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+       */
+      public Builder setGet(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto value) {
+        if (getBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          subcmd_ = value;
+          onChanged();
+        } else {
+          getBuilder_.setMessage(value);
+        }
+        subcmdCase_ = 2;
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+       */
+      public Builder setGet(
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.Builder builderForValue) {
+        if (getBuilder_ == null) {
+          subcmd_ = builderForValue.build();
+          onChanged();
+        } else {
+          getBuilder_.setMessage(builderForValue.build());
+        }
+        subcmdCase_ = 2;
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+       */
+      public Builder mergeGet(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto value) {
+        if (getBuilder_ == null) {
+          if (subcmdCase_ == 2 &&
+              subcmd_ != org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.getDefaultInstance()) {
+            subcmd_ = org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.newBuilder((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) subcmd_)
+                .mergeFrom(value).buildPartial();
+          } else {
+            subcmd_ = value;
+          }
+          onChanged();
+        } else {
+          if (subcmdCase_ == 2) {
+            getBuilder_.mergeFrom(value);
+          }
+          getBuilder_.setMessage(value);
+        }
+        subcmdCase_ = 2;
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+       */
+      public Builder clearGet() {
+        if (getBuilder_ == null) {
+          if (subcmdCase_ == 2) {
+            subcmdCase_ = 0;
+            subcmd_ = null;
+            onChanged();
+          }
+        } else {
+          if (subcmdCase_ == 2) {
+            subcmdCase_ = 0;
+            subcmd_ = null;
+          }
+          getBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.Builder getGetBuilder() {
+        return getGetFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProtoOrBuilder getGetOrBuilder() {
+        if ((subcmdCase_ == 2) && (getBuilder_ != null)) {
+          return getBuilder_.getMessageOrBuilder();
+        } else {
+          if (subcmdCase_ == 2) {
+            return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) subcmd_;
+          }
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.getDefaultInstance();
+        }
+      }
+      /**
+       * <code>.eos.console.QoSProto.GetProto get = 2;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProtoOrBuilder> 
+          getGetFieldBuilder() {
+        if (getBuilder_ == null) {
+          if (!(subcmdCase_ == 2)) {
+            subcmd_ = org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.getDefaultInstance();
+          }
+          getBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProtoOrBuilder>(
+                  (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.GetProto) subcmd_,
+                  getParentForChildren(),
+                  isClean());
+          subcmd_ = null;
+        }
+        subcmdCase_ = 2;
+        onChanged();;
+        return getBuilder_;
+      }
+
+      private com.google.protobuf.SingleFieldBuilderV3<
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProtoOrBuilder> setBuilder_;
+      /**
+       * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+       */
+      public boolean hasSet() {
+        return subcmdCase_ == 3;
+      }
+      /**
+       * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto getSet() {
+        if (setBuilder_ == null) {
+          if (subcmdCase_ == 3) {
+            return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) subcmd_;
+          }
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.getDefaultInstance();
+        } else {
+          if (subcmdCase_ == 3) {
+            return setBuilder_.getMessage();
+          }
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.getDefaultInstance();
+        }
+      }
+      /**
+       * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+       */
+      public Builder setSet(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto value) {
+        if (setBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          subcmd_ = value;
+          onChanged();
+        } else {
+          setBuilder_.setMessage(value);
+        }
+        subcmdCase_ = 3;
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+       */
+      public Builder setSet(
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.Builder builderForValue) {
+        if (setBuilder_ == null) {
+          subcmd_ = builderForValue.build();
+          onChanged();
+        } else {
+          setBuilder_.setMessage(builderForValue.build());
+        }
+        subcmdCase_ = 3;
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+       */
+      public Builder mergeSet(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto value) {
+        if (setBuilder_ == null) {
+          if (subcmdCase_ == 3 &&
+              subcmd_ != org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.getDefaultInstance()) {
+            subcmd_ = org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.newBuilder((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) subcmd_)
+                .mergeFrom(value).buildPartial();
+          } else {
+            subcmd_ = value;
+          }
+          onChanged();
+        } else {
+          if (subcmdCase_ == 3) {
+            setBuilder_.mergeFrom(value);
+          }
+          setBuilder_.setMessage(value);
+        }
+        subcmdCase_ = 3;
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+       */
+      public Builder clearSet() {
+        if (setBuilder_ == null) {
+          if (subcmdCase_ == 3) {
+            subcmdCase_ = 0;
+            subcmd_ = null;
+            onChanged();
+          }
+        } else {
+          if (subcmdCase_ == 3) {
+            subcmdCase_ = 0;
+            subcmd_ = null;
+          }
+          setBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.Builder getSetBuilder() {
+        return getSetFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProtoOrBuilder getSetOrBuilder() {
+        if ((subcmdCase_ == 3) && (setBuilder_ != null)) {
+          return setBuilder_.getMessageOrBuilder();
+        } else {
+          if (subcmdCase_ == 3) {
+            return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) subcmd_;
+          }
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.getDefaultInstance();
+        }
+      }
+      /**
+       * <code>.eos.console.QoSProto.SetProto set = 3;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProtoOrBuilder> 
+          getSetFieldBuilder() {
+        if (setBuilder_ == null) {
+          if (!(subcmdCase_ == 3)) {
+            subcmd_ = org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.getDefaultInstance();
+          }
+          setBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProtoOrBuilder>(
+                  (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.SetProto) subcmd_,
+                  getParentForChildren(),
+                  isClean());
+          subcmd_ = null;
+        }
+        subcmdCase_ = 3;
+        onChanged();;
+        return setBuilder_;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:eos.console.QoSProto)
+    }
+
+    // @@protoc_insertion_point(class_scope:eos.console.QoSProto)
+    private static final org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto();
+    }
+
+    public static org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<QoSProto>
+        PARSER = new com.google.protobuf.AbstractParser<QoSProto>() {
+      public QoSProto parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new QoSProto(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<QoSProto> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<QoSProto> getParserForType() {
+      return PARSER;
+    }
+
+    public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_eos_console_QoSProto_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_eos_console_QoSProto_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_eos_console_QoSProto_IdentifierProto_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_eos_console_QoSProto_IdentifierProto_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_eos_console_QoSProto_ListProto_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_eos_console_QoSProto_ListProto_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_eos_console_QoSProto_GetProto_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_eos_console_QoSProto_GetProto_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_eos_console_QoSProto_SetProto_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_eos_console_QoSProto_SetProto_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\tQoS.proto\022\013eos.console\"\264\003\n\010QoSProto\022/\n" +
+      "\004list\030\001 \001(\0132\037.eos.console.QoSProto.ListP" +
+      "rotoH\000\022-\n\003get\030\002 \001(\0132\036.eos.console.QoSPro" +
+      "to.GetProtoH\000\022-\n\003set\030\003 \001(\0132\036.eos.console" +
+      ".QoSProto.SetProtoH\000\032A\n\017IdentifierProto\022" +
+      "\020\n\006FileId\030\001 \001(\004H\000\022\016\n\004Path\030\002 \001(\tH\000B\014\n\nIde" +
+      "ntifier\032\036\n\tListProto\022\021\n\tclassname\030\001 \001(\t\032" +
+      "R\n\010GetProto\0229\n\nidentifier\030\001 \001(\0132%.eos.co" +
+      "nsole.QoSProto.IdentifierProto\022\013\n\003key\030\002 " +
+      "\003(\t\032X\n\010SetProto\0229\n\nidentifier\030\001 \001(\0132%.eo" +
+      "s.console.QoSProto.IdentifierProto\022\021\n\tcl" +
+      "assname\030\002 \001(\tB\010\n\006subcmdB.\n$org.cern.eos." +
+      "cdmi.protobuf.generatedB\006QoSCmdb\006proto3"
+    };
+    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
+        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
+          public com.google.protobuf.ExtensionRegistry assignDescriptors(
+              com.google.protobuf.Descriptors.FileDescriptor root) {
+            descriptor = root;
+            return null;
+          }
+        };
+    com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+        }, assigner);
+    internal_static_eos_console_QoSProto_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_eos_console_QoSProto_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_eos_console_QoSProto_descriptor,
+        new java.lang.String[] { "List", "Get", "Set", "Subcmd", });
+    internal_static_eos_console_QoSProto_IdentifierProto_descriptor =
+      internal_static_eos_console_QoSProto_descriptor.getNestedTypes().get(0);
+    internal_static_eos_console_QoSProto_IdentifierProto_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_eos_console_QoSProto_IdentifierProto_descriptor,
+        new java.lang.String[] { "FileId", "Path", "Identifier", });
+    internal_static_eos_console_QoSProto_ListProto_descriptor =
+      internal_static_eos_console_QoSProto_descriptor.getNestedTypes().get(1);
+    internal_static_eos_console_QoSProto_ListProto_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_eos_console_QoSProto_ListProto_descriptor,
+        new java.lang.String[] { "Classname", });
+    internal_static_eos_console_QoSProto_GetProto_descriptor =
+      internal_static_eos_console_QoSProto_descriptor.getNestedTypes().get(2);
+    internal_static_eos_console_QoSProto_GetProto_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_eos_console_QoSProto_GetProto_descriptor,
+        new java.lang.String[] { "Identifier", "Key", });
+    internal_static_eos_console_QoSProto_SetProto_descriptor =
+      internal_static_eos_console_QoSProto_descriptor.getNestedTypes().get(3);
+    internal_static_eos_console_QoSProto_SetProto_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_eos_console_QoSProto_SetProto_descriptor,
+        new java.lang.String[] { "Identifier", "Classname", });
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
@@ -0,0 +1,795 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// source: ConsoleReply.proto
+
+package org.cern.eos.cdmi.protobuf.generated;
+
+public final class Reply {
+  private Reply() {}
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistryLite registry) {
+  }
+
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistry registry) {
+    registerAllExtensions(
+        (com.google.protobuf.ExtensionRegistryLite) registry);
+  }
+  public interface ReplyProtoOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:eos.console.ReplyProto)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>string std_out = 1;</code>
+     */
+    java.lang.String getStdOut();
+    /**
+     * <code>string std_out = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getStdOutBytes();
+
+    /**
+     * <code>string std_err = 2;</code>
+     */
+    java.lang.String getStdErr();
+    /**
+     * <code>string std_err = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getStdErrBytes();
+
+    /**
+     * <code>int64 retc = 3;</code>
+     */
+    long getRetc();
+  }
+  /**
+   * <pre>
+   *------------------------------------------------------------------------------
+   * Reply message sent back by the server, e.g. by the gRPC Exec method
+   *------------------------------------------------------------------------------
+   * </pre>
+   *
+   * Protobuf type {@code eos.console.ReplyProto}
+   */
+  public  static final class ReplyProto extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:eos.console.ReplyProto)
+      ReplyProtoOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use ReplyProto.newBuilder() to construct.
+    private ReplyProto(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private ReplyProto() {
+      stdOut_ = "";
+      stdErr_ = "";
+      retc_ = 0L;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private ReplyProto(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              stdOut_ = s;
+              break;
+            }
+            case 18: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              stdErr_ = s;
+              break;
+            }
+            case 24: {
+
+              retc_ = input.readInt64();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.cern.eos.cdmi.protobuf.generated.Reply.internal_static_eos_console_ReplyProto_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.cern.eos.cdmi.protobuf.generated.Reply.internal_static_eos_console_ReplyProto_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto.class, org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto.Builder.class);
+    }
+
+    public static final int STD_OUT_FIELD_NUMBER = 1;
+    private volatile java.lang.Object stdOut_;
+    /**
+     * <code>string std_out = 1;</code>
+     */
+    public java.lang.String getStdOut() {
+      java.lang.Object ref = stdOut_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        stdOut_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string std_out = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getStdOutBytes() {
+      java.lang.Object ref = stdOut_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        stdOut_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int STD_ERR_FIELD_NUMBER = 2;
+    private volatile java.lang.Object stdErr_;
+    /**
+     * <code>string std_err = 2;</code>
+     */
+    public java.lang.String getStdErr() {
+      java.lang.Object ref = stdErr_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        stdErr_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string std_err = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getStdErrBytes() {
+      java.lang.Object ref = stdErr_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        stdErr_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int RETC_FIELD_NUMBER = 3;
+    private long retc_;
+    /**
+     * <code>int64 retc = 3;</code>
+     */
+    public long getRetc() {
+      return retc_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (!getStdOutBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, stdOut_);
+      }
+      if (!getStdErrBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, stdErr_);
+      }
+      if (retc_ != 0L) {
+        output.writeInt64(3, retc_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (!getStdOutBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, stdOut_);
+      }
+      if (!getStdErrBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, stdErr_);
+      }
+      if (retc_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(3, retc_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto)) {
+        return super.equals(obj);
+      }
+      org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto other = (org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto) obj;
+
+      boolean result = true;
+      result = result && getStdOut()
+          .equals(other.getStdOut());
+      result = result && getStdErr()
+          .equals(other.getStdErr());
+      result = result && (getRetc()
+          == other.getRetc());
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + STD_OUT_FIELD_NUMBER;
+      hash = (53 * hash) + getStdOut().hashCode();
+      hash = (37 * hash) + STD_ERR_FIELD_NUMBER;
+      hash = (53 * hash) + getStdErr().hashCode();
+      hash = (37 * hash) + RETC_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getRetc());
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     *------------------------------------------------------------------------------
+     * Reply message sent back by the server, e.g. by the gRPC Exec method
+     *------------------------------------------------------------------------------
+     * </pre>
+     *
+     * Protobuf type {@code eos.console.ReplyProto}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:eos.console.ReplyProto)
+        org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProtoOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.cern.eos.cdmi.protobuf.generated.Reply.internal_static_eos_console_ReplyProto_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.cern.eos.cdmi.protobuf.generated.Reply.internal_static_eos_console_ReplyProto_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto.class, org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto.Builder.class);
+      }
+
+      // Construct using org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        stdOut_ = "";
+
+        stdErr_ = "";
+
+        retc_ = 0L;
+
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.cern.eos.cdmi.protobuf.generated.Reply.internal_static_eos_console_ReplyProto_descriptor;
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto getDefaultInstanceForType() {
+        return org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto.getDefaultInstance();
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto build() {
+        org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto buildPartial() {
+        org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto result = new org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto(this);
+        result.stdOut_ = stdOut_;
+        result.stdErr_ = stdErr_;
+        result.retc_ = retc_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto) {
+          return mergeFrom((org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto other) {
+        if (other == org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto.getDefaultInstance()) return this;
+        if (!other.getStdOut().isEmpty()) {
+          stdOut_ = other.stdOut_;
+          onChanged();
+        }
+        if (!other.getStdErr().isEmpty()) {
+          stdErr_ = other.stdErr_;
+          onChanged();
+        }
+        if (other.getRetc() != 0L) {
+          setRetc(other.getRetc());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private java.lang.Object stdOut_ = "";
+      /**
+       * <code>string std_out = 1;</code>
+       */
+      public java.lang.String getStdOut() {
+        java.lang.Object ref = stdOut_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          stdOut_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string std_out = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getStdOutBytes() {
+        java.lang.Object ref = stdOut_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          stdOut_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string std_out = 1;</code>
+       */
+      public Builder setStdOut(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        stdOut_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string std_out = 1;</code>
+       */
+      public Builder clearStdOut() {
+        
+        stdOut_ = getDefaultInstance().getStdOut();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string std_out = 1;</code>
+       */
+      public Builder setStdOutBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        stdOut_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object stdErr_ = "";
+      /**
+       * <code>string std_err = 2;</code>
+       */
+      public java.lang.String getStdErr() {
+        java.lang.Object ref = stdErr_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          stdErr_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string std_err = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getStdErrBytes() {
+        java.lang.Object ref = stdErr_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          stdErr_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string std_err = 2;</code>
+       */
+      public Builder setStdErr(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        stdErr_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string std_err = 2;</code>
+       */
+      public Builder clearStdErr() {
+        
+        stdErr_ = getDefaultInstance().getStdErr();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string std_err = 2;</code>
+       */
+      public Builder setStdErrBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        stdErr_ = value;
+        onChanged();
+        return this;
+      }
+
+      private long retc_ ;
+      /**
+       * <code>int64 retc = 3;</code>
+       */
+      public long getRetc() {
+        return retc_;
+      }
+      /**
+       * <code>int64 retc = 3;</code>
+       */
+      public Builder setRetc(long value) {
+        
+        retc_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int64 retc = 3;</code>
+       */
+      public Builder clearRetc() {
+        
+        retc_ = 0L;
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:eos.console.ReplyProto)
+    }
+
+    // @@protoc_insertion_point(class_scope:eos.console.ReplyProto)
+    private static final org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto();
+    }
+
+    public static org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<ReplyProto>
+        PARSER = new com.google.protobuf.AbstractParser<ReplyProto>() {
+      public ReplyProto parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new ReplyProto(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<ReplyProto> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ReplyProto> getParserForType() {
+      return PARSER;
+    }
+
+    public org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_eos_console_ReplyProto_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_eos_console_ReplyProto_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\022ConsoleReply.proto\022\013eos.console\"<\n\nRep" +
+      "lyProto\022\017\n\007std_out\030\001 \001(\t\022\017\n\007std_err\030\002 \001(" +
+      "\t\022\014\n\004retc\030\003 \001(\003B-\n$org.cern.eos.cdmi.pro" +
+      "tobuf.generatedB\005Replyb\006proto3"
+    };
+    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
+        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
+          public com.google.protobuf.ExtensionRegistry assignDescriptors(
+              com.google.protobuf.Descriptors.FileDescriptor root) {
+            descriptor = root;
+            return null;
+          }
+        };
+    com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+        }, assigner);
+    internal_static_eos_console_ReplyProto_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_eos_console_ReplyProto_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_eos_console_ReplyProto_descriptor,
+        new java.lang.String[] { "StdOut", "StdErr", "Retc", });
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
@@ -0,0 +1,1183 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// source: ConsoleRequest.proto
+
+package org.cern.eos.cdmi.protobuf.generated;
+
+public final class Request {
+  private Request() {}
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistryLite registry) {
+  }
+
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistry registry) {
+    registerAllExtensions(
+        (com.google.protobuf.ExtensionRegistryLite) registry);
+  }
+  public interface RequestProtoOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:eos.console.RequestProto)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>.eos.console.RequestProto.FormatType format = 1;</code>
+     */
+    int getFormatValue();
+    /**
+     * <code>.eos.console.RequestProto.FormatType format = 1;</code>
+     */
+    org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.FormatType getFormat();
+
+    /**
+     * <code>.eos.console.QoSProto qos = 21;</code>
+     */
+    boolean hasQos();
+    /**
+     * <code>.eos.console.QoSProto qos = 21;</code>
+     */
+    org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto getQos();
+    /**
+     * <code>.eos.console.QoSProto qos = 21;</code>
+     */
+    org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProtoOrBuilder getQosOrBuilder();
+
+    /**
+     * <code>string Comment = 30;</code>
+     */
+    java.lang.String getComment();
+    /**
+     * <code>string Comment = 30;</code>
+     */
+    com.google.protobuf.ByteString
+        getCommentBytes();
+
+    /**
+     * <pre>
+     * True if the output fd is not a tty.
+     * </pre>
+     *
+     * <code>bool DontColor = 31;</code>
+     */
+    boolean getDontColor();
+
+    public org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.CommandCase getCommandCase();
+  }
+  /**
+   * <pre>
+   *------------------------------------------------------------------------------
+   * Request message sent to the server
+   *------------------------------------------------------------------------------
+   * </pre>
+   *
+   * Protobuf type {@code eos.console.RequestProto}
+   */
+  public  static final class RequestProto extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:eos.console.RequestProto)
+      RequestProtoOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use RequestProto.newBuilder() to construct.
+    private RequestProto(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private RequestProto() {
+      format_ = 0;
+      comment_ = "";
+      dontColor_ = false;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private RequestProto(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownFieldProto3(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              int rawValue = input.readEnum();
+
+              format_ = rawValue;
+              break;
+            }
+            case 170: {
+              org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.Builder subBuilder = null;
+              if (commandCase_ == 21) {
+                subBuilder = ((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) command_).toBuilder();
+              }
+              command_ =
+                  input.readMessage(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) command_);
+                command_ = subBuilder.buildPartial();
+              }
+              commandCase_ = 21;
+              break;
+            }
+            case 242: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              comment_ = s;
+              break;
+            }
+            case 248: {
+
+              dontColor_ = input.readBool();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.cern.eos.cdmi.protobuf.generated.Request.internal_static_eos_console_RequestProto_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.cern.eos.cdmi.protobuf.generated.Request.internal_static_eos_console_RequestProto_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.class, org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.Builder.class);
+    }
+
+    /**
+     * <pre>
+     * Types of output format supported
+     * </pre>
+     *
+     * Protobuf enum {@code eos.console.RequestProto.FormatType}
+     */
+    public enum FormatType
+        implements com.google.protobuf.ProtocolMessageEnum {
+      /**
+       * <code>DEFAULT = 0;</code>
+       */
+      DEFAULT(0),
+      /**
+       * <code>JSON = 1;</code>
+       */
+      JSON(1),
+      /**
+       * <code>HTTP = 2;</code>
+       */
+      HTTP(2),
+      /**
+       * <code>FUSE = 3;</code>
+       */
+      FUSE(3),
+      UNRECOGNIZED(-1),
+      ;
+
+      /**
+       * <code>DEFAULT = 0;</code>
+       */
+      public static final int DEFAULT_VALUE = 0;
+      /**
+       * <code>JSON = 1;</code>
+       */
+      public static final int JSON_VALUE = 1;
+      /**
+       * <code>HTTP = 2;</code>
+       */
+      public static final int HTTP_VALUE = 2;
+      /**
+       * <code>FUSE = 3;</code>
+       */
+      public static final int FUSE_VALUE = 3;
+
+
+      public final int getNumber() {
+        if (this == UNRECOGNIZED) {
+          throw new java.lang.IllegalArgumentException(
+              "Can't get the number of an unknown enum value.");
+        }
+        return value;
+      }
+
+      /**
+       * @deprecated Use {@link #forNumber(int)} instead.
+       */
+      @java.lang.Deprecated
+      public static FormatType valueOf(int value) {
+        return forNumber(value);
+      }
+
+      public static FormatType forNumber(int value) {
+        switch (value) {
+          case 0: return DEFAULT;
+          case 1: return JSON;
+          case 2: return HTTP;
+          case 3: return FUSE;
+          default: return null;
+        }
+      }
+
+      public static com.google.protobuf.Internal.EnumLiteMap<FormatType>
+          internalGetValueMap() {
+        return internalValueMap;
+      }
+      private static final com.google.protobuf.Internal.EnumLiteMap<
+          FormatType> internalValueMap =
+            new com.google.protobuf.Internal.EnumLiteMap<FormatType>() {
+              public FormatType findValueByNumber(int number) {
+                return FormatType.forNumber(number);
+              }
+            };
+
+      public final com.google.protobuf.Descriptors.EnumValueDescriptor
+          getValueDescriptor() {
+        return getDescriptor().getValues().get(ordinal());
+      }
+      public final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptorForType() {
+        return getDescriptor();
+      }
+      public static final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptor() {
+        return org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.getDescriptor().getEnumTypes().get(0);
+      }
+
+      private static final FormatType[] VALUES = values();
+
+      public static FormatType valueOf(
+          com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+        if (desc.getType() != getDescriptor()) {
+          throw new java.lang.IllegalArgumentException(
+            "EnumValueDescriptor is not for this type.");
+        }
+        if (desc.getIndex() == -1) {
+          return UNRECOGNIZED;
+        }
+        return VALUES[desc.getIndex()];
+      }
+
+      private final int value;
+
+      private FormatType(int value) {
+        this.value = value;
+      }
+
+      // @@protoc_insertion_point(enum_scope:eos.console.RequestProto.FormatType)
+    }
+
+    private int commandCase_ = 0;
+    private java.lang.Object command_;
+    public enum CommandCase
+        implements com.google.protobuf.Internal.EnumLite {
+      QOS(21),
+      COMMAND_NOT_SET(0);
+      private final int value;
+      private CommandCase(int value) {
+        this.value = value;
+      }
+      /**
+       * @deprecated Use {@link #forNumber(int)} instead.
+       */
+      @java.lang.Deprecated
+      public static CommandCase valueOf(int value) {
+        return forNumber(value);
+      }
+
+      public static CommandCase forNumber(int value) {
+        switch (value) {
+          case 21: return QOS;
+          case 0: return COMMAND_NOT_SET;
+          default: return null;
+        }
+      }
+      public int getNumber() {
+        return this.value;
+      }
+    };
+
+    public CommandCase
+    getCommandCase() {
+      return CommandCase.forNumber(
+          commandCase_);
+    }
+
+    public static final int FORMAT_FIELD_NUMBER = 1;
+    private int format_;
+    /**
+     * <code>.eos.console.RequestProto.FormatType format = 1;</code>
+     */
+    public int getFormatValue() {
+      return format_;
+    }
+    /**
+     * <code>.eos.console.RequestProto.FormatType format = 1;</code>
+     */
+    public org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.FormatType getFormat() {
+      org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.FormatType result = org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.FormatType.valueOf(format_);
+      return result == null ? org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.FormatType.UNRECOGNIZED : result;
+    }
+
+    public static final int QOS_FIELD_NUMBER = 21;
+    /**
+     * <code>.eos.console.QoSProto qos = 21;</code>
+     */
+    public boolean hasQos() {
+      return commandCase_ == 21;
+    }
+    /**
+     * <code>.eos.console.QoSProto qos = 21;</code>
+     */
+    public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto getQos() {
+      if (commandCase_ == 21) {
+         return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) command_;
+      }
+      return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.getDefaultInstance();
+    }
+    /**
+     * <code>.eos.console.QoSProto qos = 21;</code>
+     */
+    public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProtoOrBuilder getQosOrBuilder() {
+      if (commandCase_ == 21) {
+         return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) command_;
+      }
+      return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.getDefaultInstance();
+    }
+
+    public static final int COMMENT_FIELD_NUMBER = 30;
+    private volatile java.lang.Object comment_;
+    /**
+     * <code>string Comment = 30;</code>
+     */
+    public java.lang.String getComment() {
+      java.lang.Object ref = comment_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        comment_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string Comment = 30;</code>
+     */
+    public com.google.protobuf.ByteString
+        getCommentBytes() {
+      java.lang.Object ref = comment_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        comment_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int DONTCOLOR_FIELD_NUMBER = 31;
+    private boolean dontColor_;
+    /**
+     * <pre>
+     * True if the output fd is not a tty.
+     * </pre>
+     *
+     * <code>bool DontColor = 31;</code>
+     */
+    public boolean getDontColor() {
+      return dontColor_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (format_ != org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.FormatType.DEFAULT.getNumber()) {
+        output.writeEnum(1, format_);
+      }
+      if (commandCase_ == 21) {
+        output.writeMessage(21, (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) command_);
+      }
+      if (!getCommentBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 30, comment_);
+      }
+      if (dontColor_ != false) {
+        output.writeBool(31, dontColor_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (format_ != org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.FormatType.DEFAULT.getNumber()) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(1, format_);
+      }
+      if (commandCase_ == 21) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(21, (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) command_);
+      }
+      if (!getCommentBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(30, comment_);
+      }
+      if (dontColor_ != false) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(31, dontColor_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.cern.eos.cdmi.protobuf.generated.Request.RequestProto)) {
+        return super.equals(obj);
+      }
+      org.cern.eos.cdmi.protobuf.generated.Request.RequestProto other = (org.cern.eos.cdmi.protobuf.generated.Request.RequestProto) obj;
+
+      boolean result = true;
+      result = result && format_ == other.format_;
+      result = result && getComment()
+          .equals(other.getComment());
+      result = result && (getDontColor()
+          == other.getDontColor());
+      result = result && getCommandCase().equals(
+          other.getCommandCase());
+      if (!result) return false;
+      switch (commandCase_) {
+        case 21:
+          result = result && getQos()
+              .equals(other.getQos());
+          break;
+        case 0:
+        default:
+      }
+      result = result && unknownFields.equals(other.unknownFields);
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + FORMAT_FIELD_NUMBER;
+      hash = (53 * hash) + format_;
+      hash = (37 * hash) + COMMENT_FIELD_NUMBER;
+      hash = (53 * hash) + getComment().hashCode();
+      hash = (37 * hash) + DONTCOLOR_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+          getDontColor());
+      switch (commandCase_) {
+        case 21:
+          hash = (37 * hash) + QOS_FIELD_NUMBER;
+          hash = (53 * hash) + getQos().hashCode();
+          break;
+        case 0:
+        default:
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(org.cern.eos.cdmi.protobuf.generated.Request.RequestProto prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     *------------------------------------------------------------------------------
+     * Request message sent to the server
+     *------------------------------------------------------------------------------
+     * </pre>
+     *
+     * Protobuf type {@code eos.console.RequestProto}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:eos.console.RequestProto)
+        org.cern.eos.cdmi.protobuf.generated.Request.RequestProtoOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.cern.eos.cdmi.protobuf.generated.Request.internal_static_eos_console_RequestProto_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.cern.eos.cdmi.protobuf.generated.Request.internal_static_eos_console_RequestProto_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.class, org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.Builder.class);
+      }
+
+      // Construct using org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        format_ = 0;
+
+        comment_ = "";
+
+        dontColor_ = false;
+
+        commandCase_ = 0;
+        command_ = null;
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.cern.eos.cdmi.protobuf.generated.Request.internal_static_eos_console_RequestProto_descriptor;
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.Request.RequestProto getDefaultInstanceForType() {
+        return org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.getDefaultInstance();
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.Request.RequestProto build() {
+        org.cern.eos.cdmi.protobuf.generated.Request.RequestProto result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.cern.eos.cdmi.protobuf.generated.Request.RequestProto buildPartial() {
+        org.cern.eos.cdmi.protobuf.generated.Request.RequestProto result = new org.cern.eos.cdmi.protobuf.generated.Request.RequestProto(this);
+        result.format_ = format_;
+        if (commandCase_ == 21) {
+          if (qosBuilder_ == null) {
+            result.command_ = command_;
+          } else {
+            result.command_ = qosBuilder_.build();
+          }
+        }
+        result.comment_ = comment_;
+        result.dontColor_ = dontColor_;
+        result.commandCase_ = commandCase_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.cern.eos.cdmi.protobuf.generated.Request.RequestProto) {
+          return mergeFrom((org.cern.eos.cdmi.protobuf.generated.Request.RequestProto)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.cern.eos.cdmi.protobuf.generated.Request.RequestProto other) {
+        if (other == org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.getDefaultInstance()) return this;
+        if (other.format_ != 0) {
+          setFormatValue(other.getFormatValue());
+        }
+        if (!other.getComment().isEmpty()) {
+          comment_ = other.comment_;
+          onChanged();
+        }
+        if (other.getDontColor() != false) {
+          setDontColor(other.getDontColor());
+        }
+        switch (other.getCommandCase()) {
+          case QOS: {
+            mergeQos(other.getQos());
+            break;
+          }
+          case COMMAND_NOT_SET: {
+            break;
+          }
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.cern.eos.cdmi.protobuf.generated.Request.RequestProto parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.cern.eos.cdmi.protobuf.generated.Request.RequestProto) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int commandCase_ = 0;
+      private java.lang.Object command_;
+      public CommandCase
+          getCommandCase() {
+        return CommandCase.forNumber(
+            commandCase_);
+      }
+
+      public Builder clearCommand() {
+        commandCase_ = 0;
+        command_ = null;
+        onChanged();
+        return this;
+      }
+
+
+      private int format_ = 0;
+      /**
+       * <code>.eos.console.RequestProto.FormatType format = 1;</code>
+       */
+      public int getFormatValue() {
+        return format_;
+      }
+      /**
+       * <code>.eos.console.RequestProto.FormatType format = 1;</code>
+       */
+      public Builder setFormatValue(int value) {
+        format_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>.eos.console.RequestProto.FormatType format = 1;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.FormatType getFormat() {
+        org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.FormatType result = org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.FormatType.valueOf(format_);
+        return result == null ? org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.FormatType.UNRECOGNIZED : result;
+      }
+      /**
+       * <code>.eos.console.RequestProto.FormatType format = 1;</code>
+       */
+      public Builder setFormat(org.cern.eos.cdmi.protobuf.generated.Request.RequestProto.FormatType value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        
+        format_ = value.getNumber();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>.eos.console.RequestProto.FormatType format = 1;</code>
+       */
+      public Builder clearFormat() {
+        
+        format_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.SingleFieldBuilderV3<
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProtoOrBuilder> qosBuilder_;
+      /**
+       * <code>.eos.console.QoSProto qos = 21;</code>
+       */
+      public boolean hasQos() {
+        return commandCase_ == 21;
+      }
+      /**
+       * <code>.eos.console.QoSProto qos = 21;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto getQos() {
+        if (qosBuilder_ == null) {
+          if (commandCase_ == 21) {
+            return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) command_;
+          }
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.getDefaultInstance();
+        } else {
+          if (commandCase_ == 21) {
+            return qosBuilder_.getMessage();
+          }
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.getDefaultInstance();
+        }
+      }
+      /**
+       * <code>.eos.console.QoSProto qos = 21;</code>
+       */
+      public Builder setQos(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto value) {
+        if (qosBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          command_ = value;
+          onChanged();
+        } else {
+          qosBuilder_.setMessage(value);
+        }
+        commandCase_ = 21;
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto qos = 21;</code>
+       */
+      public Builder setQos(
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.Builder builderForValue) {
+        if (qosBuilder_ == null) {
+          command_ = builderForValue.build();
+          onChanged();
+        } else {
+          qosBuilder_.setMessage(builderForValue.build());
+        }
+        commandCase_ = 21;
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto qos = 21;</code>
+       */
+      public Builder mergeQos(org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto value) {
+        if (qosBuilder_ == null) {
+          if (commandCase_ == 21 &&
+              command_ != org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.getDefaultInstance()) {
+            command_ = org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.newBuilder((org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) command_)
+                .mergeFrom(value).buildPartial();
+          } else {
+            command_ = value;
+          }
+          onChanged();
+        } else {
+          if (commandCase_ == 21) {
+            qosBuilder_.mergeFrom(value);
+          }
+          qosBuilder_.setMessage(value);
+        }
+        commandCase_ = 21;
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto qos = 21;</code>
+       */
+      public Builder clearQos() {
+        if (qosBuilder_ == null) {
+          if (commandCase_ == 21) {
+            commandCase_ = 0;
+            command_ = null;
+            onChanged();
+          }
+        } else {
+          if (commandCase_ == 21) {
+            commandCase_ = 0;
+            command_ = null;
+          }
+          qosBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>.eos.console.QoSProto qos = 21;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.Builder getQosBuilder() {
+        return getQosFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>.eos.console.QoSProto qos = 21;</code>
+       */
+      public org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProtoOrBuilder getQosOrBuilder() {
+        if ((commandCase_ == 21) && (qosBuilder_ != null)) {
+          return qosBuilder_.getMessageOrBuilder();
+        } else {
+          if (commandCase_ == 21) {
+            return (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) command_;
+          }
+          return org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.getDefaultInstance();
+        }
+      }
+      /**
+       * <code>.eos.console.QoSProto qos = 21;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProtoOrBuilder> 
+          getQosFieldBuilder() {
+        if (qosBuilder_ == null) {
+          if (!(commandCase_ == 21)) {
+            command_ = org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.getDefaultInstance();
+          }
+          qosBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto.Builder, org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProtoOrBuilder>(
+                  (org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto) command_,
+                  getParentForChildren(),
+                  isClean());
+          command_ = null;
+        }
+        commandCase_ = 21;
+        onChanged();;
+        return qosBuilder_;
+      }
+
+      private java.lang.Object comment_ = "";
+      /**
+       * <code>string Comment = 30;</code>
+       */
+      public java.lang.String getComment() {
+        java.lang.Object ref = comment_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          comment_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string Comment = 30;</code>
+       */
+      public com.google.protobuf.ByteString
+          getCommentBytes() {
+        java.lang.Object ref = comment_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          comment_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string Comment = 30;</code>
+       */
+      public Builder setComment(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        comment_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string Comment = 30;</code>
+       */
+      public Builder clearComment() {
+        
+        comment_ = getDefaultInstance().getComment();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string Comment = 30;</code>
+       */
+      public Builder setCommentBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        comment_ = value;
+        onChanged();
+        return this;
+      }
+
+      private boolean dontColor_ ;
+      /**
+       * <pre>
+       * True if the output fd is not a tty.
+       * </pre>
+       *
+       * <code>bool DontColor = 31;</code>
+       */
+      public boolean getDontColor() {
+        return dontColor_;
+      }
+      /**
+       * <pre>
+       * True if the output fd is not a tty.
+       * </pre>
+       *
+       * <code>bool DontColor = 31;</code>
+       */
+      public Builder setDontColor(boolean value) {
+        
+        dontColor_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * True if the output fd is not a tty.
+       * </pre>
+       *
+       * <code>bool DontColor = 31;</code>
+       */
+      public Builder clearDontColor() {
+        
+        dontColor_ = false;
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFieldsProto3(unknownFields);
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:eos.console.RequestProto)
+    }
+
+    // @@protoc_insertion_point(class_scope:eos.console.RequestProto)
+    private static final org.cern.eos.cdmi.protobuf.generated.Request.RequestProto DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new org.cern.eos.cdmi.protobuf.generated.Request.RequestProto();
+    }
+
+    public static org.cern.eos.cdmi.protobuf.generated.Request.RequestProto getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<RequestProto>
+        PARSER = new com.google.protobuf.AbstractParser<RequestProto>() {
+      public RequestProto parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new RequestProto(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<RequestProto> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<RequestProto> getParserForType() {
+      return PARSER;
+    }
+
+    public org.cern.eos.cdmi.protobuf.generated.Request.RequestProto getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_eos_console_RequestProto_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_eos_console_RequestProto_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\024ConsoleRequest.proto\022\013eos.console\032\tQoS" +
+      ".proto\"\322\001\n\014RequestProto\0224\n\006format\030\001 \001(\0162" +
+      "$.eos.console.RequestProto.FormatType\022$\n" +
+      "\003qos\030\025 \001(\0132\025.eos.console.QoSProtoH\000\022\017\n\007C" +
+      "omment\030\036 \001(\t\022\021\n\tDontColor\030\037 \001(\010\"7\n\nForma" +
+      "tType\022\013\n\007DEFAULT\020\000\022\010\n\004JSON\020\001\022\010\n\004HTTP\020\002\022\010" +
+      "\n\004FUSE\020\003B\t\n\007commandB/\n$org.cern.eos.cdmi" +
+      ".protobuf.generatedB\007Requestb\006proto3"
+    };
+    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
+        new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
+          public com.google.protobuf.ExtensionRegistry assignDescriptors(
+              com.google.protobuf.Descriptors.FileDescriptor root) {
+            descriptor = root;
+            return null;
+          }
+        };
+    com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+          org.cern.eos.cdmi.protobuf.generated.QoSCmd.getDescriptor(),
+        }, assigner);
+    internal_static_eos_console_RequestProto_descriptor =
+      getDescriptor().getMessageTypes().get(0);
+    internal_static_eos_console_RequestProto_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_eos_console_RequestProto_descriptor,
+        new java.lang.String[] { "Format", "Qos", "Comment", "DontColor", "Command", });
+    org.cern.eos.cdmi.protobuf.generated.QoSCmd.getDescriptor();
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
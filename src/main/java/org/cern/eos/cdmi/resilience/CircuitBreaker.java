@@ -0,0 +1,171 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consecutive-failure circuit breaker.
+ * <p>
+ * After the configured number of consecutive transient failures the circuit
+ * opens and requests fail fast. Once the open period elapses, a single probe
+ * request is let through: its success closes the circuit, its failure opens it again.
+ */
+public class CircuitBreaker {
+
+  public enum State { CLOSED, OPEN, HALF_OPEN }
+
+  private static final Logger LOG = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private final AtomicBoolean probing = new AtomicBoolean();
+  private final AtomicLong opened = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private volatile State state = State.CLOSED;
+  private volatile long openedAt;
+  private volatile int failureThreshold;
+  private volatile long openMillis;
+
+  /**
+   * Create a circuit breaker.
+   *
+   * @param failureThreshold consecutive failures opening the circuit, 0 disables the breaker
+   * @param openMillis       milliseconds the circuit stays open before a probe is allowed
+   */
+  public CircuitBreaker(int failureThreshold, long openMillis) {
+    configure(failureThreshold, openMillis);
+  }
+
+  /**
+   * Update the breaker thresholds.
+   */
+  public synchronized void configure(int failureThreshold, long openMillis) {
+    this.failureThreshold = failureThreshold;
+    this.openMillis = openMillis;
+
+    if (failureThreshold <= 0) {
+      close();
+    }
+  }
+
+  /**
+   * Returns true if a request may proceed. Every allowed request must be
+   * followed by a call to {@link #onSuccess()} or {@link #onFailure()}.
+   */
+  public boolean allow() {
+    if (failureThreshold <= 0 || state == State.CLOSED) {
+      return true;
+    }
+
+    synchronized (this) {
+      if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+        LOG.info("Circuit half-open, probing MGM");
+        state = State.HALF_OPEN;
+      }
+    }
+
+    State current = state;
+
+    if (current == State.CLOSED
+        || (current == State.HALF_OPEN && probing.compareAndSet(false, true))) {
+      return true;
+    }
+
+    rejected.incrementAndGet();
+    return false;
+  }
+
+  /**
+   * Record a request which reached a healthy MGM.
+   */
+  public void onSuccess() {
+    if (consecutiveFailures.get() != 0) {
+      consecutiveFailures.set(0);
+    }
+
+    if (state != State.CLOSED) {
+      synchronized (this) {
+        close();
+      }
+    }
+  }
+
+  /**
+   * Record a transient failure.
+   */
+  public void onFailure() {
+    int failures = consecutiveFailures.incrementAndGet();
+    int threshold = failureThreshold;
+
+    if (threshold <= 0) {
+      return;
+    }
+
+    if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= threshold)) {
+      synchronized (this) {
+        if (state != State.OPEN) {
+          LOG.warn("Circuit opened after {} consecutive failures [open={}ms]",
+              failures, openMillis);
+          state = State.OPEN;
+          openedAt = System.currentTimeMillis();
+          opened.incrementAndGet();
+          probing.set(false);
+        }
+      }
+    }
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * Returns the number of times the circuit opened.
+   */
+  public long getOpened() {
+    return opened.get();
+  }
+
+  /**
+   * Returns the number of requests rejected while the circuit was not closed.
+   */
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  private void close() {
+    if (state != State.CLOSED) {
+      LOG.info("Circuit closed");
+    }
+
+    state = State.CLOSED;
+    consecutiveFailures.set(0);
+    probing.set(false);
+  }
+}
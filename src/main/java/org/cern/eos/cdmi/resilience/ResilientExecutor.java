@@ -0,0 +1,687 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.resilience;
+
+import org.cern.eos.cdmi.metrics.LatencyHistogram;
+import org.cern.eos.cdmi.metrics.Metrics;
+import org.cern.eos.cdmi.util.CommandType;
+import org.cern.eos.cdmi.util.NamedThreadFactory;
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.indigo.cdmi.BackEndException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Executes MGM commands with deadlines, retries, hedging and a circuit breaker.
+ * <ul>
+ *   <li>Each command kind has a deadline bounding all its attempts and backoffs.
+ *   An attempt still running at the deadline is aborted.</li>
+ *   <li>Idempotent commands failing with a {@link TransientBackEndException}
+ *   are retried with jittered exponential backoff.</li>
+ *   <li>Idempotent commands still running after the configured latency percentile
+ *   of their kind get a duplicate (hedged) attempt. The first success wins
+ *   and the other attempt is aborted.</li>
+ *   <li>Consecutive transient failures open a {@link CircuitBreaker}, after which
+ *   commands fail fast until a probe succeeds.</li>
+ * </ul>
+ */
+public class ResilientExecutor implements ResilientExecutorMXBean {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ResilientExecutor.class);
+  private static final long HEDGE_DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  /**
+   * A single attempt at executing a command.
+   */
+  public interface Attempt<T> {
+    T call() throws BackEndException;
+
+    /**
+     * Abort the attempt, making a running {@link #call()} fail promptly.
+     */
+    void abort();
+  }
+
+  /**
+   * Creates a fresh attempt for each try of a command.
+   */
+  public interface AttemptFactory<T> {
+    Attempt<T> newAttempt();
+  }
+
+  /**
+   * Starts a non-blocking attempt at a command. Cancelling the returned future
+   * must abort the attempt.
+   */
+  public interface AsyncAttemptFactory<T> {
+    CompletableFuture<T> startAttempt();
+  }
+
+  private final CircuitBreaker breaker = new CircuitBreaker(0, 0);
+  private final ScheduledExecutorService timer =
+      Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("eos-resilience-timer"));
+  private final ThreadPoolExecutor hedgeExecutor = new ThreadPoolExecutor(0, 16,
+      60, TimeUnit.SECONDS, new SynchronousQueue<>(), new NamedThreadFactory("eos-hedge"));
+  private final int commandTypes = CommandType.values().length;
+  private final AtomicLongArray hedgeDelays = new AtomicLongArray(commandTypes);
+  private final AtomicLongArray hedgeDelaysComputedAt = new AtomicLongArray(commandTypes);
+
+  private final AtomicLong calls = new AtomicLong();
+  private final AtomicLong retries = new AtomicLong();
+  private final AtomicLong hedges = new AtomicLong();
+  private final AtomicLong hedgeWins = new AtomicLong();
+  private final AtomicLong hedgesSkipped = new AtomicLong();
+  private final AtomicLong deadlinesExceeded = new AtomicLong();
+
+  private volatile Settings settings = new Settings(null);
+
+  /**
+   * Apply the resilience settings of the given configuration.
+   *
+   * @param config the plugin configuration, or null for defaults
+   */
+  public synchronized void configure(PluginConfig config) {
+    Settings newSettings = new Settings(config);
+    settings = newSettings;
+    breaker.configure(newSettings.breakerFailures, newSettings.breakerOpenMillis);
+    hedgeExecutor.setMaximumPoolSize(Math.max(1, newSettings.hedgeMaxConcurrent));
+
+    for (int i = 0; i < commandTypes; i++) {
+      hedgeDelaysComputedAt.set(i, 0);
+    }
+
+    LOG.info("Configured MGM command resilience: {}", newSettings);
+  }
+
+  /**
+   * Execute a command, retrying and hedging its attempts as configured.
+   *
+   * @param type    the command type
+   * @param factory the factory of command attempts
+   * @return the command result
+   */
+  public <T> T execute(CommandType type, AttemptFactory<T> factory) throws BackEndException {
+    Settings s = settings;
+    long deadlineMillis = s.deadline(type);
+    long deadline = (deadlineMillis > 0) ? System.nanoTime() + millisToNanos(deadlineMillis) : 0;
+    calls.incrementAndGet();
+
+    for (int attempt = 0; ; attempt++) {
+      if (!breaker.allow()) {
+        throw new TransientBackEndException(
+            String.format("MGM unavailable, failing fast %s [circuit=%s]",
+                type.getLabel(), breaker.getState()));
+      }
+
+      try {
+        T result = race(type, factory, deadline, s);
+        breaker.onSuccess();
+        return result;
+      } catch (TransientBackEndException e) {
+        breaker.onFailure();
+
+        if (!type.isIdempotent() || attempt >= s.maxRetries) {
+          throw e;
+        }
+
+        long backoff = backoff(attempt, s);
+
+        if (deadline != 0 && System.nanoTime() + millisToNanos(backoff) >= deadline) {
+          throw e;
+        }
+
+        retries.incrementAndGet();
+        LOG.warn("Retrying {} in {}ms [attempt={}] -- {}",
+            type.getLabel(), backoff, attempt + 1, e.getMessage());
+        sleep(backoff);
+      } catch (BackEndException e) {
+        // The MGM answered, the error is about the command itself
+        breaker.onSuccess();
+        throw e;
+      } catch (RuntimeException e) {
+        breaker.onFailure();
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Execute a command without blocking, with the same deadline, retry, hedging
+   * and circuit breaker policies as {@link #execute(CommandType, AttemptFactory)}.
+   * Cancelling the returned future aborts the running attempts.
+   *
+   * @param type    the command type
+   * @param factory the starter of command attempts
+   * @return the future command result
+   */
+  public <T> CompletableFuture<T> executeAsync(CommandType type, AsyncAttemptFactory<T> factory) {
+    Settings s = settings;
+    calls.incrementAndGet();
+    AsyncCall<T> call = new AsyncCall<>(type, factory, s);
+    long deadlineMillis = s.deadline(type);
+
+    if (deadlineMillis > 0) {
+      call.deadline = System.nanoTime() + millisToNanos(deadlineMillis);
+      call.schedule(timer.schedule(() -> {
+        if (call.result.completeExceptionally(deadlineExceeded(type))) {
+          call.cancelRunning();
+        }
+      }, deadlineMillis, TimeUnit.MILLISECONDS));
+    }
+
+    call.launch(false);
+    return call.result;
+  }
+
+  /**
+   * Run one attempt, hedged by a second attempt if it is slow, within the deadline.
+   */
+  private <T> T race(CommandType type, AttemptFactory<T> factory, long deadline, Settings s)
+      throws BackEndException {
+    long hedgeDelay = (s.hedging && type.isIdempotent()) ? hedgeDelay(type, s) : -1;
+
+    if (deadline == 0 && hedgeDelay < 0) {
+      return factory.newAttempt().call();
+    }
+
+    long remaining = (deadline != 0) ? deadline - System.nanoTime() : 0;
+
+    if (deadline != 0 && remaining <= 0) {
+      throw deadlineExceeded(type);
+    }
+
+    Race<T> race = new Race<>(factory.newAttempt());
+    ScheduledFuture<?> deadlineTask = (deadline != 0)
+        ? timer.schedule(race::expire, remaining, TimeUnit.NANOSECONDS) : null;
+    ScheduledFuture<?> hedgeTask = (hedgeDelay >= 0)
+        ? timer.schedule(() -> hedge(race, factory, type), hedgeDelay, TimeUnit.MILLISECONDS)
+        : null;
+
+    try {
+      return race.run(deadline);
+    } catch (TimeoutException e) {
+      throw deadlineExceeded(type);
+    } finally {
+      if (deadlineTask != null) {
+        deadlineTask.cancel(false);
+      }
+
+      if (hedgeTask != null) {
+        hedgeTask.cancel(false);
+      }
+    }
+  }
+
+  /**
+   * Launch the hedged attempt of a race, unless it is already decided.
+   */
+  private <T> void hedge(Race<T> race, AttemptFactory<T> factory, CommandType type) {
+    Attempt<T> attempt = race.startHedge(factory);
+
+    if (attempt == null) {
+      return;
+    }
+
+    // Counted before the hedge may win, so that counters are up to date once the call returns
+    hedges.incrementAndGet();
+
+    try {
+      hedgeExecutor.execute(() -> {
+        try {
+          T result = attempt.call();
+
+          if (race.hedgeWon(result, hedgeWins)) {
+            LOG.debug("Hedged {} won", type.getLabel());
+          }
+        } catch (BackEndException | RuntimeException e) {
+          race.hedgeFailed(e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      hedges.decrementAndGet();
+      hedgesSkipped.incrementAndGet();
+      race.hedgeFailed(e);
+    }
+  }
+
+  /**
+   * Returns the hedging delay of the command kind, or -1 if too few samples are known.
+   */
+  private long hedgeDelay(CommandType type, Settings s) {
+    int index = type.ordinal();
+    long now = System.nanoTime();
+    long computedAt = hedgeDelaysComputedAt.get(index);
+
+    if (computedAt == 0 || now - computedAt > HEDGE_DELAY_REFRESH_NANOS) {
+      LatencyHistogram latency = Metrics.command(type).getLatency();
+      long delay = -1;
+
+      if (latency.getCount() >= s.hedgeMinSamples) {
+        delay = Math.max(s.hedgeMinDelay,
+            (long) Math.ceil(latency.getPercentileMillis(s.hedgePercentile)));
+      }
+
+      hedgeDelays.set(index, delay);
+      hedgeDelaysComputedAt.set(index, now | 1);
+      return delay;
+    }
+
+    return hedgeDelays.get(index);
+  }
+
+  private long backoff(int attempt, Settings s) {
+    long ceiling = Math.min(s.backoffMax, s.backoff << Math.min(attempt, 20));
+    // Equal jitter: half of the ceiling, plus a random share of the other half
+    return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+  }
+
+  private TransientBackEndException deadlineExceeded(CommandType type) {
+    deadlinesExceeded.incrementAndGet();
+    return new TransientBackEndException(String.format("Deadline exceeded for %s [deadline=%dms]",
+        type.getLabel(), settings.deadline(type)));
+  }
+
+  private static void sleep(long millis) throws BackEndException {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BackEndException("Interrupted while waiting to retry", e);
+    }
+  }
+
+  private static long millisToNanos(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  public CircuitBreaker getCircuitBreaker() {
+    return breaker;
+  }
+
+  public long getCalls() {
+    return calls.get();
+  }
+
+  public long getRetries() {
+    return retries.get();
+  }
+
+  public long getHedges() {
+    return hedges.get();
+  }
+
+  public long getHedgeWins() {
+    return hedgeWins.get();
+  }
+
+  public long getHedgesSkipped() {
+    return hedgesSkipped.get();
+  }
+
+  public long getDeadlinesExceeded() {
+    return deadlinesExceeded.get();
+  }
+
+  public String getCircuitState() {
+    return breaker.getState().name();
+  }
+
+  public long getCircuitOpened() {
+    return breaker.getOpened();
+  }
+
+  public long getCircuitRejected() {
+    return breaker.getRejected();
+  }
+
+  /**
+   * State of a non-blocking command: its result, running attempts and pending timers.
+   */
+  private class AsyncCall<T> {
+
+    private final CommandType type;
+    private final AsyncAttemptFactory<T> factory;
+    private final Settings settings;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final List<CompletableFuture<T>> running = new ArrayList<>(2);
+    private final List<ScheduledFuture<?>> timers = new ArrayList<>(2);
+    private volatile long deadline;
+    private int attempt;
+
+    AsyncCall(CommandType type, AsyncAttemptFactory<T> factory, Settings settings) {
+      this.type = type;
+      this.factory = factory;
+      this.settings = settings;
+
+      result.whenComplete((r, e) -> {
+        cancelRunning();
+
+        synchronized (timers) {
+          for (ScheduledFuture<?> timer : timers) {
+            timer.cancel(false);
+          }
+        }
+      });
+    }
+
+    void schedule(ScheduledFuture<?> timer) {
+      synchronized (timers) {
+        timers.add(timer);
+      }
+
+      if (result.isDone()) {
+        timer.cancel(false);
+      }
+    }
+
+    /**
+     * Start an attempt, unless the command already completed.
+     */
+    void launch(boolean hedged) {
+      if (result.isDone()) {
+        return;
+      }
+
+      if (!breaker.allow()) {
+        result.completeExceptionally(new TransientBackEndException(
+            String.format("MGM unavailable, failing fast %s [circuit=%s]",
+                type.getLabel(), breaker.getState())));
+        return;
+      }
+
+      CompletableFuture<T> future;
+
+      try {
+        future = factory.startAttempt();
+      } catch (RuntimeException e) {
+        breaker.onFailure();
+        result.completeExceptionally(e);
+        return;
+      }
+
+      synchronized (running) {
+        running.add(future);
+      }
+
+      future.whenComplete((r, e) -> completed(future, r, e, hedged));
+
+      if (!hedged && settings.hedging && type.isIdempotent()) {
+        long hedgeDelay = hedgeDelay(type, settings);
+
+        if (hedgeDelay >= 0) {
+          schedule(timer.schedule(() -> {
+            if (!result.isDone()) {
+              hedges.incrementAndGet();
+              launch(true);
+            }
+          }, hedgeDelay, TimeUnit.MILLISECONDS));
+        }
+      }
+    }
+
+    private void completed(CompletableFuture<T> future, T value, Throwable error,
+                           boolean hedged) {
+      boolean othersRunning;
+
+      synchronized (running) {
+        running.remove(future);
+        othersRunning = !running.isEmpty();
+      }
+
+      if (error == null) {
+        breaker.onSuccess();
+
+        if (result.complete(value) && hedged) {
+          hedgeWins.incrementAndGet();
+        }
+
+        return;
+      }
+
+      Throwable cause = (error instanceof CompletionException && error.getCause() != null)
+          ? error.getCause() : error;
+
+      if (cause instanceof CancellationException || result.isDone()) {
+        return;
+      }
+
+      if (cause instanceof TransientBackEndException) {
+        breaker.onFailure();
+
+        if (othersRunning) {
+          // Let the other attempt decide the outcome
+          return;
+        }
+
+        long backoff = backoff(attempt, settings);
+        long currentDeadline = deadline;
+
+        if (type.isIdempotent() && attempt < settings.maxRetries && (currentDeadline == 0
+            || System.nanoTime() + millisToNanos(backoff) < currentDeadline)) {
+          attempt++;
+          retries.incrementAndGet();
+          LOG.warn("Retrying {} in {}ms [attempt={}] -- {}",
+              type.getLabel(), backoff, attempt, cause.getMessage());
+          schedule(timer.schedule(() -> launch(false), backoff, TimeUnit.MILLISECONDS));
+          return;
+        }
+      } else if (cause instanceof BackEndException) {
+        // The MGM answered, the error is about the command itself
+        breaker.onSuccess();
+      } else {
+        breaker.onFailure();
+      }
+
+      result.completeExceptionally(cause);
+    }
+
+    void cancelRunning() {
+      List<CompletableFuture<T>> attempts;
+
+      synchronized (running) {
+        attempts = new ArrayList<>(running);
+      }
+
+      for (CompletableFuture<T> attempt : attempts) {
+        attempt.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * A primary attempt and an optional hedged attempt; the first success wins.
+   * The primary attempt runs on the caller thread.
+   */
+  private static class Race<T> {
+
+    private final Attempt<T> primary;
+    private final AtomicBoolean decided = new AtomicBoolean();
+    private final CompletableFuture<T> hedgeResult = new CompletableFuture<>();
+    private volatile Attempt<T> hedge;
+    private volatile boolean expired;
+
+    Race(Attempt<T> primary) {
+      this.primary = primary;
+    }
+
+    T run(long deadline) throws BackEndException, TimeoutException {
+      try {
+        T result = primary.call();
+        finish();
+        return result;
+      } catch (BackEndException | RuntimeException e) {
+        // Wait for a running hedge unless the MGM already gave a definite answer
+        boolean definite = !(e instanceof TransientBackEndException) && !decided.get();
+
+        if (hedge != null && !expired && !definite) {
+          try {
+            return awaitHedge(deadline);
+          } catch (ExecutionException hedgeError) {
+            LOG.debug("Hedged attempt failed -- {}", hedgeError.getCause().getMessage());
+          }
+        }
+
+        finish();
+
+        if (expired) {
+          throw new TimeoutException();
+        }
+
+        throw e;
+      }
+    }
+
+    private T awaitHedge(long deadline) throws BackEndException, ExecutionException,
+        TimeoutException {
+      try {
+        if (deadline == 0) {
+          return hedgeResult.get();
+        }
+
+        return hedgeResult.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new BackEndException("Interrupted while waiting for hedged request", e);
+      }
+    }
+
+    /**
+     * Create the hedged attempt, unless the race is already decided.
+     */
+    synchronized Attempt<T> startHedge(AttemptFactory<T> factory) {
+      if (decided.get() || expired) {
+        return null;
+      }
+
+      hedge = factory.newAttempt();
+      return hedge;
+    }
+
+    boolean hedgeWon(T result, AtomicLong wins) {
+      if (decided.compareAndSet(false, true)) {
+        wins.incrementAndGet();
+        hedgeResult.complete(result);
+        primary.abort();
+        return true;
+      }
+
+      return false;
+    }
+
+    void hedgeFailed(Exception e) {
+      hedgeResult.completeExceptionally(e);
+    }
+
+    void expire() {
+      expired = true;
+      primary.abort();
+      abortHedge();
+    }
+
+    private void finish() {
+      decided.set(true);
+      abortHedge();
+    }
+
+    private synchronized void abortHedge() {
+      if (hedge != null) {
+        hedge.abort();
+      }
+    }
+  }
+
+  /**
+   * Resilience settings, read from the plugin configuration.
+   */
+  private static class Settings {
+
+    private final long defaultDeadline;
+    private final Map<CommandType, Long> deadlines = new EnumMap<>(CommandType.class);
+    private final int maxRetries;
+    private final long backoff;
+    private final long backoffMax;
+    private final boolean hedging;
+    private final double hedgePercentile;
+    private final long hedgeMinDelay;
+    private final long hedgeMinSamples;
+    private final int hedgeMaxConcurrent;
+    private final int breakerFailures;
+    private final long breakerOpenMillis;
+
+    Settings(PluginConfig config) {
+      PluginConfig c = (config != null) ? config : new PluginConfig(new Properties());
+      defaultDeadline = c.getLong("eos.command.deadline", 60000);
+
+      for (CommandType type : CommandType.values()) {
+        deadlines.put(type, c.getLong("eos.command.deadline." + type.getConfigName(),
+            type.isStreamed() ? 0 : defaultDeadline));
+      }
+
+      maxRetries = Math.max(0, c.getInt("eos.retry.max", 2));
+      backoff = Math.max(1, c.getLong("eos.retry.backoff", 100));
+      backoffMax = Math.max(backoff, c.getLong("eos.retry.backoff.max", 2000));
+      hedging = c.getBoolean("eos.hedge.enabled", true);
+      hedgePercentile = Math.min(100.0, Math.max(0.0, c.getInt("eos.hedge.percentile", 95)));
+      hedgeMinDelay = Math.max(0, c.getLong("eos.hedge.delay.min", 50));
+      hedgeMinSamples = Math.max(1, c.getLong("eos.hedge.samples.min", 100));
+      hedgeMaxConcurrent = c.getInt("eos.hedge.max.concurrent", 16);
+      breakerFailures = c.getInt("eos.breaker.failures", 5);
+      breakerOpenMillis = c.getLong("eos.breaker.open", 10000);
+    }
+
+    long deadline(CommandType type) {
+      return deadlines.get(type);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("deadline=%dms retries=%d backoff=%d-%dms hedging=%s p%.0f "
+              + "min=%dms samples=%d concurrent=%d breaker=%d failures/%dms",
+          defaultDeadline, maxRetries, backoff, backoffMax, hedging, hedgePercentile,
+          hedgeMinDelay, hedgeMinSamples, hedgeMaxConcurrent, breakerFailures, breakerOpenMillis);
+    }
+  }
+}
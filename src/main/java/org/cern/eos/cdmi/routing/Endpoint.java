@@ -0,0 +1,230 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An MGM endpoint, with its load and health as seen by this plugin.
+ * <p>
+ * Latency is tracked as an exponentially weighted moving average (EWMA) of
+ * response times. The average decays while the endpoint is not used, so that
+ * an endpoint which was slow once is tried again later.
+ */
+public class Endpoint implements EndpointMXBean {
+
+  private static final Logger LOG = LoggerFactory.getLogger(Endpoint.class);
+  private static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final String baseUrl;
+  private final boolean primary;
+  private final double ewmaWeight;
+  private final int failureThreshold;
+  private final long ejectionNanos;
+
+  private final AtomicInteger outstanding = new AtomicInteger();
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+  private final AtomicLong ejections = new AtomicLong();
+  private volatile double ewmaNanos;
+  private volatile long lastUpdate = System.nanoTime();
+  private volatile long ejectedUntil;
+  private volatile boolean ejectedByHealthCheck;
+
+  /**
+   * Create an endpoint.
+   *
+   * @param baseUrl          the server base URL (scheme://host:port)
+   * @param primary          true for the writable primary MGM
+   * @param ewmaWeight       weight (0-1) of a new sample in the latency average
+   * @param failureThreshold consecutive failures after which the endpoint is ejected
+   * @param ejectionMillis   milliseconds an ejected endpoint receives no reads
+   */
+  public Endpoint(String baseUrl, boolean primary, double ewmaWeight, int failureThreshold,
+                  long ejectionMillis) {
+    this.baseUrl = baseUrl;
+    this.primary = primary;
+    this.ewmaWeight = ewmaWeight;
+    this.failureThreshold = failureThreshold;
+    this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(ejectionMillis);
+  }
+
+  /**
+   * Mark the start of a request, returning its start time.
+   */
+  public long start() {
+    outstanding.incrementAndGet();
+    requests.incrementAndGet();
+    return System.nanoTime();
+  }
+
+  /**
+   * Mark the end of a request which reached the MGM.
+   */
+  public void success(long startNanos) {
+    long now = System.nanoTime();
+    outstanding.decrementAndGet();
+    recordLatency(now - startNanos, now);
+
+    if (consecutiveFailures.get() != 0) {
+      consecutiveFailures.set(0);
+    }
+  }
+
+  /**
+   * Mark the end of a request which was aborted, e.g. because a hedged request won.
+   * Its duration counts as a latency sample, but not as a failure.
+   */
+  public void aborted(long startNanos) {
+    long now = System.nanoTime();
+    outstanding.decrementAndGet();
+    recordLatency(now - startNanos, now);
+  }
+
+  /**
+   * Mark the end of a request which failed to reach the MGM.
+   * Too many consecutive failures eject the endpoint.
+   */
+  public void failure(long startNanos) {
+    outstanding.decrementAndGet();
+    failures.incrementAndGet();
+
+    if (failureThreshold > 0 && consecutiveFailures.incrementAndGet() >= failureThreshold) {
+      eject();
+    }
+  }
+
+  /**
+   * Stop routing reads to this endpoint for the ejection period.
+   */
+  public void eject() {
+    if (isHealthy()) {
+      LOG.warn("Ejecting MGM endpoint {} for {}ms", baseUrl,
+          TimeUnit.NANOSECONDS.toMillis(ejectionNanos));
+      ejections.incrementAndGet();
+    }
+
+    ejectedUntil = System.nanoTime() + ejectionNanos;
+    ejectedByHealthCheck = false;
+    consecutiveFailures.set(0);
+  }
+
+  /**
+   * Stop routing reads to this endpoint after a failed health check.
+   * Unlike other ejections, it ends with the next successful health check.
+   */
+  public void ejectByHealthCheck() {
+    eject();
+    ejectedByHealthCheck = true;
+  }
+
+  /**
+   * Route reads to this endpoint again after a successful health check, if a health check
+   * ejected it. Ejections after failed requests run their full period, as the health
+   * check may succeed while commands still fail.
+   */
+  public void healthCheckPassed() {
+    if (ejectedByHealthCheck) {
+      reinstate();
+    }
+  }
+
+  /**
+   * Route reads to this endpoint again.
+   */
+  public void reinstate() {
+    if (!isHealthy()) {
+      LOG.info("Reinstating MGM endpoint {}", baseUrl);
+    }
+
+    ejectedUntil = 0;
+    ejectedByHealthCheck = false;
+  }
+
+  /**
+   * Returns the routing cost of the endpoint: its decayed latency average
+   * weighted by the number of outstanding requests.
+   */
+  double cost(long now) {
+    double latency = ewmaNanos;
+    long idle = now - lastUpdate;
+
+    if (idle > DECAY_NANOS) {
+      latency /= (double) (1L << Math.min(62, idle / DECAY_NANOS));
+    }
+
+    return (latency + 1) * (outstanding.get() + 1);
+  }
+
+  private void recordLatency(long nanos, long now) {
+    double current = ewmaNanos;
+    // Racy update: a lost sample only slightly skews the average
+    ewmaNanos = (current == 0) ? nanos : current + ewmaWeight * (nanos - current);
+    lastUpdate = now;
+  }
+
+  public String getBaseUrl() {
+    return baseUrl;
+  }
+
+  public boolean isPrimary() {
+    return primary;
+  }
+
+  public boolean isHealthy() {
+    long until = ejectedUntil;
+    return until == 0 || System.nanoTime() - until >= 0;
+  }
+
+  public int getOutstanding() {
+    return outstanding.get();
+  }
+
+  public double getLatencyMillis() {
+    return ewmaNanos / 1e6;
+  }
+
+  public long getRequests() {
+    return requests.get();
+  }
+
+  public long getFailures() {
+    return failures.get();
+  }
+
+  public long getEjections() {
+    return ejections.get();
+  }
+
+  @Override
+  public String toString() {
+    return baseUrl + (primary ? " (primary)" : "");
+  }
+}
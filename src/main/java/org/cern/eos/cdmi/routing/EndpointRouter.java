@@ -0,0 +1,267 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.routing;
+
+import org.cern.eos.cdmi.util.CommandType;
+import org.cern.eos.cdmi.util.NamedThreadFactory;
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes MGM commands to a set of endpoints.
+ * <p>
+ * Write commands always go to the primary MGM. Read commands are spread over
+ * the healthy read endpoints by picking the cheaper of two random endpoints
+ * ("power of two choices"), where the cost combines the latency average and
+ * the number of outstanding requests of an endpoint.
+ * <p>
+ * Endpoints are ejected after consecutive failed requests (passive health checks)
+ * and, when enabled, probed periodically (active health checks).
+ */
+public class EndpointRouter {
+
+  /**
+   * Checks whether an endpoint is able to serve commands.
+   */
+  public interface HealthProbe {
+    boolean probe(Endpoint endpoint);
+  }
+
+  private static final Logger LOG = LoggerFactory.getLogger(EndpointRouter.class);
+
+  private final Endpoint primary;
+  private final List<Endpoint> endpoints;
+  private final List<Endpoint> readers;
+  private final long healthInterval;
+  private final String healthPath;
+  private final String description;
+  private ScheduledExecutorService healthChecker;
+
+  private EndpointRouter(Endpoint primary, List<Endpoint> endpoints, List<Endpoint> readers,
+                         long healthInterval, String healthPath, String description) {
+    this.primary = primary;
+    this.endpoints = Collections.unmodifiableList(endpoints);
+    this.readers = Collections.unmodifiableList(readers);
+    this.healthInterval = healthInterval;
+    this.healthPath = healthPath;
+    this.description = description;
+  }
+
+  /**
+   * Create a router from the plugin configuration. The primary MGM is given by
+   * eos.server, eos.server.port and eos.server.scheme, read-only followers by
+   * the comma separated eos.server.readers list of host[:port] or scheme://host:port.
+   */
+  public static EndpointRouter fromConfig(PluginConfig config) {
+    String scheme = config.get("eos.server.scheme");
+    String port = config.get("eos.server.port");
+    String primaryUrl = scheme + "://" + config.get("eos.server") + ":" + port;
+    boolean primaryReads = config.getBoolean("eos.server.primary.reads", true);
+    double ewmaWeight = Math.min(1.0, Math.max(0.01,
+        config.getDouble("eos.routing.ewma.weight", 0.2)));
+    int failures = config.getInt("eos.health.failures", 3);
+    long ejection = config.getLong("eos.health.ejection", 10000);
+    long interval = config.getLong("eos.health.interval", 5000);
+    String healthPath = (config.get("eos.health.path") != null)
+        ? config.get("eos.health.path") : "/proc/user/?mgm.cmd=version";
+
+    Endpoint primary = new Endpoint(primaryUrl, true, ewmaWeight, failures, ejection);
+    List<Endpoint> endpoints = new ArrayList<>();
+    List<Endpoint> readers = new ArrayList<>();
+    endpoints.add(primary);
+
+    if (primaryReads) {
+      readers.add(primary);
+    }
+
+    String followers = config.get("eos.server.readers");
+
+    if (followers != null) {
+      for (String follower : followers.split(",")) {
+        follower = follower.trim();
+
+        if (follower.isEmpty()) {
+          continue;
+        }
+
+        if (!follower.contains("://")) {
+          follower = scheme + "://" + follower;
+        }
+
+        if (follower.lastIndexOf(':') <= follower.indexOf("://")) {
+          follower = follower + ":" + port;
+        }
+
+        Endpoint endpoint = new Endpoint(follower, false, ewmaWeight, failures, ejection);
+        endpoints.add(endpoint);
+        readers.add(endpoint);
+      }
+    }
+
+    if (readers.isEmpty()) {
+      readers.add(primary);
+    }
+
+    String description = String.format("primary=%s readers=%s ewma=%.2f failures=%d "
+            + "ejection=%dms health=%dms %s", primaryUrl, readers, ewmaWeight, failures,
+        ejection, interval, healthPath);
+    return new EndpointRouter(primary, endpoints, readers, interval, healthPath, description);
+  }
+
+  /**
+   * Select the endpoint for a command.
+   *
+   * @param type  the command type
+   * @param avoid an endpoint to avoid if others are usable, e.g. one already tried, or null
+   * @return the selected endpoint
+   */
+  public Endpoint select(CommandType type, Endpoint avoid) {
+    if (!type.isRead()) {
+      return primary;
+    }
+
+    int count = readers.size();
+
+    if (count == 1) {
+      return readers.get(0);
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(count);
+    int second = random.nextInt(count - 1);
+
+    if (second >= first) {
+      second++;
+    }
+
+    Endpoint a = readers.get(first);
+    Endpoint b = readers.get(second);
+    boolean aUsable = a != avoid && a.isHealthy();
+    boolean bUsable = b != avoid && b.isHealthy();
+    long now = System.nanoTime();
+
+    if (aUsable && bUsable) {
+      return (a.cost(now) <= b.cost(now)) ? a : b;
+    } else if (aUsable) {
+      return a;
+    } else if (bUsable) {
+      return b;
+    }
+
+    return cheapest(avoid, now);
+  }
+
+  /**
+   * Returns the cheapest usable endpoint, falling back to healthy
+   * and finally to any endpoint.
+   */
+  private Endpoint cheapest(Endpoint avoid, long now) {
+    Endpoint best = null;
+    int bestRank = Integer.MAX_VALUE;
+    double bestCost = Double.MAX_VALUE;
+
+    for (Endpoint endpoint : readers) {
+      int rank = endpoint.isHealthy() ? ((endpoint != avoid) ? 0 : 1) : 2;
+      double cost = endpoint.cost(now);
+
+      if (rank < bestRank || (rank == bestRank && cost < bestCost)) {
+        best = endpoint;
+        bestRank = rank;
+        bestCost = cost;
+      }
+    }
+
+    return best;
+  }
+
+  /**
+   * Start probing every endpoint periodically, if health checks are enabled.
+   * A lone primary serves every command whatever its health, so it is never probed.
+   */
+  public synchronized void startHealthChecks(HealthProbe probe) {
+    if (healthInterval <= 0 || endpoints.size() < 2 || healthChecker != null) {
+      return;
+    }
+
+    healthChecker = Executors.newSingleThreadScheduledExecutor(
+        new NamedThreadFactory("eos-health-check"));
+    healthChecker.scheduleWithFixedDelay(() -> {
+      for (Endpoint endpoint : endpoints) {
+        try {
+          if (probe.probe(endpoint)) {
+            endpoint.healthCheckPassed();
+          } else {
+            endpoint.ejectByHealthCheck();
+          }
+        } catch (RuntimeException e) {
+          LOG.warn("Health check of {} failed -- {}", endpoint, e.getMessage());
+          endpoint.ejectByHealthCheck();
+        }
+      }
+    }, healthInterval, healthInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stop the health checks.
+   */
+  public synchronized void shutdown() {
+    if (healthChecker != null) {
+      healthChecker.shutdownNow();
+      healthChecker = null;
+    }
+  }
+
+  public Endpoint getPrimary() {
+    return primary;
+  }
+
+  public List<Endpoint> getEndpoints() {
+    return endpoints;
+  }
+
+  public List<Endpoint> getReaders() {
+    return readers;
+  }
+
+  /**
+   * Returns the request path and query used by active health checks.
+   */
+  public String getHealthPath() {
+    return healthPath;
+  }
+
+  @Override
+  public String toString() {
+    return description;
+  }
+}
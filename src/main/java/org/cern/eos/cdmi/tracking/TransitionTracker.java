@@ -0,0 +1,459 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.tracking;
+
+import org.cern.eos.cdmi.codec.QoSEntry;
+import org.cern.eos.cdmi.metrics.LatencyHistogram;
+import org.cern.eos.cdmi.util.EOSParseUtils;
+import org.cern.eos.cdmi.util.NamedThreadFactory;
+import org.cern.eos.cdmi.util.SpiUtils;
+import org.indigo.cdmi.BackEndException;
+import org.indigo.cdmi.CdmiObjectStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracker of in-flight QoS transitions.
+ * <p>
+ * Paths with a pending target class are registered after "qos set", or when a status
+ * query reveals a transition. A background task polls them in batches, at most one batch
+ * per interval, with a "qos get" restricted to the current and target class. Until the
+ * transition completes, the QoS fields of a tracked path are served from memory, sparing
+ * client polls the "qos get". Children are not tracked and must come from a live listing.
+ * Completed transitions are dropped and the completion listener is notified, as are
+ * transitions whose polls keep failing.
+ */
+public class TransitionTracker implements TransitionTrackerMXBean {
+
+  /**
+   * Source of the current and target class of a path, usually a key-restricted "qos get".
+   */
+  public interface Poller {
+    QoSEntry poll(String path) throws BackEndException;
+  }
+
+  /**
+   * Notified when a tracked transition completes or its path disappears.
+   */
+  public interface CompletionListener {
+    void onCompleted(String path);
+  }
+
+  private static final Logger LOG = LoggerFactory.getLogger(TransitionTracker.class);
+
+  private final Poller poller;
+  private final CompletionListener listener;
+  private final long intervalNanos;
+  private final int batchSize;
+  private final int maxTracked;
+  private final long stuckNanos;
+  private final int maxPollFailures;
+  private final ConcurrentMap<String, Transition> tracked = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("eos-transition-tracker"));
+  private final ExecutorService pollers;
+
+  private final AtomicLong registered = new AtomicLong();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong polls = new AtomicLong();
+  private final AtomicLong pollFailures = new AtomicLong();
+  private final AtomicLong abandoned = new AtomicLong();
+  private final AtomicLong served = new AtomicLong();
+  private final LatencyHistogram completionLatency = new LatencyHistogram();
+
+  /**
+   * @param poller         the source of transition state
+   * @param listener       notified of completed transitions
+   * @param intervalMillis minimum time between two polls of the same path, and between batches
+   * @param batchSize      maximum number of paths polled per batch
+   * @param concurrency    number of concurrent polls within a batch
+   * @param maxTracked     maximum number of tracked paths
+   * @param stuckMillis    age after which a transition is reported as stuck
+   * @param maxPollFailures consecutive poll failures after which a transition is abandoned
+   */
+  public TransitionTracker(Poller poller, CompletionListener listener, long intervalMillis,
+                           int batchSize, int concurrency, int maxTracked, long stuckMillis,
+                           int maxPollFailures) {
+    this.poller = poller;
+    this.listener = listener;
+    this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    this.batchSize = Math.max(1, batchSize);
+    this.maxTracked = maxTracked;
+    this.stuckNanos = TimeUnit.MILLISECONDS.toNanos(stuckMillis);
+    this.maxPollFailures = Math.max(1, maxPollFailures);
+    this.pollers = Executors.newFixedThreadPool(Math.max(1, concurrency),
+        new NamedThreadFactory("eos-transition-poll"));
+
+    scheduler.scheduleWithFixedDelay(this::pollBatch, intervalMillis, intervalMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Track the transition of the given path towards the given class, as started by "qos set".
+   */
+  public void track(String path, String targetClass) {
+    register(path, targetClass, null);
+  }
+
+  /**
+   * Record the status of the given path, as returned by a full status query.
+   * A pending transition is tracked along with the status, a completed one is dropped.
+   * A status fetched since before the tracked transition started is ignored,
+   * as it may predate the transition.
+   *
+   * @param started the System.nanoTime() at which the status query started
+   */
+  public void observe(String path, CdmiObjectStatus status, long started) {
+    Transition existing = tracked.get(path);
+
+    if (existing != null && started - existing.started < 0) {
+      return;
+    }
+
+    String targetUri = status.getTargetCapabilitiesUri();
+
+    if (targetUri == null || targetUri.isEmpty()) {
+      if (existing != null) {
+        complete(existing);
+      }
+
+      return;
+    }
+
+    register(path, EOSParseUtils.qosClassFromCapUri(targetUri), new QoSState(status));
+  }
+
+  /**
+   * Returns the QoS fields of a tracked path with a pending transition, or null if unknown.
+   * The current class does not change until the transition completes,
+   * so the fields recorded when the transition was observed remain valid.
+   */
+  public QoSState qosState(String path) {
+    Transition transition = tracked.get(path);
+
+    if (transition == null || transition.qos == null) {
+      return null;
+    }
+
+    served.incrementAndGet();
+    return transition.qos;
+  }
+
+  /**
+   * Returns true if a transition of the given path is being tracked.
+   */
+  public boolean isTracked(String path) {
+    return tracked.containsKey(path);
+  }
+
+  /**
+   * Stop polling and forget all tracked transitions.
+   */
+  public void shutdown() {
+    scheduler.shutdownNow();
+    pollers.shutdownNow();
+    tracked.clear();
+  }
+
+  private void register(String path, String targetClass, QoSState qos) {
+    Transition existing = tracked.get(path);
+
+    if (existing != null && existing.target.equals(targetClass)) {
+      if (qos != null) {
+        existing.qos = qos;
+      }
+
+      return;
+    }
+
+    if (existing == null && tracked.size() >= maxTracked) {
+      dropped.incrementAndGet();
+      LOG.debug("Not tracking transition of {}, {} transitions already tracked",
+          path, maxTracked);
+      return;
+    }
+
+    Transition transition = new Transition(path, targetClass, qos);
+
+    // A different target means a new transition, which restarts the clock
+    if (existing == null ? tracked.putIfAbsent(path, transition) == null
+        : tracked.replace(path, existing, transition)) {
+      registered.incrementAndGet();
+      LOG.debug("Tracking transition of {} [target={}]", path, targetClass);
+    }
+  }
+
+  /**
+   * Poll the transitions due, least recently polled first, and wait for the whole batch.
+   */
+  private void pollBatch() {
+    try {
+      long now = System.nanoTime();
+      List<Transition> due = new ArrayList<>();
+
+      for (Transition transition : tracked.values()) {
+        if (now - transition.lastPolled >= intervalNanos) {
+          due.add(transition);
+        }
+      }
+
+      if (due.size() > batchSize) {
+        due.sort(Comparator.comparingLong(transition -> transition.lastPolled));
+        due = due.subList(0, batchSize);
+      }
+
+      List<Callable<Void>> batch = new ArrayList<>(due.size());
+
+      for (Transition transition : due) {
+        batch.add(() -> {
+          poll(transition);
+          return null;
+        });
+      }
+
+      pollers.invokeAll(batch);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      LOG.warn("Failed polling QoS transitions -- {}", e.getMessage());
+    }
+  }
+
+  private void poll(Transition transition) {
+    polls.incrementAndGet();
+    transition.lastPolled = System.nanoTime();
+
+    try {
+      QoSEntry qosGet = poller.poll(transition.path);
+      transition.pollFailures = 0;
+      String current = qosGet.getCurrentQoS();
+      String target = qosGet.getTargetQoS();
+
+      if (target == null || target.isEmpty() || target.equals(current)) {
+        complete(transition);
+        return;
+      }
+
+      if (!target.equals(transition.target)) {
+        // Another client redirected the transition
+        register(transition.path, target, null);
+        return;
+      }
+
+      long age = System.nanoTime() - transition.started;
+
+      if (stuckNanos > 0 && age >= stuckNanos && !transition.reportedStuck) {
+        transition.reportedStuck = true;
+        LOG.warn("QoS transition of {} to {} pending for {}s [current={}]", transition.path,
+            target, TimeUnit.NANOSECONDS.toSeconds(age), current);
+      }
+    } catch (BackEndException | RuntimeException e) {
+      pollFailures.incrementAndGet();
+
+      if (EOSParseUtils.isNoSuchFileError(e.getMessage())
+          && tracked.remove(transition.path, transition)) {
+        listener.onCompleted(transition.path);
+        return;
+      }
+
+      if (++transition.pollFailures < maxPollFailures) {
+        LOG.debug("Failed polling QoS transition of {} -- {}", transition.path, e.getMessage());
+        return;
+      }
+
+      // Without polls, the recorded fields may never be refreshed
+      if (tracked.remove(transition.path, transition)) {
+        abandoned.incrementAndGet();
+        LOG.warn("Abandoned tracking QoS transition of {} after {} failed polls -- {}",
+            transition.path, transition.pollFailures, e.getMessage());
+        listener.onCompleted(transition.path);
+      }
+    }
+  }
+
+  private void complete(Transition transition) {
+    if (!tracked.remove(transition.path, transition)) {
+      return;
+    }
+
+    long elapsed = System.nanoTime() - transition.started;
+    completed.incrementAndGet();
+    completionLatency.record(elapsed);
+    LOG.info("QoS transition of {} to {} completed in {}ms", transition.path, transition.target,
+        TimeUnit.NANOSECONDS.toMillis(elapsed));
+    listener.onCompleted(transition.path);
+  }
+
+  @Override
+  public int getTracked() {
+    return tracked.size();
+  }
+
+  @Override
+  public int getStuck() {
+    if (stuckNanos <= 0) {
+      return 0;
+    }
+
+    long now = System.nanoTime();
+    int stuck = 0;
+
+    for (Transition transition : tracked.values()) {
+      if (now - transition.started >= stuckNanos) {
+        stuck++;
+      }
+    }
+
+    return stuck;
+  }
+
+  @Override
+  public long getRegistered() {
+    return registered.get();
+  }
+
+  @Override
+  public long getCompleted() {
+    return completed.get();
+  }
+
+  @Override
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  @Override
+  public long getPolls() {
+    return polls.get();
+  }
+
+  @Override
+  public long getPollFailures() {
+    return pollFailures.get();
+  }
+
+  @Override
+  public long getAbandoned() {
+    return abandoned.get();
+  }
+
+  @Override
+  public long getServed() {
+    return served.get();
+  }
+
+  @Override
+  public double getCompletionP50Millis() {
+    return completionLatency.getPercentileMillis(50);
+  }
+
+  @Override
+  public double getCompletionP99Millis() {
+    return completionLatency.getPercentileMillis(99);
+  }
+
+  @Override
+  public double getCompletionMaxMillis() {
+    return completionLatency.getMaxMillis();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("TransitionTracker[tracked=%d registered=%d completed=%d polls=%d "
+            + "pollFailures=%d abandoned=%d served=%d completionP50=%.1fms]", getTracked(),
+        getRegistered(), getCompleted(), getPolls(), getPollFailures(), getAbandoned(),
+        getServed(), getCompletionP50Millis());
+  }
+
+  /**
+   * The QoS fields of a path in transition: current and target capability URIs
+   * and monitored attributes. Immutable: every status built out of it is a new object.
+   */
+  public static final class QoSState {
+    private final Map<String, Object> monitored;
+    private final String currentCapabilitiesUri;
+    private final String targetCapabilitiesUri;
+
+    QoSState(CdmiObjectStatus status) {
+      this.monitored = SpiUtils.copyMap(status.getMonitoredAttributes());
+      this.currentCapabilitiesUri = status.getCurrentCapabilitiesUri();
+      this.targetCapabilitiesUri = status.getTargetCapabilitiesUri();
+    }
+
+    /**
+     * Returns a new status made of these QoS fields and the given children.
+     */
+    public CdmiObjectStatus toStatus(List<String> children) {
+      CdmiObjectStatus status = new CdmiObjectStatus(SpiUtils.copyMap(monitored),
+          currentCapabilitiesUri, targetCapabilitiesUri);
+      status.setChildren(children);
+      return status;
+    }
+
+    public Map<String, Object> getMonitoredAttributes() {
+      return SpiUtils.copyMap(monitored);
+    }
+
+    public String getCurrentCapabilitiesUri() {
+      return currentCapabilitiesUri;
+    }
+
+    public String getTargetCapabilitiesUri() {
+      return targetCapabilitiesUri;
+    }
+  }
+
+  /**
+   * A pending transition of one path.
+   */
+  private static class Transition {
+    private final String path;
+    private final String target;
+    private final long started = System.nanoTime();
+    private volatile long lastPolled = started;
+    private volatile QoSState qos;
+    private volatile boolean reportedStuck;
+    private volatile int pollFailures;
+
+    Transition(String path, String target, QoSState qos) {
+      this.path = path;
+      this.target = target;
+      this.qos = qos;
+    }
+  }
+}
@@ -0,0 +1,413 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.util;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.util.EntityUtils;
+import org.cern.eos.cdmi.metrics.CommandMetrics;
+import org.cern.eos.cdmi.metrics.Metrics;
+import org.cern.eos.cdmi.resilience.ResilientExecutor;
+import org.cern.eos.cdmi.resilience.TransientBackEndException;
+import org.cern.eos.cdmi.routing.Endpoint;
+import org.cern.eos.cdmi.routing.EndpointRouter;
+import org.indigo.cdmi.BackEndException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking counterpart of {@link HttpUtils}.
+ * <p>
+ * Commands run on a pooled HttpAsyncClient and complete a CompletableFuture,
+ * so no thread waits for the MGM. Responses are converted on a small pool sized
+ * to the number of CPUs, keeping parsing off the I/O dispatcher threads.
+ * Routing, coalescing and resilience policies are shared with {@link HttpUtils}.
+ */
+public class AsyncHttpUtils {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncHttpUtils.class);
+
+  private static volatile CloseableHttpAsyncClient client;
+  private static volatile PoolingNHttpClientConnectionManager connectionManager;
+  private static String settings;
+  private static ScheduledFuture<?> evictor;
+  private static final ExecutorService readers = Executors.newFixedThreadPool(
+      Runtime.getRuntime().availableProcessors(), new NamedThreadFactory("eos-async-read"));
+  private static final ScheduledExecutorService maintenance =
+      Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("eos-async-maintenance"));
+
+  /**
+   * (Re)build the asynchronous HTTP client according to the given configuration.
+   * Pool and timeout settings are shared with {@link HttpUtils#configure(PluginConfig)},
+   * which must have been called first.
+   *
+   * @param config the plugin configuration
+   */
+  public static synchronized void configure(PluginConfig config) {
+    int maxTotal = config.getInt("eos.http.pool.max.total", 64);
+    int maxPerRoute = config.getInt("eos.http.pool.max.per.route", 32);
+    int connectTimeout = config.getInt("eos.http.timeout.connect", 5000);
+    int readTimeout = config.getInt("eos.http.timeout.read", 30000);
+    int leaseTimeout = config.getInt("eos.http.timeout.lease", 10000);
+    long idleTimeout = config.getLong("eos.http.pool.idle.timeout", 30000);
+    long keepAlive = config.getLong("eos.http.keepalive", 60000);
+    int ioThreads = config.getInt("eos.async.io.threads",
+        Runtime.getRuntime().availableProcessors());
+
+    String newSettings = String.format("maxTotal=%d maxPerRoute=%d connect=%dms read=%dms "
+            + "lease=%dms idle=%dms keepAlive=%dms ioThreads=%d", maxTotal, maxPerRoute,
+        connectTimeout, readTimeout, leaseTimeout, idleTimeout, keepAlive, ioThreads);
+
+    if (newSettings.equals(settings)) {
+      return;
+    }
+
+    IOReactorConfig ioConfig = IOReactorConfig.custom()
+        .setIoThreadCount(Math.max(1, ioThreads))
+        .setConnectTimeout(connectTimeout)
+        .setSoTimeout(readTimeout)
+        .setTcpNoDelay(true)
+        .build();
+    PoolingNHttpClientConnectionManager newManager;
+
+    try {
+      newManager = new PoolingNHttpClientConnectionManager(
+          new DefaultConnectingIOReactor(ioConfig, new NamedThreadFactory("eos-async-io")));
+    } catch (IOReactorException e) {
+      throw new IllegalStateException("Failed starting asynchronous HTTP client", e);
+    }
+
+    newManager.setMaxTotal(maxTotal);
+    newManager.setDefaultMaxPerRoute(maxPerRoute);
+
+    RequestConfig requestConfig = RequestConfig.custom()
+        .setConnectTimeout(connectTimeout)
+        .setSocketTimeout(readTimeout)
+        .setConnectionRequestTimeout(leaseTimeout)
+        .build();
+
+    ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+      long duration = DefaultConnectionKeepAliveStrategy.INSTANCE
+          .getKeepAliveDuration(response, context);
+      return (duration > 0) ? duration : keepAlive;
+    };
+
+    CloseableHttpAsyncClient newClient = HttpAsyncClients.custom()
+        .setConnectionManager(newManager)
+        .setDefaultRequestConfig(requestConfig)
+        .setKeepAliveStrategy(keepAliveStrategy)
+        .setThreadFactory(new NamedThreadFactory("eos-async-reactor"))
+        .build();
+    newClient.start();
+
+    // The asynchronous client has no idle connection evictor of its own
+    ScheduledFuture<?> oldEvictor = evictor;
+    evictor = maintenance.scheduleWithFixedDelay(() -> {
+      newManager.closeExpiredConnections();
+      newManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+    }, idleTimeout, Math.max(1000, idleTimeout / 2), TimeUnit.MILLISECONDS);
+
+    CloseableHttpAsyncClient oldClient = client;
+    client = newClient;
+    connectionManager = newManager;
+    settings = newSettings;
+    LOG.info("Configured asynchronous HTTP client: {}", newSettings);
+
+    if (oldEvictor != null) {
+      oldEvictor.cancel(false);
+    }
+
+    if (oldClient != null) {
+      try {
+        oldClient.close();
+      } catch (IOException e) {
+        LOG.warn("Failed closing previous asynchronous HTTP client -- {}", e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Start an HTTP request at the given URL, returning the future response as JSON object.
+   *
+   * @param url  the URL to query, routed if starting with "/"
+   * @param type the command type
+   * @return future json response object
+   */
+  public static CompletableFuture<JSONObject> executeCommand(String url, CommandType type) {
+    CommandMetrics metrics = Metrics.command(type);
+    return executeCommand(url, type, response -> JsonUtils.responseToJson(response, metrics));
+  }
+
+  /**
+   * Start an HTTP request at the given URL, returning the future response
+   * as converted by the given reader. Concurrent identical read commands,
+   * converted by readers with the same key, share a single request.
+   *
+   * @param url    the URL to query, routed if starting with "/"
+   * @param type   the command type
+   * @param reader the reader converting a successful response
+   * @return future converted response object
+   */
+  public static <T> CompletableFuture<T> executeCommand(String url, CommandType type,
+                                                        HttpUtils.ResponseReader<T> reader) {
+    return executeCommand(url, type, reader, null);
+  }
+
+  /**
+   * Non-blocking variant of
+   * {@link HttpUtils#executeCommand(String, CommandType, HttpUtils.ResponseReader, String)}.
+   *
+   * @param url    the URL to query, routed if starting with "/"
+   * @param type   the command type
+   * @param reader the reader converting a successful response
+   * @param scope  the path read by the command, or null
+   * @return future converted response object
+   */
+  public static <T> CompletableFuture<T> executeCommand(String url, CommandType type,
+                                                        HttpUtils.ResponseReader<T> reader,
+                                                        String scope) {
+    if (client == null) {
+      return failed(new BackEndException("Asynchronous HTTP client is not configured"));
+    }
+
+    if (HttpUtils.isCoalescing() && type.isRead() && reader.key() != null) {
+      return HttpUtils.getCoalescer().executeAsync(url + "#" + reader.key(), scope,
+          () -> resilient(url, type, reader));
+    }
+
+    return resilient(url, type, reader);
+  }
+
+  private static <T> CompletableFuture<T> resilient(String url, CommandType type,
+                                                    HttpUtils.ResponseReader<T> reader) {
+    ResilientExecutor resilience = HttpUtils.getResilience();
+
+    if (!url.startsWith("/")) {
+      return resilience.executeAsync(type, () -> attempt(null, url, type, reader));
+    }
+
+    EndpointRouter router = HttpUtils.getRouter();
+
+    if (router == null) {
+      return failed(new BackEndException("No MGM endpoint configured for " + url));
+    }
+
+    return resilience.executeAsync(type, new ResilientExecutor.AsyncAttemptFactory<T>() {
+      private volatile Endpoint last;
+
+      @Override
+      public CompletableFuture<T> startAttempt() {
+        Endpoint endpoint = router.select(type, last);
+        last = endpoint;
+        return HttpUtils.transport(endpoint, url).start(endpoint, url, type, reader);
+      }
+    });
+  }
+
+  /**
+   * Start a single HTTP attempt. Cancelling the returned future aborts the request.
+   */
+  static <T> CompletableFuture<T> attempt(Endpoint endpoint, String url,
+                                                  CommandType type,
+                                                  HttpUtils.ResponseReader<T> reader) {
+    HttpGet request = new HttpGet(url);
+    CommandMetrics metrics = Metrics.command(type);
+    long start = metrics.start();
+    long endpointStart = (endpoint != null) ? endpoint.start() : 0;
+    CompletableFuture<T> result = new CompletableFuture<>();
+
+    LOG.info("HTTP Request: {}", request);
+
+    Future<HttpResponse> http = client.execute(request, new FutureCallback<HttpResponse>() {
+      @Override
+      public void completed(HttpResponse response) {
+        metrics.recordHttp(System.nanoTime() - start);
+
+        try {
+          readers.execute(() -> {
+            try {
+              result.complete(HttpUtils.readResponse(request, response, metrics, reader));
+            } catch (IOException | JSONException | BackEndException e) {
+              result.completeExceptionally(HttpUtils.wrapFailure(request, e));
+            } catch (RuntimeException e) {
+              result.completeExceptionally(e);
+            } finally {
+              EntityUtils.consumeQuietly(response.getEntity());
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          result.completeExceptionally(HttpUtils.wrapFailure(request, e));
+        }
+      }
+
+      @Override
+      public void failed(Exception e) {
+        result.completeExceptionally(HttpUtils.wrapFailure(request,
+            (e instanceof IOException) ? e : new IOException(e.getMessage(), e)));
+      }
+
+      @Override
+      public void cancelled() {
+        result.completeExceptionally(
+            HttpUtils.wrapFailure(request, new IOException("Request aborted")));
+      }
+    });
+
+    result.whenComplete((value, error) -> {
+      boolean aborted = result.isCancelled();
+
+      if (aborted) {
+        http.cancel(true);
+      }
+
+      metrics.end(start, error != null);
+
+      if (endpoint == null) {
+        return;
+      }
+
+      Throwable cause = (error instanceof CompletionException) ? error.getCause() : error;
+
+      if (aborted) {
+        endpoint.aborted(endpointStart);
+      } else if (cause instanceof TransientBackEndException || cause instanceof RuntimeException) {
+        endpoint.failure(endpointStart);
+      } else {
+        endpoint.success(endpointStart);
+      }
+    });
+
+    return result;
+  }
+
+  /**
+   * Returns a future failing if the given future does not complete within the timeout,
+   * in which case the given future is cancelled.
+   *
+   * @param future  the future to bound
+   * @param millis  the timeout in milliseconds, 0 for none
+   * @param message the failure message on timeout
+   */
+  public static <T> CompletableFuture<T> within(CompletableFuture<T> future, long millis,
+                                                String message) {
+    if (millis <= 0 || future.isDone()) {
+      return future;
+    }
+
+    CompletableFuture<T> bounded = new CompletableFuture<>();
+    ScheduledFuture<?> timeout = maintenance.schedule(() -> {
+      if (bounded.completeExceptionally(
+          new BackEndException(String.format("%s [timeout=%dms]", message, millis)))) {
+        future.cancel(true);
+      }
+    }, millis, TimeUnit.MILLISECONDS);
+
+    future.whenComplete((value, error) -> {
+      timeout.cancel(false);
+
+      if (error != null) {
+        bounded.completeExceptionally(error);
+      } else {
+        bounded.complete(value);
+      }
+    });
+
+    return bounded;
+  }
+
+  /**
+   * Returns a future already failed with the given exception.
+   */
+  public static <T> CompletableFuture<T> failed(Throwable error) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(error);
+    return future;
+  }
+
+  /**
+   * Wait for a future command result, propagating failures as BackEndException.
+   * This is the synchronous adapter of the non-blocking engine.
+   */
+  public static <T> T join(CompletableFuture<T> future) throws BackEndException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new BackEndException("Interrupted while waiting for command", e);
+    } catch (ExecutionException e) {
+      throw unwrap(e.getCause());
+    }
+  }
+
+  /**
+   * Returns the BackEndException behind a failed future.
+   */
+  public static BackEndException unwrap(Throwable error) {
+    Throwable cause = error;
+
+    while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+
+    if (cause instanceof BackEndException) {
+      return (BackEndException) cause;
+    }
+
+    return new BackEndException(String.valueOf(cause.getMessage()), cause);
+  }
+
+  /**
+   * Returns the number of connections leased by the asynchronous client.
+   */
+  public static int getLeasedConnections() {
+    PoolingNHttpClientConnectionManager manager = connectionManager;
+    return (manager != null) ? manager.getTotalStats().getLeased() : 0;
+  }
+}
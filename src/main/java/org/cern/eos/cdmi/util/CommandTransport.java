@@ -0,0 +1,52 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.util;
+
+import org.cern.eos.cdmi.resilience.ResilientExecutor;
+import org.cern.eos.cdmi.routing.Endpoint;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carrier of routed MGM commands to an endpoint.
+ * <p>
+ * Commands are identified by their relative URL, which remains the key for
+ * routing, coalescing and retries whatever the transport. Responses are handed
+ * to the reader in the HTTP envelope form, so decoding does not depend on the transport.
+ */
+public interface CommandTransport {
+
+  /**
+   * Returns a blocking attempt at the command with the given relative URL.
+   */
+  <T> ResilientExecutor.Attempt<T> attempt(Endpoint endpoint, String url, CommandType type,
+                                           HttpUtils.ResponseReader<T> reader);
+
+  /**
+   * Start a non-blocking attempt at the command with the given relative URL.
+   * Cancelling the returned future aborts the attempt.
+   */
+  <T> CompletableFuture<T> start(Endpoint endpoint, String url, CommandType type,
+                                 HttpUtils.ResponseReader<T> reader);
+}
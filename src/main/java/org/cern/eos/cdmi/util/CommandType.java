@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.util;
+
+/**
+ * Kinds of commands sent to the EOS MGM.
+ */
+public enum CommandType {
+  FILEINFO("fileinfo", true, false),
+  FILEINFO_STREAM("fileinfo (streamed)", true, true),
+  QOS_LIST("qos ls", true, false),
+  QOS_LIST_CLASS("qos ls <class>", true, false),
+  QOS_GET("qos get", true, false),
+  QOS_SET("qos set", false, false);
+
+  private final String label;
+  private final boolean read;
+  private final boolean streamed;
+
+  CommandType(String label, boolean read, boolean streamed) {
+    this.label = label;
+    this.read = read;
+    this.streamed = streamed;
+  }
+
+  /**
+   * Returns the command name, as it would be typed in the EOS console.
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * Returns true if the command only reads state and may be safely repeated or shared.
+   */
+  public boolean isRead() {
+    return read;
+  }
+
+  /**
+   * Returns true if the response is handed to the caller while it is being read.
+   * The caller sees part of the output before the command completes and consumes
+   * it at its own pace, so the command has no deadline by default.
+   */
+  public boolean isStreamed() {
+    return streamed;
+  }
+
+  /**
+   * Returns true if the command may be retried or hedged without side effects.
+   * Only read commands qualify: a repeated "qos set" might race a transition
+   * started by the first attempt, and a repeated streamed read would hand
+   * the same output to the caller twice.
+   */
+  public boolean isIdempotent() {
+    return read && !streamed;
+  }
+
+  /**
+   * Returns the command name used in configuration keys, e.g. "qos.get".
+   */
+  public String getConfigName() {
+    return name().toLowerCase().replace('_', '.');
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.util;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utility class to build EOS MGM command URLs.
+ * An empty server base URL yields URLs relative to the MGM, which
+ * {@link HttpUtils} routes to one of the configured MGM endpoints.
+ */
+public class CommandUrls {
+
+  public static final String CMD_PATH = "/proc/user/";
+
+  /**
+   * Return the EOS protobuf specific command URL containing the given opaque info.
+   *
+   * @param eosServer  the server base URL (scheme://host:port)
+   * @param opaqueInfo the base64 encoded protobuf request
+   */
+  public static String protoCommand(String eosServer, String opaqueInfo)
+      throws UnsupportedEncodingException {
+    String encodedOpaque = URLEncoder.encode(opaqueInfo, StandardCharsets.UTF_8.toString());
+    return eosServer + CMD_PATH + "?mgm.cmd.proto=" + encodedOpaque;
+  }
+
+  /**
+   * Return the EOS fileinfo specific command URL containing the given path.
+   *
+   * @param eosServer the server base URL (scheme://host:port)
+   * @param path      the queried path
+   */
+  public static String fileinfoCommand(String eosServer, String path)
+      throws UnsupportedEncodingException {
+    String encodedPath = URLEncoder.encode(path, StandardCharsets.UTF_8.toString());
+    return eosServer + CMD_PATH + "?mgm.cmd=fileinfo&mgm.path=" + encodedPath + "&mgm.format=json";
+  }
+}
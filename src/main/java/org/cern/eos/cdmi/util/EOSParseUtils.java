@@ -24,6 +24,8 @@
 package org.cern.eos.cdmi.util;
 
 import org.cern.eos.cdmi.EosStorageBackend;
+import org.cern.eos.cdmi.codec.QoSClass;
+import org.cern.eos.cdmi.codec.QoSMetadata;
 import org.indigo.cdmi.BackEndException;
 import org.indigo.cdmi.BackendCapability;
 import org.json.JSONArray;
@@ -35,8 +37,8 @@ import org.slf4j.LoggerFactory;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.LinkedList;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import static org.indigo.cdmi.BackendCapability.CapabilityType.CONTAINER;
 import static org.indigo.cdmi.BackendCapability.CapabilityType.DATAOBJECT;
@@ -47,6 +49,8 @@ import static org.indigo.cdmi.BackendCapability.CapabilityType.DATAOBJECT;
 public class EOSParseUtils {
 
   private static final Logger LOG = LoggerFactory.getLogger(EOSParseUtils.class);
+  // Whole errno token only, as "errno=20" (ENOTDIR) or "errno=22" (EINVAL) are not ENOENT
+  private static final Pattern ENOENT = Pattern.compile("errno=2\\b");
 
   /**
    * Given the full response of an EOS command, attempt to extract the output.
@@ -95,11 +99,11 @@ public class EOSParseUtils {
 
   /**
    * Extract information from EOS QoS class description
-   * and create a CDMI BackendCapability object.
+   * and create a CDMI BackendCapability object, with unmodifiable maps.
    */
   public static BackendCapability backendCapabilityFromJson(JSONObject response,
                                                             BackendCapability.CapabilityType type) {
-    Map<String, Object> metadata = metadataFromQoSJson(response, "");
+    Map<String, Object> metadata = new HashMap<>(metadataFromQoSJson(response, ""));
 
     try {
       List<String> transition = JsonUtils.jsonArrayToStringList(response.getJSONArray("transition"));
@@ -109,12 +113,56 @@ public class EOSParseUtils {
     }
 
     BackendCapability backendCapability = new BackendCapability(response.getString("name"), type);
-    backendCapability.setMetadata(metadata);
+    backendCapability.setMetadata(Collections.unmodifiableMap(metadata));
     backendCapability.setCapabilities(EosStorageBackend.capabilities);
 
     return backendCapability;
   }
 
+  /**
+   * Create a CDMI BackendCapability object out of a decoded QoS class description,
+   * with unmodifiable maps.
+   */
+  public static BackendCapability backendCapabilityFromQoSClass(QoSClass qosClass,
+                                                                BackendCapability.CapabilityType type) {
+    Map<String, Object> metadata = metadataFromQoS(qosClass.getMetadata(), "");
+
+    if (qosClass.getTransitions() != null) {
+      metadata.put("cdmi_capabilities_allowed",
+          capabilitiesAllowed(qosClass.getTransitions(), type));
+    }
+
+    BackendCapability backendCapability = new BackendCapability(qosClass.getName(), type);
+    backendCapability.setMetadata(Collections.unmodifiableMap(metadata));
+    backendCapability.setCapabilities(EosStorageBackend.capabilities);
+
+    return backendCapability;
+  }
+
+  /**
+   * Convert decoded QoS metadata into CDMI metadata.
+   * Incomplete metadata results in an empty map.
+   *
+   * @param qosMetadata the decoded QoS class or entry metadata
+   * @param suffix the suffix to append to the metadata key
+   * @return metadata the metadata map
+   */
+  public static Map<String, Object> metadataFromQoS(QoSMetadata qosMetadata, String suffix) {
+    Map<String, Object> metadata = new HashMap<>();
+
+    if (!qosMetadata.isComplete()) {
+      LOG.debug("Incomplete QoS metadata. Returning empty map.");
+      return metadata;
+    }
+
+    metadata.put("cdmi_data_redundancy" + suffix, qosMetadata.getRedundancy());
+    metadata.put("cdmi_latency" + suffix, qosMetadata.getLatency());
+    metadata.put("cdmi_geographic_placement" + suffix,
+        new JSONArray(qosMetadata.getGeographicPlacement()));
+
+    return metadata;
+  }
+
   /**
    * Extract metadata information from a QoS description.
    * The QoS description may be either for a class or for an entry.
@@ -145,33 +193,6 @@ public class EOSParseUtils {
     return metadata;
   }
 
-  /**
-   * Extract the list of children from a JSON Fileinfo response.
-   *
-   * @param fileinfo the JSON fileinfo response
-   * @return list of children
-   */
-  public static List<String> childrenFromFileinfoJSON(JSONObject fileinfo) {
-    List<String> children = new LinkedList<>();
-
-    if (!fileinfoIsDirectory(fileinfo)) {
-      return children;
-    }
-
-    try {
-       JSONArray childrenJSON = fileinfo.getJSONArray("children");
-
-       for (int i = 0; i < childrenJSON.length(); i++) {
-         children.add(childrenJSON.getJSONObject(i).getString("name"));
-       }
-    } catch (JSONException ignore) {
-      LOG.debug("Failed to retrieve children information. Return empty list.");
-      children = Collections.emptyList();
-    }
-
-    return children;
-  }
-
   /**
    * Returns true if the given fileinfo JSON object describes a directory,
    * false otherwise.
@@ -180,12 +201,28 @@ public class EOSParseUtils {
     return fileinfo.has("treesize");
   }
 
+  /**
+   * Returns true if the given error message reports a missing path.
+   */
+  public static boolean isNoSuchFileError(String errorMessage) {
+    return errorMessage != null
+        && (errorMessage.contains("No such file or directory")
+            || ENOENT.matcher(errorMessage).find());
+  }
+
   /**
    * Returns the QoS class extracted from the given capability URI.
    */
   public static String qosClassFromCapUri(String capUri) {
-    String[] parts = capUri.trim().split("/");
-    return parts[parts.length - 1];
+    String uri = capUri.trim();
+    int end = uri.length();
+
+    // Ignore trailing slashes, as in "/cdmi_capabilities/dataobject/class/"
+    while (end > 0 && uri.charAt(end - 1) == '/') {
+      end--;
+    }
+
+    return uri.substring(uri.lastIndexOf('/', end - 1) + 1, end);
   }
 
   /**
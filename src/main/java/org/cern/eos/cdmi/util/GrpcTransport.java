@@ -0,0 +1,363 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.util;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.StreamObserver;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHttpResponse;
+import org.cern.eos.cdmi.metrics.CommandMetrics;
+import org.cern.eos.cdmi.metrics.Metrics;
+import org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto;
+import org.cern.eos.cdmi.resilience.ResilientExecutor;
+import org.cern.eos.cdmi.resilience.TransientBackEndException;
+import org.cern.eos.cdmi.routing.Endpoint;
+import org.indigo.cdmi.BackEndException;
+import org.json.JSONException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport of protobuf commands over the gRPC interface of the MGM.
+ * <p>
+ * The serialized RequestProto is sent as is to the "eos.rpc.Eos/Exec" method,
+ * over one multiplexed HTTP/2 channel per endpoint, and the ReplyProto output
+ * is handed to the reader. Endpoints are selected by the "grpc" (plaintext)
+ * or "grpcs" (TLS) scheme. Commands without a protobuf form, such as fileinfo,
+ * and health checks go to the HTTP interface of the same host.
+ */
+public class GrpcTransport implements CommandTransport {
+
+  private static final Logger LOG = LoggerFactory.getLogger(GrpcTransport.class);
+  private static final String PROTO_PARAMETER = "mgm.cmd.proto=";
+  private static final Set<Status.Code> TRANSIENT_CODES = EnumSet.of(Status.Code.UNAVAILABLE,
+      Status.Code.DEADLINE_EXCEEDED, Status.Code.RESOURCE_EXHAUSTED, Status.Code.ABORTED,
+      Status.Code.CANCELLED);
+
+  static final MethodDescriptor<byte[], ReplyProto> EXEC =
+      MethodDescriptor.<byte[], ReplyProto>newBuilder()
+          .setType(MethodDescriptor.MethodType.UNARY)
+          .setFullMethodName(MethodDescriptor.generateFullMethodName("eos.rpc.Eos", "Exec"))
+          .setRequestMarshaller(new BytesMarshaller())
+          .setResponseMarshaller(ProtoUtils.marshaller(ReplyProto.getDefaultInstance()))
+          .build();
+
+  private final String httpScheme;
+  private final int httpPort;
+  private final long callTimeout;
+  private final long keepAlive;
+  private final ConcurrentMap<String, ManagedChannel> channels = new ConcurrentHashMap<>();
+  private final String settings;
+
+  /**
+   * Create a transport with the given configuration.
+   *
+   * @param config the plugin configuration
+   */
+  public GrpcTransport(PluginConfig config) {
+    httpScheme = (config.get("eos.grpc.http.scheme") != null)
+        ? config.get("eos.grpc.http.scheme") : "http";
+    httpPort = config.getInt("eos.grpc.http.port", 8000);
+    callTimeout = config.getLong("eos.http.timeout.read", 30000);
+    keepAlive = config.getLong("eos.grpc.keepalive", 60000);
+    settings = String.format("http=%s:%d timeout=%dms keepAlive=%dms",
+        httpScheme, httpPort, callTimeout, keepAlive);
+  }
+
+  /**
+   * Returns true if the given endpoint is reached through gRPC.
+   */
+  public static boolean isGrpc(Endpoint endpoint) {
+    String baseUrl = endpoint.getBaseUrl();
+    return baseUrl.regionMatches(true, 0, "grpc://", 0, 7)
+        || baseUrl.regionMatches(true, 0, "grpcs://", 0, 8);
+  }
+
+  /**
+   * Returns true if the command at the given URL has a protobuf form.
+   */
+  public static boolean isProtoCommand(String url) {
+    return url.contains(PROTO_PARAMETER);
+  }
+
+  /**
+   * Returns the base URL of the HTTP interface of a gRPC endpoint.
+   */
+  public String httpBaseUrl(Endpoint endpoint) {
+    return httpScheme + "://" + URI.create(endpoint.getBaseUrl()).getHost() + ":" + httpPort;
+  }
+
+  /**
+   * Returns a description of the transport settings.
+   */
+  public String getSettings() {
+    return settings;
+  }
+
+  /**
+   * Close all channels.
+   */
+  public void shutdown() {
+    for (ManagedChannel channel : channels.values()) {
+      channel.shutdown();
+    }
+
+    channels.clear();
+  }
+
+  @Override
+  public <T> ResilientExecutor.Attempt<T> attempt(Endpoint endpoint, String url, CommandType type,
+                                                  HttpUtils.ResponseReader<T> reader) {
+    return new ResilientExecutor.Attempt<T>() {
+      private volatile CompletableFuture<T> future;
+      private volatile boolean aborted;
+
+      @Override
+      public T call() throws BackEndException {
+        CompletableFuture<T> started = start(endpoint, url, type, reader);
+        future = started;
+
+        try {
+          if (aborted) {
+            started.cancel(true);
+          }
+
+          return AsyncHttpUtils.join(started);
+        } catch (CancellationException e) {
+          throw new TransientBackEndException("gRPC call aborted");
+        }
+      }
+
+      @Override
+      public void abort() {
+        aborted = true;
+        CompletableFuture<T> started = future;
+
+        if (started != null) {
+          started.cancel(true);
+        }
+      }
+    };
+  }
+
+  @Override
+  public <T> CompletableFuture<T> start(Endpoint endpoint, String url, CommandType type,
+                                        HttpUtils.ResponseReader<T> reader) {
+    byte[] request;
+
+    try {
+      request = requestBytes(url);
+    } catch (IllegalArgumentException | UnsupportedEncodingException e) {
+      return AsyncHttpUtils.failed(new BackEndException(
+          String.format("Failed decoding protobuf command %s -- %s", url, e.getMessage())));
+    }
+
+    CommandMetrics metrics = Metrics.command(type);
+    long start = metrics.start();
+    long endpointStart = endpoint.start();
+    ClientCall<byte[], ReplyProto> call = channel(endpoint).newCall(EXEC,
+        CallOptions.DEFAULT.withDeadlineAfter(callTimeout, TimeUnit.MILLISECONDS));
+    CompletableFuture<T> result = new CompletableFuture<>();
+
+    LOG.info("gRPC Request: {} {}", endpoint.getBaseUrl(), type);
+
+    ClientCalls.asyncUnaryCall(call, request, new StreamObserver<ReplyProto>() {
+      @Override
+      public void onNext(ReplyProto reply) {
+        metrics.recordHttp(System.nanoTime() - start);
+
+        try {
+          result.complete(reader.read(envelope(reply)));
+        } catch (IOException | JSONException | BackEndException e) {
+          result.completeExceptionally(wrapFailure(endpoint, e));
+        } catch (RuntimeException e) {
+          result.completeExceptionally(e);
+        }
+      }
+
+      @Override
+      public void onError(Throwable t) {
+        result.completeExceptionally(wrapFailure(endpoint, t));
+      }
+
+      @Override
+      public void onCompleted() {
+        if (!result.isDone()) {
+          result.completeExceptionally(
+              new BackEndException("gRPC call completed without reply"));
+        }
+      }
+    });
+
+    result.whenComplete((value, error) -> {
+      boolean aborted = result.isCancelled();
+
+      if (aborted) {
+        call.cancel("Attempt aborted", null);
+      }
+
+      metrics.end(start, error != null);
+      Throwable cause = (error instanceof CompletionException) ? error.getCause() : error;
+
+      if (aborted) {
+        endpoint.aborted(endpointStart);
+      } else if (cause instanceof TransientBackEndException || cause instanceof RuntimeException) {
+        endpoint.failure(endpointStart);
+      } else {
+        endpoint.success(endpointStart);
+      }
+    });
+
+    return result;
+  }
+
+  private ManagedChannel channel(Endpoint endpoint) {
+    ManagedChannel channel = channels.get(endpoint.getBaseUrl());
+
+    if (channel == null) {
+      channel = channels.computeIfAbsent(endpoint.getBaseUrl(), baseUrl -> {
+        URI uri = URI.create(baseUrl);
+        NettyChannelBuilder builder = NettyChannelBuilder.forAddress(uri.getHost(), uri.getPort())
+            .keepAliveTime(keepAlive, TimeUnit.MILLISECONDS);
+
+        if ("grpc".equalsIgnoreCase(uri.getScheme())) {
+          builder.usePlaintext();
+        }
+
+        LOG.info("Opening gRPC channel to {}", baseUrl);
+        return builder.build();
+      });
+    }
+
+    return channel;
+  }
+
+  /**
+   * Returns the serialized RequestProto carried by a command URL.
+   */
+  private static byte[] requestBytes(String url) throws UnsupportedEncodingException {
+    int from = url.indexOf(PROTO_PARAMETER);
+
+    if (from == -1) {
+      throw new IllegalArgumentException("not a protobuf command");
+    }
+
+    from += PROTO_PARAMETER.length();
+    int to = url.indexOf('&', from);
+    String encoded = url.substring(from, (to == -1) ? url.length() : to);
+
+    return Base64.getDecoder().decode(URLDecoder.decode(encoded, "UTF-8"));
+  }
+
+  /**
+   * Wrap a reply into the HTTP response the readers expect.
+   */
+  private static HttpResponse envelope(ReplyProto reply) throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream(
+        reply.getStdOutBytes().size() + reply.getStdErrBytes().size() + 64);
+    body.write("mgm.proc.stdout=".getBytes(StandardCharsets.US_ASCII));
+    reply.getStdOutBytes().writeTo(body);
+    body.write("&mgm.proc.stderr=".getBytes(StandardCharsets.US_ASCII));
+    reply.getStdErrBytes().writeTo(body);
+    body.write(("&mgm.proc.retc=" + reply.getRetc()).getBytes(StandardCharsets.US_ASCII));
+
+    HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+    response.setEntity(new ByteArrayEntity(body.toByteArray(), ContentType.TEXT_PLAIN));
+    return response;
+  }
+
+  /**
+   * Wrap a failed call: unavailable MGMs, deadlines and I/O failures become
+   * a TransientBackEndException, anything else a BackEndException.
+   */
+  private static BackEndException wrapFailure(Endpoint endpoint, Throwable e) {
+    String message = String.format("Failed gRPC Exec %s -- %s", endpoint.getBaseUrl(),
+        e.getMessage());
+
+    if (e instanceof IOException || e instanceof TransientBackEndException
+        || (e instanceof StatusRuntimeException
+            && TRANSIENT_CODES.contains(((StatusRuntimeException) e).getStatus().getCode()))) {
+      return new TransientBackEndException(message, e);
+    }
+
+    return new BackEndException(message);
+  }
+
+  /**
+   * Marshaller of already serialized messages.
+   */
+  private static class BytesMarshaller implements MethodDescriptor.Marshaller<byte[]> {
+    @Override
+    public InputStream stream(byte[] value) {
+      return new ByteArrayInputStream(value);
+    }
+
+    @Override
+    public byte[] parse(InputStream stream) {
+      try {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+
+        while ((read = stream.read(buffer)) != -1) {
+          out.write(buffer, 0, read);
+        }
+
+        return out.toByteArray();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
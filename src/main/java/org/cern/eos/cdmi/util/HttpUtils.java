@@ -23,12 +23,25 @@
 
 package org.cern.eos.cdmi.util;
 
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.EntityUtils;
+import org.cern.eos.cdmi.metrics.CommandMetrics;
+import org.cern.eos.cdmi.metrics.Metrics;
+import org.cern.eos.cdmi.resilience.ResilientExecutor;
+import org.cern.eos.cdmi.routing.Endpoint;
+import org.cern.eos.cdmi.routing.EndpointRouter;
+import org.cern.eos.cdmi.resilience.TransientBackEndException;
 import org.indigo.cdmi.BackEndException;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -36,54 +49,575 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class to facilitate handling of HTTP requests and responses.
+ * <p>
+ * Requests are performed over a pooled HTTP client. The pool and timeouts
+ * are tuned via the plugin configuration, see {@link #configure(PluginConfig)}.
  */
 public class HttpUtils {
 
-  private static final HttpClient client = HttpClientBuilder.create().build();
   private static final Logger LOG = LoggerFactory.getLogger(HttpUtils.class);
+  private static final long MAX_DRAIN_BYTES = 64 * 1024;
+
+  private static volatile PoolingHttpClientConnectionManager connectionManager;
+  private static volatile CloseableHttpClient client;
+  private static String settings;
+  private static PluginConfig configured;
+  private static final RequestCoalescer coalescer = new RequestCoalescer();
+  private static volatile boolean coalescing = true;
+  private static final ResilientExecutor resilience = new ResilientExecutor();
+  private static volatile EndpointRouter router;
+  private static volatile GrpcTransport grpc;
+
+  /**
+   * Plain HTTP transport to the /proc/user endpoint of the MGM.
+   */
+  private static final CommandTransport HTTP = new CommandTransport() {
+    @Override
+    public <T> ResilientExecutor.Attempt<T> attempt(Endpoint endpoint, String url,
+                                                    CommandType type, ResponseReader<T> reader) {
+      return new HttpAttempt<>(endpoint, httpBaseUrl(endpoint) + url, type, reader);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> start(Endpoint endpoint, String url, CommandType type,
+                                          ResponseReader<T> reader) {
+      return AsyncHttpUtils.attempt(endpoint, httpBaseUrl(endpoint) + url, type, reader);
+    }
+  };
+
+  static {
+    configure(null);
+    Metrics.register("Resilience", "mgm", resilience);
+  }
+
+  /**
+   * Converts a successful HTTP response into a result object.
+   */
+  public interface ResponseReader<T> {
+    T read(HttpResponse response) throws IOException, JSONException, BackEndException;
+
+    /**
+     * Returns a key identifying the conversion, or null if results must not be shared.
+     */
+    default String key() {
+      return "json";
+    }
+  }
+
+  /**
+   * (Re)build the pooled HTTP client according to the given configuration.
+   * Missing values fall back to the defaults. Calling this again with
+   * the same settings keeps the existing client, and calling it with
+   * an equal configuration leaves the client, router and gRPC transport untouched.
+   *
+   * @param config the plugin configuration, or null for defaults
+   */
+  public static synchronized void configure(PluginConfig config) {
+    if (config != null && config.equals(configured)) {
+      return;
+    }
+
+    configured = config;
+    int maxTotal = (config != null) ? config.getInt("eos.http.pool.max.total", 64) : 64;
+    int maxPerRoute = (config != null) ? config.getInt("eos.http.pool.max.per.route", 32) : 32;
+    int connectTimeout = (config != null) ? config.getInt("eos.http.timeout.connect", 5000) : 5000;
+    int readTimeout = (config != null) ? config.getInt("eos.http.timeout.read", 30000) : 30000;
+    int leaseTimeout = (config != null) ? config.getInt("eos.http.timeout.lease", 10000) : 10000;
+    long idleTimeout =
+        (config != null) ? config.getLong("eos.http.pool.idle.timeout", 30000) : 30000;
+    long keepAlive = (config != null) ? config.getLong("eos.http.keepalive", 60000) : 60000;
+
+    String newSettings = String.format(
+        "maxTotal=%d maxPerRoute=%d connect=%dms read=%dms lease=%dms idle=%dms keepAlive=%dms",
+        maxTotal, maxPerRoute, connectTimeout, readTimeout, leaseTimeout, idleTimeout, keepAlive);
+
+    coalescing = (config == null) || config.getBoolean("eos.http.coalescing", true);
+    resilience.configure(config);
+
+    if (config != null && config.get("eos.server") != null) {
+      configureGrpc(new GrpcTransport(config));
+      route(EndpointRouter.fromConfig(config));
+    }
+
+    if (newSettings.equals(settings)) {
+      return;
+    }
+
+    PoolingHttpClientConnectionManager newManager = new PoolingHttpClientConnectionManager();
+    newManager.setMaxTotal(maxTotal);
+    newManager.setDefaultMaxPerRoute(maxPerRoute);
+    newManager.setValidateAfterInactivity(2000);
+
+    RequestConfig requestConfig = RequestConfig.custom()
+        .setConnectTimeout(connectTimeout)
+        .setSocketTimeout(readTimeout)
+        .setConnectionRequestTimeout(leaseTimeout)
+        .build();
+
+    // Use server provided keep-alive when available, otherwise the configured one
+    ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+      long duration = DefaultConnectionKeepAliveStrategy.INSTANCE
+          .getKeepAliveDuration(response, context);
+      return (duration > 0) ? duration : keepAlive;
+    };
+
+    CloseableHttpClient newClient = HttpClientBuilder.create()
+        .setConnectionManager(newManager)
+        .setDefaultRequestConfig(requestConfig)
+        .setKeepAliveStrategy(keepAliveStrategy)
+        .evictExpiredConnections()
+        .evictIdleConnections(idleTimeout, TimeUnit.MILLISECONDS)
+        .build();
+
+    CloseableHttpClient oldClient = client;
+    client = newClient;
+    connectionManager = newManager;
+    settings = newSettings;
+    LOG.info("Configured HTTP client: {}", newSettings);
+
+    if (oldClient != null) {
+      try {
+        oldClient.close();
+      } catch (IOException e) {
+        LOG.warn("Failed closing previous HTTP client -- {}", e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Use the given gRPC transport, unless the current one has the same settings.
+   */
+  private static void configureGrpc(GrpcTransport newGrpc) {
+    GrpcTransport oldGrpc = grpc;
+
+    if (oldGrpc != null && oldGrpc.getSettings().equals(newGrpc.getSettings())) {
+      return;
+    }
+
+    grpc = newGrpc;
+    LOG.info("Configured gRPC transport: {}", newGrpc.getSettings());
+
+    if (oldGrpc != null) {
+      oldGrpc.shutdown();
+    }
+  }
+
+  /**
+   * Returns the transport of the command at the given relative URL to the given endpoint:
+   * gRPC for protobuf commands to a gRPC endpoint, HTTP otherwise.
+   */
+  static CommandTransport transport(Endpoint endpoint, String url) {
+    GrpcTransport currentGrpc = grpc;
+
+    if (currentGrpc != null && GrpcTransport.isGrpc(endpoint)
+        && GrpcTransport.isProtoCommand(url)) {
+      return currentGrpc;
+    }
+
+    return HTTP;
+  }
+
+  /**
+   * Returns the base URL of the HTTP interface of an endpoint.
+   */
+  static String httpBaseUrl(Endpoint endpoint) {
+    GrpcTransport currentGrpc = grpc;
+
+    if (currentGrpc != null && GrpcTransport.isGrpc(endpoint)) {
+      return currentGrpc.httpBaseUrl(endpoint);
+    }
+
+    return endpoint.getBaseUrl();
+  }
+
+  /**
+   * Route relative command URLs with the given router. A router with
+   * the same settings as the current one is ignored, keeping endpoint statistics.
+   */
+  private static void route(EndpointRouter newRouter) {
+    EndpointRouter oldRouter = router;
+
+    if (oldRouter != null && oldRouter.toString().equals(newRouter.toString())) {
+      return;
+    }
+
+    router = newRouter;
+    LOG.info("Configured MGM routing: {}", newRouter);
+
+    for (Endpoint endpoint : newRouter.getEndpoints()) {
+      Metrics.register("Endpoint", endpoint.getBaseUrl(), endpoint);
+    }
+
+    newRouter.startHealthChecks(HttpUtils::probe);
+
+    if (oldRouter != null) {
+      oldRouter.shutdown();
+    }
+  }
+
+  /**
+   * Returns the router of relative command URLs, or null if not configured.
+   */
+  public static EndpointRouter getRouter() {
+    return router;
+  }
+
+  /**
+   * Returns the connection pool statistics (leased, pending, available and max connections).
+   */
+  public static PoolStats getPoolStats() {
+    return connectionManager.getTotalStats();
+  }
 
   /**
    * Performs an HTTP request at the given URL and returns the response as JSON object.
+   * Concurrent identical read commands share a single request.
+   * URLs starting with "/" are routed to one of the configured MGM endpoints.
    *
-   * @param url the URL to query
+   * @param url  the URL to query
+   * @param type the command type
    * @return json response object
    */
-  public static JSONObject executeCommand(String url) throws BackEndException {
-    return execute(new HttpGet(url));
+  public static JSONObject executeCommand(String url, CommandType type) throws BackEndException {
+    CommandMetrics metrics = Metrics.command(type);
+    return executeCommand(url, type, response -> JsonUtils.responseToJson(response, metrics));
+  }
+
+  /**
+   * Performs an HTTP request at the given URL and returns the response
+   * as converted by the given reader. Concurrent identical read commands,
+   * converted by readers with the same key, share a single request.
+   * The request is subject to the deadline, retry, hedging and circuit breaker
+   * policies of the {@link ResilientExecutor}.
+   *
+   * @param url    the URL to query
+   * @param type   the command type
+   * @param reader the reader converting a successful response
+   * @return converted response object
+   */
+  public static <T> T executeCommand(String url, CommandType type, ResponseReader<T> reader)
+      throws BackEndException {
+    return executeCommand(url, type, reader, null);
+  }
+
+  /**
+   * Performs an HTTP request at the given URL and returns the response
+   * as converted by the given reader, as {@link #executeCommand(String, CommandType,
+   * ResponseReader)} does. A read command only shares a request of the same scope
+   * started since the scope was last fenced (see {@link #fence(String)}).
+   *
+   * @param url    the URL to query
+   * @param type   the command type
+   * @param reader the reader converting a successful response
+   * @param scope  the path read by the command, or null
+   * @return converted response object
+   */
+  public static <T> T executeCommand(String url, CommandType type, ResponseReader<T> reader,
+                                     String scope)
+      throws BackEndException {
+    if (coalescing && type.isRead() && reader.key() != null) {
+      return coalescer.execute(url + "#" + reader.key(), scope,
+          () -> resilience.execute(type, attempts(url, type, reader)));
+    }
+
+    return resilience.execute(type, attempts(url, type, reader));
+  }
+
+  /**
+   * Stop sharing the read commands in flight for the given path. Called once a command
+   * changed the path, so that later reads do not receive a result predating the change.
+   */
+  public static void fence(String scope) {
+    coalescer.fence(scope);
+  }
+
+  /**
+   * Returns the factory of attempts at a command. Attempts at a relative URL
+   * are routed, each retry or hedge preferring a different endpoint.
+   */
+  private static <T> ResilientExecutor.AttemptFactory<T> attempts(String url, CommandType type,
+                                                                  ResponseReader<T> reader)
+      throws BackEndException {
+    if (!url.startsWith("/")) {
+      return () -> new HttpAttempt<>(null, url, type, reader);
+    }
+
+    EndpointRouter currentRouter = router;
+
+    if (currentRouter == null) {
+      throw new BackEndException("No MGM endpoint configured for " + url);
+    }
+
+    return new ResilientExecutor.AttemptFactory<T>() {
+      private volatile Endpoint last;
+
+      @Override
+      public ResilientExecutor.Attempt<T> newAttempt() {
+        Endpoint endpoint = currentRouter.select(type, last);
+        last = endpoint;
+        return transport(endpoint, url).attempt(endpoint, url, type, reader);
+      }
+    };
+  }
+
+  /**
+   * Active health check of an endpoint: any answer below HTTP 500 counts as healthy.
+   */
+  private static boolean probe(Endpoint endpoint) {
+    HttpGet request = new HttpGet(httpBaseUrl(endpoint) + router.getHealthPath());
+    request.setConfig(RequestConfig.custom()
+        .setConnectTimeout(2000)
+        .setSocketTimeout(5000)
+        .setConnectionRequestTimeout(2000)
+        .build());
+
+    try (CloseableHttpResponse response = client.execute(request)) {
+      EntityUtils.consumeQuietly(response.getEntity());
+      return response.getStatusLine().getStatusCode() < 500;
+    } catch (IOException e) {
+      LOG.debug("Health check of {} failed -- {}", endpoint, e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Open pooled connections to every MGM ahead of the first commands,
+   * by sending the given number of simultaneous health check requests to each of them.
+   *
+   * @param connections the number of connections to open per MGM
+   * @return the number of successful requests
+   */
+  public static int prewarm(int connections) {
+    EndpointRouter currentRouter = router;
+
+    if (currentRouter == null || connections <= 0) {
+      return 0;
+    }
+
+    List<Endpoint> endpoints = currentRouter.getEndpoints();
+    int total = endpoints.size() * connections;
+    ExecutorService warmers = Executors.newFixedThreadPool(total,
+        new NamedThreadFactory("eos-prewarm"));
+    CountDownLatch go = new CountDownLatch(1);
+    List<Callable<Boolean>> requests = new ArrayList<>(total);
+
+    for (Endpoint endpoint : endpoints) {
+      for (int i = 0; i < connections; i++) {
+        // Requests overlap, so that each one leases a connection of its own
+        requests.add(() -> {
+          go.await();
+          return probe(endpoint);
+        });
+      }
+    }
+
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>(total);
+
+      for (Callable<Boolean> request : requests) {
+        futures.add(warmers.submit(request));
+      }
+
+      go.countDown();
+      int opened = 0;
+
+      for (Future<Boolean> future : futures) {
+        if (future.get()) {
+          opened++;
+        }
+      }
+
+      return opened;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return 0;
+    } catch (ExecutionException e) {
+      LOG.warn("Failed opening MGM connections -- {}", e.getCause().getMessage());
+      return 0;
+    } finally {
+      warmers.shutdownNow();
+    }
+  }
+
+  /**
+   * Returns the resilience layer wrapping MGM commands.
+   */
+  public static ResilientExecutor getResilience() {
+    return resilience;
+  }
+
+  /**
+   * Returns true if concurrent identical read commands share a single request.
+   */
+  public static boolean isCoalescing() {
+    return coalescing;
+  }
+
+  /**
+   * Returns the coalescer of identical concurrent read commands.
+   */
+  public static RequestCoalescer getCoalescer() {
+    return coalescer;
   }
 
   /**
-   * Performs an HTTP request and returns the response as JSON object.
+   * Performs an HTTP request and returns the converted response.
+   * The response entity is always released: small remainders are consumed
+   * so that the connection returns to the pool, while large unread remainders
+   * cause the connection to be closed instead.
    *
    * @param request the HTTP Request to perform
-   * @return json response object
+   * @param type    the command type
+   * @param reader  the reader converting a successful response
+   * @return converted response object
    */
-  private static JSONObject execute(HttpUriRequest request) throws BackEndException {
+  private static <T> T execute(HttpUriRequest request, CommandType type, ResponseReader<T> reader)
+      throws BackEndException {
+    CommandMetrics metrics = Metrics.command(type);
+    long start = metrics.start();
+    boolean failed = true;
+
     try {
       LOG.info("HTTP Request: {}", request);
-      HttpResponse response = client.execute(request);
 
-      if (statusOk(response)) {
-        return JsonUtils.responseToJson(response);
-      } else {
-        LOG.warn("{} {} {}: {}", request.getMethod(), request.getURI(),
-          response.getStatusLine().getStatusCode(), httpResponseToString(response));
+      try (CloseableHttpResponse response = client.execute(request)) {
+        boolean discarded = false;
+        metrics.recordHttp(System.nanoTime() - start);
 
-        if (statusError(response)) {
-          throw new BackEndException(
-            JsonUtils.responseToJson(response).getString("error"));
+        try {
+          T result = readResponse(request, response, metrics, reader);
+          discarded = drainOrDiscard(response);
+          failed = false;
+          return result;
+        } finally {
+          if (failed && !discarded) {
+            // The reader may have stopped early, e.g. a listing visitor interrupted
+            drainOrDiscardQuietly(response);
+          }
         }
       }
     } catch (IOException | JSONException | BackEndException e) {
-      String message =
-        String.format("Failed %s %s -- %s", request.getMethod(), request.getURI(), e.getMessage());
-      throw new BackEndException(message);
+      throw wrapFailure(request, e);
+    } finally {
+      metrics.end(start, failed);
+    }
+  }
+
+  /**
+   * Convert the response of a command: successful responses go through the reader,
+   * others are turned into a BackEndException, transient if the MGM is unavailable.
+   */
+  static <T> T readResponse(HttpUriRequest request, HttpResponse response,
+                            CommandMetrics metrics, ResponseReader<T> reader)
+      throws IOException, JSONException, BackEndException {
+    if (statusOk(response)) {
+      return reader.read(response);
+    }
+
+    int status = response.getStatusLine().getStatusCode();
+    String body = httpResponseToString(response);
+    metrics.recordHttpError(status);
+    LOG.warn("{} {} {}: {}", request.getMethod(), request.getURI(), status, body);
+
+    if (statusUnavailable(response)) {
+      throw new TransientBackEndException(errorMessage(response, body));
+    }
+
+    throw new BackEndException(errorMessage(response, body));
+  }
+
+  /**
+   * Wrap a failed request: network failures and unavailable MGMs become
+   * a TransientBackEndException, anything else a BackEndException.
+   */
+  static BackEndException wrapFailure(HttpUriRequest request, Exception e) {
+    String message = String.format("Failed %s %s -- %s", request.getMethod(), request.getURI(),
+        e.getMessage());
+
+    if (e instanceof IOException || e instanceof TransientBackEndException) {
+      return new TransientBackEndException(message, e);
+    }
+
+    return new BackEndException(message);
+  }
+
+  /**
+   * Returns the error of an error body: the error output of its command envelope,
+   * or the "error" field of its JSON output. Falls back to the status line and output.
+   */
+  static String errorMessage(HttpResponse response, String body) {
+    String output;
+
+    try {
+      output = EOSParseUtils.extractCmdOutput(body);
+    } catch (BackEndException e) {
+      return e.getMessage();
+    }
+
+    try {
+      return new JSONObject(output).getString("error");
+    } catch (JSONException e) {
+      return response.getStatusLine() + (output.isEmpty() ? "" : ": " + output);
+    }
+  }
+
+  /**
+   * Consume a bounded remainder of the response entity.
+   * If more data remains, the response is closed, which discards the connection
+   * rather than reading the rest of a large body.
+   *
+   * @return true if the connection was discarded
+   */
+  private static boolean drainOrDiscard(CloseableHttpResponse response) throws IOException {
+    HttpEntity entity = response.getEntity();
+
+    if (entity == null || !entity.isStreaming()) {
+      return false;
+    }
+
+    InputStream content = entity.getContent();
+    byte[] buffer = new byte[4096];
+    long remaining = MAX_DRAIN_BYTES;
+    int read;
+
+    try {
+      while ((read = content.read(buffer)) != -1) {
+        remaining -= read;
+
+        if (remaining <= 0) {
+          LOG.debug("Discarding connection with unread response remainder");
+          response.close();
+          return true;
+        }
+      }
+    } catch (IOException e) {
+      // Content stream already closed by the reader, connection is released
+      LOG.trace("Response content already consumed -- {}", e.getMessage());
     }
 
-    return null;
+    return false;
+  }
+
+  private static void drainOrDiscardQuietly(CloseableHttpResponse response) {
+    try {
+      drainOrDiscard(response);
+    } catch (IOException e) {
+      LOG.trace("Failed draining response -- {}", e.getMessage());
+    }
   }
 
   /**
@@ -95,19 +629,73 @@ public class HttpUtils {
   }
 
   /**
-   * Returns true if HTTP response status code is in the HTTP Error range.
+   * Returns true if HTTP response status code says the MGM is temporarily unavailable.
    */
-  private static boolean statusError(HttpResponse response) {
+  private static boolean statusUnavailable(HttpResponse response) {
     int statusCode = response.getStatusLine().getStatusCode();
 
-    return (statusCode == 400 || statusCode == 401 || statusCode == 404 ||
-            statusCode == 500 || statusCode == 501);
+    return (statusCode == 429 || statusCode == 502 || statusCode == 503 || statusCode == 504);
   }
 
   /**
     * Return a string representation of an HTTP response object.
     */
   private static String httpResponseToString(HttpResponse response) throws IOException {
-      return EntityUtils.toString(response.getEntity(), "UTF-8");
+      HttpEntity entity = response.getEntity();
+      return (entity != null) ? EntityUtils.toString(entity, "UTF-8") : "";
+  }
+
+  /**
+   * A single HTTP attempt at a command, which may be aborted from another thread.
+   * Attempts at a routed endpoint update its load and health.
+   */
+  private static class HttpAttempt<T> implements ResilientExecutor.Attempt<T> {
+
+    private final Endpoint endpoint;
+    private final HttpGet request;
+    private final CommandType type;
+    private final ResponseReader<T> reader;
+
+    HttpAttempt(Endpoint endpoint, String url, CommandType type, ResponseReader<T> reader) {
+      this.endpoint = endpoint;
+      this.request = new HttpGet(url);
+      this.type = type;
+      this.reader = reader;
+    }
+
+    @Override
+    public T call() throws BackEndException {
+      if (endpoint == null) {
+        return execute(request, type, reader);
+      }
+
+      long start = endpoint.start();
+
+      try {
+        T result = execute(request, type, reader);
+        endpoint.success(start);
+        return result;
+      } catch (TransientBackEndException e) {
+        if (request.isAborted()) {
+          endpoint.aborted(start);
+        } else {
+          endpoint.failure(start);
+        }
+
+        throw e;
+      } catch (BackEndException e) {
+        // The MGM answered, the error is about the command itself
+        endpoint.success(start);
+        throw e;
+      } catch (RuntimeException e) {
+        endpoint.failure(start);
+        throw e;
+      }
+    }
+
+    @Override
+    public void abort() {
+      request.abort();
+    }
   }
 }
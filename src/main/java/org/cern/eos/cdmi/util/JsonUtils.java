@@ -24,7 +24,8 @@
 package org.cern.eos.cdmi.util;
 
 import org.apache.http.HttpResponse;
-import org.apache.http.util.EntityUtils;
+import org.cern.eos.cdmi.codec.CommandEnvelope;
+import org.cern.eos.cdmi.metrics.CommandMetrics;
 import org.indigo.cdmi.BackEndException;
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -48,15 +49,53 @@ public class JsonUtils {
    */
   public static JSONObject responseToJson(HttpResponse response) throws IOException,
       JSONException, BackEndException {
-    String cmdResponse = EntityUtils.toString(response.getEntity());
-    String cmdOut = EOSParseUtils.extractCmdOutput(cmdResponse);
-    LOG.debug("Attempting response conversion as JSON object: {}", cmdOut);
-
-    try {
-      return new JSONObject(cmdOut);
-    } catch (JSONException objectE) {
-      LOG.debug("Failed conversion to JSON object.");
-      throw objectE;
+    return responseToJson(response, null);
+  }
+
+  /**
+   * Return HTTP response as JSON object, recording the time spent
+   * reading, extracting and parsing the response in the given metrics.
+   *
+   * @param response the HTTP response
+   * @param metrics  the command metrics, or null
+   */
+  public static JSONObject responseToJson(HttpResponse response, CommandMetrics metrics)
+      throws IOException, JSONException, BackEndException {
+    long start = System.nanoTime();
+
+    try (CommandEnvelope envelope = CommandEnvelope.read(response)) {
+      long read = System.nanoTime();
+
+      // org.json parses Strings fastest: copy the output alone, once
+      String cmdOut = envelope.outputString();
+      long extracted = System.nanoTime();
+
+      try {
+        envelope.checkErrors();
+      } catch (BackEndException e) {
+        if (metrics != null) {
+          metrics.recordMgmError(e.getMessage());
+        }
+
+        throw e;
+      }
+
+      LOG.debug("Attempting response conversion as JSON object: {}", cmdOut);
+
+      try {
+        JSONObject json = new JSONObject(cmdOut);
+
+        if (metrics != null) {
+          metrics.recordRead(read - start);
+          metrics.recordExtract(extracted - read);
+          metrics.recordParse(System.nanoTime() - extracted);
+        }
+
+        return json;
+      } catch (JSONException objectE) {
+        LOG.debug("Failed conversion to JSON object.");
+        throw objectE;
+      }
     }
   }
 
@@ -57,6 +57,13 @@ public class PluginConfig {
         }
     }
 
+    /**
+     * Create a config from the given properties, without reading the config file.
+     */
+    public PluginConfig(Properties properties) {
+        this.properties.putAll(properties);
+    }
+
     /**
      * Get property from loaded config properties.
      */
@@ -64,6 +71,64 @@ public class PluginConfig {
         return properties.getProperty(parameter);
     }
 
+    /**
+     * Get property as a long value, or the given default if the property is missing.
+     */
+    public long getLong(String parameter, long defaultValue) {
+        String value = properties.getProperty(parameter);
+
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid numeric value for {}: {} -- using default {}",
+                parameter, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get property as an int value, or the given default if the property is missing.
+     */
+    public int getInt(String parameter, int defaultValue) {
+        return (int) getLong(parameter, defaultValue);
+    }
+
+    /**
+     * Get property as a double value, or the given default if the property is missing.
+     */
+    public double getDouble(String parameter, double defaultValue) {
+        String value = properties.getProperty(parameter);
+
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid numeric value for {}: {} -- using default {}",
+                parameter, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get property as a boolean value, or the given default if the property is missing.
+     */
+    public boolean getBoolean(String parameter, boolean defaultValue) {
+        String value = properties.getProperty(parameter);
+
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+
+        return Boolean.parseBoolean(value.trim());
+    }
+
     /**
      * Throw a NullPointerException if the requested property is null.
      */
@@ -72,4 +137,25 @@ public class PluginConfig {
             throw new NullPointerException("Null property: " + parameter);
         }
     }
+
+    /**
+     * Two configs are equal when they hold the same properties.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof PluginConfig)) {
+            return false;
+        }
+
+        return properties.equals(((PluginConfig) other).properties);
+    }
+
+    @Override
+    public int hashCode() {
+        return properties.hashCode();
+    }
 }
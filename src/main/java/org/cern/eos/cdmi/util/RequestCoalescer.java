@@ -0,0 +1,225 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.util;
+
+import org.indigo.cdmi.BackEndException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical concurrent requests.
+ * <p>
+ * While a request is in flight, callers asking for the same key wait for it
+ * and receive its result or error, instead of issuing a request of their own.
+ * <p>
+ * Requests may be given a scope, e.g. the path they read. Once a command changes
+ * the state of a scope, {@link #fence(String)} stops sharing the requests in flight
+ * for it, so that a read issued after the change never joins one started before.
+ */
+public class RequestCoalescer {
+
+  /**
+   * A request which may be shared between concurrent callers.
+   */
+  public interface Request<T> {
+    T execute() throws BackEndException;
+  }
+
+  /**
+   * The shared result of a request in flight.
+   */
+  private static final class Call extends CompletableFuture<Object> {
+    private final String scope;
+
+    Call(String scope) {
+      this.scope = scope;
+    }
+  }
+
+  private final ConcurrentMap<String, Call> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong executed = new AtomicLong();
+  private final AtomicLong coalesced = new AtomicLong();
+  private final AtomicLong fenced = new AtomicLong();
+
+  /**
+   * Execute the request, or join an identical request already in flight.
+   *
+   * @param key     the request key, identical requests must have identical keys
+   * @param request the request to execute
+   * @return the request result
+   */
+  public <T> T execute(String key, Request<T> request) throws BackEndException {
+    return execute(key, null, request);
+  }
+
+  /**
+   * Execute the request, or join an identical request of the same scope
+   * in flight since the scope was last fenced.
+   *
+   * @param key     the request key, identical requests must have identical keys
+   * @param scope   the state read by the request, or null
+   * @param request the request to execute
+   * @return the request result
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T execute(String key, String scope, Request<T> request) throws BackEndException {
+    Call future = new Call(scope);
+    CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+
+    if (existing != null) {
+      coalesced.incrementAndGet();
+      return (T) await(existing);
+    }
+
+    executed.incrementAndGet();
+
+    try {
+      T result = request.execute();
+      future.complete(result);
+      return result;
+    } catch (BackEndException | RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  /**
+   * Start the request without blocking, or join an identical request already in flight.
+   * Every caller receives its own dependent future, so that cancelling it does not
+   * affect the other callers.
+   *
+   * @param key     the request key, identical requests must have identical keys
+   * @param request the starter of the request
+   * @return the future request result
+   */
+  public <T> CompletableFuture<T> executeAsync(String key,
+                                               Supplier<CompletableFuture<T>> request) {
+    return executeAsync(key, null, request);
+  }
+
+  /**
+   * Non-blocking variant of {@link #execute(String, String, Request)}.
+   *
+   * @param key     the request key, identical requests must have identical keys
+   * @param scope   the state read by the request, or null
+   * @param request the starter of the request
+   * @return the future request result
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CompletableFuture<T> executeAsync(String key, String scope,
+                                               Supplier<CompletableFuture<T>> request) {
+    Call future = new Call(scope);
+    CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+
+    if (existing != null) {
+      coalesced.incrementAndGet();
+      return existing.thenApply(result -> (T) result);
+    }
+
+    executed.incrementAndGet();
+
+    try {
+      request.get().whenComplete((result, error) -> {
+        inFlight.remove(key, future);
+
+        if (error != null) {
+          future.completeExceptionally(error);
+        } else {
+          future.complete(result);
+        }
+      });
+    } catch (RuntimeException e) {
+      inFlight.remove(key, future);
+      future.completeExceptionally(e);
+    }
+
+    return future.thenApply(result -> (T) result);
+  }
+
+  /**
+   * Stop sharing the requests in flight for the given scope: they complete for the
+   * callers which already joined them, while later callers issue their own request.
+   *
+   * @param scope the scope whose state changed
+   */
+  public void fence(String scope) {
+    if (inFlight.values().removeIf(call -> scope.equals(call.scope))) {
+      fenced.incrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the number of requests actually executed.
+   */
+  public long getExecuted() {
+    return executed.get();
+  }
+
+  /**
+   * Returns the number of requests served by joining an in-flight request.
+   */
+  public long getCoalesced() {
+    return coalesced.get();
+  }
+
+  /**
+   * Returns the number of fences which stopped sharing requests in flight.
+   */
+  public long getFenced() {
+    return fenced.get();
+  }
+
+  /**
+   * Returns the number of requests currently in flight.
+   */
+  public int getInFlight() {
+    return inFlight.size();
+  }
+
+  private static Object await(CompletableFuture<Object> future) throws BackEndException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BackEndException("Interrupted while waiting for in-flight request", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+
+      if (cause instanceof BackEndException) {
+        throw (BackEndException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+
+      throw new BackEndException(cause.getMessage(), cause);
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.util;
+
+import org.indigo.cdmi.BackendCapability;
+import org.indigo.cdmi.CdmiObjectStatus;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class to copy CDMI SPI objects.
+ * The SPI objects are mutable, so cached ones are copied before being handed out.
+ */
+public class SpiUtils {
+
+  /**
+   * Returns a deep copy of the given status.
+   */
+  public static CdmiObjectStatus copy(CdmiObjectStatus status) {
+    CdmiObjectStatus copy = new CdmiObjectStatus(copyMap(status.getMonitoredAttributes()),
+        status.getCurrentCapabilitiesUri(), status.getTargetCapabilitiesUri());
+
+    if (status.getChildren() != null) {
+      copy.setChildren(new ArrayList<>(status.getChildren()));
+    }
+
+    if (status.getExportAttributes() != null) {
+      copy.setExportAttributes(copyMap(status.getExportAttributes()));
+    }
+
+    return copy;
+  }
+
+  /**
+   * Returns a deep copy of the given capability.
+   */
+  public static BackendCapability copy(BackendCapability capability) {
+    BackendCapability copy = new BackendCapability(capability.getName(), capability.getType());
+    copy.setCapabilities(copyMap(capability.getCapabilities()));
+    copy.setMetadata(copyMap(capability.getMetadata()));
+    return copy;
+  }
+
+  /**
+   * Returns a new list of deep copies of the given capabilities.
+   */
+  public static List<BackendCapability> copy(List<BackendCapability> capabilities) {
+    List<BackendCapability> copies = new ArrayList<>(capabilities.size());
+
+    for (BackendCapability capability : capabilities) {
+      copies.add(copy(capability));
+    }
+
+    return copies;
+  }
+
+  /**
+   * Returns a deep copy of the given attribute map, or null.
+   */
+  public static Map<String, Object> copyMap(Map<String, Object> map) {
+    if (map == null) {
+      return null;
+    }
+
+    Map<String, Object> copy = new HashMap<>(map.size() * 4 / 3 + 1);
+
+    for (Map.Entry<String, Object> entry : map.entrySet()) {
+      copy.put(entry.getKey(), copyValue(entry.getValue()));
+    }
+
+    return copy;
+  }
+
+  /**
+   * Returns a deep copy of a mutable attribute value, or the value itself if immutable.
+   */
+  @SuppressWarnings("unchecked")
+  private static Object copyValue(Object value) {
+    if (value instanceof JSONArray) {
+      JSONArray copy = new JSONArray();
+
+      for (Object element : (JSONArray) value) {
+        copy.put(copyValue(element));
+      }
+
+      return copy;
+    } else if (value instanceof JSONObject) {
+      JSONObject object = (JSONObject) value;
+      JSONObject copy = new JSONObject();
+
+      for (String key : object.keySet()) {
+        copy.put(key, copyValue(object.get(key)));
+      }
+
+      return copy;
+    } else if (value instanceof Map) {
+      return copyMap((Map<String, Object>) value);
+    } else if (value instanceof Collection) {
+      List<Object> copy = new ArrayList<>(((Collection<?>) value).size());
+
+      for (Object element : (Collection<?>) value) {
+        copy.add(copyValue(element));
+      }
+
+      return copy;
+    }
+
+    return value;
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi;
+
+import org.cern.eos.cdmi.metrics.Metrics;
+import org.cern.eos.cdmi.stub.StubMgmServer;
+import org.cern.eos.cdmi.stub.StubNamespace;
+import org.cern.eos.cdmi.util.CommandType;
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.indigo.cdmi.BackEndException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BulkTransitionTest {
+
+  private static final String ROOT = "/eos/qos";
+  private static final String TARGET = "/cdmi_capabilities/dataobject/disk_replica";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private StubNamespace namespace;
+  private StubMgmServer server;
+  private EosStorageBackend backend;
+
+  @Before
+  public void start() throws Exception {
+    namespace = StubNamespace.standard(ROOT, 3, 40);
+    server = new StubMgmServer(namespace, 0, 4);
+
+    Properties properties = new Properties();
+    properties.setProperty("eos.server", "127.0.0.1");
+    properties.setProperty("eos.server.port", String.valueOf(server.getPort()));
+    properties.setProperty("eos.server.scheme", "http");
+    properties.setProperty("eos.capabilities.snapshot", "");
+    properties.setProperty("eos.health.interval", "0");
+    backend = new EosStorageBackend(new PluginConfig(properties));
+  }
+
+  @After
+  public void stop() {
+    backend.close();
+    server.close();
+  }
+
+  private String currentQoS(String path) {
+    return namespace.qosGet(namespace.get(path), null).getString("current_qos");
+  }
+
+  private static Set<String> journaled(Path journal) throws Exception {
+    List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+    assertEquals("# target=" + TARGET, lines.get(0));
+    Set<String> paths = new HashSet<>(lines.subList(1, lines.size()));
+    assertEquals("Duplicate journal entries", lines.size() - 1, paths.size());
+    return paths;
+  }
+
+  @Test
+  public void transitionsTreeWithOneListingPerContainer() throws Exception {
+    long listings = Metrics.command(CommandType.FILEINFO_STREAM).getCount();
+
+    BulkTransition.Result result = backend.bulkTransition(ROOT, TARGET).concurrency(4).run();
+
+    assertTrue(result.isComplete());
+    assertEquals(result.getFailures().toString(), 0, result.getProgress().getFailed());
+    // The root, 3 directories and 120 files
+    assertEquals(124, result.getProgress().getDiscovered());
+    assertEquals(124, result.getProgress().getSucceeded());
+    // Each container is listed once, whatever the number of its children
+    assertEquals(listings + 4, Metrics.command(CommandType.FILEINFO_STREAM).getCount());
+
+    for (String file : namespace.files()) {
+      assertEquals(file, "disk_replica", currentQoS(file));
+    }
+  }
+
+  @Test
+  public void recordsListingFailure() throws Exception {
+    BulkTransition.Result result =
+        backend.bulkTransition(ROOT + "/missing", TARGET).concurrency(2).run();
+
+    assertTrue(result.isComplete());
+    // Both the "qos set" and the listing of the missing container fail, counted apart
+    assertEquals(1, result.getProgress().getDiscovered());
+    assertEquals(1, result.getProgress().getFailed());
+    assertEquals(1, result.getProgress().getListingFailures());
+    assertTrue(result.getFailures().containsKey(ROOT + "/missing"));
+    assertTrue(result.getListingFailures().containsKey(ROOT + "/missing"));
+  }
+
+  @Test
+  public void notifiesEveryIntervalOfProcessedEntries() throws Exception {
+    List<Long> notified = Collections.synchronizedList(new ArrayList<>());
+    backend.bulkTransition(ROOT, TARGET).concurrency(8)
+        .listener(progress -> notified.add(progress.getDiscovered()), 10)
+        .run();
+
+    // 124 entries processed concurrently, one notification per multiple of 10
+    assertEquals(12, notified.size());
+  }
+
+  @Test
+  public void resumesFromJournal() throws Exception {
+    Path journal = folder.getRoot().toPath().resolve("bulk.journal");
+
+    BulkTransition.Result first = backend.bulkTransition(ROOT, TARGET).journal(journal).run();
+    assertEquals(124, first.getProgress().getSucceeded());
+    assertEquals(124, journaled(journal).size());
+
+    BulkTransition.Result second = backend.bulkTransition(ROOT, TARGET).journal(journal).run();
+    assertTrue(second.isComplete());
+    assertEquals(124, second.getProgress().getDiscovered());
+    assertEquals(124, second.getProgress().getSkipped());
+    assertEquals(0, second.getProgress().getSucceeded());
+    assertEquals(124, journaled(journal).size());
+  }
+
+  @Test
+  public void refusesJournalOfAnotherTarget() throws Exception {
+    Path journal = folder.getRoot().toPath().resolve("bulk.journal");
+    Files.write(journal, "# target=/cdmi_capabilities/dataobject/tape\n/eos/qos\n"
+        .getBytes(StandardCharsets.UTF_8));
+
+    try {
+      backend.bulkTransition(ROOT, TARGET).journal(journal).run();
+      fail("Journal of another target accepted");
+    } catch (BackEndException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("not recorded for target"));
+    }
+  }
+
+  @Test
+  public void journalsOutstandingCommandsWhenInterrupted() throws Exception {
+    Path journal = folder.getRoot().toPath().resolve("bulk.journal");
+    server.latency(50, 0, TimeUnit.MILLISECONDS);
+    AtomicReference<BulkTransition.Result> result = new AtomicReference<>();
+
+    // Interrupt the discovering thread from the listener, run by a command thread
+    BulkTransition transition = backend.bulkTransition(ROOT, TARGET).concurrency(8)
+        .journal(journal);
+    AtomicReference<Thread> discovery = new AtomicReference<>();
+    transition.listener(progress -> {
+      if (progress.getSucceeded() >= 10 && discovery.get() != null) {
+        discovery.get().interrupt();
+      }
+    }, 1);
+
+    Thread thread = new Thread(() -> {
+      discovery.set(Thread.currentThread());
+
+      try {
+        result.set(transition.run());
+      } catch (BackEndException e) {
+        // Reported by the missing result
+      }
+    });
+    thread.start();
+    thread.join(30000);
+
+    BulkTransition.Result interrupted = result.get();
+    assertFalse(interrupted.isComplete());
+    long succeeded = interrupted.getProgress().getSucceeded();
+    assertTrue(succeeded < 124);
+
+    // No command outlives run(): give any left behind the time to complete
+    Thread.sleep(500);
+    assertEquals(succeeded, transition.progress().getSucceeded());
+    // Every command started before the interruption completed and was journaled
+    assertEquals(succeeded, journaled(journal).size());
+
+    server.latency(0, 0, TimeUnit.MILLISECONDS);
+    BulkTransition.Result resumed = backend.bulkTransition(ROOT, TARGET).journal(journal).run();
+    assertTrue(resumed.isComplete());
+    assertEquals(succeeded, resumed.getProgress().getSkipped());
+    assertEquals(124, journaled(journal).size());
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi;
+
+import org.cern.eos.cdmi.codec.FileinfoListing;
+import org.cern.eos.cdmi.stub.StubMgmServer;
+import org.cern.eos.cdmi.stub.StubNamespace;
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChildrenListingTest {
+
+  private static final String ROOT = "/eos/qos";
+  private static final String DIRECTORY = ROOT + "/dir_0000";
+
+  private StubMgmServer server;
+  private EosStorageBackend backend;
+
+  @Before
+  public void start() throws Exception {
+    server = new StubMgmServer(StubNamespace.standard(ROOT, 1, 40), 0, 4);
+
+    Properties properties = new Properties();
+    properties.setProperty("eos.server", "127.0.0.1");
+    properties.setProperty("eos.server.port", String.valueOf(server.getPort()));
+    properties.setProperty("eos.server.scheme", "http");
+    properties.setProperty("eos.capabilities.snapshot", "");
+    properties.setProperty("eos.health.interval", "0");
+    properties.setProperty("eos.children.limit", "5");
+    backend = new EosStorageBackend(new PluginConfig(properties));
+  }
+
+  @After
+  public void stop() {
+    backend.close();
+    server.close();
+  }
+
+  @Test
+  public void pagesThroughChildren() throws Exception {
+    FileinfoListing all = backend.getChildren(DIRECTORY, 0, 0);
+    assertTrue(all.isDirectory());
+    assertFalse(all.isTruncated());
+    assertEquals(40, all.getChildren().size());
+
+    List<String> paged = new ArrayList<>();
+    FileinfoListing page;
+
+    do {
+      page = backend.getChildren(DIRECTORY, paged.size(), 15);
+      assertEquals(paged.size(), page.getOffset());
+      paged.addAll(page.getChildren());
+    } while (page.isTruncated());
+
+    assertEquals(all.getChildren(), paged);
+    assertTrue(backend.getChildren(DIRECTORY, 40, 15).getChildren().isEmpty());
+  }
+
+  @Test
+  public void capsChildrenOfStatus() throws Exception {
+    List<String> children = backend.getCurrentStatus(DIRECTORY).getChildren();
+
+    assertEquals(backend.getChildren(DIRECTORY, 0, 5).getChildren(), children);
+  }
+
+  @Test
+  public void visitsChildrenInListingOrder() throws Exception {
+    List<String> visited = new ArrayList<>();
+    backend.visitChildren(DIRECTORY, child -> visited.add(child.getName()));
+
+    assertEquals(backend.getChildren(DIRECTORY, 0, 0).getChildren(), visited);
+  }
+
+  @Test
+  public void listsNoChildrenOfFile() throws Exception {
+    FileinfoListing listing = backend.getChildren(DIRECTORY + "/file_0000000.dat", 0, 0);
+
+    assertFalse(listing.isDirectory());
+    assertTrue(listing.getChildren().isEmpty());
+  }
+}
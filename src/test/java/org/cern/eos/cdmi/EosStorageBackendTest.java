@@ -0,0 +1,149 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi;
+
+import org.cern.eos.cdmi.routing.EndpointRouter;
+import org.cern.eos.cdmi.stub.StubMgmServer;
+import org.cern.eos.cdmi.stub.StubNamespace;
+import org.cern.eos.cdmi.util.HttpUtils;
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.indigo.cdmi.BackEndException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EosStorageBackendTest {
+
+  private static final String ROOT = "/eos/qos";
+  private static final String[] OWNED_THREADS =
+      {"eos-command-", "eos-capability-refresh-", "eos-transition-tracker-"};
+
+  private StubNamespace namespace;
+  private StubMgmServer server;
+  private Properties properties;
+  private EosStorageBackend backend;
+
+  @Before
+  public void start() throws Exception {
+    namespace = StubNamespace.standard(ROOT, 1, 10);
+    server = new StubMgmServer(namespace, 0, 4);
+
+    properties = new Properties();
+    properties.setProperty("eos.server", "127.0.0.1");
+    properties.setProperty("eos.server.port", String.valueOf(server.getPort()));
+    properties.setProperty("eos.server.scheme", "http");
+    properties.setProperty("eos.capabilities.snapshot", "");
+    properties.setProperty("eos.health.interval", "0");
+    properties.setProperty("eos.transitions.interval", "1000");
+    properties.setProperty("eos.status.cache.size", "100");
+    backend = new EosStorageBackend(new PluginConfig(properties));
+  }
+
+  @After
+  public void stop() {
+    backend.close();
+    server.close();
+  }
+
+  @Test
+  public void reusesTransportsForEqualConfig() {
+    EndpointRouter router = HttpUtils.getRouter();
+
+    EosStorageBackend same = new EosStorageBackend(new PluginConfig(properties));
+    same.close();
+    assertSame(router, HttpUtils.getRouter());
+
+    properties.setProperty("eos.health.failures", "7");
+    EosStorageBackend changed = new EosStorageBackend(new PluginConfig(properties));
+    changed.close();
+    assertNotSame(router, HttpUtils.getRouter());
+  }
+
+  @Test
+  public void closeStopsOwnedThreads() throws Exception {
+    Set<Thread> before = ownedThreads();
+
+    backend.getCapabilities();
+    backend.getCurrentStatus(namespace.files().get(0));
+
+    Set<Thread> started = ownedThreads();
+    started.removeAll(before);
+    assertFalse(started.isEmpty());
+
+    backend.close();
+    backend.close();
+    assertTrue(backend.isClosed());
+
+    for (Thread thread : started) {
+      thread.join(5000);
+      assertFalse(thread.getName(), thread.isAlive());
+    }
+  }
+
+  @Test
+  public void updatesPathCachedAsMissing() throws Exception {
+    String path = ROOT + "/created.dat";
+    backend.getCapabilities();
+
+    try {
+      backend.getCurrentStatus(path);
+      fail("Expected missing path");
+    } catch (BackEndException e) {
+      // cached as missing
+    }
+
+    namespace.addFile(path, "disk_plain");
+    long requestsBefore = server.getRequests();
+    backend.updateCdmiObject(path, "/cdmi_capabilities/dataobject/disk_replica");
+
+    assertTrue(server.getRequests() > requestsBefore);
+    assertEquals("disk_replica",
+        namespace.qosGet(namespace.get(path), null).getString("current_qos"));
+  }
+
+  private static Set<Thread> ownedThreads() {
+    Set<Thread> owned = new HashSet<>();
+
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      for (String prefix : OWNED_THREADS) {
+        if (thread.getName().startsWith(prefix)) {
+          owned.add(thread);
+        }
+      }
+    }
+
+    return owned;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi;
+
+import org.cern.eos.cdmi.metrics.Metrics;
+import org.cern.eos.cdmi.stub.StubMgmServer;
+import org.cern.eos.cdmi.stub.StubNamespace;
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.indigo.cdmi.BackEndException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SubtreeSummaryTest {
+
+  private static final String ROOT = "/eos/qos";
+
+  private StubMgmServer server;
+  private EosStorageBackend backend;
+
+  @Before
+  public void start() throws Exception {
+    server = new StubMgmServer(StubNamespace.standard(ROOT, 3, 40), 0, 8);
+
+    Properties properties = new Properties();
+    properties.setProperty("eos.server", "127.0.0.1");
+    properties.setProperty("eos.server.port", String.valueOf(server.getPort()));
+    properties.setProperty("eos.server.scheme", "http");
+    properties.setProperty("eos.capabilities.snapshot", "");
+    properties.setProperty("eos.health.interval", "0");
+    backend = new EosStorageBackend(new PluginConfig(properties));
+  }
+
+  @After
+  public void stop() {
+    backend.close();
+    server.close();
+  }
+
+  @Test
+  public void summarizesWholeTree() throws Exception {
+    SubtreeSummary.Result result = backend.subtreeSummary(ROOT).concurrency(4).run();
+
+    assertTrue(result.isComplete());
+    assertEquals(124, result.getEntries());
+    assertEquals(0, result.getStragglerCount());
+  }
+
+  @Test
+  public void failsOnMissingContainer() {
+    try {
+      backend.subtreeSummary(ROOT + "/missing").run();
+      fail("Expected missing container");
+    } catch (BackEndException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void awaitsOutstandingCommandsWhenInterrupted() throws Exception {
+    server.latency(50, 0, TimeUnit.MILLISECONDS);
+    AtomicReference<SubtreeSummary.Result> result = new AtomicReference<>();
+
+    Thread thread = new Thread(() -> {
+      try {
+        result.set(backend.subtreeSummary(ROOT).concurrency(8).run());
+      } catch (BackEndException e) {
+        // Reported by the missing result
+      }
+
+      // No command outlives run()
+      if (Metrics.getInFlight() != 0) {
+        result.set(null);
+      }
+    });
+    thread.start();
+    Thread.sleep(300);
+    thread.interrupt();
+    thread.join(30000);
+
+    assertNotNull(result.get());
+    assertFalse(result.get().isComplete());
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.admission;
+
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.indigo.cdmi.BackendCapability;
+import org.indigo.cdmi.CdmiObjectStatus;
+import org.indigo.cdmi.spi.StorageBackend;
+import org.junit.Test;
+
+import javax.security.auth.Subject;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class AdmissionControlledBackendTest {
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  private final StorageBackend backend = new StorageBackend() {
+    @Override
+    public List<BackendCapability> getCapabilities() {
+      calls.incrementAndGet();
+      return Collections.emptyList();
+    }
+
+    @Override
+    public void updateCdmiObject(String path, String targetCapabilityUri) {
+      calls.incrementAndGet();
+    }
+
+    @Override
+    public CdmiObjectStatus getCurrentStatus(String path) {
+      calls.incrementAndGet();
+      return new CdmiObjectStatus(Collections.emptyMap(), "/cdmi_capabilities/dataobject/disk",
+          null);
+    }
+  };
+
+  private static AdmissionController controller(String... settings) {
+    Properties properties = new Properties();
+
+    for (int i = 0; i < settings.length; i += 2) {
+      properties.setProperty(settings[i], settings[i + 1]);
+    }
+
+    return new AdmissionController(new PluginConfig(properties));
+  }
+
+  private AdmissionControlledBackend client(AdmissionController admission, String... names) {
+    Subject subject = new Subject();
+
+    for (String name : names) {
+      Principal principal = () -> name;
+      subject.getPrincipals().add(principal);
+    }
+
+    AdmissionControlledBackend client = new AdmissionControlledBackend(backend, admission);
+    client.setSubject(subject);
+    return client;
+  }
+
+  private static void assertRejected(Request request) throws Exception {
+    try {
+      request.run();
+      fail("Request admitted beyond the limits");
+    } catch (AdmissionRejectedException expected) {
+      // Rejected before reaching the backend
+    }
+  }
+
+  private interface Request {
+    void run() throws Exception;
+  }
+
+  @Test
+  public void limitsEachSubjectSeparately() throws Exception {
+    AdmissionController admission = controller("eos.admission.read.rate", "0.01",
+        "eos.admission.read.burst", "2", "eos.admission.wait", "0");
+    AdmissionControlledBackend alice = client(admission, "alice");
+    AdmissionControlledBackend bob = client(admission, "bob");
+
+    alice.getCurrentStatus("/eos/a");
+    alice.getCurrentStatus("/eos/a");
+    assertRejected(() -> alice.getCurrentStatus("/eos/a"));
+
+    bob.getCurrentStatus("/eos/a");
+    assertEquals(3, calls.get());
+    assertEquals(1, admission.getRejectedRate());
+  }
+
+  @Test
+  public void admitsCapabilityListingsAsReads() throws Exception {
+    AdmissionController admission = controller("eos.admission.read.rate", "0.01",
+        "eos.admission.read.burst", "1", "eos.admission.write.rate", "0.01",
+        "eos.admission.wait", "0");
+    AdmissionControlledBackend alice = client(admission, "alice");
+
+    alice.getCapabilities();
+    assertRejected(alice::getCapabilities);
+    assertRejected(() -> alice.getCurrentStatus("/eos/a"));
+
+    // Writes have a budget of their own
+    alice.updateCdmiObject("/eos/a", "/cdmi_capabilities/dataobject/tape");
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void capsRequestsInFlightOverAllSubjects() throws Exception {
+    AdmissionController admission = controller("eos.admission.inflight", "1",
+        "eos.admission.wait", "0");
+    AdmissionController.Permit permit =
+        admission.admit("alice", AdmissionController.Kind.READ);
+
+    assertRejected(() -> client(admission, "bob").getCurrentStatus("/eos/a"));
+    permit.close();
+
+    client(admission, "bob").getCurrentStatus("/eos/a");
+    assertEquals(0, admission.getInFlight());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void refundsRateTokenOnInFlightRejection() throws Exception {
+    AdmissionController admission = controller("eos.admission.read.rate", "0.01",
+        "eos.admission.read.burst", "1", "eos.admission.inflight", "1",
+        "eos.admission.wait", "0");
+    AdmissionController.Permit permit =
+        admission.admit("bob", AdmissionController.Kind.READ);
+
+    assertRejected(() -> client(admission, "alice").getCurrentStatus("/eos/a"));
+    permit.close();
+
+    // The rejected request did not use up the only token of alice
+    client(admission, "alice").getCurrentStatus("/eos/a");
+    assertEquals(1, admission.getRejectedInFlight());
+    assertEquals(0, admission.getRejectedRate());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void namesSubjectBySortedPrincipals() {
+    Subject subject = new Subject();
+    Principal bob = () -> "bob";
+    Principal alice = () -> "alice";
+    subject.getPrincipals().add(bob);
+    subject.getPrincipals().add(alice);
+
+    assertEquals("alice,bob", AdmissionController.subjectName(subject));
+    assertEquals("anonymous", AdmissionController.subjectName(new Subject()));
+    assertEquals("anonymous", AdmissionController.subjectName(null));
+  }
+}
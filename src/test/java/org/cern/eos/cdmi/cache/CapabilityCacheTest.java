@@ -0,0 +1,197 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.cache;
+
+import org.indigo.cdmi.BackEndException;
+import org.indigo.cdmi.BackendCapability;
+import org.json.JSONArray;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.indigo.cdmi.BackendCapability.CapabilityType.DATAOBJECT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CapabilityCacheTest {
+
+  private static final List<BackendCapability> COMPLETE = Arrays.asList(
+      new BackendCapability("disk_plain", DATAOBJECT), new BackendCapability("tape", DATAOBJECT));
+  private static final List<BackendCapability> PARTIAL =
+      Collections.singletonList(new BackendCapability("disk_plain", DATAOBJECT));
+
+  private Path directory;
+  private CapabilitySnapshotFile snapshotFile;
+  private volatile boolean partial;
+  private volatile boolean failing;
+  private final AtomicInteger loads = new AtomicInteger();
+  private CapabilityCache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("capability-cache");
+    snapshotFile = new CapabilitySnapshotFile(directory.resolve("snapshot.json"), "mgm");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (cache != null) {
+      cache.shutdown();
+    }
+
+    Files.deleteIfExists(directory.resolve("snapshot.json"));
+    Files.deleteIfExists(directory);
+  }
+
+  private List<BackendCapability> load() throws BackEndException {
+    loads.incrementAndGet();
+
+    if (failing) {
+      throw new BackEndException("MGM unavailable");
+    }
+
+    if (partial) {
+      throw new PartialDiscoveryException(PARTIAL, Collections.singletonList("tape"));
+    }
+
+    return COMPLETE;
+  }
+
+  private static List<String> names(List<BackendCapability> capabilities) {
+    List<String> names = new ArrayList<>();
+
+    for (BackendCapability capability : capabilities) {
+      names.add(capability.getName());
+    }
+
+    return names;
+  }
+
+  private void awaitRefreshFailures(long failures) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+    while (cache.getRefreshFailures() < failures && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(failures, cache.getRefreshFailures());
+  }
+
+  @Test
+  public void servesPartialDiscoveryWithoutPersistingIt() throws Exception {
+    partial = true;
+    cache = new CapabilityCache(this::load, 60000, snapshotFile);
+
+    assertEquals(names(PARTIAL), names(cache.get()));
+    assertTrue(cache.isServingPartialSnapshot());
+    assertNull(snapshotFile.read());
+
+    // The missing class is not rejected, as it may exist
+    assertEquals("tape", cache.registry().qosClass("/cdmi_capabilities/dataobject/tape"));
+  }
+
+  @Test
+  public void keepsCompleteSnapshotOnPartialRefresh() throws Exception {
+    cache = new CapabilityCache(this::load, 0, snapshotFile);
+    cache.get();
+    partial = true;
+
+    // Stale with a TTL of 0, so the access triggers a refresh
+    cache.get();
+    awaitRefreshFailures(1);
+    assertFalse(cache.isServingPartialSnapshot());
+    assertEquals(names(COMPLETE), names(cache.peek()));
+    assertEquals(2, snapshotFile.read().size());
+    assertEquals("tape", cache.registry().qosClass("/cdmi_capabilities/dataobject/tape"));
+  }
+
+  @Test
+  public void backsOffAfterFailedRefresh() throws Exception {
+    snapshotFile.write(COMPLETE);
+    failing = true;
+    cache = new CapabilityCache(this::load, 60000, snapshotFile, 60000);
+
+    // The snapshot read from the file is stale, its first access triggers a refresh
+    cache.get();
+    awaitRefreshFailures(1);
+
+    for (int i = 0; i < 10; i++) {
+      cache.get();
+      cache.peek();
+    }
+
+    assertEquals(1, loads.get());
+    assertTrue(cache.isServingSnapshotFile());
+  }
+
+  @Test
+  public void ignoresRefreshAfterShutdown() throws Exception {
+    cache = new CapabilityCache(this::load, 0, snapshotFile);
+    cache.get();
+    cache.shutdown();
+
+    cache.refreshAsync();
+    assertEquals(names(COMPLETE), names(cache.get()));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void completeDiscoveryRejectsUnknownClasses() throws Exception {
+    cache = new CapabilityCache(this::load, 60000, snapshotFile);
+    cache.get();
+
+    assertNull(cache.registry().qosClass("/cdmi_capabilities/dataobject/unknown"));
+    assertEquals(2, snapshotFile.read().size());
+  }
+
+  @Test
+  public void handsOutCopiesOfCachedCapabilities() throws Exception {
+    BackendCapability tape = new BackendCapability("tape", DATAOBJECT);
+    tape.setMetadata(Collections.singletonMap("cdmi_capabilities_allowed",
+        new JSONArray().put("/cdmi_capabilities/dataobject/disk_plain/")));
+    cache = new CapabilityCache(() -> Collections.singletonList(tape), 60000);
+
+    List<BackendCapability> first = cache.get();
+    first.get(0).setName("renamed");
+    ((JSONArray) first.get(0).getMetadata().get("cdmi_capabilities_allowed")).put("elsewhere");
+    List<BackendCapability> second = cache.get();
+
+    assertNotSame(first.get(0), second.get(0));
+    assertEquals("tape", second.get(0).getName());
+    assertEquals(1, ((JSONArray) second.get(0).getMetadata()
+        .get("cdmi_capabilities_allowed")).length());
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.cache;
+
+import org.indigo.cdmi.BackendCapability;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.indigo.cdmi.BackendCapability.CapabilityType.CONTAINER;
+import static org.indigo.cdmi.BackendCapability.CapabilityType.DATAOBJECT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CapabilityRegistryTest {
+
+  private static final List<BackendCapability> CAPABILITIES = Arrays.asList(
+      new BackendCapability("disk_plain", CONTAINER),
+      new BackendCapability("disk_plain", DATAOBJECT),
+      new BackendCapability("tape", DATAOBJECT));
+
+  private final CapabilityRegistry registry = CapabilityRegistry.of(CAPABILITIES);
+
+  @Test
+  public void acceptsFormsOfKnownCapabilityUri() {
+    assertEquals("tape", registry.qosClass("/cdmi_capabilities/dataobject/tape"));
+    assertEquals("tape", registry.qosClass("/cdmi_capabilities/dataobject/tape/"));
+    assertEquals("tape",
+        registry.qosClass("https://cdmi.cern.ch/cdmi_capabilities/dataobject/tape"));
+  }
+
+  @Test
+  public void rejectsKnownClassUnderOtherType() {
+    assertNull(registry.qosClass("/cdmi_capabilities/container/tape"));
+    assertNull(registry.qosClass("/cdmi_capabilities/bogus/tape"));
+    assertNull(registry.qosClass("/elsewhere/dataobject/tape"));
+    assertNull(registry.qosClass("tape"));
+    assertNull(registry.qosClass("/cdmi_capabilities/dataobject/extra/tape"));
+  }
+
+  @Test
+  public void partialRegistryAcceptsUnknownClassOfValidType() {
+    CapabilityRegistry partial = CapabilityRegistry.of(CAPABILITIES, false);
+
+    assertEquals("archive", partial.qosClass("/cdmi_capabilities/container/archive/"));
+    assertEquals("tape", partial.qosClass("/cdmi_capabilities/container/tape"));
+    assertNull(partial.qosClass("/cdmi_capabilities/bogus/archive"));
+    assertNull(partial.qosClass("/elsewhere/dataobject/archive"));
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.cache;
+
+import org.indigo.cdmi.BackEndException;
+import org.indigo.cdmi.CdmiObjectStatus;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StatusCacheTest {
+
+  private static CdmiObjectStatus status() {
+    return new CdmiObjectStatus(Collections.emptyMap(),
+        "/cdmi_capabilities/dataobject/disk/", null);
+  }
+
+  private static CdmiObjectStatus pending() {
+    return new CdmiObjectStatus(Collections.emptyMap(),
+        "/cdmi_capabilities/dataobject/disk/", "/cdmi_capabilities/dataobject/tape/");
+  }
+
+  @Test
+  public void expiresEntriesByState() throws Exception {
+    StatusCache cache = new StatusCache(10, 60000, 1, 60000);
+    cache.put("/eos/stable", status(), cache.generation("/eos/stable"));
+    cache.put("/eos/pending", pending(), cache.generation("/eos/pending"));
+    Thread.sleep(5);
+
+    assertNotNull(cache.get("/eos/stable"));
+    assertNull(cache.get("/eos/pending"));
+    assertEquals(1, cache.getExpirations());
+  }
+
+  @Test
+  public void skipsStatesWithoutTtl() throws Exception {
+    StatusCache cache = new StatusCache(10, 60000, 0, 0);
+    cache.put("/eos/pending", pending(), cache.generation("/eos/pending"));
+    cache.putMissing("/eos/missing", "errno=2", cache.generation("/eos/missing"));
+
+    assertNull(cache.get("/eos/pending"));
+    assertNull(cache.get("/eos/missing"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void peeksWithoutCountingOrRethrowing() throws Exception {
+    StatusCache cache = new StatusCache(10, 60000, 60000, 60000);
+    cache.put("/eos/stable", status(), cache.generation("/eos/stable"));
+    cache.putMissing("/eos/missing", "errno=2", cache.generation("/eos/missing"));
+
+    assertNotNull(cache.peekStatus("/eos/stable"));
+    assertNull(cache.peekStatus("/eos/missing"));
+    assertNull(cache.peekStatus("/eos/unknown"));
+    assertEquals(0, cache.getHits());
+    assertEquals(0, cache.getMisses());
+  }
+
+  @Test
+  public void rethrowsErrorOfMissingPath() throws Exception {
+    StatusCache cache = new StatusCache(10, 60000, 60000, 60000);
+    cache.putMissing("/eos/missing", "No such file or directory [errno=2]",
+        cache.generation("/eos/missing"));
+
+    try {
+      cache.get("/eos/missing");
+      fail("Missing path served as a status");
+    } catch (BackEndException e) {
+      assertEquals("No such file or directory [errno=2]", e.getMessage());
+    }
+
+    assertEquals(1, cache.getHits());
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedBeyondBound() throws Exception {
+    StatusCache cache = new StatusCache(2, 60000, 60000, 60000);
+    cache.put("/eos/a", status(), cache.generation("/eos/a"));
+    cache.put("/eos/b", status(), cache.generation("/eos/b"));
+    cache.get("/eos/a");
+    cache.put("/eos/c", status(), cache.generation("/eos/c"));
+
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictions());
+    assertNotNull(cache.get("/eos/a"));
+    assertNull(cache.get("/eos/b"));
+    assertNotNull(cache.get("/eos/c"));
+  }
+
+  @Test
+  public void dropsInvalidatedEntry() throws Exception {
+    StatusCache cache = new StatusCache(10, 60000, 60000, 60000);
+    cache.put("/eos/a", status(), cache.generation("/eos/a"));
+    long footprint = cache.getEstimatedFootprint();
+    cache.invalidate("/eos/a");
+
+    assertNull(cache.get("/eos/a"));
+    assertEquals(1, cache.getInvalidations());
+    assertTrue(footprint > 0);
+    assertEquals(0, cache.getEstimatedFootprint());
+  }
+
+  @Test
+  public void dropsStatusFetchedBeforeInvalidation() throws Exception {
+    StatusCache cache = new StatusCache(10, 60000, 60000, 60000);
+    long generation = cache.generation("/eos/a");
+
+    cache.invalidate("/eos/a");
+    cache.put("/eos/a", status(), generation);
+
+    assertNull(cache.get("/eos/a"));
+  }
+
+  @Test
+  public void keepsStatusFetchedAfterInvalidation() throws Exception {
+    StatusCache cache = new StatusCache(10, 60000, 60000, 60000);
+    cache.invalidate("/eos/a");
+    cache.put("/eos/a", status(), cache.generation("/eos/a"));
+
+    assertNotNull(cache.get("/eos/a"));
+  }
+
+  @Test
+  public void dropsStatusWhenInvalidationWasForgotten() throws Exception {
+    StatusCache cache = new StatusCache(1, 60000, 60000, 60000);
+    long generation = cache.generation("/eos/a");
+
+    cache.invalidate("/eos/a");
+    cache.invalidate("/eos/b");
+    cache.put("/eos/a", status(), generation);
+
+    assertNull(cache.get("/eos/a"));
+  }
+
+  @Test
+  public void handsOutCopiesOfCachedStatus() throws Exception {
+    StatusCache cache = new StatusCache(10, 60000, 60000, 60000);
+    List<String> children = new ArrayList<>(Arrays.asList("a", "b"));
+    CdmiObjectStatus fetched = new CdmiObjectStatus(new HashMap<>(),
+        "/cdmi_capabilities/container/disk/", null);
+    fetched.setChildren(children);
+    cache.put("/eos/dir", fetched, cache.generation("/eos/dir"));
+
+    // Neither the fetching caller nor a reader affects other readers
+    children.add("c");
+    CdmiObjectStatus first = cache.get("/eos/dir");
+    first.getChildren().clear();
+    first.getMonitoredAttributes().put("cdmi_redundancy_provided", 3);
+    CdmiObjectStatus second = cache.get("/eos/dir");
+
+    assertNotSame(first, second);
+    assertEquals(Arrays.asList("a", "b"), second.getChildren());
+    assertEquals(Collections.emptyMap(), second.getMonitoredAttributes());
+  }
+}
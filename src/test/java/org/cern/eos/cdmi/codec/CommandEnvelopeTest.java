@@ -0,0 +1,71 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+import org.indigo.cdmi.BackEndException;
+import org.junit.Test;
+
+import static org.cern.eos.cdmi.codec.TestResponses.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CommandEnvelopeTest {
+
+  private static void assertRejected(String body, String message) throws Exception {
+    try (CommandEnvelope envelope = CommandEnvelope.read(response(body))) {
+      envelope.checkErrors();
+      fail("Expected an error for " + body);
+    } catch (BackEndException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains(message));
+    }
+  }
+
+  @Test
+  public void locatesOutput() throws Exception {
+    String body = "mgm.proc.stdout={\"a\":1}&mgm.proc.stderr=&mgm.proc.retc=0";
+
+    try (CommandEnvelope envelope = CommandEnvelope.read(response(body))) {
+      assertEquals("{\"a\":1}", envelope.outputString());
+      envelope.checkErrors();
+      assertEquals(0, envelope.getRetc());
+    }
+  }
+
+  @Test
+  public void reportsErrorOutputAndReturnCode() throws Exception {
+    assertRejected("mgm.proc.stdout=&mgm.proc.stderr=error: no such file&mgm.proc.retc=2",
+        "no such file");
+    assertRejected("mgm.proc.stdout={}&mgm.proc.stderr=&mgm.proc.retc=22", "22");
+  }
+
+  @Test
+  public void rejectsMalformedReturnCode() throws Exception {
+    assertRejected("mgm.proc.stdout={}&mgm.proc.stderr=&mgm.proc.retc=", "malformed");
+    assertRejected("mgm.proc.stdout={}&mgm.proc.stderr=&mgm.proc.retc=2x", "malformed");
+    assertRejected("mgm.proc.stdout={}&mgm.proc.stderr=&mgm.proc.retc=-", "malformed");
+    assertRejected("mgm.proc.stdout={}&mgm.proc.stderr=&mgm.proc.retc=99999999999999999999",
+        "malformed");
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+import org.indigo.cdmi.BackEndException;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.cern.eos.cdmi.codec.TestResponses.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FileinfoPageTest {
+
+  private static final String DIRECTORY = "mgm.proc.stdout={\"name\":\"dir\",\"treesize\":3,"
+      + "\"children\":[{\"name\":\"a\",\"size\":1},{\"name\":\"b\",\"treesize\":0},"
+      + "{\"size\":2},{\"name\":\"c\",\"size\":3}]}&mgm.proc.stderr=&mgm.proc.retc=0";
+
+  /**
+   * A fileinfo response with the given number of children, generated while read
+   * into a single reused chunk. Records the largest read requested from it.
+   */
+  private static class LargeListing extends InputStream {
+    private static final byte[] HEAD = "mgm.proc.stdout={\"name\":\"dir\",\"treesize\":1,\"children\":["
+        .getBytes(StandardCharsets.UTF_8);
+    private static final int DIGITS = 8;
+    private static final int DIGITS_AT = ",{\"name\":\"file_".length();
+
+    private final byte[] child = ",{\"name\":\"file_00000000.dat\",\"size\":1}"
+        .getBytes(StandardCharsets.UTF_8);
+    private final byte[] end;
+    private final int children;
+    private byte[] chunk = HEAD;
+    private int position;
+    private int next;
+    private long length;
+    private int maxRead;
+
+    LargeListing(int children, String tail) {
+      this.children = children;
+      this.end = ("]}" + tail).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int read() {
+      byte[] b = new byte[1];
+      return (read(b, 0, 1) == -1) ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      maxRead = Math.max(maxRead, len);
+
+      if (position == chunk.length) {
+        if (next > children) {
+          return -1;
+        }
+
+        if (next < children) {
+          for (int i = DIGITS - 1, n = next; i >= 0; i--, n /= 10) {
+            child[DIGITS_AT + i] = (byte) ('0' + n % 10);
+          }
+
+          chunk = child;
+          // No comma before the first child
+          position = (next == 0) ? 1 : 0;
+        } else {
+          chunk = end;
+          position = 0;
+        }
+
+        next++;
+      }
+
+      int count = Math.min(len, chunk.length - position);
+      System.arraycopy(chunk, position, b, off, count);
+      position += count;
+      length += count;
+      return count;
+    }
+  }
+
+  private static long allocatedBytes() {
+    java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) threads)
+          .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    return 0;
+  }
+
+  private static void assertPages(ResponseCodec codec) throws Exception {
+    FileinfoListing all = codec.decodeFileinfoPage(response(DIRECTORY), null, 0, 0);
+    assertTrue(all.isDirectory());
+    assertFalse(all.isTruncated());
+    assertEquals(Arrays.asList("a", "b", "c"), all.getChildren());
+    assertTrue(all.getEntries().get(1).isDirectory());
+
+    FileinfoListing page = codec.decodeFileinfoPage(response(DIRECTORY), null, 1, 1);
+    assertTrue(page.isTruncated());
+    assertEquals(Arrays.asList("b"), page.getChildren());
+
+    FileinfoListing last = codec.decodeFileinfoPage(response(DIRECTORY), null, 2, 1);
+    assertFalse(last.isTruncated());
+    assertEquals(Arrays.asList("c"), last.getChildren());
+  }
+
+  @Test
+  public void streamingCodecDecodesPages() throws Exception {
+    assertPages(ResponseCodecs.forName(ResponseCodecs.STREAMING));
+  }
+
+  @Test
+  public void jsonCodecDecodesPages() throws Exception {
+    assertPages(ResponseCodecs.forName(ResponseCodecs.JSON));
+  }
+
+  @Test
+  public void rejectsOutputWithNonZeroReturnCode() throws Exception {
+    String body = "mgm.proc.stdout={\"name\":\"dir\",\"children\":[]}"
+        + "&mgm.proc.stderr=&mgm.proc.retc=5";
+
+    try {
+      ResponseCodecs.forName(ResponseCodecs.STREAMING)
+          .decodeFileinfoPage(response(body), null, 0, 0);
+      fail("Expected the return code to be reported");
+    } catch (BackEndException e) {
+      assertTrue(e.getMessage().contains("5"));
+    }
+  }
+
+  @Test
+  public void decodesLargeListingWithinFixedBuffer() throws Exception {
+    ResponseCodec codec = ResponseCodecs.forName(ResponseCodecs.STREAMING);
+    LargeListing body = new LargeListing(1000000, "&mgm.proc.stderr=&mgm.proc.retc=0");
+
+    long allocated = allocatedBytes();
+    FileinfoListing page = codec.decodeFileinfoPage(response(body), null, 10, 5);
+    allocated = allocatedBytes() - allocated;
+
+    assertTrue(page.isTruncated());
+    assertEquals(Arrays.asList("file_00000010.dat", "file_00000011.dat", "file_00000012.dat",
+        "file_00000013.dat", "file_00000014.dat"), page.getChildren());
+    // The whole body was read, through reads no larger than the envelope buffer
+    assertTrue(body.length > 32 * 1024 * 1024);
+    assertEquals(-1, body.read());
+    assertTrue(String.valueOf(body.maxRead), body.maxRead <= CommandEnvelope.CAPACITY);
+    // Far less than a copy of the body (the first run includes class loading)
+    assertTrue("Allocated " + allocated + " bytes decoding " + body.length,
+        allocated < 8 * 1024 * 1024);
+  }
+
+  @Test
+  public void reportsReturnCodeAfterLargeOutput() throws Exception {
+    ResponseCodec codec = ResponseCodecs.forName(ResponseCodecs.STREAMING);
+    LargeListing body = new LargeListing(100000, "&mgm.proc.stderr=&mgm.proc.retc=5");
+
+    try {
+      codec.decodeFileinfoPage(response(body), null, 0, 1);
+      fail("Expected the return code to be reported");
+    } catch (BackEndException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("return code -- 5"));
+    }
+  }
+}
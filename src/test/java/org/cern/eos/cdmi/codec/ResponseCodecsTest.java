@@ -0,0 +1,155 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.codec;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.cern.eos.cdmi.codec.TestResponses.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs every codec on the same fixtures: they must decode them alike.
+ */
+public class ResponseCodecsTest {
+
+  private static final List<ResponseCodec> CODECS = Arrays.asList(
+      ResponseCodecs.forName(ResponseCodecs.JSON),
+      ResponseCodecs.forName(ResponseCodecs.STREAMING));
+
+  private static final String QOS_GET = envelope("{\"current_qos\":\"disk_plain\","
+      + "\"metadata\":{\"cdmi_data_redundancy_provided\":1,"
+      + "\"cdmi_geographic_placement_provided\":[\"CH\"],\"cdmi_latency_provided\":75},"
+      + "\"path\":\"/eos/qos/file\",\"redundancy\":1,\"target_qos\":\"disk_replica\"}");
+
+  private static final String QOS_GET_NULL_TARGET = envelope("{\"current_qos\":\"tape\","
+      + "\"target_qos\":null,\"metadata\":{\"cdmi_data_redundancy_provided\":null}}");
+
+  private static final String QOS_GET_NO_CLASS = envelope("{\"current_qos\":\"null\","
+      + "\"path\":\"/eos/qos/new\"}");
+
+  private static final String QOS_LIST_CLASS = envelope("{\"name\":\"disk_plain\","
+      + "\"attributes\":{\"layout\":\"plain\",\"replica\":1},"
+      + "\"metadata\":{\"cdmi_data_redundancy_provided\":1,"
+      + "\"cdmi_geographic_placement_provided\":[\"CH\",\"HU\"],\"cdmi_latency_provided\":75},"
+      + "\"transition\":[\"disk_replica\",\"tape\"]}");
+
+  private static final String QOS_LIST = envelope("{\"name\":[\"disk_plain\",\"tape\"]}");
+
+  private static final String FILEINFO = envelope("{\"name\":\"dir\",\"treesize\":2,"
+      + "\"path\":null,\"children\":[{\"name\":\"a\",\"size\":1},{\"name\":null,\"size\":0},"
+      + "{\"name\":\"b\",\"treesize\":0,\"xattr\":{\"k\":\"v\"}}]}");
+
+  private static String envelope(String output) {
+    return "mgm.proc.stdout=" + output + "&mgm.proc.stderr=&mgm.proc.retc=0";
+  }
+
+  private interface Decode {
+    Object decode(ResponseCodec codec) throws Exception;
+  }
+
+  /**
+   * Decode with every codec and check they all agree.
+   */
+  private static List<Object> decodeAll(Decode decode) throws Exception {
+    List<Object> results = new ArrayList<>();
+
+    for (ResponseCodec codec : CODECS) {
+      Object result = decode.decode(codec);
+      results.add(result);
+      assertEquals(codec.getName(), results.get(0).toString(), result.toString());
+    }
+
+    return results;
+  }
+
+  @Test
+  public void decodeQoSEntriesAlike() throws Exception {
+    for (Object result : decodeAll(codec -> codec.decodeQoSEntry(response(QOS_GET), null))) {
+      QoSEntry entry = (QoSEntry) result;
+      assertEquals("disk_plain", entry.getCurrentQoS());
+      assertEquals("disk_replica", entry.getTargetQoS());
+      assertTrue(entry.isPending());
+      assertEquals(Arrays.asList("CH"), entry.getMetadata().getGeographicPlacement());
+    }
+  }
+
+  @Test
+  public void decodeJsonNullAsNull() throws Exception {
+    for (Object result : decodeAll(codec ->
+        codec.decodeQoSEntry(response(QOS_GET_NULL_TARGET), null))) {
+      QoSEntry entry = (QoSEntry) result;
+      assertEquals("tape", entry.getCurrentQoS());
+      assertNull(entry.getTargetQoS());
+      assertFalse(entry.isPending());
+      assertNull(entry.getMetadata().getRedundancy());
+    }
+
+    for (Object result : decodeAll(codec ->
+        codec.decodeQoSEntry(response(QOS_GET_NO_CLASS), null))) {
+      // The MGM reports a file without class as the string "null"
+      assertEquals("null", ((QoSEntry) result).getCurrentQoS());
+    }
+  }
+
+  @Test
+  public void decodeQoSClassesAlike() throws Exception {
+    for (Object result : decodeAll(codec ->
+        codec.decodeQoSClass(response(QOS_LIST_CLASS), null))) {
+      QoSClass qosClass = (QoSClass) result;
+      assertEquals("disk_plain", qosClass.getName());
+      assertEquals(Arrays.asList("disk_replica", "tape"), qosClass.getTransitions());
+      assertEquals(Integer.valueOf(75), qosClass.getMetadata().getLatency());
+    }
+
+    for (Object result : decodeAll(codec ->
+        codec.decodeQoSClassNames(response(QOS_LIST), null))) {
+      assertEquals(Arrays.asList("disk_plain", "tape"), result);
+    }
+  }
+
+  @Test
+  public void decodeFileinfoAlike() throws Exception {
+    for (Object result : decodeAll(codec -> codec.decodeFileinfo(response(FILEINFO), null))) {
+      FileinfoEntry entry = (FileinfoEntry) result;
+      assertEquals("dir", entry.getName());
+      assertTrue(entry.isDirectory());
+      assertEquals(3, entry.getChildren().size());
+      assertEquals("a", entry.getChildren().get(0).getName());
+      assertNull(entry.getChildren().get(1).getName());
+      assertTrue(entry.getChildren().get(2).isDirectory());
+    }
+
+    for (Object result : decodeAll(codec ->
+        codec.decodeFileinfoPage(response(FILEINFO), null, 0, 0))) {
+      assertEquals(Arrays.asList("a", "b"), ((FileinfoListing) result).getChildren());
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.protobuf;
+
+import org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto;
+import org.cern.eos.cdmi.protobuf.generated.Request.RequestProto;
+import org.cern.eos.cdmi.util.CommandUrls;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the hand-written encoder against the protobuf builder path.
+ */
+public class QoSCommandEncoderTest {
+
+  private static final String SERVER = "http://mgm.cern.ch:8000";
+  private static final String[] KEYS = {"current_qos", "target_qos"};
+
+  private QoSCommandEncoder encoder;
+
+  @Before
+  public void setUp() throws Exception {
+    encoder = new QoSCommandEncoder(SERVER);
+  }
+
+  private static String repeat(String s, int times) {
+    StringBuilder sb = new StringBuilder(s.length() * times);
+
+    for (int i = 0; i < times; i++) {
+      sb.append(s);
+    }
+
+    return sb.toString();
+  }
+
+  /**
+   * Short and long paths alternate, so that a grown buffer is reused for shorter requests.
+   */
+  private static List<String> paths() {
+    return Arrays.asList(
+        "",
+        "/eos/qos/file.dat",
+        "/eos/qos/\u00FCn\u00EFc\u00F8d\u00E9/\u6587\u4EF6/\uD83D\uDE00.dat",
+        "/eos/qos/unpaired\uD800high",
+        "/eos/qos/unpaired\uDC00low",
+        "/eos/qos/trailing\uD83D",
+        "/eos/" + repeat("long/", 30),
+        "/eos/qos/short",
+        "/eos/" + repeat("longer_directory/", 1000),
+        "/eos/" + repeat("\u6587\u4EF6/", 50000),
+        "/eos/qos/short");
+  }
+
+  private static String url(RequestProto request) throws Exception {
+    return CommandUrls.protoCommand(SERVER,
+        Base64.getEncoder().encodeToString(request.toByteArray()));
+  }
+
+  private static RequestProto request(QoSProto qos) {
+    return RequestProto.newBuilder()
+        .setFormat(RequestProto.FormatType.JSON)
+        .setDontColor(true)
+        .setQos(qos)
+        .build();
+  }
+
+  private static String qosGetKeys(String path, String... keys) throws Exception {
+    QoSProto.GetProto.Builder get = QoSProto.GetProto.newBuilder()
+        .setIdentifier(QoSProto.IdentifierProto.newBuilder().setPath(path));
+
+    for (String key : keys) {
+      get.addKey(key);
+    }
+
+    return url(request(QoSProto.newBuilder().setGet(get).build()));
+  }
+
+  @Test
+  public void encodesListLikeBuilder() throws Exception {
+    assertEquals(CommandUrls.protoCommand(SERVER, ProtobufUtils.QoSList()), encoder.qosList());
+
+    for (String name : Arrays.asList("", "disk_plain", "tape", "cl\u00E2sse/\u6587\u4EF6")) {
+      assertEquals(name, CommandUrls.protoCommand(SERVER, ProtobufUtils.QoSListClass(name)),
+          encoder.qosListClass(name));
+    }
+  }
+
+  @Test
+  public void encodesGetLikeBuilder() throws Exception {
+    for (String path : paths()) {
+      assertEquals(path, CommandUrls.protoCommand(SERVER, ProtobufUtils.QoSGet(path)),
+          encoder.qosGet(path));
+    }
+  }
+
+  @Test
+  public void encodesGetWithKeysLikeBuilder() throws Exception {
+    for (String path : paths()) {
+      assertEquals(path, qosGetKeys(path, KEYS), encoder.qosGet(path, KEYS));
+      assertEquals(path, qosGetKeys(path, "", "\u043A\u043B\u044E\u0447\uD800"),
+          encoder.qosGet(path, "", "\u043A\u043B\u044E\u0447\uD800"));
+    }
+  }
+
+  @Test
+  public void encodesSetLikeBuilder() throws Exception {
+    for (String path : paths()) {
+      for (String qosClass : Arrays.asList("disk_plain", "", "cl\u00E2sse\uDBFF")) {
+        assertEquals(path,
+            CommandUrls.protoCommand(SERVER, ProtobufUtils.QoSSet(path, qosClass)),
+            encoder.qosSet(path, qosClass));
+      }
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.resilience;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CircuitBreakerTest {
+
+  @Test
+  public void opensAfterConsecutiveFailures() {
+    CircuitBreaker breaker = new CircuitBreaker(3, 60000);
+
+    breaker.onFailure();
+    breaker.onFailure();
+    assertTrue(breaker.allow());
+
+    breaker.onFailure();
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertFalse(breaker.allow());
+    assertEquals(1, breaker.getOpened());
+    assertEquals(1, breaker.getRejected());
+  }
+
+  @Test
+  public void successResetsFailureCount() {
+    CircuitBreaker breaker = new CircuitBreaker(3, 60000);
+
+    breaker.onFailure();
+    breaker.onFailure();
+    breaker.onSuccess();
+    breaker.onFailure();
+    breaker.onFailure();
+
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  public void letsSingleProbeThroughOnceOpenPeriodElapsed() {
+    CircuitBreaker breaker = new CircuitBreaker(1, 0);
+    breaker.onFailure();
+
+    assertTrue(breaker.allow());
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    assertFalse(breaker.allow());
+
+    breaker.onSuccess();
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    assertTrue(breaker.allow());
+  }
+
+  @Test
+  public void failedProbeOpensCircuitAgain() {
+    CircuitBreaker breaker = new CircuitBreaker(1, 0);
+    breaker.onFailure();
+    assertTrue(breaker.allow());
+
+    breaker.onFailure();
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertEquals(2, breaker.getOpened());
+  }
+
+  @Test
+  public void neverOpensWhenDisabled() {
+    CircuitBreaker breaker = new CircuitBreaker(0, 60000);
+
+    for (int i = 0; i < 100; i++) {
+      breaker.onFailure();
+    }
+
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    assertTrue(breaker.allow());
+  }
+}
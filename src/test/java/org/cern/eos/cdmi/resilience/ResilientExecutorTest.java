@@ -0,0 +1,209 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.resilience;
+
+import org.cern.eos.cdmi.metrics.CommandMetrics;
+import org.cern.eos.cdmi.metrics.Metrics;
+import org.cern.eos.cdmi.util.CommandType;
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.indigo.cdmi.BackEndException;
+import org.junit.Test;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResilientExecutorTest {
+
+  private final ResilientExecutor executor = new ResilientExecutor();
+  private final AtomicInteger attempts = new AtomicInteger();
+
+  private void configure(String... settings) {
+    Properties properties = new Properties();
+    // Hedging is left to the test dedicated to it
+    properties.setProperty("eos.hedge.enabled", "false");
+    properties.setProperty("eos.retry.backoff", "1");
+
+    for (int i = 0; i < settings.length; i += 2) {
+      properties.setProperty(settings[i], settings[i + 1]);
+    }
+
+    executor.configure(new PluginConfig(properties));
+  }
+
+  /**
+   * Attempt which blocks until aborted, then fails as a dropped connection would.
+   */
+  private static class BlockingAttempt implements ResilientExecutor.Attempt<String> {
+    private final CountDownLatch aborted = new CountDownLatch(1);
+
+    @Override
+    public String call() throws BackEndException {
+      try {
+        if (!aborted.await(10, TimeUnit.SECONDS)) {
+          return "never aborted";
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      throw new TransientBackEndException("Connection aborted");
+    }
+
+    @Override
+    public void abort() {
+      aborted.countDown();
+    }
+  }
+
+  private static ResilientExecutor.Attempt<String> attempt(Callable call) {
+    return new ResilientExecutor.Attempt<String>() {
+      @Override
+      public String call() throws BackEndException {
+        return call.call();
+      }
+
+      @Override
+      public void abort() {
+      }
+    };
+  }
+
+  private interface Callable {
+    String call() throws BackEndException;
+  }
+
+  private ResilientExecutor.AttemptFactory<String> failingTimes(int failures) {
+    return () -> attempt(() -> {
+      if (attempts.incrementAndGet() <= failures) {
+        throw new TransientBackEndException("Connection reset");
+      }
+
+      return "ok";
+    });
+  }
+
+  @Test
+  public void retriesIdempotentCommandAfterTransientFailure() throws Exception {
+    configure("eos.retry.max", "2");
+
+    assertEquals("ok", executor.execute(CommandType.QOS_GET, failingTimes(2)));
+    assertEquals(3, attempts.get());
+    assertEquals(2, executor.getRetries());
+  }
+
+  @Test
+  public void neverRetriesNonIdempotentCommand() throws Exception {
+    configure("eos.retry.max", "2");
+
+    try {
+      executor.execute(CommandType.QOS_SET, failingTimes(1));
+      fail("qos set retried");
+    } catch (TransientBackEndException expected) {
+      assertEquals(1, attempts.get());
+      assertEquals(0, executor.getRetries());
+    }
+  }
+
+  @Test
+  public void neverRetriesMgmError() throws Exception {
+    configure("eos.retry.max", "2", "eos.breaker.failures", "1");
+
+    try {
+      executor.execute(CommandType.QOS_GET, () -> attempt(() -> {
+        attempts.incrementAndGet();
+        throw new BackEndException("No such file or directory");
+      }));
+      fail("MGM error swallowed");
+    } catch (BackEndException expected) {
+      assertEquals(1, attempts.get());
+      // The MGM answered, so it counts as healthy
+      assertEquals("CLOSED", executor.getCircuitState());
+    }
+  }
+
+  @Test
+  public void failsFastOnceCircuitOpens() throws Exception {
+    configure("eos.retry.max", "0", "eos.breaker.failures", "2", "eos.breaker.open", "60000");
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        executor.execute(CommandType.QOS_GET, failingTimes(Integer.MAX_VALUE));
+        fail("Transient failure swallowed");
+      } catch (TransientBackEndException expected) {
+        // Counts towards the breaker threshold
+      }
+    }
+
+    try {
+      executor.execute(CommandType.QOS_GET, failingTimes(0));
+      fail("Command sent while the circuit is open");
+    } catch (TransientBackEndException expected) {
+      assertEquals(2, attempts.get());
+      assertEquals("OPEN", executor.getCircuitState());
+      assertEquals(1, executor.getCircuitRejected());
+    }
+  }
+
+  @Test
+  public void abortsAttemptAtDeadline() throws Exception {
+    configure("eos.retry.max", "0", "eos.command.deadline", "50");
+    BlockingAttempt blocked = new BlockingAttempt();
+    long start = System.nanoTime();
+
+    try {
+      executor.execute(CommandType.QOS_GET, () -> blocked);
+      fail("Deadline not enforced");
+    } catch (TransientBackEndException expected) {
+      assertTrue(expected.getMessage().startsWith("Deadline exceeded"));
+      assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+      assertEquals(1, executor.getDeadlinesExceeded());
+    }
+  }
+
+  @Test
+  public void hedgedAttemptWinsOverSlowAttempt() throws Exception {
+    configure("eos.hedge.enabled", "true", "eos.hedge.samples.min", "1",
+        "eos.hedge.delay.min", "20", "eos.hedge.percentile", "50",
+        "eos.command.deadline", "10000");
+    CommandMetrics metrics = Metrics.command(CommandType.QOS_LIST_CLASS);
+    metrics.end(metrics.start(), false);
+    BlockingAttempt slow = new BlockingAttempt();
+
+    String result = executor.execute(CommandType.QOS_LIST_CLASS,
+        () -> (attempts.getAndIncrement() == 0) ? slow : attempt(() -> "hedged"));
+
+    assertEquals("hedged", result);
+    assertEquals(2, attempts.get());
+    assertEquals(1, executor.getHedges());
+    assertEquals(1, executor.getHedgeWins());
+    // The slow attempt was aborted rather than left running
+    assertEquals(0, slow.aborted.getCount());
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.routing;
+
+import org.cern.eos.cdmi.util.PluginConfig;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EndpointRouterTest {
+
+  private EndpointRouter router;
+
+  @After
+  public void tearDown() {
+    if (router != null) {
+      router.shutdown();
+    }
+  }
+
+  private static EndpointRouter router(String readers) {
+    Properties properties = new Properties();
+    properties.setProperty("eos.server", "primary");
+    properties.setProperty("eos.server.port", "8000");
+    properties.setProperty("eos.server.scheme", "http");
+    properties.setProperty("eos.health.interval", "20");
+    properties.setProperty("eos.health.ejection", "60000");
+
+    if (readers != null) {
+      properties.setProperty("eos.server.readers", readers);
+    }
+
+    return EndpointRouter.fromConfig(new PluginConfig(properties));
+  }
+
+  private static void await(Endpoint endpoint, boolean healthy) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+    while (endpoint.isHealthy() != healthy && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(healthy, endpoint.isHealthy());
+  }
+
+  @Test
+  public void keepsPassiveEjectionDespitePassingHealthChecks() throws Exception {
+    router = router("reader");
+    AtomicInteger probes = new AtomicInteger();
+    Endpoint reader = router.getReaders().get(1);
+    reader.eject();
+
+    router.startHealthChecks(endpoint -> {
+      probes.incrementAndGet();
+      return true;
+    });
+
+    while (probes.get() < 10) {
+      Thread.sleep(10);
+    }
+
+    assertFalse(reader.isHealthy());
+  }
+
+  @Test
+  public void reinstatesEndpointEjectedByHealthCheck() throws Exception {
+    router = router("reader");
+    AtomicBoolean up = new AtomicBoolean(false);
+    Endpoint reader = router.getReaders().get(1);
+
+    router.startHealthChecks(endpoint -> endpoint != reader || up.get());
+    await(reader, false);
+
+    up.set(true);
+    await(reader, true);
+  }
+
+  @Test
+  public void skipsHealthChecksOfLonePrimary() throws Exception {
+    router = router(null);
+    AtomicInteger probes = new AtomicInteger();
+
+    router.startHealthChecks(endpoint -> {
+      probes.incrementAndGet();
+      return true;
+    });
+    Thread.sleep(100);
+
+    assertEquals(0, probes.get());
+    assertTrue(router.getPrimary().isHealthy());
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.stub;
+
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ServerCalls;
+import org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto;
+import org.cern.eos.cdmi.protobuf.generated.Request.RequestProto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fake of the EOS MGM gRPC interface, serving the "eos.rpc.Eos/Exec" method.
+ * <p>
+ * Requests are answered by a {@link StubMgmServer}, sharing its namespace, injected latency
+ * and errors. Injected HTTP errors become UNAVAILABLE statuses.
+ */
+public class StubGrpcMgm implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StubGrpcMgm.class);
+
+  private static final MethodDescriptor<RequestProto, ReplyProto> EXEC =
+      MethodDescriptor.<RequestProto, ReplyProto>newBuilder()
+          .setType(MethodDescriptor.MethodType.UNARY)
+          .setFullMethodName(MethodDescriptor.generateFullMethodName("eos.rpc.Eos", "Exec"))
+          .setRequestMarshaller(ProtoUtils.marshaller(RequestProto.getDefaultInstance()))
+          .setResponseMarshaller(ProtoUtils.marshaller(ReplyProto.getDefaultInstance()))
+          .build();
+
+  private final Server server;
+  private final ExecutorService executor;
+  private final AtomicLong calls = new AtomicLong();
+
+  /**
+   * Start a stub gRPC MGM on the given port (0 for any free port).
+   *
+   * @param mgm     the stub MGM answering requests
+   * @param port    the listening port
+   * @param threads number of request handling threads
+   */
+  public StubGrpcMgm(StubMgmServer mgm, int port, int threads) throws IOException {
+    this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "stub-grpc-mgm");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    ServerServiceDefinition service = ServerServiceDefinition.builder("eos.rpc.Eos")
+        .addMethod(EXEC, ServerCalls.asyncUnaryCall((request, observer) -> {
+          calls.incrementAndGet();
+          ReplyProto reply = mgm.exec(request);
+
+          if (reply == null) {
+            observer.onError(Status.UNAVAILABLE
+                .withDescription("injected unavailability").asRuntimeException());
+            return;
+          }
+
+          observer.onNext(reply);
+          observer.onCompleted();
+        }))
+        .build();
+
+    this.server = NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", port))
+        .executor(executor)
+        .addService(service)
+        .build()
+        .start();
+    LOG.info("Stub gRPC MGM listening on {}", getBaseUrl());
+  }
+
+  public String getBaseUrl() {
+    return "grpc://127.0.0.1:" + getPort();
+  }
+
+  public int getPort() {
+    return server.getPort();
+  }
+
+  /**
+   * Returns the number of Exec calls received.
+   */
+  public long getCalls() {
+    return calls.get();
+  }
+
+  @Override
+  public void close() {
+    server.shutdownNow();
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,379 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.cern.eos.cdmi.protobuf.generated.QoSCmd.QoSProto;
+import org.cern.eos.cdmi.protobuf.generated.Reply.ReplyProto;
+import org.cern.eos.cdmi.protobuf.generated.Request.RequestProto;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fake of the EOS MGM HTTP command interface at /proc/user/.
+ * <p>
+ * Decodes "mgm.cmd.proto" QoS requests and "mgm.cmd=fileinfo" requests, answers them
+ * from a {@link StubNamespace} and wraps the output in the usual
+ * "mgm.proc.stdout=...&amp;mgm.proc.stderr=...&amp;mgm.proc.retc=" envelope.
+ * Latency, MGM errors, HTTP errors and slow (dribbled) responses can be injected.
+ * The same requests can be answered through gRPC by a {@link StubGrpcMgm}.
+ */
+public class StubMgmServer implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StubMgmServer.class);
+
+  static {
+    // Headers and body are written separately, avoid Nagle / delayed ACK stalls
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+  }
+
+  private final StubNamespace namespace;
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final AtomicLong requests = new AtomicLong();
+
+  private volatile long latencyMillis = 0;
+  private volatile long latencyJitterMillis = 0;
+  private volatile double errorRate = 0.0;
+  private volatile double httpErrorRate = 0.0;
+  private volatile int httpErrorStatus = 503;
+  private volatile double slowRate = 0.0;
+  private volatile long slowChunkDelayMillis = 50;
+  private volatile boolean readOnly = false;
+
+  /**
+   * Start a stub MGM on the given port (0 for any free port).
+   *
+   * @param namespace the namespace to serve
+   * @param port      the listening port
+   * @param threads   number of request handling threads
+   */
+  public StubMgmServer(StubNamespace namespace, int port, int threads) throws IOException {
+    this.namespace = namespace;
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+    this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "stub-mgm");
+      thread.setDaemon(true);
+      return thread;
+    });
+    server.createContext("/proc/user/", this::handle);
+    server.setExecutor(executor);
+    server.start();
+    LOG.info("Stub MGM listening on {}", getBaseUrl());
+  }
+
+  /**
+   * Returns the base URL of the server (scheme://host:port).
+   */
+  public String getBaseUrl() {
+    return "http://127.0.0.1:" + getPort();
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  public StubNamespace getNamespace() {
+    return namespace;
+  }
+
+  public long getRequests() {
+    return requests.get();
+  }
+
+  /**
+   * Add a fixed latency, plus a uniformly distributed jitter, to every response.
+   */
+  public StubMgmServer latency(long latency, long jitter, TimeUnit unit) {
+    this.latencyMillis = unit.toMillis(latency);
+    this.latencyJitterMillis = unit.toMillis(jitter);
+    return this;
+  }
+
+  /**
+   * Fraction of requests answered with an MGM error (stderr and non-zero retc).
+   */
+  public StubMgmServer errorRate(double errorRate) {
+    this.errorRate = errorRate;
+    return this;
+  }
+
+  /**
+   * Fraction of requests answered with the given HTTP error status.
+   */
+  public StubMgmServer httpErrorRate(double httpErrorRate, int status) {
+    this.httpErrorRate = httpErrorRate;
+    this.httpErrorStatus = status;
+    return this;
+  }
+
+  /**
+   * Fraction of responses sent in small chunks, with a delay between chunks.
+   */
+  public StubMgmServer slowRate(double slowRate, long chunkDelay, TimeUnit unit) {
+    this.slowRate = slowRate;
+    this.slowChunkDelayMillis = unit.toMillis(chunkDelay);
+    return this;
+  }
+
+  /**
+   * Reject QoS changes, as a read-only follower MGM would.
+   */
+  public StubMgmServer readOnly(boolean readOnly) {
+    this.readOnly = readOnly;
+    return this;
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+
+    try {
+      injectLatency();
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+
+      if (httpErrorRate > 0 && random.nextDouble() < httpErrorRate) {
+        send(exchange, httpErrorStatus, "{\"error\": \"injected HTTP error\"}", false);
+        return;
+      }
+
+      ReplyProto reply;
+
+      if (errorRate > 0 && random.nextDouble() < errorRate) {
+        reply = reply("", "error: injected MGM error", 5);
+      } else {
+        reply = dispatch(parseQuery(exchange.getRequestURI().getRawQuery()));
+      }
+
+      send(exchange, 200, envelope(reply), slowRate > 0 && random.nextDouble() < slowRate);
+    } catch (RuntimeException e) {
+      LOG.error("Stub MGM failed handling {} -- {}", exchange.getRequestURI(), e.toString());
+      send(exchange, 500, "{\"error\": \"" + e.getMessage() + "\"}", false);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Answer a protobuf request as the gRPC Exec method does, with the injected latency and errors.
+   *
+   * @return the reply, or null if the MGM is to answer as unavailable
+   */
+  public ReplyProto exec(RequestProto request) {
+    requests.incrementAndGet();
+    injectLatency();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+
+    if (httpErrorRate > 0 && random.nextDouble() < httpErrorRate) {
+      return null;
+    }
+
+    if (errorRate > 0 && random.nextDouble() < errorRate) {
+      return reply("", "error: injected MGM error", 5);
+    }
+
+    return reply(request.getQos());
+  }
+
+  private ReplyProto dispatch(Map<String, String> query) {
+    if ("version".equals(query.get("mgm.cmd"))) {
+      return reply("EOS_INSTANCE=stub\nEOS_SERVER_VERSION=stub", "", 0);
+    }
+
+    if ("fileinfo".equals(query.get("mgm.cmd"))) {
+      StubNamespace.Entry entry = namespace.get(query.getOrDefault("mgm.path", ""));
+
+      if (entry == null) {
+        return noSuchFile(query.get("mgm.path"));
+      }
+
+      return reply(namespace.fileinfo(entry).toString(), "", 0);
+    }
+
+    String proto = query.get("mgm.cmd.proto");
+
+    if (proto == null) {
+      return reply("", "error: unknown command", 22);
+    }
+
+    RequestProto request;
+
+    try {
+      request = RequestProto.parseFrom(Base64.getDecoder().decode(proto));
+    } catch (IOException | IllegalArgumentException e) {
+      return reply("", "error: failed to parse request", 22);
+    }
+
+    return reply(request.getQos());
+  }
+
+  private ReplyProto reply(QoSProto qos) {
+    switch (qos.getSubcmdCase()) {
+      case LIST: {
+        String classname = qos.getList().getClassname();
+
+        if (classname.isEmpty()) {
+          return reply(namespace.qosList().toString(), "", 0);
+        }
+
+        JSONObject qosClass = namespace.qosListClass(classname);
+        return (qosClass == null)
+            ? reply("", "error: unknown QoS class " + classname, 22)
+            : reply(qosClass.toString(), "", 0);
+      }
+      case GET: {
+        String path = qos.getGet().getIdentifier().getPath();
+        StubNamespace.Entry entry = namespace.get(path);
+
+        if (entry == null) {
+          return noSuchFile(path);
+        }
+
+        return reply(namespace.qosGet(entry, qos.getGet().getKeyList()).toString(), "", 0);
+      }
+      case SET: {
+        String path = qos.getSet().getIdentifier().getPath();
+
+        if (readOnly) {
+          return reply("", "error: read-only MGM, cannot change QoS of " + path, 30);
+        }
+
+        String error = namespace.setQoS(path, qos.getSet().getClassname());
+
+        if (error != null) {
+          return reply("", error, 22);
+        }
+
+        return reply(new JSONObject().put("retc", 0).put("path", path).toString(), "", 0);
+      }
+      default:
+        return reply("", "error: unsupported QoS subcommand", 22);
+    }
+  }
+
+  private static ReplyProto noSuchFile(String path) {
+    return reply("", "error: cannot stat " + path + " (errno=2) No such file or directory", 2);
+  }
+
+  private static ReplyProto reply(String stdout, String stderr, int retc) {
+    return ReplyProto.newBuilder().setStdOut(stdout).setStdErr(stderr).setRetc(retc).build();
+  }
+
+  private static String envelope(ReplyProto reply) {
+    return "mgm.proc.stdout=" + reply.getStdOut() + "&mgm.proc.stderr=" + reply.getStdErr()
+        + "&mgm.proc.retc=" + reply.getRetc();
+  }
+
+  private void injectLatency() {
+    long delay = latencyMillis;
+
+    if (latencyJitterMillis > 0) {
+      delay += ThreadLocalRandom.current().nextLong(latencyJitterMillis + 1);
+    }
+
+    sleep(delay);
+  }
+
+  private void send(HttpExchange exchange, int status, String body, boolean slow)
+      throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+
+    try (OutputStream out = exchange.getResponseBody()) {
+      if (!slow) {
+        out.write(bytes);
+        return;
+      }
+
+      int chunk = Math.max(1, bytes.length / 8);
+
+      for (int offset = 0; offset < bytes.length; offset += chunk) {
+        out.write(bytes, offset, Math.min(chunk, bytes.length - offset));
+        out.flush();
+        sleep(slowChunkDelayMillis);
+      }
+    }
+  }
+
+  private static Map<String, String> parseQuery(String rawQuery) {
+    Map<String, String> query = new HashMap<>();
+
+    if (rawQuery == null) {
+      return query;
+    }
+
+    for (String pair : rawQuery.split("&")) {
+      int eq = pair.indexOf('=');
+
+      if (eq > 0) {
+        query.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+      }
+    }
+
+    return query;
+  }
+
+  private static String decode(String value) {
+    try {
+      return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void sleep(long millis) {
+    if (millis <= 0) {
+      return;
+    }
+
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
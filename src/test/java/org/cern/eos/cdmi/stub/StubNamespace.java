@@ -0,0 +1,384 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.stub;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory namespace and QoS model served by the stub MGM.
+ * <p>
+ * QoS transitions started via "qos set" complete after a configurable delay.
+ */
+public class StubNamespace {
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final Map<String, QoSClass> classes = Collections.synchronizedMap(new LinkedHashMap<>());
+  private final ScheduledExecutorService transitions =
+      Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stub-mgm-transitions");
+        thread.setDaemon(true);
+        return thread;
+      });
+  private volatile long transitionDelay = 0;
+
+  public StubNamespace() {
+    addDirectory("/");
+  }
+
+  /**
+   * Returns a namespace with the usual disk and tape classes and a tree of
+   * the given number of directories, each holding the given number of files.
+   */
+  public static StubNamespace standard(String root, int directories, int filesPerDirectory) {
+    StubNamespace namespace = new StubNamespace();
+    namespace.addClass("disk_plain", 1, 75, new String[]{"CH"}, "disk_replica", "tape");
+    namespace.addClass("disk_replica", 2, 75, new String[]{"CH", "HU"}, "disk_plain", "tape");
+    namespace.addClass("tape", 1, 100000, new String[]{"CH"}, "disk_plain");
+    namespace.addDirectory(root);
+
+    for (int d = 0; d < directories; d++) {
+      String directory = String.format("%s/dir_%04d", root, d);
+      namespace.addDirectory(directory);
+
+      for (int f = 0; f < filesPerDirectory; f++) {
+        namespace.addFile(String.format("%s/file_%07d.dat", directory, f), "disk_plain");
+      }
+    }
+
+    return namespace;
+  }
+
+  /**
+   * Set the delay after which started QoS transitions complete.
+   */
+  public void setTransitionDelay(long delay, TimeUnit unit) {
+    this.transitionDelay = unit.toMillis(delay);
+  }
+
+  public void addClass(String name, int redundancy, int latency, String[] placement,
+                       String... transitions) {
+    classes.put(name, new QoSClass(name, redundancy, latency, placement, transitions));
+  }
+
+  public void addDirectory(String path) {
+    path = normalize(path);
+    entries.putIfAbsent(path, new Entry(path, true, null));
+    link(path);
+  }
+
+  public void addFile(String path, String qosClass) {
+    path = normalize(path);
+    entries.put(path, new Entry(path, false, qosClass));
+    link(path);
+  }
+
+  public Entry get(String path) {
+    return entries.get(normalize(path));
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the paths of all files in the namespace.
+   */
+  public List<String> files() {
+    List<String> files = new ArrayList<>();
+
+    for (Entry entry : entries.values()) {
+      if (!entry.directory) {
+        files.add(entry.path);
+      }
+    }
+
+    Collections.sort(files);
+    return files;
+  }
+
+  /**
+   * Start a QoS transition. Returns an error message, or null on success.
+   */
+  public String setQoS(String path, String qosClass) {
+    Entry entry = get(path);
+
+    if (entry == null) {
+      return "error: cannot stat " + path + " (errno=2) No such file or directory";
+    }
+
+    QoSClass target = classes.get(qosClass);
+
+    if (target == null) {
+      return "error: unknown QoS class " + qosClass;
+    }
+
+    synchronized (entry) {
+      QoSClass current = (entry.currentQos == null) ? null : classes.get(entry.currentQos);
+
+      if (current != null && !current.name.equals(qosClass)
+          && !current.transitions.contains(qosClass)) {
+        return "error: transition " + current.name + " -> " + qosClass + " not allowed";
+      }
+
+      entry.targetQos = qosClass;
+    }
+
+    Runnable complete = () -> {
+      synchronized (entry) {
+        if (qosClass.equals(entry.targetQos)) {
+          entry.currentQos = qosClass;
+          entry.targetQos = null;
+        }
+      }
+    };
+
+    if (transitionDelay > 0) {
+      transitions.schedule(complete, transitionDelay, TimeUnit.MILLISECONDS);
+    } else {
+      complete.run();
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the "qos ls" JSON output.
+   */
+  public JSONObject qosList() {
+    JSONArray names = new JSONArray();
+
+    synchronized (classes) {
+      classes.keySet().forEach(names::put);
+    }
+
+    return new JSONObject().put("name", names);
+  }
+
+  /**
+   * Returns the "qos ls <class>" JSON output, or null for an unknown class.
+   */
+  public JSONObject qosListClass(String name) {
+    QoSClass qosClass = classes.get(name);
+    return (qosClass == null) ? null : qosClass.toJson();
+  }
+
+  /**
+   * Returns the "qos get" JSON output, restricted to the given keys if any.
+   */
+  public JSONObject qosGet(Entry entry, List<String> keys) {
+    JSONObject json = new JSONObject();
+    String current;
+    String target;
+
+    synchronized (entry) {
+      current = entry.currentQos;
+      target = entry.targetQos;
+    }
+
+    json.put("current_qos", (current == null) ? "null" : current);
+
+    if (target != null) {
+      json.put("target_qos", target);
+    }
+
+    QoSClass qosClass = (current == null) ? null : classes.get(current);
+
+    if (qosClass != null) {
+      json.put("metadata", qosClass.metadata());
+      json.put("redundancy", qosClass.redundancy);
+    }
+
+    json.put("path", entry.path);
+    json.put("id", entry.id);
+
+    if (keys != null && !keys.isEmpty()) {
+      JSONObject restricted = new JSONObject();
+
+      for (String key : keys) {
+        if (json.has(key)) {
+          restricted.put(key, json.get(key));
+        }
+      }
+
+      return restricted;
+    }
+
+    return json;
+  }
+
+  /**
+   * Returns the "fileinfo" JSON output.
+   */
+  public JSONObject fileinfo(Entry entry) {
+    JSONObject json = entry.describe();
+
+    if (entry.directory) {
+      JSONArray children = new JSONArray();
+
+      synchronized (entry.children) {
+        for (String name : entry.children) {
+          Entry child = entries.get(childPath(entry.path, name));
+
+          if (child != null) {
+            children.put(child.describe());
+          }
+        }
+      }
+
+      json.put("children", children);
+    }
+
+    return json;
+  }
+
+  private void link(String path) {
+    if (path.equals("/")) {
+      return;
+    }
+
+    int slash = path.lastIndexOf('/');
+    String parent = (slash == 0) ? "/" : path.substring(0, slash);
+
+    if (!entries.containsKey(parent)) {
+      addDirectory(parent);
+    }
+
+    Entry parentEntry = entries.get(parent);
+
+    synchronized (parentEntry.children) {
+      String name = path.substring(slash + 1);
+
+      if (!parentEntry.children.contains(name)) {
+        parentEntry.children.add(name);
+      }
+    }
+  }
+
+  private static String childPath(String parent, String name) {
+    return parent.endsWith("/") ? parent + name : parent + "/" + name;
+  }
+
+  private static String normalize(String path) {
+    if (path.length() > 1 && path.endsWith("/")) {
+      return path.substring(0, path.length() - 1);
+    }
+
+    return path;
+  }
+
+  /**
+   * Namespace entry.
+   */
+  public static class Entry {
+    private static long nextId = 1000;
+
+    final String path;
+    final boolean directory;
+    final long id;
+    final List<String> children = new ArrayList<>();
+    volatile String currentQos;
+    volatile String targetQos;
+
+    Entry(String path, boolean directory, String currentQos) {
+      this.path = path;
+      this.directory = directory;
+      this.currentQos = currentQos;
+
+      synchronized (Entry.class) {
+        this.id = nextId++;
+      }
+    }
+
+    JSONObject describe() {
+      JSONObject json = new JSONObject()
+          .put("name", path.substring(path.lastIndexOf('/') + 1))
+          .put("path", directory ? path + "/" : path)
+          .put("id", id)
+          .put("inode", id << 28)
+          .put("fxid", String.format("%08x", id))
+          .put("uid", 112233)
+          .put("gid", 2763)
+          .put("ctime", 1566289621)
+          .put("mtime", 1566289621)
+          .put("mode", directory ? 16877 : 420);
+
+      if (directory) {
+        json.put("treesize", 0).put("nnfiles", children.size()).put("nndirectories", 0);
+      } else {
+        json.put("size", 1048576).put("layout", "plain").put("checksumtype", "adler");
+      }
+
+      return json;
+    }
+  }
+
+  /**
+   * QoS class definition.
+   */
+  private static class QoSClass {
+    final String name;
+    final int redundancy;
+    final int latency;
+    final List<String> placement;
+    final List<String> transitions;
+
+    QoSClass(String name, int redundancy, int latency, String[] placement, String[] transitions) {
+      this.name = name;
+      this.redundancy = redundancy;
+      this.latency = latency;
+      this.placement = Arrays.asList(placement);
+      this.transitions = Arrays.asList(transitions);
+    }
+
+    JSONObject metadata() {
+      return new JSONObject()
+          .put("cdmi_data_redundancy_provided", redundancy)
+          .put("cdmi_latency_provided", latency)
+          .put("cdmi_geographic_placement_provided", new JSONArray(placement));
+    }
+
+    JSONObject toJson() {
+      return new JSONObject()
+          .put("name", name)
+          .put("transition", new JSONArray(transitions))
+          .put("metadata", metadata())
+          .put("attributes", new JSONObject()
+              .put("layout", redundancy > 1 ? "replica" : "plain")
+              .put("replica", redundancy)
+              .put("checksum", "adler"));
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.tracking;
+
+import org.cern.eos.cdmi.codec.QoSEntry;
+import org.indigo.cdmi.BackEndException;
+import org.indigo.cdmi.CdmiObjectStatus;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TransitionTrackerTest {
+
+  private static final String PATH = "/eos/qos/file";
+
+  // Polling is left to the tests: the interval is long enough never to fire
+  private final TransitionTracker tracker = new TransitionTracker(
+      path -> new QoSEntry("disk_plain", "tape", null), path -> { }, 3600000, 10, 1, 100, 0, 3);
+
+  @After
+  public void stop() {
+    tracker.shutdown();
+  }
+
+  private static CdmiObjectStatus status(String current, String target) {
+    return new CdmiObjectStatus(Collections.emptyMap(),
+        "/cdmi_capabilities/dataobject/" + current,
+        (target == null) ? null : "/cdmi_capabilities/dataobject/" + target);
+  }
+
+  @Test
+  public void ignoresStatusFetchedBeforeTransitionStarted() {
+    long started = System.nanoTime();
+    tracker.track(PATH, "tape");
+
+    // Fetched before "qos set" returned: no target yet
+    tracker.observe(PATH, status("disk_plain", null), started);
+    assertEquals(1, tracker.getTracked());
+
+    tracker.observe(PATH, status("tape", null), System.nanoTime());
+    assertEquals(0, tracker.getTracked());
+  }
+
+  @Test
+  public void servesQoSFieldsWithLiveChildren() {
+    Map<String, Object> monitored = new HashMap<>();
+    monitored.put("cdmi_redundancy_provided", 2);
+    CdmiObjectStatus observed = new CdmiObjectStatus(monitored,
+        "/cdmi_capabilities/container/disk_plain", "/cdmi_capabilities/container/tape");
+    observed.setChildren(Arrays.asList("old"));
+    tracker.observe(PATH, observed, System.nanoTime());
+
+    // Changes to the observed status after the fact are not served
+    monitored.clear();
+
+    TransitionTracker.QoSState qos = tracker.qosState(PATH);
+    CdmiObjectStatus first = qos.toStatus(Arrays.asList("new"));
+    CdmiObjectStatus second = qos.toStatus(Collections.emptyList());
+
+    assertEquals(Arrays.asList("new"), first.getChildren());
+    assertEquals("/cdmi_capabilities/container/disk_plain", first.getCurrentCapabilitiesUri());
+    assertEquals("/cdmi_capabilities/container/tape", first.getTargetCapabilitiesUri());
+    assertEquals(2, first.getMonitoredAttributes().get("cdmi_redundancy_provided"));
+
+    first.getMonitoredAttributes().clear();
+    assertNotSame(first, second);
+    assertEquals(2, second.getMonitoredAttributes().get("cdmi_redundancy_provided"));
+    assertEquals(1, tracker.getServed());
+  }
+
+  @Test
+  public void servesNothingUntilStatusObserved() {
+    tracker.track(PATH, "tape");
+
+    assertTrue(tracker.isTracked(PATH));
+    assertNull(tracker.qosState(PATH));
+  }
+
+  @Test
+  public void completesWhenPollShowsNoTarget() throws InterruptedException {
+    CountDownLatch notified = new CountDownLatch(1);
+    TransitionTracker polling = new TransitionTracker(path -> new QoSEntry("tape", null, null),
+        path -> notified.countDown(), 10, 10, 1, 100, 0, 3);
+
+    try {
+      polling.track(PATH, "tape");
+
+      assertTrue(notified.await(5, TimeUnit.SECONDS));
+      assertEquals(0, polling.getTracked());
+      assertEquals(1, polling.getCompleted());
+    } finally {
+      polling.shutdown();
+    }
+  }
+
+  @Test
+  public void abandonsTransitionAfterRepeatedPollFailures() throws InterruptedException {
+    CountDownLatch notified = new CountDownLatch(1);
+    TransitionTracker polling = new TransitionTracker(path -> {
+      throw new BackEndException("Connection timed out");
+    }, path -> notified.countDown(), 10, 10, 1, 100, 0, 3);
+
+    try {
+      polling.observe(PATH, status("disk_plain", "tape"), System.nanoTime());
+
+      assertTrue(notified.await(5, TimeUnit.SECONDS));
+      assertEquals(0, polling.getTracked());
+      assertNull(polling.qosState(PATH));
+      assertEquals(1, polling.getAbandoned());
+      assertEquals(0, polling.getCompleted());
+      assertEquals(3, polling.getPollFailures());
+    } finally {
+      polling.shutdown();
+    }
+  }
+}
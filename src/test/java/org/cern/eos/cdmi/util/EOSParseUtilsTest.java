@@ -0,0 +1,47 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EOSParseUtilsTest {
+
+  @Test
+  public void noSuchFileErrorMatchesEnoent() {
+    assertTrue(EOSParseUtils.isNoSuchFileError("error: No such file or directory"));
+    assertTrue(EOSParseUtils.isNoSuchFileError("error: cannot stat /eos/a (errno=2)"));
+    assertTrue(EOSParseUtils.isNoSuchFileError("errno=2"));
+  }
+
+  @Test
+  public void noSuchFileErrorIgnoresOtherErrnos() {
+    assertFalse(EOSParseUtils.isNoSuchFileError("error: invalid argument (errno=22)"));
+    assertFalse(EOSParseUtils.isNoSuchFileError("error: not a directory (errno=20)"));
+    assertFalse(EOSParseUtils.isNoSuchFileError("error: no space left (errno=28)"));
+    assertFalse(EOSParseUtils.isNoSuchFileError(null));
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.util;
+
+import org.cern.eos.cdmi.protobuf.QoSCommandEncoder;
+import org.cern.eos.cdmi.stub.StubGrpcMgm;
+import org.cern.eos.cdmi.stub.StubMgmServer;
+import org.cern.eos.cdmi.stub.StubNamespace;
+import org.indigo.cdmi.BackEndException;
+import org.json.JSONObject;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GrpcTransportTest {
+
+  private static final String FILE = "/eos/qos/dir_0000/file_0000000.dat";
+
+  private static StubMgmServer http;
+  private static StubGrpcMgm grpc;
+  private static QoSCommandEncoder encoder;
+
+  @BeforeClass
+  public static void start() throws Exception {
+    http = new StubMgmServer(StubNamespace.standard("/eos/qos", 1, 1), 0, 2);
+    grpc = new StubGrpcMgm(http, 0, 2);
+    encoder = new QoSCommandEncoder("");
+
+    Properties properties = new Properties();
+    properties.setProperty("eos.server", "127.0.0.1");
+    properties.setProperty("eos.server.scheme", "grpc");
+    properties.setProperty("eos.server.port", String.valueOf(grpc.getPort()));
+    properties.setProperty("eos.grpc.http.scheme", "http");
+    properties.setProperty("eos.grpc.http.port", String.valueOf(http.getPort()));
+    properties.setProperty("eos.health.interval", "0");
+    properties.setProperty("eos.retry.max", "0");
+    properties.setProperty("eos.hedge.enabled", "false");
+    HttpUtils.configure(new PluginConfig(properties));
+  }
+
+  @AfterClass
+  public static void stop() {
+    grpc.close();
+    http.close();
+  }
+
+  @Test
+  public void protoCommandIsServedOverGrpc() throws Exception {
+    long grpcCalls = grpc.getCalls();
+    long httpRequests = http.getRequests();
+
+    JSONObject json = HttpUtils.executeCommand(encoder.qosGet(FILE), CommandType.QOS_GET);
+
+    assertEquals("disk_plain", json.getString("current_qos"));
+    assertEquals(grpcCalls + 1, grpc.getCalls());
+    // The gRPC stub answers through the HTTP stub's exec(), which counts it too
+    assertEquals(httpRequests + 1, http.getRequests());
+  }
+
+  @Test
+  public void mgmErrorIsReported() throws Exception {
+    http.errorRate(1.0);
+
+    try {
+      HttpUtils.executeCommand(encoder.qosGet(FILE), CommandType.QOS_GET);
+      fail("MGM error not reported");
+    } catch (BackEndException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("injected MGM error"));
+    } finally {
+      http.errorRate(0);
+    }
+  }
+
+  @Test
+  public void plainCommandFallsBackToHttp() throws Exception {
+    long grpcCalls = grpc.getCalls();
+    long httpRequests = http.getRequests();
+
+    JSONObject json = HttpUtils.executeCommand(
+        CommandUrls.fileinfoCommand("", FILE), CommandType.FILEINFO);
+
+    assertTrue(json.toString(), json.has("size"));
+    assertEquals(grpcCalls, grpc.getCalls());
+    assertEquals(httpRequests + 1, http.getRequests());
+  }
+}
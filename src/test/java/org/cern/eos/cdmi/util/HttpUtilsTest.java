@@ -0,0 +1,60 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.util;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HttpUtilsTest {
+
+  private static final HttpResponse ERROR =
+      new BasicHttpResponse(HttpVersion.HTTP_1_1, 500, "Internal Server Error");
+
+  @Test
+  public void reportsErrorOutputOfEnvelope() {
+    assertEquals("Server responded with error message -- error: no such QoS class",
+        HttpUtils.errorMessage(ERROR,
+            "mgm.proc.stdout=&mgm.proc.stderr=error: no such QoS class&mgm.proc.retc=22"));
+  }
+
+  @Test
+  public void reportsErrorFieldOfJsonOutput() {
+    assertEquals("permission denied", HttpUtils.errorMessage(ERROR,
+        "mgm.proc.stdout={\"error\":\"permission denied\"}&mgm.proc.stderr=&mgm.proc.retc=0"));
+    assertEquals("permission denied",
+        HttpUtils.errorMessage(ERROR, "{\"error\":\"permission denied\"}"));
+  }
+
+  @Test
+  public void fallsBackToStatusLine() {
+    assertEquals("HTTP/1.1 500 Internal Server Error",
+        HttpUtils.errorMessage(ERROR, "mgm.proc.stdout=&mgm.proc.stderr=&mgm.proc.retc=1"));
+    assertEquals("HTTP/1.1 500 Internal Server Error: busy",
+        HttpUtils.errorMessage(ERROR, "busy"));
+  }
+}
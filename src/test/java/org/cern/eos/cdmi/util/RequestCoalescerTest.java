@@ -0,0 +1,157 @@
+/*
+ * The MIT License
+ * Copyright (c) 2019 CERN/Switzerland
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cern.eos.cdmi.util;
+
+import org.indigo.cdmi.BackEndException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RequestCoalescerTest {
+
+  private final RequestCoalescer coalescer = new RequestCoalescer();
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final AtomicInteger executions = new AtomicInteger();
+  private volatile String state = "before";
+
+  @After
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Start a read of the state, which blocks once the state is read until released.
+   */
+  private Future<String> startRead(String scope, CountDownLatch reading, CountDownLatch release) {
+    return executor.submit(() -> coalescer.execute("qos get /eos/file", scope, () -> {
+      executions.incrementAndGet();
+      String read = state;
+      reading.countDown();
+
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        throw new BackEndException("Interrupted", e);
+      }
+
+      return read;
+    }));
+  }
+
+  @Test
+  public void sharesIdenticalRequestsInFlight() throws Exception {
+    CountDownLatch reading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<String> first = startRead("/eos/file", reading, release);
+    assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+    Future<String> second = startRead("/eos/file", new CountDownLatch(1), release);
+    waitForCoalesced(1);
+    release.countDown();
+
+    assertEquals("before", first.get(5, TimeUnit.SECONDS));
+    assertEquals("before", second.get(5, TimeUnit.SECONDS));
+    assertEquals(1, executions.get());
+    assertEquals(0, coalescer.getInFlight());
+  }
+
+  @Test
+  public void readAfterWriteDoesNotJoinEarlierRead() throws Exception {
+    CountDownLatch reading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<String> early = startRead("/eos/file", reading, release);
+    assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+    // A write completes while the early read is in flight
+    state = "after";
+    coalescer.fence("/eos/file");
+
+    CountDownLatch lateReading = new CountDownLatch(1);
+    Future<String> late = startRead("/eos/file", lateReading, release);
+    assertTrue(lateReading.await(5, TimeUnit.SECONDS));
+    release.countDown();
+
+    assertEquals("before", early.get(5, TimeUnit.SECONDS));
+    assertEquals("after", late.get(5, TimeUnit.SECONDS));
+    assertEquals(2, executions.get());
+    assertEquals(0, coalescer.getCoalesced());
+    assertEquals(1, coalescer.getFenced());
+    assertEquals(0, coalescer.getInFlight());
+  }
+
+  @Test
+  public void fenceKeepsOtherScopesShared() throws Exception {
+    CountDownLatch reading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<String> first = startRead("/eos/file", reading, release);
+    assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+    coalescer.fence("/eos/other");
+    Future<String> second = startRead("/eos/file", new CountDownLatch(1), release);
+    waitForCoalesced(1);
+    release.countDown();
+
+    assertEquals("before", second.get(5, TimeUnit.SECONDS));
+    first.get(5, TimeUnit.SECONDS);
+    assertEquals(1, executions.get());
+    assertEquals(0, coalescer.getFenced());
+  }
+
+  @Test
+  public void asyncReadAfterWriteDoesNotJoinEarlierRead() throws Exception {
+    CompletableFuture<String> pending = new CompletableFuture<>();
+    CompletableFuture<String> early =
+        coalescer.executeAsync("qos get /eos/file", "/eos/file", () -> pending);
+
+    coalescer.fence("/eos/file");
+    CompletableFuture<String> late = coalescer.executeAsync("qos get /eos/file", "/eos/file",
+        () -> CompletableFuture.completedFuture("after"));
+    pending.complete("before");
+
+    assertEquals("before", early.get(5, TimeUnit.SECONDS));
+    assertEquals("after", late.get(5, TimeUnit.SECONDS));
+    assertEquals(0, coalescer.getCoalesced());
+    assertEquals(0, coalescer.getInFlight());
+  }
+
+  private void waitForCoalesced(long count) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+    while (coalescer.getCoalesced() < count && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+
+    assertEquals(count, coalescer.getCoalesced());
+  }
+}